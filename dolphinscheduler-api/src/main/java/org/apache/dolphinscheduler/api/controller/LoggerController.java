@@ -25,12 +25,13 @@ import org.apache.dolphinscheduler.api.service.LoggerService;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogFollow;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestAttribute;
@@ -82,12 +83,34 @@ public class LoggerController extends BaseController {
         return loggerService.queryLog(loginUser, taskInstanceId, skipNum, limit);
     }
 
+    /**
+     * follow task log, only the log appended after the offset is returned
+     *
+     * @param loginUser login user
+     * @param taskInstanceId task instance id
+     * @param offset byte offset, the nextOffset of the last response, or 0 at the first time
+     * @return task log appended after the offset
+     */
+    @Operation(summary = "followLog", description = "FOLLOW_TASK_INSTANCE_LOG_NOTES")
+    @Parameters({
+            @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "offset", description = "LOG_OFFSET", required = true, schema = @Schema(implementation = long.class, example = "0"))
+    })
+    @GetMapping(value = "/follow")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_TASK_INSTANCE_LOG_ERROR)
+    public Result<ResponseTaskLogFollow> followLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                                   @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                                                   @RequestParam(value = "offset") long offset) {
+        return Result.success(loggerService.followLog(loginUser, taskInstanceId, offset));
+    }
+
     /**
      * download log file
      *
      * @param loginUser login user
+     * @param response http response, the log file content is streamed into it
      * @param taskInstanceId task instance id
-     * @return log file content
      */
     @Operation(summary = "downloadTaskLog", description = "DOWNLOAD_TASK_INSTANCE_LOG_NOTES")
     @Parameters({
@@ -96,14 +119,10 @@ public class LoggerController extends BaseController {
     @GetMapping(value = "/download-log")
     @ResponseBody
     @ApiException(DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR)
-    public ResponseEntity downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
-                                          @RequestParam(value = "taskInstanceId") int taskInstanceId) {
-        byte[] logBytes = loggerService.getLogBytes(loginUser, taskInstanceId);
-        return ResponseEntity
-                .ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"")
-                .body(logBytes);
+    public void downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                HttpServletResponse response,
+                                @RequestParam(value = "taskInstanceId") int taskInstanceId) {
+        loggerService.downloadLog(loginUser, taskInstanceId, response);
     }
 
     /**
@@ -139,9 +158,9 @@ public class LoggerController extends BaseController {
      * download log file
      *
      * @param loginUser      login user
+     * @param response       http response, the log file content is streamed into it
      * @param projectCode    project code
      * @param taskInstanceId task instance id
-     * @return log file content
      */
     @Operation(summary = "downloadTaskLogInSpecifiedProject", description = "DOWNLOAD_TASK_INSTANCE_LOG_IN_SPECIFIED_PROJECT_NOTES")
     @Parameters({
@@ -151,14 +170,10 @@ public class LoggerController extends BaseController {
     @GetMapping(value = "/{projectCode}/download-log")
     @ResponseBody
     @ApiException(DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR)
-    public ResponseEntity downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
-                                          @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true) @PathVariable long projectCode,
-                                          @RequestParam(value = "taskInstanceId") int taskInstanceId) {
-        byte[] logBytes = loggerService.getLogBytes(loginUser, projectCode, taskInstanceId);
-        return ResponseEntity
-                .ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"")
-                .body(logBytes);
+    public void downloadTaskLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                HttpServletResponse response,
+                                @Parameter(name = "projectCode", description = "PROJECT_CODE", required = true) @PathVariable long projectCode,
+                                @RequestParam(value = "taskInstanceId") int taskInstanceId) {
+        loggerService.downloadLog(loginUser, projectCode, taskInstanceId, response);
     }
 }
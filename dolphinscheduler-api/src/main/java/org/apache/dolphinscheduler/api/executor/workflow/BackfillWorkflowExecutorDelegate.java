@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.repository.CommandDao;
 import org.apache.dolphinscheduler.extract.master.command.BackfillWorkflowCommandParam;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.time.ZonedDateTime;
@@ -48,6 +49,9 @@ public class BackfillWorkflowExecutorDelegate implements IExecutorDelegate<Backf
     @Autowired
     private CommandDao commandDao;
 
+    @Autowired
+    private MasterCommandNotifier masterCommandNotifier;
+
     @Autowired
     private ProcessService processService;
 
@@ -127,6 +131,7 @@ public class BackfillWorkflowExecutorDelegate implements IExecutorDelegate<Backf
                 .testFlag(backfillWorkflowDTO.getTestFlag().getCode())
                 .build();
         commandDao.insert(command);
+        masterCommandNotifier.notifyCommandCreated(command);
         final BackfillWorkflowDTO.BackfillParamsDTO backfillParams = backfillWorkflowDTO.getBackfillParams();
         if (backfillParams.getBackfillDependentMode() == ComplementDependentMode.ALL_DEPENDENT) {
             doBackfillDependentWorkflow(backfillWorkflowCommandParam, command);
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 
 import java.util.Date;
 
@@ -39,6 +40,9 @@ public class RecoverFailureTaskInstanceExecutorDelegate
     @Autowired
     private CommandDao commandDao;
 
+    @Autowired
+    private MasterCommandNotifier masterCommandNotifier;
+
     @Override
     public Void execute(RecoverFailureTaskInstanceOperation recoverFailureTaskInstanceOperation) {
         ProcessInstance workflowInstance = recoverFailureTaskInstanceOperation.getWorkflowInstance();
@@ -58,6 +62,7 @@ public class RecoverFailureTaskInstanceExecutorDelegate
                 .updateTime(new Date())
                 .build();
         commandDao.insert(command);
+        masterCommandNotifier.notifyCommandCreated(command);
         return null;
     }
 
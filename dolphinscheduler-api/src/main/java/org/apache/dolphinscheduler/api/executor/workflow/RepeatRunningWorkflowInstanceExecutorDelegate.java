@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 
 import java.util.Date;
 
@@ -37,6 +38,9 @@ public class RepeatRunningWorkflowInstanceExecutorDelegate
     @Autowired
     private CommandDao commandDao;
 
+    @Autowired
+    private MasterCommandNotifier masterCommandNotifier;
+
     @Override
     public Void execute(RepeatRunningWorkflowInstanceOperation workflowInstanceControlRequest) {
         final ProcessInstance workflowInstance = workflowInstanceControlRequest.workflowInstance;
@@ -55,6 +59,7 @@ public class RepeatRunningWorkflowInstanceExecutorDelegate
                 .updateTime(new Date())
                 .build();
         commandDao.insert(command);
+        masterCommandNotifier.notifyCommandCreated(command);
         return null;
     }
 
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.repository.CommandDao;
 import org.apache.dolphinscheduler.extract.master.command.RunWorkflowCommandParam;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 import org.apache.dolphinscheduler.service.process.TriggerRelationService;
 
 import java.util.Date;
@@ -36,6 +37,9 @@ public class TriggerWorkflowExecutorDelegate implements IExecutorDelegate<Trigge
     @Autowired
     private CommandDao commandDao;
 
+    @Autowired
+    private MasterCommandNotifier masterCommandNotifier;
+
     @Autowired
     private TriggerRelationService triggerRelationService;
 
@@ -66,6 +70,7 @@ public class TriggerWorkflowExecutorDelegate implements IExecutorDelegate<Trigge
                 .testFlag(triggerWorkflowDTO.getTestFlag().getCode())
                 .build();
         commandDao.insert(command);
+        masterCommandNotifier.notifyCommandCreated(command);
         return null;
     }
 }
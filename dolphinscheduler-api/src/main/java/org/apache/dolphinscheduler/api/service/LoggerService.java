@@ -19,8 +19,11 @@ package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogFollow;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import javax.servlet.http.HttpServletResponse;
+
 /**
  * logger service
  */
@@ -37,6 +40,16 @@ public interface LoggerService {
      */
     Result<ResponseTaskLog> queryLog(User loginUser, int taskInstId, int skipLineNum, int limit);
 
+    /**
+     * follow log, only the log appended after the offset is read
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param offset     byte offset, the nextOffset of the last follow response, or 0 at the first time
+     * @return log appended after the offset
+     */
+    ResponseTaskLogFollow followLog(User loginUser, int taskInstId, long offset);
+
     /**
      * get log size
      *
@@ -46,6 +59,15 @@ public interface LoggerService {
      */
     byte[] getLogBytes(User loginUser, int taskInstId);
 
+    /**
+     * download log, the log file is streamed into the response chunk by chunk
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param response   http response
+     */
+    void downloadLog(User loginUser, int taskInstId, HttpServletResponse response);
+
     /**
      * query log
      *
@@ -67,4 +89,14 @@ public interface LoggerService {
      * @return log byte array
      */
     byte[] getLogBytes(User loginUser, long projectCode, int taskInstId);
+
+    /**
+     * download log in specified project, the log file is streamed into the response chunk by chunk
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @param response    http response
+     */
+    void downloadLog(User loginUser, long projectCode, int taskInstId, HttpServletResponse response);
 }
@@ -26,8 +26,10 @@ import org.apache.dolphinscheduler.api.service.LoggerService;
 import org.apache.dolphinscheduler.api.service.ProjectService;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.dao.entity.Project;
 import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogFollow;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -36,22 +38,28 @@ import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.common.ILogService;
-import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
-import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
+import javax.servlet.http.HttpServletResponse;
+
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 
-import com.google.common.primitives.Bytes;
-
 /**
  * logger service impl
  */
@@ -104,6 +112,48 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         return result;
     }
 
+    /**
+     * follow log
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param offset     byte offset
+     * @return log appended after the offset
+     */
+    @Override
+    public ResponseTaskLogFollow followLog(User loginUser, int taskInstId, long offset) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+        if (taskInstance == null) {
+            throw new ServiceException(Status.TASK_INSTANCE_NOT_FOUND);
+        }
+        if (StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException(Status.TASK_INSTANCE_HOST_IS_NULL);
+        }
+        projectService.checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(), VIEW_LOG);
+        final String logPath = taskInstance.getLogPath();
+        if (StringUtils.isBlank(logPath)) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                    "TaskInstanceLogPath is empty, maybe the taskInstance doesn't be dispatched");
+        }
+        // get the state before reading the log, so that the log is complete if the task instance is finished
+        boolean finished = taskInstance.getState() != null && taskInstance.getState().isFinished();
+
+        ILogService iLogService =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(taskInstance.getHost(), ILogService.class);
+        try {
+            TaskInstanceLogFollowRequest request = TaskInstanceLogFollowRequest.builder()
+                    .taskInstanceId(taskInstance.getId())
+                    .taskInstanceLogAbsolutePath(logPath)
+                    .offset(offset)
+                    .build();
+            TaskInstanceLogFollowResponse response = iLogService.followTaskInstanceLog(request);
+            return new ResponseTaskLogFollow(StringUtils.defaultString(response.getLogContent()),
+                    response.getNextOffset(), finished);
+        } catch (Throwable ex) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR, ex.getMessage(), ex);
+        }
+    }
+
     /**
      * get log size
      *
@@ -122,6 +172,24 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         return getLogBytes(taskInstance);
     }
 
+    /**
+     * download log
+     *
+     * @param loginUser  login user
+     * @param taskInstId task instance id
+     * @param response   http response
+     */
+    @Override
+    public void downloadLog(User loginUser, int taskInstId, HttpServletResponse response) {
+        TaskInstance taskInstance = taskInstanceDao.queryById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        Project project = projectMapper.queryProjectByTaskInstanceId(taskInstId);
+        projectService.checkProjectAndAuthThrowException(loginUser, project, DOWNLOAD_LOG);
+        downloadLog(taskInstance, response);
+    }
+
     /**
      * query log
      *
@@ -176,6 +244,32 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         return getLogBytes(task);
     }
 
+    /**
+     * download log in specified project
+     *
+     * @param loginUser   login user
+     * @param projectCode project code
+     * @param taskInstId  task instance id
+     * @param response    http response
+     */
+    @Override
+    public void downloadLog(User loginUser, long projectCode, int taskInstId, HttpServletResponse response) {
+        // check user access for project
+        projectService.checkProjectAndAuthThrowException(loginUser, projectCode, DOWNLOAD_LOG);
+
+        // check whether the task instance can be found
+        TaskInstance task = taskInstanceDao.queryById(taskInstId);
+        if (task == null || StringUtils.isBlank(task.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+
+        TaskDefinition taskDefinition = taskDefinitionMapper.queryByCode(task.getTaskCode());
+        if (taskDefinition != null && projectCode != taskDefinition.getProjectCode()) {
+            throw new ServiceException("task instance does not exist in project");
+        }
+        downloadLog(task, response);
+    }
+
     /**
      * query log
      *
@@ -229,6 +323,38 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
      * @return log byte array
      */
     private byte[] getLogBytes(TaskInstance taskInstance) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeLog(taskInstance, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * download log into the http response
+     *
+     * @param taskInstance task instance
+     * @param response     http response
+     */
+    private void downloadLog(TaskInstance taskInstance, HttpServletResponse response) {
+        response.reset();
+        response.setContentType("application/octet-stream");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"");
+        try {
+            writeLog(taskInstance, response.getOutputStream());
+        } catch (IOException ex) {
+            log.error("Download TaskInstance: {} Log Error", taskInstance.getName(), ex);
+            throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
+        }
+    }
+
+    /**
+     * write the log into the output stream, the log file is read chunk by chunk so that the memory usage is bounded
+     * by the chunk size rather than the log file size
+     *
+     * @param taskInstance task instance
+     * @param outputStream output stream
+     */
+    private void writeLog(TaskInstance taskInstance, OutputStream outputStream) {
         String host = taskInstance.getHost();
         String logPath = taskInstance.getLogPath();
 
@@ -237,16 +363,36 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
                 host,
                 Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
 
-        byte[] logBytes;
-
         ILogService iLogService =
                 SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(taskInstance.getHost(), ILogService.class);
         try {
-            TaskInstanceLogFileDownloadRequest request =
-                    new TaskInstanceLogFileDownloadRequest(taskInstance.getId(), logPath);
-            TaskInstanceLogFileDownloadResponse response = iLogService.getTaskInstanceWholeLogFileBytes(request);
-            logBytes = response.getLogBytes();
-            return Bytes.concat(head, logBytes);
+            outputStream.write(head);
+            long offset = 0;
+            // the log file may still grow if the task instance is running, only download the snapshot at the first
+            // chunk, otherwise the download will never end if the task keeps writing the log
+            long snapshotFileSize = -1;
+            while (snapshotFileSize < 0 || offset < snapshotFileSize) {
+                int length = snapshotFileSize < 0
+                        ? LogUtils.MAX_LOG_FILE_CHUNK_SIZE
+                        : (int) Math.min(LogUtils.MAX_LOG_FILE_CHUNK_SIZE, snapshotFileSize - offset);
+                TaskInstanceLogFileChunkRequest request = TaskInstanceLogFileChunkRequest.builder()
+                        .taskInstanceId(taskInstance.getId())
+                        .taskInstanceLogAbsolutePath(logPath)
+                        .offset(offset)
+                        .length(length)
+                        .build();
+                TaskInstanceLogFileChunkResponse response = iLogService.getTaskInstanceLogFileChunk(request);
+                if (snapshotFileSize < 0) {
+                    snapshotFileSize = response.getFileSize();
+                }
+                byte[] chunkBytes = response.getChunkBytes();
+                if (chunkBytes == null || chunkBytes.length == 0) {
+                    break;
+                }
+                outputStream.write(chunkBytes);
+                offset += chunkBytes.length;
+            }
+            outputStream.flush();
         } catch (Exception ex) {
             log.error("Download TaskInstance: {} Log Error", taskInstance.getName(), ex);
             throw new ServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR);
@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLogFollow;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -45,14 +46,20 @@ import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvoker
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -68,6 +75,8 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -118,6 +127,28 @@ public class LoggerServiceTest {
                 throw new ServiceException("download error");
             }
 
+            @Override
+            public TaskInstanceLogFileChunkResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkRequest taskInstanceLogFileChunkRequest) {
+                if (taskInstanceLogFileChunkRequest.getTaskInstanceId() == 1) {
+                    return new TaskInstanceLogFileChunkResponse(new byte[0], 0);
+                } else if (taskInstanceLogFileChunkRequest.getTaskInstanceId() == 10) {
+                    // return the log content in chunks of at most 4 bytes
+                    byte[] logBytes = "log content".getBytes();
+                    int offset = (int) taskInstanceLogFileChunkRequest.getOffset();
+                    int length = Math.min(4, logBytes.length - offset);
+                    return new TaskInstanceLogFileChunkResponse(
+                            Arrays.copyOfRange(logBytes, offset, offset + length), logBytes.length);
+                } else if (taskInstanceLogFileChunkRequest.getTaskInstanceId() == 11) {
+                    // the log keeps growing while being downloaded
+                    byte[] chunkBytes = new byte[Math.min(4, taskInstanceLogFileChunkRequest.getLength())];
+                    Arrays.fill(chunkBytes, (byte) 'x');
+                    return new TaskInstanceLogFileChunkResponse(chunkBytes,
+                            taskInstanceLogFileChunkRequest.getOffset() + 10);
+                }
+
+                throw new ServiceException("download error");
+            }
+
             @Override
             public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
                 if (taskInstanceLogPageQueryRequest.getTaskInstanceId() != null) {
@@ -131,6 +162,15 @@ public class LoggerServiceTest {
                 return new TaskInstanceLogPageQueryResponse();
             }
 
+            @Override
+            public TaskInstanceLogFollowResponse followTaskInstanceLog(TaskInstanceLogFollowRequest taskInstanceLogFollowRequest) {
+                if (taskInstanceLogFollowRequest.getTaskInstanceId() == 100) {
+                    throw new ServiceException("follow log error");
+                }
+                return new TaskInstanceLogFollowResponse("log content\n",
+                        taskInstanceLogFollowRequest.getOffset() + "log content\n".length());
+            }
+
             @Override
             public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
                 return new GetAppIdResponse();
@@ -201,6 +241,36 @@ public class LoggerServiceTest {
                 () -> loggerService.queryLog(loginUser, 1, 1, 1));
     }
 
+    @Test
+    public void testFollowLog() {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(1);
+        when(taskInstanceDao.queryById(1)).thenReturn(taskInstance);
+
+        assertThrowsServiceException(Status.TASK_INSTANCE_NOT_FOUND, () -> loggerService.followLog(loginUser, 2, 0));
+        assertThrowsServiceException(Status.TASK_INSTANCE_HOST_IS_NULL,
+                () -> loggerService.followLog(loginUser, 1, 0));
+
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        doNothing().when(projectService).checkProjectAndAuthThrowException(loginUser, taskInstance.getProjectCode(),
+                VIEW_LOG);
+        ResponseTaskLogFollow responseTaskLogFollow = loggerService.followLog(loginUser, 1, 10);
+        assertEquals("log content\n", responseTaskLogFollow.getMessage());
+        assertEquals(22, responseTaskLogFollow.getNextOffset());
+        Assertions.assertFalse(responseTaskLogFollow.isFinished());
+
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        Assertions.assertTrue(loggerService.followLog(loginUser, 1, 22).isFinished());
+
+        taskInstance.setId(100);
+        assertThrowsServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR,
+                () -> loggerService.followLog(loginUser, 1, 0));
+    }
+
     @Test
     public void testGetLogBytes() {
 
@@ -250,6 +320,33 @@ public class LoggerServiceTest {
         Assertions.assertEquals(43, logBytes.length - String.valueOf(nettyServerPort).length());
     }
 
+    @Test
+    public void testDownloadLog() throws Exception {
+        User loginUser = new User();
+        loginUser.setId(1);
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(10);
+        taskInstance.setHost("127.0.0.1:" + nettyServerPort);
+        taskInstance.setLogPath("/temp/log");
+        when(taskInstanceDao.queryById(10)).thenReturn(taskInstance);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        loggerService.downloadLog(loginUser, 10, response);
+        Assertions.assertTrue(response.getContentAsString().endsWith("log content"));
+        Assertions.assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).startsWith("attachment;"));
+
+        // only the snapshot of the growing log at the first chunk is downloaded
+        taskInstance.setId(11);
+        response = new MockHttpServletResponse();
+        loggerService.downloadLog(loginUser, 10, response);
+        Assertions.assertTrue(response.getContentAsString().endsWith("xxxxxxxxxx"));
+        Assertions.assertFalse(response.getContentAsString().contains("xxxxxxxxxxx"));
+
+        taskInstance.setId(100);
+        assertThrowsServiceException(Status.DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR,
+                () -> loggerService.downloadLog(loginUser, 10, new MockHttpServletResponse()));
+    }
+
     @Test
     public void testQueryLogInSpecifiedProject() {
         long projectCode = 1L;
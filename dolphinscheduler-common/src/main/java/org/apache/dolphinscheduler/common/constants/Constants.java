@@ -646,6 +646,33 @@ public final class Constants {
     public static final Integer QUERY_ALL_ON_WORKFLOW = 2;
     public static final Integer QUERY_ALL_ON_TASK = 3;
 
+    public static final String TASK_LOG_COMPRESS_ENABLE = "task.log.compress.enable";
+
+    /**
+     * The fetch size of the query result set of the sql task
+     */
+    public static final String TASK_SQL_RESULT_FETCH_SIZE = "task.sql.result.fetch.size";
+
+    /**
+     * The max bytes of the query result of the sql task kept for the out parameters and the alert attachment
+     */
+    public static final String TASK_SQL_RESULT_MAX_BYTES = "task.sql.result.max.bytes";
+
+    /**
+     * Whether to execute the consecutive non-query statements of the sql task in JDBC batches
+     */
+    public static final String TASK_SQL_BATCH_EXECUTION_ENABLE = "task.sql.batch.execution.enable";
+
+    /**
+     * The max idle connections of the http client connection pool
+     */
+    public static final String HTTP_CLIENT_POOL_MAX_IDLE_CONNECTIONS = "http.client.pool.max.idle.connections";
+
+    /**
+     * The seconds an idle connection of the http client connection pool is kept alive before evicted
+     */
+    public static final String HTTP_CLIENT_POOL_KEEP_ALIVE_SECONDS = "http.client.pool.keep.alive.seconds";
+
     public static final String REMOTE_LOGGING_ENABLE = "remote.logging.enable";
 
     public static final String REMOTE_LOGGING_TARGET = "remote.logging.target";
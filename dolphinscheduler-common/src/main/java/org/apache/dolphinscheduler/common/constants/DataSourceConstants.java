@@ -120,6 +120,13 @@ public class DataSourceConstants {
 
     public static final String SPRING_DATASOURCE_TEST_ON_BORROW = "spring.datasource.testOnBorrow";
 
+    /**
+     * pooled datasource client cache config
+     */
+    public static final String DATASOURCE_POOL_CACHE_MAX_CONNECTIONS = "datasource.pool.cache.max.connections";
+
+    public static final String DATASOURCE_POOL_CACHE_IDLE_EXPIRE_SECONDS = "datasource.pool.cache.idle.expire.seconds";
+
     /**
      * azure static websites
      */
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The read only channel of the uncompressed content of a block compressed log file, the position and the size are
+ * both of the uncompressed content.
+ * <p>
+ * The block index is built from the block headers when the channel is opened, without inflating any block, and a read
+ * only inflates the block which contains the position, so seeking in the compressed log is as cheap as in the plain
+ * log, see {@link BlockCompressedLogFiles}.
+ */
+public class BlockCompressedLogChannel implements SeekableByteChannel {
+
+    private final FileChannel fileChannel;
+
+    /**
+     * The offset of each block in the compressed file.
+     */
+    private long[] blockOffsets = new long[16];
+
+    /**
+     * The offset of each block in the uncompressed content, the last element is the size of the content.
+     */
+    private long[] dataOffsets = new long[17];
+
+    private int blockCount;
+
+    private final Inflater inflater = new Inflater(true);
+
+    private final byte[] blockBuffer = new byte[BlockCompressedLogFiles.MAX_BLOCK_SIZE];
+
+    private final byte[] dataBuffer = new byte[BlockCompressedLogFiles.MAX_BLOCK_SIZE];
+
+    private int bufferedBlock = -1;
+
+    private long position;
+
+    private boolean closed;
+
+    private BlockCompressedLogChannel(FileChannel fileChannel) {
+        this.fileChannel = fileChannel;
+    }
+
+    public static BlockCompressedLogChannel open(Path path) throws IOException {
+        FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            BlockCompressedLogChannel channel = new BlockCompressedLogChannel(fileChannel);
+            channel.buildBlockIndex();
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+    }
+
+    private void buildBlockIndex() throws IOException {
+        long fileSize = fileChannel.size();
+        long blockOffset = 0;
+        long dataOffset = 0;
+        ByteBuffer header = ByteBuffer.allocate(BlockCompressedLogFiles.BLOCK_HEADER_SIZE);
+        ByteBuffer dataSize = ByteBuffer.allocate(4);
+        while (blockOffset < fileSize) {
+            ((Buffer) header).clear();
+            readFully(header, blockOffset);
+            int blockSize = getBlockSize(header);
+            ((Buffer) dataSize).clear();
+            readFully(dataSize, blockOffset + blockSize - 4);
+            long blockDataSize = readInt(dataSize.array(), 0) & 0xFFFFFFFFL;
+            if (blockDataSize > 0) {
+                addBlock(blockOffset, dataOffset);
+                dataOffset += blockDataSize;
+            }
+            blockOffset += blockSize;
+        }
+        dataOffsets[blockCount] = dataOffset;
+    }
+
+    private int getBlockSize(ByteBuffer header) throws IOException {
+        byte[] bytes = header.array();
+        if (bytes[0] != 31 || bytes[1] != -117 || bytes[2] != 8 || (bytes[3] & 4) == 0
+                || readShort(bytes, 10) != 6 || bytes[12] != 'B' || bytes[13] != 'C' || readShort(bytes, 14) != 2) {
+            throw new IOException("The file is not a block compressed log file");
+        }
+        return readShort(bytes, 16) + 1;
+    }
+
+    private void addBlock(long blockOffset, long dataOffset) {
+        if (blockCount == blockOffsets.length) {
+            blockOffsets = Arrays.copyOf(blockOffsets, blockCount * 2);
+            dataOffsets = Arrays.copyOf(dataOffsets, blockCount * 2 + 1);
+        }
+        blockOffsets[blockCount] = blockOffset;
+        dataOffsets[blockCount] = dataOffset;
+        blockCount++;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (position >= size()) {
+            return -1;
+        }
+        int read = 0;
+        while (dst.hasRemaining() && position < size()) {
+            int block = findBlock(position);
+            inflateBlock(block);
+            int offset = (int) (position - dataOffsets[block]);
+            int length = (int) Math.min(dst.remaining(), dataOffsets[block + 1] - position);
+            dst.put(dataBuffer, offset, length);
+            position += length;
+            read += length;
+        }
+        return read;
+    }
+
+    /**
+     * Find the last block which starts at or before the given position.
+     */
+    private int findBlock(long position) {
+        int index = Arrays.binarySearch(dataOffsets, 0, blockCount, position);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private void inflateBlock(int block) throws IOException {
+        if (block == bufferedBlock) {
+            return;
+        }
+        int blockSize = (int) ((block + 1 < blockCount ? blockOffsets[block + 1] : fileChannel.size())
+                - blockOffsets[block]);
+        ByteBuffer buffer = ByteBuffer.wrap(blockBuffer, 0, Math.min(blockSize, blockBuffer.length));
+        readFully(buffer, blockOffsets[block]);
+        blockSize = getBlockSize(buffer);
+        int dataSize = (int) (dataOffsets[block + 1] - dataOffsets[block]);
+
+        inflater.reset();
+        inflater.setInput(blockBuffer, BlockCompressedLogFiles.BLOCK_HEADER_SIZE,
+                blockSize - BlockCompressedLogFiles.BLOCK_HEADER_SIZE - BlockCompressedLogFiles.BLOCK_TRAILER_SIZE);
+        try {
+            int inflated = 0;
+            while (inflated < dataSize && !inflater.finished()) {
+                int length = inflater.inflate(dataBuffer, inflated, dataSize - inflated);
+                if (length == 0 && inflater.needsInput()) {
+                    break;
+                }
+                inflated += length;
+            }
+            CRC32 crc32 = new CRC32();
+            crc32.update(dataBuffer, 0, inflated);
+            if (inflated != dataSize || (int) crc32.getValue() != readInt(blockBuffer, blockSize - 8)) {
+                throw new IOException("The block at " + blockOffsets[block] + " of the compressed log is corrupted");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("The block at " + blockOffsets[block] + " of the compressed log is corrupted", e);
+        }
+        bufferedBlock = block;
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("The compressed log file is truncated");
+            }
+        }
+    }
+
+    private static int readShort(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return readShort(bytes, offset) | readShort(bytes, offset + 2) << 16;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("The position should not be negative");
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return dataOffsets[blockCount];
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            inflater.end();
+            fileChannel.close();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The block compressed log file is a sequence of gzip members, each member holds at most
+ * {@link #MAX_BLOCK_DATA_SIZE} bytes of the log and records its own compressed size in the gzip extra field (the same
+ * layout as BGZF), so the file can still be read by the gzip tools, and can be read from any offset by inflating only
+ * the block which contains it, see {@link BlockCompressedLogChannel}.
+ */
+@UtilityClass
+public class BlockCompressedLogFiles {
+
+    public static final String COMPRESSED_LOG_FILE_SUFFIX = ".gz";
+
+    static final int MAX_BLOCK_SIZE = 64 * 1024;
+
+    static final int MAX_BLOCK_DATA_SIZE = MAX_BLOCK_SIZE - 256;
+
+    static final int BLOCK_HEADER_SIZE = 18;
+
+    static final int BLOCK_TRAILER_SIZE = 8;
+
+    /**
+     * The empty block at the end of the file.
+     */
+    private static final byte[] EOF_BLOCK = new byte[]{
+            31, -117, 8, 4, 0, 0, 0, 0, 0, -1, 6, 0, 66, 67, 2, 0, 27, 0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+
+    public static String getCompressedLogPath(String logPath) {
+        return logPath + COMPRESSED_LOG_FILE_SUFFIX;
+    }
+
+    /**
+     * Compress the source file into the target file block by block.
+     */
+    public static void compress(Path source, Path target) throws IOException {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (
+                InputStream in = Files.newInputStream(source);
+                OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), MAX_BLOCK_SIZE)) {
+            byte[] data = new byte[MAX_BLOCK_DATA_SIZE];
+            byte[] block = new byte[MAX_BLOCK_SIZE];
+            int length;
+            while ((length = readBlockData(in, data)) > 0) {
+                int blockSize = deflateBlock(deflater, data, length, block, Deflater.DEFAULT_COMPRESSION);
+                if (blockSize < 0) {
+                    // the data is not compressible, store it as it is
+                    blockSize = deflateBlock(deflater, data, length, block, Deflater.NO_COMPRESSION);
+                }
+                out.write(block, 0, blockSize);
+            }
+            out.write(EOF_BLOCK);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static int readBlockData(InputStream in, byte[] data) throws IOException {
+        int length = 0;
+        int read;
+        while (length < data.length && (read = in.read(data, length, data.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * Deflate the data into a complete block, return -1 if the deflated data cannot fit in a block.
+     */
+    private static int deflateBlock(Deflater deflater, byte[] data, int length, byte[] block, int level) {
+        deflater.reset();
+        deflater.setLevel(level);
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        int limit = block.length - BLOCK_TRAILER_SIZE;
+        int blockSize = BLOCK_HEADER_SIZE;
+        while (!deflater.finished() && blockSize < limit) {
+            blockSize += deflater.deflate(block, blockSize, limit - blockSize);
+        }
+        if (!deflater.finished()) {
+            return -1;
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(data, 0, length);
+        blockSize += BLOCK_TRAILER_SIZE;
+
+        // gzip header with the extra subfield "BC" holding the block size - 1
+        block[0] = 31;
+        block[1] = -117;
+        block[2] = 8;
+        block[3] = 4;
+        writeInt(block, 4, 0);
+        block[8] = 0;
+        block[9] = -1;
+        writeShort(block, 10, 6);
+        block[12] = 'B';
+        block[13] = 'C';
+        writeShort(block, 14, 2);
+        writeShort(block, 16, blockSize - 1);
+        writeInt(block, blockSize - 8, (int) crc32.getValue());
+        writeInt(block, blockSize - 4, length);
+        return blockSize;
+    }
+
+    private static void writeShort(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        writeShort(bytes, offset, value);
+        writeShort(bytes, offset + 2, value >>> 16);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The sparse index of the line offsets in a log file, records the byte offset of every {@link #INDEX_INTERVAL} lines,
+ * so that reading a page of the log can seek to the nearest indexed line rather than reading the file from the
+ * beginning.
+ * <p>
+ * The index is built incrementally, only the bytes appended after the last indexed line are scanned when the log file
+ * grows, and the index is rebuilt if the log file is truncated or replaced.
+ */
+public class LogLineOffsetIndex {
+
+    static final int INDEX_INTERVAL = 1000;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * lineOffsets[i] is the byte offset of the line i * INDEX_INTERVAL.
+     */
+    private long[] lineOffsets = new long[16];
+
+    private int lineOffsetsSize = 1;
+
+    /**
+     * The byte offset after the last indexed line break.
+     */
+    private long indexedBytes;
+
+    /**
+     * The number of the complete lines before indexedBytes.
+     */
+    private long indexedLines;
+
+    /**
+     * Get the nearest indexed position at or before the given line.
+     */
+    public synchronized Position seek(SeekableByteChannel channel, long lineNum) throws IOException {
+        update(channel);
+        int index = (int) Math.min(lineNum / INDEX_INTERVAL, lineOffsetsSize - 1);
+        return new Position(index * (long) INDEX_INTERVAL, lineOffsets[index]);
+    }
+
+    private void update(SeekableByteChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < indexedBytes || !endsWithLineBreak(channel)) {
+            reset();
+        }
+        if (fileSize == indexedBytes) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = indexedBytes;
+        // The line breaks are the same as BufferedReader#readLine: '\n', '\r' or "\r\n", a '\r' at the end of the
+        // file is not indexed until the next byte is known
+        boolean pendingCarriageReturn = false;
+        while (position < fileSize) {
+            ((Buffer) buffer).clear();
+            int read = channel.position(position).read(buffer);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (pendingCarriageReturn) {
+                    pendingCarriageReturn = false;
+                    if (b == '\n') {
+                        indexLine(position + i + 1);
+                        continue;
+                    }
+                    indexLine(position + i);
+                }
+                if (b == '\n') {
+                    indexLine(position + i + 1);
+                } else if (b == '\r') {
+                    pendingCarriageReturn = true;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private void indexLine(long lineEndOffset) {
+        indexedLines++;
+        indexedBytes = lineEndOffset;
+        if (indexedLines % INDEX_INTERVAL == 0) {
+            addLineOffset(indexedBytes);
+        }
+    }
+
+    /**
+     * The indexed part should always end with a line break, otherwise the file has been replaced.
+     */
+    private boolean endsWithLineBreak(SeekableByteChannel channel) throws IOException {
+        if (indexedBytes == 0) {
+            return true;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        return channel.position(indexedBytes - 1).read(buffer) == 1
+                && (buffer.get(0) == '\n' || buffer.get(0) == '\r');
+    }
+
+    private void addLineOffset(long lineOffset) {
+        if (lineOffsetsSize == lineOffsets.length) {
+            lineOffsets = Arrays.copyOf(lineOffsets, lineOffsets.length * 2);
+        }
+        lineOffsets[lineOffsetsSize++] = lineOffset;
+    }
+
+    private void reset() {
+        lineOffsets = new long[16];
+        lineOffsetsSize = 1;
+        indexedBytes = 0;
+        indexedLines = 0;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Position {
+
+        private final long lineNum;
+
+        private final long offset;
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.common.log.remote;
 import static org.apache.dolphinscheduler.common.utils.LogUtils.getLocalLogBaseDir;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.log.BlockCompressedLogFiles;
+import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 
 import java.nio.file.Path;
@@ -62,7 +64,13 @@ public class RemoteLogUtils {
             if (remoteLogHandler == null) {
                 return;
             }
-            remoteLogHandler.getRemoteLog(logPath);
+            // the compressed log is sent if the task log compression was enabled when the task finished
+            String compressedLogPath = BlockCompressedLogFiles.getCompressedLogPath(logPath);
+            String preferredLogPath = LogUtils.isTaskLogCompressEnable() ? compressedLogPath : logPath;
+            remoteLogHandler.getRemoteLog(preferredLogPath);
+            if (!LogUtils.isLogFileExists(logPath)) {
+                remoteLogHandler.getRemoteLog(preferredLogPath.equals(logPath) ? compressedLogPath : logPath);
+            }
             log.info("End get log {} from remote target {}", logPath,
                     PropertyUtils.getString(Constants.REMOTE_LOGGING_TARGET));
         }
@@ -17,21 +17,36 @@
 
 package org.apache.dolphinscheduler.common.utils;
 
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.log.BlockCompressedLogChannel;
+import org.apache.dolphinscheduler.common.log.BlockCompressedLogFiles;
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
+import org.apache.dolphinscheduler.common.log.LogFileContent;
+import org.apache.dolphinscheduler.common.log.LogLineOffsetIndex;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,12 +54,27 @@ import org.slf4j.LoggerFactory;
 
 import ch.qos.logback.classic.LoggerContext;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 @Slf4j
 public class LogUtils {
 
+    private static final int MAX_RESPONSE_LOG_SIZE = 65535;
+
+    /**
+     * The max bytes of the log file chunk read at once.
+     */
+    public static final int MAX_LOG_FILE_CHUNK_SIZE = 1024 * 1024;
+
+    private static final Cache<String, LogLineOffsetIndex> LOG_LINE_OFFSET_INDEXES = CacheBuilder.newBuilder()
+            .maximumSize(1024)
+            .expireAfterAccess(30, TimeUnit.MINUTES)
+            .build();
+
     public static byte[] getFileContentBytesFromLocal(String filePath) {
         try (
-                InputStream in = new FileInputStream(filePath);
+                InputStream in = Channels.newInputStream(openLogFileChannel(filePath));
                 ByteArrayOutputStream bos = new ByteArrayOutputStream()) {
             byte[] buf = new byte[1024];
             int len;
@@ -64,8 +94,7 @@ public class LogUtils {
     }
 
     public static byte[] getFileContentBytes(String filePath) {
-        File file = new File(filePath);
-        if (file.exists()) {
+        if (isLogFileExists(filePath)) {
             return getFileContentBytesFromLocal(filePath);
         }
         if (RemoteLogUtils.isRemoteLoggingEnable()) {
@@ -74,14 +103,70 @@ public class LogUtils {
         return getFileContentBytesFromLocal(filePath);
     }
 
+    /**
+     * Read at most {@link #MAX_LOG_FILE_CHUNK_SIZE} bytes of the file from the given offset.
+     */
+    public static LogFileChunk getFileContentChunkFromLocal(String filePath, long offset, int length) {
+        if (!isLogFileExists(filePath)) {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+        try (SeekableByteChannel fileChannel = openLogFileChannel(filePath)) {
+            long fileSize = fileChannel.size();
+            if (offset < 0 || offset >= fileSize || length <= 0) {
+                return new LogFileChunk(new byte[0], fileSize);
+            }
+            ByteBuffer buffer =
+                    ByteBuffer.allocate((int) Math.min(fileSize - offset, Math.min(length, MAX_LOG_FILE_CHUNK_SIZE)));
+            fileChannel.position(offset);
+            while (buffer.hasRemaining() && fileChannel.read(buffer) > 0) {
+                // read until the buffer is full
+            }
+            return new LogFileChunk(Arrays.copyOf(buffer.array(), buffer.position()), fileSize);
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    public static LogFileChunk getFileContentChunkFromRemote(String filePath, long offset, int length) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return getFileContentChunkFromLocal(filePath, offset, length);
+    }
+
+    public static LogFileChunk getFileContentChunk(String filePath, long offset, int length) {
+        if (isLogFileExists(filePath)) {
+            return getFileContentChunkFromLocal(filePath, offset, length);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            // the remote log is downloaded at the first chunk, the following chunks are read from local
+            return getFileContentChunkFromRemote(filePath, offset, length);
+        }
+        return getFileContentChunkFromLocal(filePath, offset, length);
+    }
+
     public static List<String> readPartFileContentFromLocal(String filePath,
                                                             int skipLine,
                                                             int limit) {
-        File file = new File(filePath);
-        if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
-            } catch (IOException e) {
+        if (isLogFileExists(filePath)) {
+            try (SeekableByteChannel fileChannel = openLogFileChannel(filePath)) {
+                // seek to the nearest indexed line rather than reading the whole prefix of the file
+                LogLineOffsetIndex.Position position =
+                        LOG_LINE_OFFSET_INDEXES.get(filePath, LogLineOffsetIndex::new).seek(fileChannel, skipLine);
+                fileChannel.position(position.getOffset());
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(Channels.newInputStream(fileChannel), StandardCharsets.UTF_8));
+                for (long i = position.getLineNum(); i < skipLine; i++) {
+                    if (reader.readLine() == null) {
+                        return Collections.emptyList();
+                    }
+                }
+                List<String> lines = new ArrayList<>();
+                String line;
+                while (lines.size() < limit && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+                return lines;
+            } catch (IOException | ExecutionException e) {
                 log.error("read file error", e);
                 throw new RuntimeException(String.format("Read file: %s error", filePath), e);
             }
@@ -100,8 +185,7 @@ public class LogUtils {
     public static List<String> readPartFileContent(String filePath,
                                                    int skipLine,
                                                    int limit) {
-        File file = new File(filePath);
-        if (file.exists()) {
+        if (isLogFileExists(filePath)) {
             return readPartFileContentFromLocal(filePath, skipLine, limit);
         }
         if (RemoteLogUtils.isRemoteLoggingEnable()) {
@@ -110,6 +194,78 @@ public class LogUtils {
         return readPartFileContentFromLocal(filePath, skipLine, limit);
     }
 
+    /**
+     * Read the complete lines after the given byte offset, at most {@link #MAX_RESPONSE_LOG_SIZE} bytes, this is used
+     * to follow the log of a running task, only the appended bytes are read in each call.
+     */
+    public static LogFileContent readFileContentFromOffsetFromLocal(String filePath, long offset) {
+        if (!isLogFileExists(filePath)) {
+            throw new RuntimeException("The file path: " + filePath + " not exists");
+        }
+        try (SeekableByteChannel fileChannel = openLogFileChannel(filePath)) {
+            long fileSize = fileChannel.size();
+            if (offset < 0 || offset > fileSize) {
+                // the log file has been truncated or replaced, follow from the beginning
+                offset = 0;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(fileSize - offset, MAX_RESPONSE_LOG_SIZE));
+            fileChannel.position(offset);
+            while (buffer.hasRemaining() && fileChannel.read(buffer) > 0) {
+                // read until the buffer is full
+            }
+            int length = buffer.position();
+            int end = length;
+            while (end > 0 && buffer.get(end - 1) != '\n') {
+                end--;
+            }
+            if (end == 0 && length == MAX_RESPONSE_LOG_SIZE) {
+                // a single line exceeds the max size, cut it off at the character boundary
+                end = getUtf8Boundary(buffer.array(), length);
+            }
+            String content = new String(buffer.array(), 0, end, StandardCharsets.UTF_8);
+            return new LogFileContent(content, offset + end);
+        } catch (IOException e) {
+            log.error("read file error", e);
+            throw new RuntimeException(String.format("Read file: %s error", filePath), e);
+        }
+    }
+
+    /**
+     * Get the end of the last complete UTF-8 character before the given length.
+     */
+    private static int getUtf8Boundary(byte[] bytes, int length) {
+        int lead = length - 1;
+        while (lead > 0 && (bytes[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+        int charLength;
+        if ((bytes[lead] & 0x80) == 0) {
+            charLength = 1;
+        } else if ((bytes[lead] & 0xE0) == 0xC0) {
+            charLength = 2;
+        } else if ((bytes[lead] & 0xF0) == 0xE0) {
+            charLength = 3;
+        } else {
+            charLength = 4;
+        }
+        return lead + charLength <= length ? length : lead;
+    }
+
+    public static LogFileContent readFileContentFromOffsetFromRemote(String filePath, long offset) {
+        RemoteLogUtils.getRemoteLog(filePath);
+        return readFileContentFromOffsetFromLocal(filePath, offset);
+    }
+
+    public static LogFileContent readFileContentFromOffset(String filePath, long offset) {
+        if (isLogFileExists(filePath)) {
+            return readFileContentFromOffsetFromLocal(filePath, offset);
+        }
+        if (RemoteLogUtils.isRemoteLoggingEnable()) {
+            return readFileContentFromOffsetFromRemote(filePath, offset);
+        }
+        return readFileContentFromOffsetFromLocal(filePath, offset);
+    }
+
     public static String readWholeFileContentFromRemote(String filePath) {
         RemoteLogUtils.getRemoteLog(filePath);
         return LogUtils.readWholeFileContentFromLocal(filePath);
@@ -118,7 +274,10 @@ public class LogUtils {
     public static String readWholeFileContentFromLocal(String filePath) {
         String line;
         StringBuilder sb = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(filePath)))) {
+        try (
+                BufferedReader br =
+                        new BufferedReader(
+                                new InputStreamReader(Channels.newInputStream(openLogFileChannel(filePath))))) {
             while ((line = br.readLine()) != null) {
                 sb.append(line + "\r\n");
             }
@@ -130,8 +289,7 @@ public class LogUtils {
     }
 
     public static String readWholeFileContent(String filePath) {
-        File file = new File(filePath);
-        if (file.exists()) {
+        if (isLogFileExists(filePath)) {
             return readWholeFileContentFromLocal(filePath);
         }
         if (RemoteLogUtils.isRemoteLoggingEnable()) {
@@ -140,9 +298,82 @@ public class LogUtils {
         return readWholeFileContentFromLocal(filePath);
     }
 
+    /**
+     * Whether the log file exists, either plain or compressed.
+     */
+    public static boolean isLogFileExists(String filePath) {
+        return new File(filePath).isFile()
+                || new File(BlockCompressedLogFiles.getCompressedLogPath(filePath)).isFile();
+    }
+
+    /**
+     * Open the read only channel of the log content, the plain log file is preferred, if it doesn't exist then the
+     * compressed log file is read transparently.
+     */
+    public static SeekableByteChannel openLogFileChannel(String filePath) throws IOException {
+        Path plainLogPath = Paths.get(filePath);
+        if (Files.isRegularFile(plainLogPath)) {
+            try {
+                return FileChannel.open(plainLogPath, StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                // the plain log file is deleted after it is compressed
+            }
+        }
+        Path compressedLogPath = Paths.get(BlockCompressedLogFiles.getCompressedLogPath(filePath));
+        if (Files.isRegularFile(compressedLogPath)) {
+            return BlockCompressedLogChannel.open(compressedLogPath);
+        }
+        throw new NoSuchFileException(filePath);
+    }
+
+    public static boolean isTaskLogCompressEnable() {
+        return PropertyUtils.getBoolean(Constants.TASK_LOG_COMPRESS_ENABLE, Boolean.FALSE);
+    }
+
+    /**
+     * Roll the finished log file into the compressed log file if the compression is enabled, and delete the plain
+     * log file, the compressed log file is removed if the plain log file cannot be deleted so there is always one
+     * copy of the log.
+     *
+     * @return the path of the stored log file
+     */
+    public static String rollLogFile(String filePath) {
+        if (filePath == null || !isTaskLogCompressEnable() || !Files.isRegularFile(Paths.get(filePath))) {
+            return filePath;
+        }
+        Path plainLogPath = Paths.get(filePath);
+        String compressedLogFilePath = BlockCompressedLogFiles.getCompressedLogPath(filePath);
+        Path compressedLogPath = Paths.get(compressedLogFilePath);
+        try {
+            BlockCompressedLogFiles.compress(plainLogPath, compressedLogPath);
+            Files.delete(plainLogPath);
+            return compressedLogFilePath;
+        } catch (IOException e) {
+            log.error("Compress log file: {} error", filePath, e);
+            deleteQuietly(compressedLogPath);
+            return filePath;
+        }
+    }
+
+    /**
+     * Delete the log file, both plain and compressed.
+     */
+    public static void deleteLogFile(String filePath) {
+        deleteQuietly(Paths.get(filePath));
+        deleteQuietly(Paths.get(BlockCompressedLogFiles.getCompressedLogPath(filePath)));
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.error("Delete log file: {} error", path, e);
+        }
+    }
+
     public static String rollViewLogLines(List<String> lines) {
         StringBuilder builder = new StringBuilder();
-        final int MaxResponseLogSize = 65535;
+        final int MaxResponseLogSize = MAX_RESPONSE_LOG_SIZE;
         int totalLogByteSize = 0;
         for (String line : lines) {
             // If a single line of log is exceed max response size, cut off the line
@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 import lombok.NonNull;
+import okhttp3.ConnectionPool;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -40,7 +41,20 @@ import okhttp3.Response;
 
 public class OkHttpUtils {
 
-    private static OkHttpClient CLIENT = new OkHttpClient();
+    /**
+     * The connection pool shared by all the clients, the clients with different timeouts are derived from the same
+     * base client, so the connections to the same endpoint are reused across the calls.
+     */
+    private static final ConnectionPool CONNECTION_POOL = new ConnectionPool(
+            PropertyUtils.getInt(Constants.HTTP_CLIENT_POOL_MAX_IDLE_CONNECTIONS, 32),
+            PropertyUtils.getLong(Constants.HTTP_CLIENT_POOL_KEEP_ALIVE_SECONDS, 300L),
+            TimeUnit.SECONDS);
+
+    private static OkHttpClient CLIENT = new OkHttpClient.Builder().connectionPool(CONNECTION_POOL).build();
+
+    public static ConnectionPool getConnectionPool() {
+        return CONNECTION_POOL;
+    }
 
     /**
      * http get request
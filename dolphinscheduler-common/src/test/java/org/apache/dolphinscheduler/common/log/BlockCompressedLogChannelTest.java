@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.truth.Truth;
+
+public class BlockCompressedLogChannelTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testRandomRead() throws IOException {
+        // the random bytes are not compressible, the blocks are stored as they are
+        byte[] content = new byte[300000];
+        new Random(0).nextBytes(content);
+        Path compressedLogFile = compress(content);
+
+        try (BlockCompressedLogChannel channel = BlockCompressedLogChannel.open(compressedLogFile)) {
+            Truth.assertThat(channel.size()).isEqualTo(content.length);
+            for (int offset : new int[]{200000, 0, BlockCompressedLogFiles.MAX_BLOCK_DATA_SIZE - 10, 299990}) {
+                ByteBuffer buffer = ByteBuffer.allocate(100);
+                int read = channel.position(offset).read(buffer);
+                Truth.assertThat(Arrays.copyOf(buffer.array(), read))
+                        .isEqualTo(Arrays.copyOfRange(content, offset, Math.min(offset + 100, content.length)));
+            }
+            Truth.assertThat(channel.position(content.length).read(ByteBuffer.allocate(1))).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void testReadByGzip() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            builder.append("line-").append(i).append('\n');
+        }
+        byte[] content = builder.toString().getBytes(StandardCharsets.UTF_8);
+        Path compressedLogFile = compress(content);
+        Truth.assertThat(Files.size(compressedLogFile)).isLessThan((long) content.length);
+
+        try (
+                InputStream in = new GZIPInputStream(Files.newInputStream(compressedLogFile));
+                ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            Truth.assertThat(out.toByteArray()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void testOpenPlainFile() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, "line-0\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThrows(IOException.class, () -> BlockCompressedLogChannel.open(logFile));
+    }
+
+    private Path compress(byte[] content) throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        Path compressedLogFile = tempDir.resolve("task.log.gz");
+        Files.write(logFile, content);
+        BlockCompressedLogFiles.compress(logFile, compressedLogFile);
+        return compressedLogFile;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import org.apache.dolphinscheduler.common.log.BlockCompressedLogFiles;
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
+import org.apache.dolphinscheduler.common.log.LogFileContent;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.truth.Truth;
+
+public class LogUtilsTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void testReadPartFileContentFromLocal() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        writeLines(logFile, 0, 2500);
+
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 0, 3))
+                .containsExactly("line-0", "line-1", "line-2").inOrder();
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 999, 3))
+                .containsExactly("line-999", "line-1000", "line-1001").inOrder();
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 2498, 10))
+                .containsExactly("line-2498", "line-2499").inOrder();
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 3000, 10)).isEmpty();
+
+        // the index is built incrementally when the log file grows
+        writeLines(logFile, 2500, 5000);
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 4001, 2))
+                .containsExactly("line-4001", "line-4002").inOrder();
+
+        // the index is rebuilt when the log file is replaced
+        Files.delete(logFile);
+        Files.write(logFile, "a\r\nb\r\nc".getBytes(StandardCharsets.UTF_8));
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 1, 10))
+                .containsExactly("b", "c").inOrder();
+    }
+
+    @Test
+    public void testReadPartFileContentFromLocalWithMixedLineBreaks() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        // the file ends with a '\r', it is not known yet whether a '\n' follows
+        Files.write(logFile, (mixedLineBreakLines(0, 1500) + "line-1500\r").getBytes(StandardCharsets.UTF_8));
+
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 1200, 2))
+                .containsExactly("line-1200", "line-1201").inOrder();
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 1499, 10))
+                .containsExactly("line-1499", "line-1500").inOrder();
+
+        Files.write(logFile, ("\n" + mixedLineBreakLines(1501, 2500)).getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 2100, 2))
+                .containsExactly("line-2100", "line-2101").inOrder();
+    }
+
+    @Test
+    public void testReadFileContentFromOffsetFromLocal() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, "line-0\nline-1\nline-".getBytes(StandardCharsets.UTF_8));
+
+        // only the complete lines are returned
+        LogFileContent logFileContent = LogUtils.readFileContentFromOffsetFromLocal(logFile.toString(), 0);
+        Truth.assertThat(logFileContent.getContent()).isEqualTo("line-0\nline-1\n");
+        Truth.assertThat(logFileContent.getNextOffset()).isEqualTo(14);
+
+        logFileContent = LogUtils.readFileContentFromOffsetFromLocal(logFile.toString(), 14);
+        Truth.assertThat(logFileContent.getContent()).isEmpty();
+        Truth.assertThat(logFileContent.getNextOffset()).isEqualTo(14);
+
+        Files.write(logFile, "2\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        logFileContent = LogUtils.readFileContentFromOffsetFromLocal(logFile.toString(), 14);
+        Truth.assertThat(logFileContent.getContent()).isEqualTo("line-2\n");
+        Truth.assertThat(logFileContent.getNextOffset()).isEqualTo(21);
+
+        // follow from the beginning if the offset exceeds the log file
+        logFileContent = LogUtils.readFileContentFromOffsetFromLocal(logFile.toString(), 100);
+        Truth.assertThat(logFileContent.getNextOffset()).isEqualTo(21);
+    }
+
+    @Test
+    public void testReadFileContentFromOffsetFromLocalWithLongLine() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        // the multi bytes character should not be cut off
+        String longLine = "a" + StringUtils.repeat("中", 30000);
+        Files.write(logFile, (longLine + "\n").getBytes(StandardCharsets.UTF_8));
+
+        LogFileContent logFileContent = LogUtils.readFileContentFromOffsetFromLocal(logFile.toString(), 0);
+        Truth.assertThat(logFileContent.getNextOffset()).isEqualTo(1 + 21844 * 3);
+        Truth.assertThat(longLine).startsWith(logFileContent.getContent());
+
+        logFileContent =
+                LogUtils.readFileContentFromOffsetFromLocal(logFile.toString(), logFileContent.getNextOffset());
+        Truth.assertThat(logFileContent.getContent()).isEqualTo(StringUtils.repeat("中", 30000 - 21844) + "\n");
+    }
+
+    @Test
+    public void testGetFileContentChunkFromLocal() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        Files.write(logFile, "line-0\nline-1\n".getBytes(StandardCharsets.UTF_8));
+
+        LogFileChunk logFileChunk = LogUtils.getFileContentChunkFromLocal(logFile.toString(), 0, 5);
+        Truth.assertThat(new String(logFileChunk.getBytes(), StandardCharsets.UTF_8)).isEqualTo("line-");
+        Truth.assertThat(logFileChunk.getFileSize()).isEqualTo(14);
+
+        logFileChunk = LogUtils.getFileContentChunkFromLocal(logFile.toString(), 5, 100);
+        Truth.assertThat(new String(logFileChunk.getBytes(), StandardCharsets.UTF_8)).isEqualTo("0\nline-1\n");
+
+        logFileChunk = LogUtils.getFileContentChunkFromLocal(logFile.toString(), 14, 100);
+        Truth.assertThat(logFileChunk.getBytes()).isEmpty();
+    }
+
+    @Test
+    public void testReadCompressedLogFileFromLocal() throws IOException {
+        Path logFile = tempDir.resolve("task.log");
+        writeLines(logFile, 0, 20000);
+        byte[] content = Files.readAllBytes(logFile);
+        BlockCompressedLogFiles.compress(logFile, tempDir.resolve("task.log.gz"));
+        Files.delete(logFile);
+
+        // the compressed log file is read transparently
+        Truth.assertThat(LogUtils.isLogFileExists(logFile.toString())).isTrue();
+        Truth.assertThat(LogUtils.getFileContentBytesFromLocal(logFile.toString())).isEqualTo(content);
+        Truth.assertThat(LogUtils.readPartFileContentFromLocal(logFile.toString(), 15999, 2))
+                .containsExactly("line-15999", "line-16000").inOrder();
+
+        LogFileChunk logFileChunk = LogUtils.getFileContentChunkFromLocal(logFile.toString(), 100000, 100000);
+        Truth.assertThat(logFileChunk.getBytes()).isEqualTo(Arrays.copyOfRange(content, 100000, 200000));
+        Truth.assertThat(logFileChunk.getFileSize()).isEqualTo(content.length);
+
+        LogFileContent logFileContent =
+                LogUtils.readFileContentFromOffsetFromLocal(logFile.toString(), content.length - 11);
+        Truth.assertThat(logFileContent.getContent()).isEqualTo("line-19999\n");
+
+        LogUtils.deleteLogFile(logFile.toString());
+        Truth.assertThat(LogUtils.isLogFileExists(logFile.toString())).isFalse();
+    }
+
+    private void writeLines(Path logFile, int from, int to) throws IOException {
+        List<String> lines = IntStream.range(from, to).mapToObj(i -> "line-" + i).collect(Collectors.toList());
+        Files.write(logFile, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private String mixedLineBreakLines(int from, int to) {
+        String[] lineBreaks = {"\n", "\r", "\r\n"};
+        return IntStream.range(from, to).mapToObj(i -> "line-" + i + lineBreaks[i % lineBreaks.length])
+                .collect(Collectors.joining());
+    }
+}
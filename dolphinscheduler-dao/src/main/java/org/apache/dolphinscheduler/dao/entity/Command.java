@@ -113,6 +113,12 @@ public class Command {
     @TableField("test_flag")
     private int testFlag;
 
+    /**
+     * The slot used to distribute the command to master, see {@link org.apache.dolphinscheduler.dao.utils.CommandSlotUtils}
+     */
+    @TableField("slot")
+    private Integer slot;
+
     public Command(
                    CommandType commandType,
                    TaskDependType taskDependType,
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.dao.mapper;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.dao.entity.ExecuteStatusCount;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStatusCountDto;
 
 import org.apache.ibatis.annotations.Param;
@@ -138,6 +139,11 @@ public interface ProcessInstanceMapper extends BaseMapper<ProcessInstance> {
                                     @Param("originState") WorkflowExecutionStatus originState,
                                     @Param("targetState") WorkflowExecutionStatus targetState);
 
+    /**
+     * Update the non-null state columns of the workflow instance.
+     */
+    int updateWorkflowInstanceStateById(WorkflowInstanceStateUpdate workflowInstanceStateUpdate);
+
     /**
      * update process instance by tenantCode
      *
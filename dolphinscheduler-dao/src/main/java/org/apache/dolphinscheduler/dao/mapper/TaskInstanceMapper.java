@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskExecuteType;
 import org.apache.dolphinscheduler.dao.entity.ExecuteStatusCount;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.model.TaskInstanceStatusCountDto;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
@@ -151,4 +152,9 @@ public interface TaskInstanceMapper extends BaseMapper<TaskInstance> {
     void updateTaskInstanceState(@Param("taskInstanceId") Integer taskInstanceId,
                                  @Param("originState") int originState,
                                  @Param("targetState") int targetState);
+
+    /**
+     * Update the non-null state columns of the task instance.
+     */
+    int updateTaskInstanceStateById(TaskInstanceStateUpdate taskInstanceStateUpdate);
 }
@@ -36,4 +36,15 @@ public interface CommandDao extends IDao<Command> {
                                        int totalSlot,
                                        int idStep,
                                        int fetchNum);
+
+    /**
+     * Query the commands in the given command slots, order by process_instance_priority and id.
+     * <p> Each slot is queried by the index on (slot, process_instance_priority, id), so the cost is only related to the
+     * fetch number rather than the total command count.
+     *
+     * @param commandSlots the command slots owned by the current master
+     * @param fetchNum     fetch number
+     * @return command list
+     */
+    List<Command> queryCommandBySlots(List<Integer> commandSlots, int fetchNum);
 }
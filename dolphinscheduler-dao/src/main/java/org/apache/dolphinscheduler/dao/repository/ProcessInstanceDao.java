@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.dao.repository;
 
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStateUpdate;
 import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
 
 import java.util.List;
@@ -39,6 +40,13 @@ public interface ProcessInstanceDao extends IDao<ProcessInstance> {
                                      WorkflowExecutionStatus originState,
                                      WorkflowExecutionStatus targetState);
 
+    /**
+     * Update the non-null state columns of the workflow instance, the other columns will not be touched.
+     *
+     * @return true if the workflow instance exists
+     */
+    boolean updateWorkflowInstanceStateById(WorkflowInstanceStateUpdate workflowInstanceStateUpdate);
+
     /**
      * performs an "upsert" operation (update or insert) on a ProcessInstance object within a new transaction
      *
@@ -19,8 +19,10 @@ package org.apache.dolphinscheduler.dao.repository;
 
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -123,4 +125,17 @@ public interface TaskInstanceDao extends IDao<TaskInstance> {
 
     void updateTaskInstanceState(Integer taskInstanceId, TaskExecutionStatus originState,
                                  TaskExecutionStatus targetState);
+
+    /**
+     * Update the non-null state columns of the task instance, the other columns will not be touched.
+     *
+     * @return true if the task instance exists
+     */
+    boolean updateTaskInstanceStateById(TaskInstanceStateUpdate taskInstanceStateUpdate);
+
+    /**
+     * Same with {@link #updateTaskInstanceStateById(TaskInstanceStateUpdate)} but executed in JDBC batches, the updates
+     * with the same non-null columns should be adjacent, otherwise they cannot be put in the same batch.
+     */
+    void batchUpdateTaskInstanceStateById(Collection<TaskInstanceStateUpdate> taskInstanceStateUpdates);
 }
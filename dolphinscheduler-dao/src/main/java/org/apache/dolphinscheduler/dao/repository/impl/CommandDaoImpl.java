@@ -21,8 +21,14 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.repository.BaseDao;
 import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.NonNull;
 
 import org.springframework.stereotype.Repository;
 
@@ -33,9 +39,30 @@ public class CommandDaoImpl extends BaseDao<Command, CommandMapper> implements C
         super(commandMapper);
     }
 
+    @Override
+    public int insert(@NonNull Command command) {
+        if (command.getSlot() == null) {
+            command.setSlot(CommandSlotUtils.randomCommandSlot());
+        }
+        return super.insert(command);
+    }
+
     @Override
     public List<Command> queryCommandByIdSlot(int currentSlotIndex, int totalSlot, int idStep, int fetchNum) {
         return mybatisMapper.queryCommandByIdSlot(currentSlotIndex, totalSlot, idStep, fetchNum);
     }
 
+    @Override
+    public List<Command> queryCommandBySlots(List<Integer> commandSlots, int fetchNum) {
+        final List<Command> commands = new ArrayList<>();
+        for (Integer commandSlot : commandSlots) {
+            commands.addAll(mybatisMapper.queryCommandBySlot(commandSlot, fetchNum));
+        }
+        return commands.stream()
+                .sorted(Comparator.comparing((Command command) -> command.getProcessInstancePriority().getCode())
+                        .thenComparing(Command::getId))
+                .limit(fetchNum)
+                .collect(Collectors.toList());
+    }
+
 }
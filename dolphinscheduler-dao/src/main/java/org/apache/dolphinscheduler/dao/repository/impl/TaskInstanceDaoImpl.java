@@ -24,13 +24,16 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.ProcessInstanceMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskInstanceMapper;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.repository.BaseDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.logging.LogFactory;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -41,6 +44,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+
 /**
  * Task Instance DAO implementation
  */
@@ -48,6 +53,8 @@ import org.springframework.stereotype.Repository;
 @Slf4j
 public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMapper> implements TaskInstanceDao {
 
+    private static final int BATCH_UPDATE_SIZE = 500;
+
     @Autowired
     private ProcessInstanceMapper processInstanceMapper;
 
@@ -203,4 +210,20 @@ public class TaskInstanceDaoImpl extends BaseDao<TaskInstance, TaskInstanceMappe
                                         TaskExecutionStatus targetState) {
         mybatisMapper.updateTaskInstanceState(taskInstanceId, originState.getCode(), targetState.getCode());
     }
+
+    @Override
+    public boolean updateTaskInstanceStateById(TaskInstanceStateUpdate taskInstanceStateUpdate) {
+        return mybatisMapper.updateTaskInstanceStateById(taskInstanceStateUpdate) > 0;
+    }
+
+    @Override
+    public void batchUpdateTaskInstanceStateById(Collection<TaskInstanceStateUpdate> taskInstanceStateUpdates) {
+        if (CollectionUtils.isEmpty(taskInstanceStateUpdates)) {
+            return;
+        }
+        final String sqlStatement = TaskInstanceMapper.class.getName() + ".updateTaskInstanceStateById";
+        SqlHelper.executeBatch(TaskInstance.class, LogFactory.getLog(TaskInstanceDaoImpl.class),
+                taskInstanceStateUpdates, BATCH_UPDATE_SIZE,
+                (sqlSession, taskInstanceStateUpdate) -> sqlSession.update(sqlStatement, taskInstanceStateUpdate));
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The command is assigned to a fixed slot when inserting, and each master only fetches the commands in the slots it
+ * owns, so that the fetch query can use the index on slot rather than computing the slot from the command id.
+ */
+@UtilityClass
+public class CommandSlotUtils {
+
+    /**
+     * The total command slots, once the commands are persisted this value should not be changed. If the master count
+     * is greater than this value, some masters cannot own any command slot, then
+     * {@link org.apache.dolphinscheduler.server.master.engine.command.SlotBasedCommandFetcher} falls back to fetch the
+     * commands by id slot on all the masters.
+     */
+    public static final int TOTAL_COMMAND_SLOTS = 16;
+
+    public static int randomCommandSlot() {
+        return ThreadLocalRandom.current().nextInt(TOTAL_COMMAND_SLOTS);
+    }
+
+    /**
+     * Get the command slots owned by the given master slot, the command slots are distributed to the masters by
+     * {@code commandSlot % totalMasterSlots == currentMasterSlot}.
+     */
+    public static List<Integer> getOwnedCommandSlots(int currentMasterSlot, int totalMasterSlots) {
+        if (currentMasterSlot < 0 || totalMasterSlots <= 0 || currentMasterSlot >= totalMasterSlots) {
+            return Collections.emptyList();
+        }
+        final List<Integer> ownedCommandSlots = new ArrayList<>();
+        for (int commandSlot = currentMasterSlot; commandSlot < TOTAL_COMMAND_SLOTS; commandSlot += totalMasterSlots) {
+            ownedCommandSlots.add(commandSlot);
+        }
+        return Collections.unmodifiableList(ownedCommandSlots);
+    }
+}
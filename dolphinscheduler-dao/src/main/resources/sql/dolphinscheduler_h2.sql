@@ -335,8 +335,10 @@ CREATE TABLE t_ds_command
     process_instance_id        int(11) DEFAULT 0,
     process_definition_version int(11) DEFAULT 0,
     test_flag                  int NULL DEFAULT 0,
+    slot                       int(11) NOT NULL DEFAULT 0,
     PRIMARY KEY (id),
-    KEY                        priority_id_index (process_instance_priority, id)
+    KEY                        priority_id_index (process_instance_priority, id),
+    KEY                        slot_priority_id_index (slot, process_instance_priority, id)
 );
 
 -- ----------------------------
@@ -270,10 +270,12 @@ CREATE TABLE t_ds_command (
   process_instance_id       int DEFAULT 0,
   process_definition_version int DEFAULT 0,
   test_flag                 int DEFAULT NULL ,
+  slot                      int NOT NULL DEFAULT '0' ,
   PRIMARY KEY (id)
 ) ;
 
 create index priority_id_index on t_ds_command (process_instance_priority,id);
+create index slot_priority_id_index on t_ds_command (slot,process_instance_priority,id);
 
 --
 -- Table structure for table t_ds_datasource
@@ -125,3 +125,23 @@ d//
 delimiter ;
 CALL drop_column_t_ds_alert_plugin_instance;
 DROP PROCEDURE drop_column_t_ds_alert_plugin_instance;
+
+-- add_column_slot_t_ds_command
+DROP PROCEDURE if EXISTS add_column_slot_t_ds_command;
+delimiter d//
+CREATE PROCEDURE add_column_slot_t_ds_command()
+BEGIN
+   IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+           WHERE TABLE_NAME='t_ds_command'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND COLUMN_NAME ='slot')
+   THEN
+ALTER TABLE `t_ds_command`
+    ADD COLUMN `slot` int(11) NOT NULL DEFAULT '0' COMMENT 'slot used to distribute the command to master',
+    ADD KEY `slot_priority_id_index` (`slot`,`process_instance_priority`,`id`) USING BTREE;
+END IF;
+END;
+d//
+delimiter ;
+CALL add_column_slot_t_ds_command;
+DROP PROCEDURE add_column_slot_t_ds_command;
@@ -14,3 +14,6 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
 */
+
+-- distribute the existing commands into the 16 command slots
+UPDATE t_ds_command SET slot = id % 16;
@@ -123,3 +123,6 @@ d//
 
 select drop_column_t_ds_alert_plugin_instance();
 DROP FUNCTION IF EXISTS drop_column_t_ds_alert_plugin_instance();
+
+ALTER TABLE t_ds_command ADD COLUMN IF NOT EXISTS slot int NOT NULL DEFAULT '0';
+CREATE INDEX IF NOT EXISTS slot_priority_id_index ON t_ds_command (slot,process_instance_priority,id);
@@ -28,11 +28,14 @@ import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.dao.BaseDaoTest;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
 import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 
 import org.apache.commons.lang3.RandomUtils;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.RepeatedTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -70,6 +73,31 @@ class CommandDaoImplTest extends BaseDaoTest {
 
     }
 
+    @RepeatedTest(value = 10)
+    void fetchCommandBySlots() {
+        int fetchSize = RandomUtils.nextInt(10, 100);
+        int commandSize = RandomUtils.nextInt(1, 1000);
+        for (int j = 0; j < commandSize; j++) {
+            Command command = generateCommand(CommandType.START_PROCESS, 0);
+            command.setProcessInstancePriority(Priority.values()[RandomUtils.nextInt(0, Priority.values().length)]);
+            commandDao.insert(command);
+        }
+        List<Integer> commandSlots = CommandSlotUtils.getOwnedCommandSlots(0, RandomUtils.nextInt(1, 4));
+
+        List<Command> commands = commandDao.queryCommandBySlots(commandSlots, fetchSize);
+        List<Integer> expectedCommandIds = commandDao.queryAll()
+                .stream()
+                .filter(command -> commandSlots.contains(command.getSlot()))
+                .sorted(Comparator.comparing((Command command) -> command.getProcessInstancePriority().getCode())
+                        .thenComparing(Command::getId))
+                .limit(fetchSize)
+                .map(Command::getId)
+                .collect(Collectors.toList());
+        assertThat(commands.stream().map(Command::getId).collect(Collectors.toList()))
+                .containsExactlyElementsIn(expectedCommandIds)
+                .inOrder();
+    }
+
     private Command generateCommand(CommandType commandType, int processDefinitionCode) {
         Command command = new Command();
         command.setCommandType(commandType);
@@ -26,8 +26,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.dao.BaseDaoTest;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 
+import java.util.Date;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -82,6 +85,26 @@ class ProcessInstanceDaoImplTest extends BaseDaoTest {
                 WorkflowExecutionStatus.SUCCESS));
     }
 
+    @Test
+    void updateWorkflowInstanceStateById() {
+        final ProcessInstance workflowInstance = createWorkflowInstance(
+                1L, 1, WorkflowExecutionStatus.RUNNING_EXECUTION);
+        processInstanceDao.insert(workflowInstance);
+
+        final Date endTime = new Date();
+        assertTrue(processInstanceDao.updateWorkflowInstanceStateById(WorkflowInstanceStateUpdate.builder()
+                .workflowInstanceId(workflowInstance.getId())
+                .state(WorkflowExecutionStatus.SUCCESS)
+                .endTime(endTime)
+                .build()));
+
+        final ProcessInstance updated = processInstanceDao.queryById(workflowInstance.getId());
+        assertEquals(WorkflowExecutionStatus.SUCCESS, updated.getState());
+        assertEquals(endTime.getTime() / 1000, updated.getEndTime().getTime() / 1000);
+        assertEquals(workflowInstance.getName(), updated.getName());
+        assertEquals(workflowInstance.getVarPool(), updated.getVarPool());
+    }
+
     @Test
     void updateWorkflowInstanceState_failed() {
         ProcessInstance workflowInstance = createWorkflowInstance(
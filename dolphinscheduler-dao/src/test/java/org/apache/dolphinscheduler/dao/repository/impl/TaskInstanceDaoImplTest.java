@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.repository.impl;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.common.enums.Flag;
+import org.apache.dolphinscheduler.dao.BaseDaoTest;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.collect.Lists;
+
+class TaskInstanceDaoImplTest extends BaseDaoTest {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Test
+    void updateTaskInstanceStateById() {
+        final TaskInstance taskInstance = insertTaskInstance("dispatched");
+
+        assertThat(taskInstanceDao.updateTaskInstanceStateById(TaskInstanceStateUpdate.builder()
+                .taskInstanceId(taskInstance.getId())
+                .state(TaskExecutionStatus.DISPATCH)
+                .host("127.0.0.1:1234")
+                .build())).isTrue();
+
+        // The columns which are not given should not be touched
+        final TaskInstance dispatched = taskInstanceDao.queryById(taskInstance.getId());
+        assertThat(dispatched.getState()).isEqualTo(TaskExecutionStatus.DISPATCH);
+        assertThat(dispatched.getHost()).isEqualTo("127.0.0.1:1234");
+        assertThat(dispatched.getName()).isEqualTo("dispatched");
+        assertThat(dispatched.getTaskParams()).isEqualTo("{\"rawScript\":\"echo hello\"}");
+        assertThat(dispatched.getFlag()).isEqualTo(Flag.YES);
+    }
+
+    @Test
+    void updateTaskInstanceStateById_notExist() {
+        assertThat(taskInstanceDao.updateTaskInstanceStateById(TaskInstanceStateUpdate.builder()
+                .taskInstanceId(Integer.MAX_VALUE)
+                .state(TaskExecutionStatus.SUCCESS)
+                .build())).isFalse();
+    }
+
+    @Test
+    void batchUpdateTaskInstanceStateById() {
+        final TaskInstance runningTaskInstance = insertTaskInstance("running");
+        final TaskInstance succeedTaskInstance = insertTaskInstance("succeed");
+
+        taskInstanceDao.batchUpdateTaskInstanceStateById(Lists.newArrayList(
+                TaskInstanceStateUpdate.builder()
+                        .taskInstanceId(runningTaskInstance.getId())
+                        .state(TaskExecutionStatus.RUNNING_EXECUTION)
+                        .startTime(new Date())
+                        .logPath("/tmp/running.log")
+                        .build(),
+                TaskInstanceStateUpdate.builder()
+                        .taskInstanceId(succeedTaskInstance.getId())
+                        .state(TaskExecutionStatus.SUCCESS)
+                        .endTime(new Date())
+                        .varPool("[]")
+                        .build()));
+
+        final TaskInstance running = taskInstanceDao.queryById(runningTaskInstance.getId());
+        assertThat(running.getState()).isEqualTo(TaskExecutionStatus.RUNNING_EXECUTION);
+        assertThat(running.getStartTime()).isNotNull();
+        assertThat(running.getLogPath()).isEqualTo("/tmp/running.log");
+        assertThat(running.getEndTime()).isNull();
+
+        final TaskInstance succeed = taskInstanceDao.queryById(succeedTaskInstance.getId());
+        assertThat(succeed.getState()).isEqualTo(TaskExecutionStatus.SUCCESS);
+        assertThat(succeed.getEndTime()).isNotNull();
+        assertThat(succeed.getVarPool()).isEqualTo("[]");
+        assertThat(succeed.getName()).isEqualTo("succeed");
+    }
+
+    private TaskInstance insertTaskInstance(String name) {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setFlag(Flag.YES);
+        taskInstance.setName(name);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setSubmitTime(new Date());
+        taskInstance.setProcessInstanceId(1);
+        taskInstance.setProjectCode(1L);
+        taskInstance.setTaskType("SHELL");
+        taskInstance.setTaskParams("{\"rawScript\":\"echo hello\"}");
+        taskInstanceDao.insert(taskInstance);
+        return taskInstance;
+    }
+}
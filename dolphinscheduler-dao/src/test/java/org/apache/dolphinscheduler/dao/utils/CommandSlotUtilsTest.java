@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.dao.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CommandSlotUtilsTest {
+
+    @RepeatedTest(10)
+    void testRandomCommandSlot() {
+        assertThat(CommandSlotUtils.randomCommandSlot()).isIn(CommandSlotUtils.getOwnedCommandSlots(0, 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5, 16})
+    void testGetOwnedCommandSlots_allSlotsAreOwnedOnce(int totalMasterSlots) {
+        List<Integer> allOwnedCommandSlots = new ArrayList<>();
+        for (int currentMasterSlot = 0; currentMasterSlot < totalMasterSlots; currentMasterSlot++) {
+            for (Integer commandSlot : CommandSlotUtils.getOwnedCommandSlots(currentMasterSlot, totalMasterSlots)) {
+                assertThat(commandSlot % totalMasterSlots).isEqualTo(currentMasterSlot);
+                allOwnedCommandSlots.add(commandSlot);
+            }
+        }
+        assertThat(allOwnedCommandSlots).hasSize(CommandSlotUtils.TOTAL_COMMAND_SLOTS);
+        assertThat(allOwnedCommandSlots).containsNoDuplicates();
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"-1,3", "0,0", "3,3", "16,17"})
+    void testGetOwnedCommandSlots_invalidMasterSlot(int currentMasterSlot, int totalMasterSlots) {
+        assertThat(CommandSlotUtils.getOwnedCommandSlots(currentMasterSlot, totalMasterSlots)).isEmpty();
+    }
+
+}
@@ -35,6 +35,7 @@ import java.sql.SQLException;
 import lombok.extern.slf4j.Slf4j;
 
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 
 @Slf4j
 public abstract class BasePooledDataSourceClient implements PooledDataSourceClient {
@@ -76,6 +77,29 @@ public abstract class BasePooledDataSourceClient implements PooledDataSourceClie
         return dataSource.getConnection();
     }
 
+    /**
+     * Refresh the credentials of the datasource, e.g. the kerberos ticket, without closing the pool, the pooled
+     * connections are kept and the new connections use the refreshed credentials.
+     */
+    public void refreshCredentials() {
+        // do nothing by default
+    }
+
+    public int getActiveConnections() {
+        HikariPoolMXBean hikariPoolMXBean = dataSource.getHikariPoolMXBean();
+        return hikariPoolMXBean == null ? 0 : hikariPoolMXBean.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        HikariPoolMXBean hikariPoolMXBean = dataSource.getHikariPoolMXBean();
+        return hikariPoolMXBean == null ? 0 : hikariPoolMXBean.getIdleConnections();
+    }
+
+    public int getTotalConnections() {
+        HikariPoolMXBean hikariPoolMXBean = dataSource.getHikariPoolMXBean();
+        return hikariPoolMXBean == null ? 0 : hikariPoolMXBean.getTotalConnections();
+    }
+
     @Override
     public void close() {
         log.info("do close dataSource {}.", baseConnectionParam.getDatabase());
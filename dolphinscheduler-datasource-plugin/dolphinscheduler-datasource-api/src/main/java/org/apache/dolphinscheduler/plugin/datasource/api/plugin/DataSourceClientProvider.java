@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.plugin.datasource.api.plugin;
 
+import org.apache.dolphinscheduler.common.constants.DataSourceConstants;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.DataSourceUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
@@ -25,42 +27,45 @@ import org.apache.dolphinscheduler.spi.datasource.BaseConnectionParam;
 import org.apache.dolphinscheduler.spi.datasource.ConnectionParam;
 import org.apache.dolphinscheduler.spi.datasource.DataSourceChannel;
 import org.apache.dolphinscheduler.spi.datasource.DataSourceClient;
-import org.apache.dolphinscheduler.spi.datasource.PooledDataSourceClient;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-
 @Slf4j
 public class DataSourceClientProvider {
 
     // We use the cache here to avoid creating a new datasource client every time,
     // One DataSourceClient corresponds to one unique datasource.
-    private static final Cache<String, PooledDataSourceClient> POOLED_DATASOURCE_CLIENT_CACHE =
-            CacheBuilder.newBuilder()
-                    .expireAfterWrite(PropertyUtils.getLong(TaskConstants.KERBEROS_EXPIRE_TIME, 24L), TimeUnit.HOURS)
-                    .removalListener((RemovalListener<String, PooledDataSourceClient>) notification -> {
-                        try (PooledDataSourceClient closedClient = notification.getValue()) {
-                            log.info("Datasource: {} is removed from cache due to expire", notification.getKey());
-                        } catch (Exception e) {
-                            log.error("Close datasource client error", e);
-                        }
-                    })
-                    .maximumSize(100)
-                    .build();
+    private static final PooledDataSourceClientCache POOLED_DATASOURCE_CLIENT_CACHE =
+            new PooledDataSourceClientCache(
+                    PropertyUtils.getLong(DataSourceConstants.DATASOURCE_POOL_CACHE_MAX_CONNECTIONS, 2000L),
+                    Duration.ofSeconds(
+                            PropertyUtils.getLong(DataSourceConstants.DATASOURCE_POOL_CACHE_IDLE_EXPIRE_SECONDS,
+                                    3600L)),
+                    Duration.ofHours(PropertyUtils.getLong(TaskConstants.KERBEROS_EXPIRE_TIME, 24L)));
+
+    private static final ScheduledExecutorService POOLED_DATASOURCE_CLIENT_CACHE_CLEANER =
+            ThreadUtils.newSingleDaemonScheduledExecutorService("PooledDataSourceClientCache-Cleaner-Thread-");
+
     private static final DataSourcePluginManager dataSourcePluginManager = new DataSourcePluginManager();
 
     static {
         dataSourcePluginManager.installPlugin();
+        POOLED_DATASOURCE_CLIENT_CACHE_CLEANER.scheduleWithFixedDelay(() -> {
+            try {
+                POOLED_DATASOURCE_CLIENT_CACHE.cleanUp();
+            } catch (Exception e) {
+                log.error("Clean up the pooled datasource client cache error", e);
+            }
+        }, 1, 1, TimeUnit.MINUTES);
     }
 
     public static DataSourceClient getPooledDataSourceClient(DbType dbType,
@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.datasource.api.plugin;
+
+import org.apache.dolphinscheduler.plugin.datasource.api.client.BasePooledDataSourceClient;
+import org.apache.dolphinscheduler.spi.datasource.PooledDataSourceClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The cache of the {@link PooledDataSourceClient}, one client corresponds to one unique datasource.
+ * <p>
+ * The connections in use are the references to the pool, a pool is idle when none of its connections is in use, and
+ * only the idle pools are closed, so a long-running task never loses its pool. The idle pools are closed when they are
+ * not accessed for the idle expire time, or from the least recently accessed one when the total connections of all the
+ * pools exceed the max connections. The credentials of the pools are refreshed on the refresh interval without closing
+ * the pools.
+ * <p>
+ * The expired pools are closed and the credentials are refreshed by {@link #cleanUp()}, which is expected to be
+ * called periodically.
+ * <p>
+ * The lock of the cache only guards the cached entries. Creating the client, closing the evicted clients and refreshing
+ * the credentials may take a long time when the datasource uses Kerberos, so they are done outside the lock.
+ */
+@Slf4j
+public class PooledDataSourceClientCache {
+
+    /**
+     * The pool is not closed for exceeding the max connections in this duration after accessed, since the connection
+     * may be going to be got from the pool.
+     */
+    private static final long EVICTION_GRACE_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final long maxConnections;
+
+    private final long idleExpireMillis;
+
+    private final long credentialsRefreshMillis;
+
+    private final Map<String, CachedPooledDataSourceClient> cachedClients = new ConcurrentHashMap<>();
+
+    public PooledDataSourceClientCache(long maxConnections, Duration idleExpireTime,
+                                       Duration credentialsRefreshInterval) {
+        this.maxConnections = maxConnections;
+        this.idleExpireMillis = idleExpireTime.toMillis();
+        this.credentialsRefreshMillis = credentialsRefreshInterval.toMillis();
+        PooledDataSourceClientMetrics.registerPooledDataSourceClientCacheGauges(this);
+    }
+
+    /**
+     * Get the cached client of the datasource, the client is created by the loader if not cached.
+     * <p>
+     * The lookup and the access are guarded by the same lock as {@link #cleanUp()}, otherwise a concurrent clean up may
+     * close the pool between the lookup and the access, and the closed client would be returned. The entry is put into
+     * the cache before the client is created outside the lock, the other callers of the same datasource wait for the
+     * entry and then look it up again, in case it has been evicted after created.
+     */
+    public PooledDataSourceClient get(String datasourceUniqueId,
+                                      Callable<PooledDataSourceClient> loader) throws ExecutionException {
+        while (true) {
+            CachedPooledDataSourceClient cachedClient;
+            boolean needLoad = false;
+            synchronized (this) {
+                cachedClient = cachedClients.get(datasourceUniqueId);
+                if (cachedClient == null) {
+                    cachedClient = new CachedPooledDataSourceClient(datasourceUniqueId);
+                    cachedClients.put(datasourceUniqueId, cachedClient);
+                    needLoad = true;
+                } else if (cachedClient.isLoaded()) {
+                    cachedClient.access();
+                    return cachedClient.getClient();
+                }
+            }
+            if (needLoad) {
+                return load(cachedClient, loader);
+            }
+            cachedClient.awaitLoaded();
+        }
+    }
+
+    /**
+     * Close the expired idle pools and the idle pools exceeding the max connections, then refresh the credentials of
+     * the pools on the refresh interval.
+     */
+    public void cleanUp() {
+        cleanUp(System.currentTimeMillis());
+    }
+
+    void cleanUp(long now) {
+        List<CachedPooledDataSourceClient> evictedClients = new ArrayList<>();
+        List<CachedPooledDataSourceClient> loadedClients = new ArrayList<>();
+        synchronized (this) {
+            for (CachedPooledDataSourceClient cachedClient : getLoadedClients()) {
+                if (cachedClient.isIdle() && now - cachedClient.getLastAccessTime() >= idleExpireMillis) {
+                    evict(cachedClient, "idle expired");
+                    evictedClients.add(cachedClient);
+                }
+            }
+
+            long totalConnections = getTotalConnections();
+            if (totalConnections > maxConnections) {
+                List<CachedPooledDataSourceClient> evictableClients = new ArrayList<>();
+                for (CachedPooledDataSourceClient cachedClient : getLoadedClients()) {
+                    if (cachedClient.isIdle() && now - cachedClient.getLastAccessTime() >= EVICTION_GRACE_MILLIS) {
+                        evictableClients.add(cachedClient);
+                    }
+                }
+                evictableClients.sort(Comparator.comparingLong(CachedPooledDataSourceClient::getLastAccessTime));
+                for (CachedPooledDataSourceClient cachedClient : evictableClients) {
+                    if (totalConnections <= maxConnections) {
+                        break;
+                    }
+                    totalConnections -= cachedClient.getTotalConnections();
+                    evict(cachedClient, "exceeding max connections " + maxConnections);
+                    evictedClients.add(cachedClient);
+                }
+            }
+            loadedClients.addAll(getLoadedClients());
+        }
+
+        // The evicted clients cannot be got from the cache anymore, so they are closed outside the lock
+        evictedClients.forEach(this::close);
+        for (CachedPooledDataSourceClient cachedClient : loadedClients) {
+            if (now - cachedClient.getLastRefreshTime() >= credentialsRefreshMillis) {
+                cachedClient.refreshCredentials(now);
+            }
+        }
+    }
+
+    public int size() {
+        return cachedClients.size();
+    }
+
+    public long getTotalConnections() {
+        long totalConnections = 0;
+        for (CachedPooledDataSourceClient cachedClient : cachedClients.values()) {
+            totalConnections += cachedClient.getTotalConnections();
+        }
+        return totalConnections;
+    }
+
+    private PooledDataSourceClient load(CachedPooledDataSourceClient cachedClient,
+                                        Callable<PooledDataSourceClient> loader) throws ExecutionException {
+        PooledDataSourceClient client;
+        try {
+            client = loader.call();
+        } catch (Throwable e) {
+            // the callers waiting for the entry should not hang if the loader failed with an error
+            synchronized (this) {
+                cachedClients.remove(cachedClient.getDatasourceUniqueId(), cachedClient);
+            }
+            cachedClient.loadFailed(e);
+            throw new ExecutionException(e);
+        }
+        synchronized (this) {
+            cachedClient.loaded(client);
+            PooledDataSourceClientMetrics.registerPooledDataSourceClientGauges(cachedClient);
+            log.info("Datasource: {} is added to cache, cached datasource size: {}",
+                    cachedClient.getName(), cachedClients.size());
+            cachedClient.access();
+            return client;
+        }
+    }
+
+    private List<CachedPooledDataSourceClient> getLoadedClients() {
+        List<CachedPooledDataSourceClient> loadedClients = new ArrayList<>();
+        for (CachedPooledDataSourceClient cachedClient : cachedClients.values()) {
+            if (cachedClient.isLoaded()) {
+                loadedClients.add(cachedClient);
+            }
+        }
+        return loadedClients;
+    }
+
+    private void evict(CachedPooledDataSourceClient cachedClient, String reason) {
+        cachedClients.remove(cachedClient.getDatasourceUniqueId());
+        PooledDataSourceClientMetrics.removePooledDataSourceClientGauges(cachedClient);
+        PooledDataSourceClientMetrics.incPooledDataSourceClientEvictedCount();
+        log.info("Datasource: {} is removed from cache due to {}", cachedClient.getName(), reason);
+    }
+
+    private void close(CachedPooledDataSourceClient cachedClient) {
+        try {
+            cachedClient.getClient().close();
+        } catch (Exception e) {
+            log.error("Close datasource client: {} error", cachedClient.getName(), e);
+        }
+    }
+
+    @Getter
+    static class CachedPooledDataSourceClient {
+
+        private final String datasourceUniqueId;
+
+        private final String name;
+
+        /**
+         * Completed once the client is created, the entry is cached while the client is being created, so that the
+         * client is created only once for the datasource without holding the lock of the cache.
+         */
+        @Getter(AccessLevel.NONE)
+        private final CompletableFuture<PooledDataSourceClient> clientFuture = new CompletableFuture<>();
+
+        private volatile long lastAccessTime;
+
+        private volatile long lastRefreshTime;
+
+        CachedPooledDataSourceClient(String datasourceUniqueId) {
+            this.datasourceUniqueId = datasourceUniqueId;
+            this.name = getName(datasourceUniqueId);
+            this.lastAccessTime = System.currentTimeMillis();
+            this.lastRefreshTime = lastAccessTime;
+        }
+
+        /**
+         * The unique id contains the encoded password, so the name only keeps the db type and the user before the
+         * password, and the hash of the unique id to distinguish the datasources.
+         */
+        private static String getName(String datasourceUniqueId) {
+            String[] parts = datasourceUniqueId.split("@", 3);
+            String hash = Integer.toHexString(datasourceUniqueId.hashCode());
+            return parts.length < 3 ? parts[0] + "@" + hash : parts[0] + "@" + parts[1] + "@" + hash;
+        }
+
+        PooledDataSourceClient getClient() {
+            return clientFuture.getNow(null);
+        }
+
+        boolean isLoaded() {
+            return clientFuture.isDone() && !clientFuture.isCompletedExceptionally();
+        }
+
+        void loaded(PooledDataSourceClient client) {
+            lastRefreshTime = System.currentTimeMillis();
+            clientFuture.complete(client);
+        }
+
+        void loadFailed(Throwable e) {
+            clientFuture.completeExceptionally(e);
+        }
+
+        /**
+         * Wait until the client is created, throw the exception of the loader if the client cannot be created.
+         */
+        void awaitLoaded() throws ExecutionException {
+            try {
+                clientFuture.join();
+            } catch (CompletionException e) {
+                throw new ExecutionException(e.getCause());
+            }
+        }
+
+        void access() {
+            lastAccessTime = System.currentTimeMillis();
+        }
+
+        /**
+         * The pool is idle when none of its connections is in use, the pool not managed by
+         * {@link BasePooledDataSourceClient} is always considered idle.
+         */
+        boolean isIdle() {
+            return getActiveConnections() == 0;
+        }
+
+        int getActiveConnections() {
+            PooledDataSourceClient client = getClient();
+            return client instanceof BasePooledDataSourceClient
+                    ? ((BasePooledDataSourceClient) client).getActiveConnections()
+                    : 0;
+        }
+
+        int getIdleConnections() {
+            PooledDataSourceClient client = getClient();
+            return client instanceof BasePooledDataSourceClient
+                    ? ((BasePooledDataSourceClient) client).getIdleConnections()
+                    : 0;
+        }
+
+        int getTotalConnections() {
+            PooledDataSourceClient client = getClient();
+            return client instanceof BasePooledDataSourceClient
+                    ? ((BasePooledDataSourceClient) client).getTotalConnections()
+                    : 0;
+        }
+
+        void refreshCredentials(long refreshTime) {
+            lastRefreshTime = refreshTime;
+            PooledDataSourceClient client = getClient();
+            if (!(client instanceof BasePooledDataSourceClient)) {
+                return;
+            }
+            try {
+                ((BasePooledDataSourceClient) client).refreshCredentials();
+            } catch (Exception e) {
+                log.error("Refresh the credentials of datasource: {} error", name, e);
+            }
+        }
+    }
+}
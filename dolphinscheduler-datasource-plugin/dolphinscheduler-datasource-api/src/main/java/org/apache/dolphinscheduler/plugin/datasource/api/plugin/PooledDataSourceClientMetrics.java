@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.datasource.api.plugin;
+
+import org.apache.dolphinscheduler.plugin.datasource.api.plugin.PooledDataSourceClientCache.CachedPooledDataSourceClient;
+
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+@UtilityClass
+public class PooledDataSourceClientMetrics {
+
+    private final String DATASOURCE_TAG = "datasource";
+
+    private final Counter pooledDataSourceClientEvictedCounter =
+            Counter.builder("ds.datasource.pool.cache.evicted.count")
+                    .description("datasource pools closed and removed from the cache count")
+                    .register(Metrics.globalRegistry);
+
+    public void registerPooledDataSourceClientCacheGauges(PooledDataSourceClientCache pooledDataSourceClientCache) {
+        Gauge.builder("ds.datasource.pool.cache.size", pooledDataSourceClientCache, PooledDataSourceClientCache::size)
+                .description("datasource pools in the cache")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.datasource.pool.cache.connections", pooledDataSourceClientCache,
+                PooledDataSourceClientCache::getTotalConnections)
+                .description("connections of all the datasource pools in the cache")
+                .register(Metrics.globalRegistry);
+    }
+
+    void registerPooledDataSourceClientGauges(CachedPooledDataSourceClient cachedClient) {
+        Gauge.builder("ds.datasource.pool.active.connections", cachedClient,
+                CachedPooledDataSourceClient::getActiveConnections)
+                .description("connections in use of the datasource pool")
+                .tag(DATASOURCE_TAG, cachedClient.getName())
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.datasource.pool.idle.connections", cachedClient,
+                CachedPooledDataSourceClient::getIdleConnections)
+                .description("idle connections of the datasource pool")
+                .tag(DATASOURCE_TAG, cachedClient.getName())
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.datasource.pool.total.connections", cachedClient,
+                CachedPooledDataSourceClient::getTotalConnections)
+                .description("total connections of the datasource pool")
+                .tag(DATASOURCE_TAG, cachedClient.getName())
+                .register(Metrics.globalRegistry);
+    }
+
+    void removePooledDataSourceClientGauges(CachedPooledDataSourceClient cachedClient) {
+        List<String> gaugeNames = Arrays.asList(
+                "ds.datasource.pool.active.connections",
+                "ds.datasource.pool.idle.connections",
+                "ds.datasource.pool.total.connections");
+        for (String gaugeName : gaugeNames) {
+            Gauge gauge = Metrics.globalRegistry.find(gaugeName).tag(DATASOURCE_TAG, cachedClient.getName()).gauge();
+            if (gauge != null) {
+                Metrics.globalRegistry.remove(gauge);
+            }
+        }
+    }
+
+    public void incPooledDataSourceClientEvictedCount() {
+        pooledDataSourceClientEvictedCounter.increment();
+    }
+}
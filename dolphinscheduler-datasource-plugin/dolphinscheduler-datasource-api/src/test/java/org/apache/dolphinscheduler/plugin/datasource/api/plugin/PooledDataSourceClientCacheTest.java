@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.datasource.api.plugin;
+
+import org.apache.dolphinscheduler.plugin.datasource.api.client.BasePooledDataSourceClient;
+import org.apache.dolphinscheduler.spi.datasource.PooledDataSourceClient;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+public class PooledDataSourceClientCacheTest {
+
+    @Test
+    public void testGet() throws ExecutionException {
+        PooledDataSourceClientCache cache =
+                new PooledDataSourceClientCache(100, Duration.ofHours(1), Duration.ofHours(1));
+        BasePooledDataSourceClient client = Mockito.mock(BasePooledDataSourceClient.class);
+
+        Assertions.assertSame(client, cache.get("mysql@root@pwd@jdbc:mysql://localhost:3306/test", () -> client));
+        Assertions.assertSame(client, cache.get("mysql@root@pwd@jdbc:mysql://localhost:3306/test", () -> {
+            throw new IllegalStateException("the cached client should be reused");
+        }));
+        Assertions.assertEquals(1, cache.size());
+
+        Assertions.assertThrows(ExecutionException.class, () -> cache.get("mysql@root@pwd@jdbc:mysql://other", () -> {
+            throw new IllegalStateException("create client failed");
+        }));
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testCleanUpIdleExpired() throws Exception {
+        PooledDataSourceClientCache cache =
+                new PooledDataSourceClientCache(100, Duration.ZERO, Duration.ofHours(1));
+        BasePooledDataSourceClient idleClient = Mockito.mock(BasePooledDataSourceClient.class);
+        BasePooledDataSourceClient activeClient = Mockito.mock(BasePooledDataSourceClient.class);
+        Mockito.when(activeClient.getActiveConnections()).thenReturn(1);
+        cache.get("mysql@root@pwd@jdbc:mysql://idle", () -> idleClient);
+        cache.get("mysql@root@pwd@jdbc:mysql://active", () -> activeClient);
+
+        cache.cleanUp();
+
+        Assertions.assertEquals(1, cache.size());
+        Mockito.verify(idleClient).close();
+        Mockito.verify(activeClient, Mockito.never()).close();
+    }
+
+    @Test
+    public void testGetNotReturnClientClosedByConcurrentCleanUp() throws Exception {
+        PooledDataSourceClientCache cache =
+                new PooledDataSourceClientCache(100, Duration.ZERO, Duration.ofHours(1));
+        CountDownLatch cleanUpStarted = new CountDownLatch(1);
+        CountDownLatch cleanUpReleased = new CountDownLatch(1);
+        BasePooledDataSourceClient expiredClient = Mockito.mock(BasePooledDataSourceClient.class);
+        Mockito.when(expiredClient.getActiveConnections()).thenAnswer(invocation -> {
+            cleanUpStarted.countDown();
+            cleanUpReleased.await(10, TimeUnit.SECONDS);
+            return 0;
+        });
+        BasePooledDataSourceClient newClient = Mockito.mock(BasePooledDataSourceClient.class);
+        cache.get("mysql@root@pwd@jdbc:mysql://test", () -> expiredClient);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> cleanUpFuture = executorService.submit(() -> cache.cleanUp());
+            Assertions.assertTrue(cleanUpStarted.await(10, TimeUnit.SECONDS));
+            Future<PooledDataSourceClient> getFuture =
+                    executorService.submit(() -> cache.get("mysql@root@pwd@jdbc:mysql://test", () -> newClient));
+            // the get waits for the clean up which is closing the cached client
+            Assertions.assertThrows(TimeoutException.class, () -> getFuture.get(200, TimeUnit.MILLISECONDS));
+
+            cleanUpReleased.countDown();
+            cleanUpFuture.get(10, TimeUnit.SECONDS);
+            Assertions.assertSame(newClient, getFuture.get(10, TimeUnit.SECONDS));
+            Mockito.verify(expiredClient).close();
+        } finally {
+            cleanUpReleased.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGetNotBlockedByCreatingClient() throws Exception {
+        PooledDataSourceClientCache cache =
+                new PooledDataSourceClientCache(100, Duration.ofHours(1), Duration.ofHours(1));
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadReleased = new CountDownLatch(1);
+        AtomicInteger loadCount = new AtomicInteger();
+        BasePooledDataSourceClient slowClient = Mockito.mock(BasePooledDataSourceClient.class);
+        Callable<PooledDataSourceClient> slowLoader = () -> {
+            loadCount.incrementAndGet();
+            loadStarted.countDown();
+            loadReleased.await(10, TimeUnit.SECONDS);
+            return slowClient;
+        };
+        BasePooledDataSourceClient client = Mockito.mock(BasePooledDataSourceClient.class);
+        cache.get("mysql@root@pwd@jdbc:mysql://test", () -> client);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<PooledDataSourceClient> loadFuture =
+                    executorService.submit(() -> cache.get("hive@hive@pwd@jdbc:hive2://slow", slowLoader));
+            Assertions.assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+            // the other datasource and the clean up are not blocked by the client being created, e.g. kerberos login
+            Future<PooledDataSourceClient> getFuture =
+                    executorService.submit(() -> cache.get("mysql@root@pwd@jdbc:mysql://test", () -> client));
+            Assertions.assertSame(client, getFuture.get(1, TimeUnit.SECONDS));
+            executorService.submit(() -> cache.cleanUp()).get(1, TimeUnit.SECONDS);
+            // the same datasource waits for the client being created rather than creating another one
+            Future<PooledDataSourceClient> waitFuture =
+                    executorService.submit(() -> cache.get("hive@hive@pwd@jdbc:hive2://slow", slowLoader));
+            Assertions.assertThrows(TimeoutException.class, () -> waitFuture.get(200, TimeUnit.MILLISECONDS));
+
+            loadReleased.countDown();
+            Assertions.assertSame(slowClient, loadFuture.get(10, TimeUnit.SECONDS));
+            Assertions.assertSame(slowClient, waitFuture.get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, loadCount.get());
+            Assertions.assertEquals(2, cache.size());
+        } finally {
+            loadReleased.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testGetNotBlockedByRefreshingCredentials() throws Exception {
+        PooledDataSourceClientCache cache =
+                new PooledDataSourceClientCache(100, Duration.ofHours(1), Duration.ZERO);
+        CountDownLatch refreshStarted = new CountDownLatch(1);
+        CountDownLatch refreshReleased = new CountDownLatch(1);
+        BasePooledDataSourceClient client = Mockito.mock(BasePooledDataSourceClient.class);
+        Mockito.doAnswer(invocation -> {
+            refreshStarted.countDown();
+            refreshReleased.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(client).refreshCredentials();
+        cache.get("hive@hive@pwd@jdbc:hive2://localhost:10000", () -> client);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> cleanUpFuture = executorService.submit(() -> cache.cleanUp());
+            Assertions.assertTrue(refreshStarted.await(10, TimeUnit.SECONDS));
+            // the credentials are refreshed from the kdc outside the lock of the cache
+            Future<PooledDataSourceClient> getFuture = executorService
+                    .submit(() -> cache.get("hive@hive@pwd@jdbc:hive2://localhost:10000", () -> client));
+            Assertions.assertSame(client, getFuture.get(1, TimeUnit.SECONDS));
+
+            refreshReleased.countDown();
+            cleanUpFuture.get(10, TimeUnit.SECONDS);
+        } finally {
+            refreshReleased.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCleanUpExceedingMaxConnections() throws Exception {
+        PooledDataSourceClientCache cache =
+                new PooledDataSourceClientCache(10, Duration.ofHours(1), Duration.ofHours(1));
+        BasePooledDataSourceClient client = Mockito.mock(BasePooledDataSourceClient.class);
+        Mockito.when(client.getTotalConnections()).thenReturn(20);
+        cache.get("mysql@root@pwd@jdbc:mysql://recent", () -> client);
+
+        // the pool just accessed is not closed even if the max connections are exceeded
+        cache.cleanUp();
+
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(20, cache.getTotalConnections());
+        Mockito.verify(client, Mockito.never()).close();
+    }
+
+    @Test
+    public void testCleanUpEvictLeastRecentlyAccessedIdlePools() throws Exception {
+        PooledDataSourceClientCache cache =
+                new PooledDataSourceClientCache(25, Duration.ofHours(1), Duration.ofHours(1));
+        // The active pool is the least recently accessed one, but its connections are in use
+        BasePooledDataSourceClient activeClient = mockClient(10, 1);
+        BasePooledDataSourceClient oldestIdleClient = mockClient(10, 0);
+        BasePooledDataSourceClient olderIdleClient = mockClient(10, 0);
+        BasePooledDataSourceClient idleClient = mockClient(10, 0);
+        getInOrder(cache, "mysql@root@pwd@jdbc:mysql://active", activeClient);
+        getInOrder(cache, "mysql@root@pwd@jdbc:mysql://oldest-idle", oldestIdleClient);
+        getInOrder(cache, "mysql@root@pwd@jdbc:mysql://older-idle", olderIdleClient);
+        getInOrder(cache, "mysql@root@pwd@jdbc:mysql://idle", idleClient);
+
+        // All the pools are older than the eviction grace period
+        cache.cleanUp(System.currentTimeMillis() + Duration.ofMinutes(2).toMillis());
+
+        // 40 connections exceed 25, the eviction stops once the total connections drop to 20
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(20, cache.getTotalConnections());
+        InOrder inOrder = Mockito.inOrder(oldestIdleClient, olderIdleClient);
+        inOrder.verify(oldestIdleClient).close();
+        inOrder.verify(olderIdleClient).close();
+        Mockito.verify(idleClient, Mockito.never()).close();
+        Mockito.verify(activeClient, Mockito.never()).close();
+    }
+
+    @Test
+    public void testCleanUpRefreshCredentials() throws Exception {
+        PooledDataSourceClientCache cache =
+                new PooledDataSourceClientCache(100, Duration.ofHours(1), Duration.ZERO);
+        BasePooledDataSourceClient client = Mockito.mock(BasePooledDataSourceClient.class);
+        cache.get("hive@hive@pwd@jdbc:hive2://localhost:10000", () -> client);
+
+        cache.cleanUp();
+
+        Assertions.assertEquals(1, cache.size());
+        Mockito.verify(client).refreshCredentials();
+        Mockito.verify(client, Mockito.never()).close();
+    }
+
+    private BasePooledDataSourceClient mockClient(int totalConnections, int activeConnections) {
+        BasePooledDataSourceClient client = Mockito.mock(BasePooledDataSourceClient.class);
+        Mockito.when(client.getTotalConnections()).thenReturn(totalConnections);
+        Mockito.when(client.getActiveConnections()).thenReturn(activeConnections);
+        return client;
+    }
+
+    private void getInOrder(PooledDataSourceClientCache cache, String datasourceUniqueId,
+                            PooledDataSourceClient client) throws Exception {
+        cache.get(datasourceUniqueId, () -> client);
+        // Make sure the next pool is accessed at a later time
+        long accessTime = System.currentTimeMillis();
+        while (System.currentTimeMillis() == accessTime) {
+            Thread.sleep(1);
+        }
+    }
+}
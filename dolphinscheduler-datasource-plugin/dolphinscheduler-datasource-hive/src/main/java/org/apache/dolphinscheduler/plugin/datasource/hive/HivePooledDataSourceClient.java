@@ -83,6 +83,11 @@ public class HivePooledDataSourceClient extends BasePooledDataSourceClient {
         }
     }
 
+    @Override
+    public void refreshCredentials() {
+        UserGroupInformationFactory.relogin(baseConnectionParam.getUser());
+    }
+
     @Override
     public void close() {
         try {
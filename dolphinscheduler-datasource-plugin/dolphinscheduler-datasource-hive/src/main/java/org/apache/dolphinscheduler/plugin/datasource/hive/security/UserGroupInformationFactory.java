@@ -91,6 +91,22 @@ public class UserGroupInformationFactory {
         }
     }
 
+    /**
+     * Relogin the user from keytab even if the ticket is not expired, the user logged in by the remote user is skipped.
+     */
+    public synchronized static void relogin(String userName) {
+        UserGroupInformation userGroupInformation = userGroupInformationMap.get(userName);
+        if (userGroupInformation == null || !userGroupInformation.isFromKeytab()) {
+            return;
+        }
+        try {
+            userGroupInformation.forceReloginFromKeytab();
+            log.info("Force relogin from keytab success, user: {}", userName);
+        } catch (IOException e) {
+            throw new RuntimeException("Force relogin from keytab failed, user: " + userName, e);
+        }
+    }
+
     private static UserGroupInformation createRemoteUser(String userName) {
         return UserGroupInformation.createRemoteUser(userName);
     }
@@ -37,8 +37,20 @@ public abstract class AbstractDelayEventBus<T extends AbstractDelayEvent> implem
         return Optional.ofNullable(delayEventQueue.poll());
     }
 
+    /**
+     * Retrieve but do not remove the head event of the bus, the head event might not be expired yet.
+     */
+    public Optional<T> peek() {
+        return Optional.ofNullable(delayEventQueue.peek());
+    }
+
     @Override
     public boolean isEmpty() {
         return delayEventQueue.isEmpty();
     }
+
+    @Override
+    public int size() {
+        return delayEventQueue.size();
+    }
 }
@@ -41,4 +41,9 @@ public interface IEventBus<T extends IEvent> {
      * Whether the bus is empty.
      */
     boolean isEmpty();
+
+    /**
+     * Get the number of events in the bus.
+     */
+    int size();
 }
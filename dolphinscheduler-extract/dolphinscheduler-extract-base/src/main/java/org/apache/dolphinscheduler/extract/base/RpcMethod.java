@@ -23,11 +23,19 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Mark the method can be invoked remotely.
+ * <p> If the method returns {@link java.util.concurrent.CompletableFuture}, the client will not block the caller
+ * thread to wait for the response, and the server will respond once the returned future completed.
+ */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface RpcMethod {
 
+    /**
+     * The timeout millis to wait for the response, the connect timeout of the client will be used if not set.
+     */
     long timeout() default -1;
 
 }
@@ -17,6 +17,10 @@
 
 package org.apache.dolphinscheduler.extract.base.client;
 
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 
 import java.lang.reflect.Method;
@@ -38,4 +42,11 @@ abstract class AbstractClientMethodInvoker implements ClientMethodInvoker {
         this.methodIdentifier = localMethod.toGenericString();
     }
 
+    protected Transporter createRequestTransporter(ISerializer serializer, Object[] args) {
+        // The server will respond with the same serializer
+        TransporterHeader transporterHeader = TransporterHeader.of(methodIdentifier);
+        transporterHeader.setSerializerType(serializer.getSerializerType().getCode());
+        return Transporter.of(transporterHeader, serializer.serialize(StandardRpcRequest.of(args, serializer)));
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.client;
+
+import org.apache.dolphinscheduler.extract.base.AsyncRequestDto;
+import org.apache.dolphinscheduler.extract.base.RpcMethod;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.utils.Host;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Invoke the method which return {@link java.util.concurrent.CompletableFuture}, the caller thread will not be blocked
+ * to wait for the response, the returned future will be completed with the deserialized result once the response
+ * arrived.
+ */
+class AsyncClientMethodInvoker extends AbstractClientMethodInvoker {
+
+    private final Class<?> responseClass;
+
+    AsyncClientMethodInvoker(Host serverHost, Method localMethod, NettyRemotingClient nettyRemotingClient) {
+        super(serverHost, localMethod, nettyRemotingClient);
+        this.responseClass = getFutureValueClass(localMethod);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        RpcMethod rpcMethod = method.getAnnotation(RpcMethod.class);
+        ISerializer serializer = nettyRemotingClient.getSerializer(serverHost);
+        Transporter transporter = createRequestTransporter(serializer, args);
+
+        AsyncRequestDto asyncRequestDto = AsyncRequestDto.builder()
+                .timeoutMillis(rpcMethod.timeout())
+                .transporter(transporter)
+                .serverHost(serverHost)
+                .build();
+        return nettyRemotingClient.sendAsync(asyncRequestDto).thenApply(iRpcResponse -> {
+            if (!iRpcResponse.isSuccess()) {
+                throw MethodInvocationException.of(iRpcResponse.getMessage());
+            }
+            if (iRpcResponse.getBody() == null) {
+                return null;
+            }
+            return serializer.deserialize(iRpcResponse.getBody(), responseClass);
+        });
+    }
+
+    private static Class<?> getFutureValueClass(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (returnType instanceof ParameterizedType) {
+            Type valueType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+            if (valueType instanceof Class) {
+                return (Class<?>) valueType;
+            }
+            if (valueType instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) valueType).getRawType();
+            }
+        }
+        return Object.class;
+    }
+}
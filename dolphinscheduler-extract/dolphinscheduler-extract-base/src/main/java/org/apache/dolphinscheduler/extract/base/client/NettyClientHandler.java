@@ -21,10 +21,12 @@ import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerFactory;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import lombok.extern.slf4j.Slf4j;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -49,17 +51,24 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        processReceived((Transporter) msg);
+        final Transporter transporter = (Transporter) msg;
+        try {
+            processReceived(ctx.channel(), transporter);
+        } finally {
+            transporter.releaseBody();
+        }
     }
 
-    private void processReceived(final Transporter transporter) {
-        ResponseFuture future = ResponseFuture.getFuture(transporter.getHeader().getOpaque());
+    private void processReceived(final Channel channel, final Transporter transporter) {
+        final TransporterHeader transporterHeader = transporter.getHeader();
+        nettyRemotingClient.negotiateSerializer(channel, transporterHeader.getPreferredSerializerType());
+        ResponseFuture future = ResponseFuture.getFuture(transporterHeader.getOpaque());
         if (future == null) {
             log.warn("Cannot find the ResponseFuture if transporter: {}", transporter);
             return;
         }
-        StandardRpcResponse deserialize = JsonSerializer.deserialize(transporter.getBody(), StandardRpcResponse.class);
-        future.setIRpcResponse(deserialize);
+        StandardRpcResponse deserialize = SerializerFactory.getSerializer(transporterHeader.getSerializerType())
+                .deserialize(transporter.getBodyInputStream(), StandardRpcResponse.class);
         future.putResponse(deserialize);
     }
 
@@ -18,11 +18,14 @@
 package org.apache.dolphinscheduler.extract.base.client;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.extract.base.AsyncRequestDto;
 import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import org.apache.dolphinscheduler.extract.base.SyncRequestDto;
 import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
 import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTooMuchRequestException;
+import org.apache.dolphinscheduler.extract.base.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.extract.base.future.ResponseFuture;
 import org.apache.dolphinscheduler.extract.base.metrics.ClientSyncDurationMetrics;
 import org.apache.dolphinscheduler.extract.base.metrics.ClientSyncExceptionMetrics;
@@ -30,12 +33,18 @@ import org.apache.dolphinscheduler.extract.base.metrics.RpcMetrics;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterDecoder;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterEncoder;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerFactory;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.base.utils.NettyUtils;
 
 import java.net.InetSocketAddress;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,10 +62,15 @@ import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.HashedWheelTimer;
 
 @Slf4j
 public class NettyRemotingClient implements AutoCloseable {
 
+    private static final AttributeKey<SerializerType> NEGOTIATED_SERIALIZER_TYPE =
+            AttributeKey.valueOf("negotiatedSerializerType");
+
     private final Bootstrap bootstrap = new Bootstrap();
 
     private final ReentrantLock channelsLock = new ReentrantLock();
@@ -70,6 +84,15 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final NettyClientHandler clientHandler;
 
+    private final Map<Host, Semaphore> asyncRequestSemaphores = new ConcurrentHashMap<>();
+
+    /**
+     * Used to check the timeout of the async requests, so that the async request will not hold a thread to wait.
+     */
+    private final HashedWheelTimer asyncRequestTimeoutTimer;
+
+    private final ExecutorService asyncCallbackExecutor;
+
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
         ThreadFactory nettyClientThreadFactory = ThreadUtils.newDaemonThreadFactory("NettyClientThread-");
@@ -79,6 +102,12 @@ public class NettyRemotingClient implements AutoCloseable {
             this.workerGroup = new NioEventLoopGroup(clientConfig.getWorkerThreads(), nettyClientThreadFactory);
         }
         this.clientHandler = new NettyClientHandler(this);
+        this.asyncRequestTimeoutTimer = new HashedWheelTimer(
+                ThreadUtils.newDaemonThreadFactory("NettyClientAsyncRequestTimeoutThread-"),
+                100,
+                TimeUnit.MILLISECONDS);
+        this.asyncCallbackExecutor = ThreadUtils.newDaemonFixedThreadExecutor(
+                "NettyClientAsyncCallbackThread-%d", clientConfig.getAsyncCallbackThreads());
 
         this.start();
     }
@@ -166,6 +195,116 @@ public class NettyRemotingClient implements AutoCloseable {
         }
     }
 
+    /**
+     * Send the request without blocking the caller thread, the returned future will be completed in the async callback
+     * threads once the response arrived, or completed exceptionally when the request failed to send or timeout.
+     * <p> The in-flight async requests of each host is limited by
+     * {@link NettyClientConfig#getMaxInFlightAsyncRequestsPerHost()}, the request will fail fast with
+     * {@link RemotingTooMuchRequestException} once exceed.
+     */
+    public CompletableFuture<IRpcResponse> sendAsync(AsyncRequestDto asyncRequestDto) {
+        final long start = System.currentTimeMillis();
+
+        final Host host = asyncRequestDto.getServerHost();
+        final Transporter transporter = asyncRequestDto.getTransporter();
+        final long timeoutMillis = asyncRequestDto.getTimeoutMillis() < 0 ? clientConfig.getConnectTimeoutMillis()
+                : asyncRequestDto.getTimeoutMillis();
+        final long opaque = transporter.getHeader().getOpaque();
+        final String methodIdentifier = transporter.getHeader().getMethodIdentifier();
+
+        final CompletableFuture<IRpcResponse> result = new CompletableFuture<>();
+        result.whenComplete((response, ex) -> {
+            if (ex != null) {
+                RpcMetrics.recordClientAsyncRequestException(ex, methodIdentifier, host.getIp());
+            }
+            RpcMetrics.recordClientAsyncRequestDuration(methodIdentifier, System.currentTimeMillis() - start,
+                    host.getIp());
+        });
+
+        final Semaphore semaphore = asyncRequestSemaphores.computeIfAbsent(host,
+                h -> new Semaphore(clientConfig.getMaxInFlightAsyncRequestsPerHost()));
+        if (!semaphore.tryAcquire()) {
+            transporter.releaseBody();
+            result.completeExceptionally(new RemotingTooMuchRequestException(
+                    String.format("The in-flight async requests to %s exceed the limit: %s", host,
+                            clientConfig.getMaxInFlightAsyncRequestsPerHost())));
+            return result;
+        }
+        final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(semaphore);
+        try {
+            final Channel channel = getOrCreateChannel(host);
+            if (channel == null) {
+                throw new RemotingException(String.format("connect to : %s fail", host));
+            }
+            final ResponseFuture responseFuture = new ResponseFuture(opaque, timeoutMillis,
+                    future -> asyncCallbackExecutor.execute(() -> completeAsyncRequest(host, future, result)),
+                    releaseSemaphore);
+            responseFuture.setTimeout(asyncRequestTimeoutTimer.newTimeout(
+                    timeout -> responseFuture.putResponse(null), timeoutMillis, TimeUnit.MILLISECONDS));
+            channel.writeAndFlush(transporter).addListener(future -> {
+                if (future.isSuccess()) {
+                    return;
+                }
+                responseFuture.setSendOk(false);
+                responseFuture.setCause(future.cause());
+                responseFuture.putResponse(null);
+                log.error("Send Async request {} to host {} failed", transporter, host, future.cause());
+            });
+        } catch (Exception ex) {
+            releaseSemaphore.release();
+            result.completeExceptionally(ex instanceof RemotingException ? ex : new RemotingException(ex));
+        }
+        return result;
+    }
+
+    private void completeAsyncRequest(final Host host,
+                                      final ResponseFuture responseFuture,
+                                      final CompletableFuture<IRpcResponse> result) {
+        final IRpcResponse iRpcResponse = responseFuture.getIRpcResponse();
+        if (iRpcResponse != null) {
+            result.complete(iRpcResponse);
+            return;
+        }
+        if (responseFuture.isSendOK()) {
+            result.completeExceptionally(new RemotingTimeoutException(host.toString(),
+                    responseFuture.getTimeoutMillis(), responseFuture.getCause()));
+        } else {
+            result.completeExceptionally(new RemotingException(host.toString(), responseFuture.getCause()));
+        }
+    }
+
+    /**
+     * Get the serializer used to encode the request which will be sent to the given host.
+     * <p> Before the server respond the preferred serializer, will use {@link SerializerType#JSON} to make sure the
+     * server in old version can decode the request.
+     */
+    public ISerializer getSerializer(Host host) {
+        final Channel channel = channels.get(host);
+        if (channel == null || !channel.isActive()) {
+            return SerializerFactory.getSerializer(SerializerType.JSON);
+        }
+        final SerializerType negotiatedSerializerType = channel.attr(NEGOTIATED_SERIALIZER_TYPE).get();
+        return SerializerFactory.getSerializer(
+                negotiatedSerializerType == null ? SerializerType.JSON : negotiatedSerializerType);
+    }
+
+    /**
+     * Negotiate the serializer of the channel by the serializer preferred by the server, the configured serializer
+     * will be used only when the server preferred the same one.
+     */
+    void negotiateSerializer(Channel channel, Byte preferredSerializerType) {
+        if (preferredSerializerType == null) {
+            // The server in old version which doesn't support negotiation
+            return;
+        }
+        final SerializerType configuredSerializerType = clientConfig.getSerializerType();
+        if (configuredSerializerType.getCode() == preferredSerializerType) {
+            channel.attr(NEGOTIATED_SERIALIZER_TYPE).set(configuredSerializerType);
+        } else {
+            channel.attr(NEGOTIATED_SERIALIZER_TYPE).set(SerializerType.JSON);
+        }
+    }
+
     Channel getOrCreateChannel(Host host) {
         Channel channel = channels.get(host);
         if (channel != null && channel.isActive()) {
@@ -211,6 +350,8 @@ public class NettyRemotingClient implements AutoCloseable {
         if (isStarted.compareAndSet(true, false)) {
             try {
                 closeChannels();
+                asyncRequestTimeoutTimer.stop();
+                asyncCallbackExecutor.shutdown();
                 if (workerGroup != null) {
                     this.workerGroup.shutdownGracefully();
                 }
@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+
 import java.time.Duration;
 
 import lombok.AllArgsConstructor;
@@ -76,4 +78,26 @@ public class NettyClientConfig {
     @Builder.Default
     private int defaultRpcTimeoutMillis = 10_000;
 
+    /**
+     * The max count of async requests which are waiting for response from the same server host, the new async request
+     * will fail fast with {@link org.apache.dolphinscheduler.extract.base.exception.RemotingTooMuchRequestException}
+     * once exceed.
+     */
+    @Builder.Default
+    private int maxInFlightAsyncRequestsPerHost = 512;
+
+    /**
+     * The threads used to complete the async request, the callback of the async request will be executed in these
+     * threads rather than the netty io threads.
+     */
+    @Builder.Default
+    private int asyncCallbackThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The serializer used to encode the request body, the client will fall back to
+     * {@link SerializerType#JSON} until the server preferred the same serializer.
+     */
+    @Builder.Default
+    private SerializerType serializerType = SerializerType.CBOR;
+
 }
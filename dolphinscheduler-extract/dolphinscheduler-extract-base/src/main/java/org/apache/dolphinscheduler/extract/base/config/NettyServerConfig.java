@@ -17,6 +17,8 @@
 
 package org.apache.dolphinscheduler.extract.base.config;
 
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+
 import java.time.Duration;
 
 import lombok.AllArgsConstructor;
@@ -79,4 +81,11 @@ public class NettyServerConfig {
      */
     private int listenPort;
 
+    /**
+     * The serializer preferred by the server, the client which configured the same serializer will use it to encode
+     * the request, the response is always encoded by the serializer of the request.
+     */
+    @Builder.Default
+    private SerializerType serializerType = SerializerType.CBOR;
+
 }
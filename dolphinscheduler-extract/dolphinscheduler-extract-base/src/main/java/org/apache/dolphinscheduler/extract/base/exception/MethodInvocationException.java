@@ -24,6 +24,9 @@ public class MethodInvocationException extends RuntimeException {
     }
 
     public static MethodInvocationException of(String message) {
+        if (MethodNotFoundException.isMethodNotFound(message)) {
+            return new MethodNotFoundException(message);
+        }
         return new MethodInvocationException(message);
     }
 
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.exception;
+
+/**
+ * The invoked method is not provided by the server, e.g. the server is an older version during the rolling upgrade.
+ */
+public class MethodNotFoundException extends MethodInvocationException {
+
+    /**
+     * The prefix of the error message responded by the server when the method is not found, the message is kept the
+     * same with the older versions so that the client can recognize it.
+     */
+    public static final String MESSAGE_PREFIX = "Cannot find the ServerMethodInvoker of ";
+
+    public MethodNotFoundException(String message) {
+        super(message);
+    }
+
+    public static boolean isMethodNotFound(String message) {
+        return message != null && message.startsWith(MESSAGE_PREFIX);
+    }
+
+}
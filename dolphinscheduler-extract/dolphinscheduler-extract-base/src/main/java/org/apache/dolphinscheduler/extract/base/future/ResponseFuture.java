@@ -22,11 +22,13 @@ import org.apache.dolphinscheduler.extract.base.IRpcResponse;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import io.netty.util.Timeout;
 
 @ToString
 @Slf4j
@@ -51,9 +53,30 @@ public class ResponseFuture {
 
     private Throwable cause;
 
+    private final InvokeCallback invokeCallback;
+
+    private final ReleaseSemaphore releaseSemaphore;
+
+    private final AtomicBoolean done = new AtomicBoolean(false);
+
+    private volatile Timeout timeout;
+
     public ResponseFuture(long opaque, long timeoutMillis) {
+        this(opaque, timeoutMillis, null, null);
+    }
+
+    /**
+     * Create a response future which will execute the given callback once the response arrived, the send failed or
+     * timeout, the releaseSemaphore will be released before the callback executed.
+     */
+    public ResponseFuture(long opaque,
+                          long timeoutMillis,
+                          InvokeCallback invokeCallback,
+                          ReleaseSemaphore releaseSemaphore) {
         this.opaque = opaque;
         this.timeoutMillis = timeoutMillis;
+        this.invokeCallback = invokeCallback;
+        this.releaseSemaphore = releaseSemaphore;
         FUTURE_TABLE.put(opaque, this);
     }
 
@@ -69,10 +92,45 @@ public class ResponseFuture {
         return this.iRpcResponse;
     }
 
+    /**
+     * Complete the future, only the first response will take effect, the following one will be ignored, e.g. the
+     * response arrived after timeout.
+     */
     public void putResponse(final IRpcResponse iRpcResponse) {
+        if (!done.compareAndSet(false, true)) {
+            return;
+        }
         this.iRpcResponse = iRpcResponse;
         this.latch.countDown();
         FUTURE_TABLE.remove(opaque);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        if (releaseSemaphore != null) {
+            releaseSemaphore.release();
+        }
+        if (invokeCallback != null) {
+            invokeCallback.operationComplete(this);
+        }
+    }
+
+    /**
+     * Bind the timeout task which will complete this future when the response doesn't arrive in time, the task will
+     * be cancelled once the future is completed.
+     */
+    public void setTimeout(Timeout timeout) {
+        this.timeout = timeout;
+        if (done.get()) {
+            timeout.cancel();
+        }
+    }
+
+    public boolean isDone() {
+        return done.get();
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
     }
 
     public static ResponseFuture getFuture(long opaque) {
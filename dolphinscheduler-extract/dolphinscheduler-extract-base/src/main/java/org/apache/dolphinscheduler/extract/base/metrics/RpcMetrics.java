@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.extract.base.metrics;
 
+import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
 
@@ -35,6 +36,10 @@ public class RpcMetrics {
 
     private static final Map<String, Counter> rpcRequestExceptionCounter = new ConcurrentHashMap<>();
 
+    private static final Map<String, Timer> rpcAsyncRequestDurationTimer = new ConcurrentHashMap<>();
+
+    private static final Map<String, Counter> rpcAsyncRequestExceptionCounter = new ConcurrentHashMap<>();
+
     public static void recordClientSyncRequestException(ClientSyncExceptionMetrics clientSyncExceptionMetrics) {
         recordClientSyncRequestException(
                 clientSyncExceptionMetrics.getThrowable(),
@@ -91,4 +96,34 @@ public class RpcMetrics {
                 .record(milliseconds, TimeUnit.MILLISECONDS);
     }
 
+    public static void recordClientAsyncRequestException(final Throwable throwable,
+                                                         final String methodName,
+                                                         final String serverHost) {
+        final String exceptionType = throwable == null ? "unknown" : throwable.getClass().getSimpleName();
+        rpcAsyncRequestExceptionCounter.computeIfAbsent(exceptionType,
+                (et) -> Counter.builder("ds.rpc.client.async.request.exception.count")
+                        .tag("method_name", methodName)
+                        .tag("client_host", NetUtils.getHost())
+                        .tag("server_host", serverHost)
+                        .tag("exception_name", et)
+                        .description("rpc async request exception counter for exception type: " + et)
+                        .register(Metrics.globalRegistry))
+                .increment();
+    }
+
+    public static void recordClientAsyncRequestDuration(final String methodName,
+                                                        final long milliseconds,
+                                                        final String serverHost) {
+        rpcAsyncRequestDurationTimer.computeIfAbsent(methodName,
+                (method) -> Timer.builder("ds.rpc.client.async.request.duration.time")
+                        .tag("method_name", method)
+                        .tag("client_host", NetUtils.getHost())
+                        .tag("server_host", serverHost)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .description("time cost of async rpc request, unit ms")
+                        .register(Metrics.globalRegistry))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
 }
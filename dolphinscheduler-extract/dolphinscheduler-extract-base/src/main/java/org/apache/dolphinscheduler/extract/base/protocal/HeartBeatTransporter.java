@@ -18,16 +18,20 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
 
 public class HeartBeatTransporter extends Transporter {
 
     public static final String METHOD_IDENTIFY = "HEART_BEAT";
 
-    private static final Transporter HEART_BEAT_TRANSPORTER =
-            of(TransporterHeader.of(METHOD_IDENTIFY), new StandardRpcResponse());
+    private static final byte[] HEART_BEAT_BODY = JsonSerializer.serialize(new StandardRpcResponse());
 
+    /**
+     * Create a new heart beat transporter, the transporter cannot be shared since the body will be released once it
+     * has been written.
+     */
     public static Transporter getHeartBeatTransporter() {
-        return HEART_BEAT_TRANSPORTER;
+        return of(TransporterHeader.of(METHOD_IDENTIFY), HEART_BEAT_BODY);
     }
 
 }
@@ -19,12 +19,17 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerFactory;
 
+import java.io.InputStream;
 import java.io.Serializable;
 
 import lombok.Data;
 import lombok.NonNull;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
 
 @Data
 public class Transporter implements Serializable {
@@ -35,21 +40,47 @@ public class Transporter implements Serializable {
     public static final byte VERSION = 0;
 
     private TransporterHeader header;
-    private byte[] body;
+
+    /**
+     * The body of the transporter, the transporter owns the buffer.
+     * <p> The body decoded from the network is a retained slice of the pooled buffer, which need to be released by
+     * the inbound handler after consumed. The body sent to the network will be released by the
+     * {@link TransporterEncoder} once it has been written.
+     */
+    private ByteBuf body;
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcResponse iRpcResponse) {
-        return of(header, JsonSerializer.serialize(iRpcResponse));
+        return of(header, SerializerFactory.getSerializer(header.getSerializerType()).serialize(iRpcResponse));
     }
 
     public static Transporter of(@NonNull TransporterHeader header, StandardRpcRequest iRpcRequest) {
-        return of(header, JsonSerializer.serialize(iRpcRequest));
+        return of(header, SerializerFactory.getSerializer(header.getSerializerType()).serialize(iRpcRequest));
     }
 
     public static Transporter of(@NonNull TransporterHeader header, byte[] body) {
+        // Wrap the byte array rather than copy it, the array will be written by the encoder directly
+        return of(header, body == null ? Unpooled.EMPTY_BUFFER : Unpooled.wrappedBuffer(body));
+    }
+
+    public static Transporter of(@NonNull TransporterHeader header, @NonNull ByteBuf body) {
         Transporter transporter = new Transporter();
         transporter.setHeader(header);
         transporter.setBody(body);
         return transporter;
     }
 
+    /**
+     * Get the body as a stream, which can be deserialized without copying the body to a byte array.
+     */
+    public InputStream getBodyInputStream() {
+        return new ByteBufInputStream(body.duplicate());
+    }
+
+    /**
+     * Release the body, this should be called by the inbound handler once the body is consumed.
+     */
+    public void releaseBody() {
+        ReferenceCountUtil.safeRelease(body);
+    }
+
 }
@@ -23,72 +23,81 @@ import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
 
+/**
+ * Decode the {@link Transporter} from the network, the frame is:
+ * <pre>
+ *     | magic(1) | version(1) | header length(4) | header | body length(4) | body |
+ * </pre>
+ * The decoder will wait until the whole frame is received, then the header will be decoded from the buffer directly,
+ * and the body will be a retained slice of the received buffer, so the body will not be copied to the heap.
+ * <p> The inbound handler should release the body by {@link Transporter#releaseBody()} after it is consumed.
+ */
 @Slf4j
-public class TransporterDecoder extends ReplayingDecoder<TransporterDecoder.State> {
+public class TransporterDecoder extends ByteToMessageDecoder {
 
-    public TransporterDecoder() {
-        super(State.MAGIC);
-    }
+    private static final int HEADER_LENGTH_OFFSET = 2;
 
-    private int headerLength;
-    private byte[] header;
-    private int bodyLength;
-    private byte[] body;
+    private static final int LENGTH_FIELD_SIZE = 4;
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        switch (state()) {
-            case MAGIC:
-                checkMagic(in.readByte());
-                checkpoint(State.VERSION);
-            case VERSION:
-                checkVersion(in.readByte());
-                checkpoint(State.HEADER_LENGTH);
-            case HEADER_LENGTH:
-                headerLength = in.readInt();
-                checkpoint(State.HEADER);
-            case HEADER:
-                header = new byte[headerLength];
-                in.readBytes(header);
-                checkpoint(State.BODY_LENGTH);
-            case BODY_LENGTH:
-                bodyLength = in.readInt();
-                checkpoint(State.BODY);
-            case BODY:
-                body = new byte[bodyLength];
-                in.readBytes(body);
-                Transporter transporter =
-                        Transporter.of(JsonSerializer.deserialize(header, TransporterHeader.class), body);
-                out.add(transporter);
-                checkpoint(State.MAGIC);
-                break;
-            default:
-                log.warn("unknown decoder state {}", state());
+        final int frameStartIndex = in.readerIndex();
+        if (in.readableBytes() < HEADER_LENGTH_OFFSET + LENGTH_FIELD_SIZE) {
+            return;
+        }
+        checkMagic(in, in.getByte(frameStartIndex));
+        checkVersion(in, in.getByte(frameStartIndex + 1));
+
+        final int headerLength = checkLength(in, in.getInt(frameStartIndex + HEADER_LENGTH_OFFSET), "header");
+        final int bodyLengthIndex = frameStartIndex + HEADER_LENGTH_OFFSET + LENGTH_FIELD_SIZE + headerLength;
+        if (in.writerIndex() < bodyLengthIndex + LENGTH_FIELD_SIZE) {
+            return;
+        }
+        final int bodyLength = checkLength(in, in.getInt(bodyLengthIndex), "body");
+        if (in.writerIndex() < bodyLengthIndex + LENGTH_FIELD_SIZE + bodyLength) {
+            return;
         }
+
+        // The whole frame has been received
+        in.skipBytes(HEADER_LENGTH_OFFSET + LENGTH_FIELD_SIZE);
+        final TransporterHeader header = JsonSerializer.deserialize(
+                new ByteBufInputStream(in.readSlice(headerLength)), TransporterHeader.class);
+        in.skipBytes(LENGTH_FIELD_SIZE);
+        final ByteBuf body = in.readRetainedSlice(bodyLength);
+        out.add(Transporter.of(header, body));
     }
 
-    private void checkMagic(byte magic) {
+    private void checkMagic(ByteBuf in, byte magic) {
         if (magic != Transporter.MAGIC) {
+            discardIllegalPacket(in);
             throw new IllegalArgumentException("illegal packet [magic]" + magic);
         }
     }
 
-    private void checkVersion(byte version) {
+    private void checkVersion(ByteBuf in, byte version) {
         if (version != Transporter.VERSION) {
+            discardIllegalPacket(in);
             throw new IllegalArgumentException("illegal protocol [version]" + version);
         }
     }
 
-    enum State {
-        MAGIC,
-        VERSION,
-        HEADER_LENGTH,
-        HEADER,
-        BODY_LENGTH,
-        BODY;
+    private int checkLength(ByteBuf in, int length, String field) {
+        if (length < 0) {
+            discardIllegalPacket(in);
+            throw new IllegalArgumentException("illegal packet [" + field + " length]" + length);
+        }
+        return length;
+    }
+
+    /**
+     * Discard the received bytes, the remaining bytes of an illegal packet cannot be decoded.
+     */
+    private void discardIllegalPacket(ByteBuf in) {
+        in.skipBytes(in.readableBytes());
     }
 
 }
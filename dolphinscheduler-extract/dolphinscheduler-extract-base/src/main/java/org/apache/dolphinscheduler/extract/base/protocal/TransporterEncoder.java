@@ -19,31 +19,40 @@ package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.exception.RemotingException;
 
+import java.util.List;
+
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
 
+/**
+ * Encode the {@link Transporter} to the frame which can be decoded by {@link TransporterDecoder}.
+ * <p> Only the magic, version, header and the length fields will be written to a new buffer, the body will be added to
+ * a {@link CompositeByteBuf} directly rather than copied, and will be released once the frame has been written.
+ */
 @Sharable
-public class TransporterEncoder extends MessageToByteEncoder<Transporter> {
+public class TransporterEncoder extends MessageToMessageEncoder<Transporter> {
 
     @Override
-    protected void encode(ChannelHandlerContext ctx, Transporter transporter, ByteBuf out) throws Exception {
+    protected void encode(ChannelHandlerContext ctx, Transporter transporter, List<Object> out) throws Exception {
         if (transporter == null) {
             throw new RemotingException("encode msg is null");
         }
-        out.writeByte(Transporter.MAGIC);
-        out.writeByte(Transporter.VERSION);
-
-        // write header
-        byte[] header = transporter.getHeader().toBytes();
-        out.writeInt(header.length);
-        out.writeBytes(header);
-
-        // write body
-        byte[] body = transporter.getBody();
-        out.writeInt(body.length);
-        out.writeBytes(body);
+        final byte[] header = transporter.getHeader().toBytes();
+        final ByteBuf body = transporter.getBody();
+
+        final ByteBuf frameHeader = ctx.alloc().ioBuffer(1 + 1 + 4 + header.length + 4);
+        frameHeader.writeByte(Transporter.MAGIC);
+        frameHeader.writeByte(Transporter.VERSION);
+        frameHeader.writeInt(header.length);
+        frameHeader.writeBytes(header);
+        frameHeader.writeInt(body.readableBytes());
+
+        final CompositeByteBuf frame = ctx.alloc().compositeBuffer(2);
+        frame.addComponents(true, frameHeader, body);
+        out.add(frame);
     }
 
 }
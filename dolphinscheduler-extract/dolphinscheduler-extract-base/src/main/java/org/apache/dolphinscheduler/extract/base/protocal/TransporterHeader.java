@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.extract.base.protocal;
 
 import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
@@ -34,6 +35,18 @@ public class TransporterHeader implements Serializable {
     private String methodIdentifier;
     private long opaque;
 
+    /**
+     * The {@link SerializerType} code of the body, null means the body is encoded by JSON, the peer in old version
+     * will not set this field.
+     */
+    private Byte serializerType;
+
+    /**
+     * The {@link SerializerType} code preferred by the server, only set in the response. The client will use its
+     * configured serializer only when the server preferred the same one, otherwise will fall back to JSON.
+     */
+    private Byte preferredSerializerType;
+
     // Used for JsonDeSerializer
     public TransporterHeader() {
 
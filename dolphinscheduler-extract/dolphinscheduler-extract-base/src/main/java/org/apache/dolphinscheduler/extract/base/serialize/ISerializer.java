@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.io.InputStream;
+
+/**
+ * The serializer used to encode/decode the rpc request and response body.
+ * <p> Each serializer is identified by a {@link SerializerType}, which will be carried by the
+ * {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader}, so that the receiver can decode the body.
+ */
+public interface ISerializer {
+
+    SerializerType getSerializerType();
+
+    /**
+     * Serialize the given object to bytes, return null if the object is null.
+     */
+    <T> byte[] serialize(T obj);
+
+    /**
+     * Deserialize the given bytes to the target class, return null if the bytes is null.
+     */
+    <T> T deserialize(byte[] src, Class<T> clazz);
+
+    /**
+     * Deserialize the given stream to the target class, this is used to decode the body from the network buffer
+     * directly without copying it to a byte array.
+     */
+    <T> T deserialize(InputStream src, Class<T> clazz);
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.io.InputStream;
+
+/**
+ * The {@link ISerializer} which use {@link JsonSerializer} to encode/decode the body.
+ */
+public class JsonRpcSerializer implements ISerializer {
+
+    @Override
+    public SerializerType getSerializerType() {
+        return SerializerType.JSON;
+    }
+
+    @Override
+    public <T> byte[] serialize(T obj) {
+        return JsonSerializer.serialize(obj);
+    }
+
+    @Override
+    public <T> T deserialize(byte[] src, Class<T> clazz) {
+        return JsonSerializer.deserialize(src, clazz);
+    }
+
+    @Override
+    public <T> T deserialize(InputStream src, Class<T> clazz) {
+        return JsonSerializer.deserialize(src, clazz);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds the singleton {@link ISerializer} of each {@link SerializerType}.
+ */
+public class SerializerFactory {
+
+    private static final Map<SerializerType, ISerializer> SERIALIZERS = new EnumMap<>(SerializerType.class);
+
+    static {
+        registerSerializer(new JsonRpcSerializer());
+        registerSerializer(new CborRpcSerializer());
+    }
+
+    private SerializerFactory() {
+    }
+
+    private static void registerSerializer(ISerializer serializer) {
+        SERIALIZERS.put(serializer.getSerializerType(), serializer);
+    }
+
+    public static ISerializer getSerializer(SerializerType serializerType) {
+        final ISerializer serializer = SERIALIZERS.get(serializerType);
+        if (serializer == null) {
+            throw new IllegalArgumentException("Cannot find the serializer of type: " + serializerType);
+        }
+        return serializer;
+    }
+
+    /**
+     * Get the serializer by the code carried in {@link org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader}.
+     */
+    public static ISerializer getSerializer(Byte serializerTypeCode) {
+        return getSerializer(SerializerType.of(serializerTypeCode));
+    }
+
+}
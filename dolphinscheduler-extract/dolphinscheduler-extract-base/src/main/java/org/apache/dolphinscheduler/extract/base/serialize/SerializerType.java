@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import lombok.Getter;
+
+@Getter
+public enum SerializerType {
+
+    /**
+     * The default serializer, all the version can recognize it.
+     */
+    JSON((byte) 0),
+
+    /**
+     * The binary serializer based on CBOR, the byte array will not be base64 encoded.
+     */
+    CBOR((byte) 1),
+    ;
+
+    private final byte code;
+
+    SerializerType(byte code) {
+        this.code = code;
+    }
+
+    /**
+     * Find the SerializerType by the given code, the null code means the peer doesn't support serializer
+     * negotiation, will return {@link #JSON}.
+     */
+    public static SerializerType of(Byte code) {
+        if (code == null) {
+            return JSON;
+        }
+        for (SerializerType serializerType : values()) {
+            if (serializerType.code == code) {
+                return serializerType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown serializer type: " + code);
+    }
+
+}
@@ -21,13 +21,18 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
 import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
 import org.apache.dolphinscheduler.extract.base.protocal.HeartBeatTransporter;
 import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
 import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
-import org.apache.dolphinscheduler.extract.base.serialize.JsonSerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerFactory;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
 import org.apache.dolphinscheduler.extract.base.utils.ChannelUtils;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
@@ -49,9 +54,12 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
 
     private final Map<String, ServerMethodInvoker> methodInvokerMap;
 
-    JdkDynamicServerHandler(ExecutorService methodInvokeExecutor) {
+    private final SerializerType preferredSerializerType;
+
+    JdkDynamicServerHandler(ExecutorService methodInvokeExecutor, SerializerType preferredSerializerType) {
         this.methodInvokeExecutor = methodInvokeExecutor;
         this.methodInvokerMap = new ConcurrentHashMap<>();
+        this.preferredSerializerType = checkNotNull(preferredSerializerType);
     }
 
     @Override
@@ -61,7 +69,12 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        processReceived(ctx.channel(), (Transporter) msg);
+        final Transporter transporter = (Transporter) msg;
+        try {
+            processReceived(ctx.channel(), transporter);
+        } finally {
+            transporter.releaseBody();
+        }
     }
 
     public void registerMethodInvoker(ServerMethodInvoker methodInvoker) {
@@ -84,52 +97,101 @@ class JdkDynamicServerHandler extends ChannelInboundHandlerAdapter {
             if (methodInvoker == null) {
                 log.error("Cannot find the ServerMethodInvoker of : {}", transporter);
                 StandardRpcResponse iRpcResponse =
-                        StandardRpcResponse.fail("Cannot find the ServerMethodInvoker of " + methodIdentifier);
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
+                        StandardRpcResponse.fail(MethodNotFoundException.MESSAGE_PREFIX + methodIdentifier);
+                channel.writeAndFlush(createResponseTransporter(transporter, iRpcResponse));
                 return;
             }
+            // Retain the body for the invoke thread, the reference of the io thread is released once this method
+            // returned
+            transporter.getBody().retain();
             methodInvokeExecutor.execute(() -> {
-                StandardRpcResponse iRpcResponse;
                 try {
-                    StandardRpcRequest standardRpcRequest =
-                            JsonSerializer.deserialize(transporter.getBody(), StandardRpcRequest.class);
+                    final ISerializer serializer =
+                            SerializerFactory.getSerializer(transporter.getHeader().getSerializerType());
+                    final StandardRpcRequest standardRpcRequest;
+                    try {
+                        standardRpcRequest =
+                                serializer.deserialize(transporter.getBodyInputStream(), StandardRpcRequest.class);
+                    } finally {
+                        transporter.releaseBody();
+                    }
                     Object[] args;
                     if (standardRpcRequest.getArgs() == null || standardRpcRequest.getArgs().length == 0) {
                         args = null;
                     } else {
                         args = new Object[standardRpcRequest.getArgs().length];
                         for (int i = 0; i < standardRpcRequest.getArgs().length; i++) {
-                            args[i] = JsonSerializer.deserialize(standardRpcRequest.getArgs()[i],
+                            args[i] = serializer.deserialize(standardRpcRequest.getArgs()[i],
                                     standardRpcRequest.getArgsTypes()[i]);
                         }
                     }
                     Object result = methodInvoker.invoke(args);
-                    if (result == null) {
-                        iRpcResponse = StandardRpcResponse.success(null, null);
-                    } else {
-                        iRpcResponse = StandardRpcResponse.success(JsonSerializer.serialize(result), result.getClass());
+                    if (result instanceof CompletableFuture) {
+                        // Respond once the future completed, so that the async method will not hold the invoke thread
+                        ((CompletableFuture<?>) result).whenComplete((value, ex) -> {
+                            if (ex != null) {
+                                writeFailedResponse(channel, transporter, unwrapCompletionException(ex));
+                            } else {
+                                writeSuccessResponse(channel, transporter, serializer, value);
+                            }
+                        });
+                        return;
                     }
+                    writeSuccessResponse(channel, transporter, serializer, result);
                 } catch (Throwable e) {
-                    log.error("Invoke method {} failed, {}.", methodIdentifier, e.getMessage(), e);
-                    iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+                    writeFailedResponse(channel, transporter, e);
                 }
-                TransporterHeader transporterHeader =
-                        TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-                Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-                channel.writeAndFlush(response);
             });
         } catch (RejectedExecutionException e) {
+            transporter.releaseBody();
             log.warn("NettyRemotingServer's thread pool is full, discard msg {} from {}", transporter,
                     ChannelUtils.getRemoteAddress(channel));
             StandardRpcResponse iRpcResponse = StandardRpcResponse.fail("NettyRemotingServer's thread pool is full");
-            TransporterHeader transporterHeader =
-                    TransporterHeader.of(transporter.getHeader().getOpaque(), methodIdentifier);
-            Transporter response = Transporter.of(transporterHeader, iRpcResponse);
-            channel.writeAndFlush(response);
+            channel.writeAndFlush(createResponseTransporter(transporter, iRpcResponse));
+        }
+    }
+
+    private void writeSuccessResponse(final Channel channel,
+                                      final Transporter request,
+                                      final ISerializer serializer,
+                                      final Object result) {
+        StandardRpcResponse iRpcResponse;
+        try {
+            if (result == null) {
+                iRpcResponse = StandardRpcResponse.success(null, null);
+            } else {
+                iRpcResponse = StandardRpcResponse.success(serializer.serialize(result), result.getClass());
+            }
+        } catch (Throwable e) {
+            writeFailedResponse(channel, request, e);
+            return;
         }
+        channel.writeAndFlush(createResponseTransporter(request, iRpcResponse));
+    }
+
+    private void writeFailedResponse(final Channel channel, final Transporter request, final Throwable e) {
+        log.error("Invoke method {} failed, {}.", request.getHeader().getMethodIdentifier(), e.getMessage(), e);
+        StandardRpcResponse iRpcResponse = StandardRpcResponse.fail(e.getMessage());
+        channel.writeAndFlush(createResponseTransporter(request, iRpcResponse));
+    }
+
+    private Throwable unwrapCompletionException(Throwable e) {
+        if (e instanceof CompletionException && e.getCause() != null) {
+            return e.getCause();
+        }
+        return e;
+    }
+
+    /**
+     * The response is encoded by the serializer of the request, so that the client in old version can decode it.
+     */
+    private Transporter createResponseTransporter(final Transporter request, final StandardRpcResponse iRpcResponse) {
+        final TransporterHeader requestHeader = request.getHeader();
+        final TransporterHeader responseHeader =
+                TransporterHeader.of(requestHeader.getOpaque(), requestHeader.getMethodIdentifier());
+        responseHeader.setSerializerType(requestHeader.getSerializerType());
+        responseHeader.setPreferredSerializerType(preferredSerializerType.getCode());
+        return Transporter.of(responseHeader, iRpcResponse);
     }
 
     @Override
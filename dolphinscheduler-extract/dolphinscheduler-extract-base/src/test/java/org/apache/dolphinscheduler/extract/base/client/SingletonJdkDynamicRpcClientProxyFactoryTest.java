@@ -19,16 +19,25 @@ package org.apache.dolphinscheduler.extract.base.client;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 
 import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
+import org.apache.dolphinscheduler.extract.base.config.NettyClientConfig;
 import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTooMuchRequestException;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -71,6 +80,16 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         assertEquals("ping: null is illegal", methodInvocationException.getMessage());
     }
 
+    @Test
+    public void testPingAfterSerializerNegotiated() {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        // The first request is encoded by json, and the following request will use the negotiated serializer
+        for (int i = 0; i < 3; i++) {
+            assertEquals("pong", proxyClient.ping("ping"));
+        }
+    }
+
     @Test
     public void testVoid() {
         IService proxyClient =
@@ -78,6 +97,46 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         assertDoesNotThrow(proxyClient::voidMethod);
     }
 
+    @Test
+    public void testAsyncPing() throws Exception {
+        IService proxyClient =
+                SingletonJdkDynamicRpcClientProxyFactory.getProxyClient(serverAddress, IService.class);
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(proxyClient.asyncPing("ping"));
+        }
+        for (CompletableFuture<String> future : futures) {
+            assertEquals("pong", future.get());
+        }
+
+        ExecutionException executionException =
+                Assertions.assertThrows(ExecutionException.class, () -> proxyClient.asyncPing(null).get());
+        assertInstanceOf(MethodInvocationException.class, executionException.getCause());
+        assertEquals("ping: null is illegal", executionException.getCause().getMessage());
+    }
+
+    @Test
+    public void testAsyncRequestTimeoutAndInFlightLimit() throws Exception {
+        NettyClientConfig nettyClientConfig = NettyClientConfig.builder()
+                .maxInFlightAsyncRequestsPerHost(1)
+                .build();
+        try (NettyRemotingClient nettyRemotingClient = new NettyRemotingClient(nettyClientConfig)) {
+            IService proxyClient = new JdkDynamicRpcClientProxyFactory(nettyRemotingClient)
+                    .getProxyClient(serverAddress, IService.class);
+            CompletableFuture<String> neverCompleted = proxyClient.asyncNeverComplete();
+
+            ExecutionException tooMuchRequestException =
+                    Assertions.assertThrows(ExecutionException.class, () -> proxyClient.asyncPing("ping").get());
+            assertInstanceOf(RemotingTooMuchRequestException.class, tooMuchRequestException.getCause());
+
+            ExecutionException timeoutException =
+                    Assertions.assertThrows(ExecutionException.class, neverCompleted::get);
+            assertInstanceOf(RemotingTimeoutException.class, timeoutException.getCause());
+            // The in-flight permit is released after timeout
+            assertEquals("pong", proxyClient.asyncPing("ping").get());
+        }
+    }
+
     @AfterEach
     public void tearDown() {
         springServerMethodInvokerDiscovery.close();
@@ -91,6 +150,12 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
 
         @RpcMethod
         void voidMethod();
+
+        @RpcMethod
+        CompletableFuture<String> asyncPing(String ping);
+
+        @RpcMethod(timeout = 500)
+        CompletableFuture<String> asyncNeverComplete();
     }
 
     public static class IServiceImpl implements IService {
@@ -107,6 +172,16 @@ public class SingletonJdkDynamicRpcClientProxyFactoryTest {
         public void voidMethod() {
             System.out.println("void method");
         }
+
+        @Override
+        public CompletableFuture<String> asyncPing(String ping) {
+            return CompletableFuture.supplyAsync(() -> ping(ping));
+        }
+
+        @Override
+        public CompletableFuture<String> asyncNeverComplete() {
+            return new CompletableFuture<>();
+        }
     }
 
 }
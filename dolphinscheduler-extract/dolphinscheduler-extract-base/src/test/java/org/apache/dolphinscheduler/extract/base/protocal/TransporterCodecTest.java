@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.protocal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+
+class TransporterCodecTest {
+
+    @Test
+    void encodeAndDecode() {
+        final byte[] body = "body".getBytes(StandardCharsets.UTF_8);
+        final Transporter transporter = Transporter.of(TransporterHeader.of(1L, "method"), body);
+
+        final ByteBuf frame = encode(transporter);
+        final Transporter decoded = decode(frame);
+        try {
+            assertThat(decoded.getHeader().getOpaque()).isEqualTo(1L);
+            assertThat(decoded.getHeader().getMethodIdentifier()).isEqualTo("method");
+            assertThat(readBody(decoded)).isEqualTo(body);
+        } finally {
+            decoded.releaseBody();
+        }
+        assertThat(decoded.getBody().refCnt()).isEqualTo(0);
+    }
+
+    @Test
+    void decode_withFragmentedFrame() {
+        final byte[] body = new byte[4096];
+        final Transporter transporter = Transporter.of(TransporterHeader.of(2L, "method"), body);
+        final ByteBuf frame = encode(transporter);
+
+        final EmbeddedChannel decoderChannel = new EmbeddedChannel(new TransporterDecoder());
+        while (frame.isReadable()) {
+            decoderChannel.writeInbound(frame.readRetainedSlice(Math.min(7, frame.readableBytes())));
+        }
+        frame.release();
+        final Transporter decoded = decoderChannel.readInbound();
+        try {
+            assertThat(decoded.getHeader().getOpaque()).isEqualTo(2L);
+            assertThat(decoded.getBody().readableBytes()).isEqualTo(body.length);
+        } finally {
+            decoded.releaseBody();
+        }
+        assertThat((Object) decoderChannel.readInbound()).isNull();
+        decoderChannel.finishAndReleaseAll();
+    }
+
+    @Test
+    void decode_withIllegalMagic() {
+        final EmbeddedChannel decoderChannel = new EmbeddedChannel(new TransporterDecoder());
+        final ByteBuf frame = Unpooled.buffer().writeByte(0).writeByte(Transporter.VERSION).writeInt(0).writeInt(0);
+        assertThrows(DecoderException.class, () -> decoderChannel.writeInbound(frame));
+        decoderChannel.finishAndReleaseAll();
+    }
+
+    private ByteBuf encode(Transporter transporter) {
+        final EmbeddedChannel encoderChannel = new EmbeddedChannel(new TransporterEncoder());
+        encoderChannel.writeOutbound(transporter);
+        final ByteBuf frame = encoderChannel.readOutbound();
+        encoderChannel.finishAndReleaseAll();
+        return frame;
+    }
+
+    private Transporter decode(ByteBuf frame) {
+        final EmbeddedChannel decoderChannel = new EmbeddedChannel(new TransporterDecoder());
+        decoderChannel.writeInbound(frame);
+        final Transporter transporter = decoderChannel.readInbound();
+        decoderChannel.finishAndReleaseAll();
+        return transporter;
+    }
+
+    private byte[] readBody(Transporter transporter) {
+        final ByteBuf body = transporter.getBody();
+        final byte[] bytes = new byte[body.readableBytes()];
+        body.getBytes(body.readerIndex(), bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.serialize;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.junit.jupiter.api.Test;
+
+class SerializerFactoryTest {
+
+    @Test
+    void getSerializer_nullCodeShouldBeJson() {
+        assertThat(SerializerFactory.getSerializer((Byte) null).getSerializerType()).isEqualTo(SerializerType.JSON);
+    }
+
+    @Test
+    void getSerializer_unknownCode() {
+        assertThrows(IllegalArgumentException.class, () -> SerializerFactory.getSerializer((byte) 100));
+    }
+
+    @Test
+    void serializeAndDeserialize() {
+        for (SerializerType serializerType : SerializerType.values()) {
+            assertSerializeAndDeserialize(serializerType);
+        }
+    }
+
+    private void assertSerializeAndDeserialize(SerializerType serializerType) {
+        final ISerializer serializer = SerializerFactory.getSerializer(serializerType);
+        assertThat(serializer.getSerializerType()).isEqualTo(serializerType);
+
+        final Payload payload = new Payload(
+                "payload",
+                1L,
+                new Date(1_700_000_000_000L),
+                LocalDateTime.of(2024, 1, 1, 0, 0, 0),
+                Collections.singletonMap("key", "value"));
+        final StandardRpcRequest request = StandardRpcRequest.of(new Object[]{payload, "arg"}, serializer);
+        final StandardRpcRequest deserializedRequest =
+                serializer.deserialize(serializer.serialize(request), StandardRpcRequest.class);
+
+        assertThat(deserializedRequest.getArgsTypes()).asList().containsExactly(Payload.class, String.class);
+        assertThat(serializer.deserialize(deserializedRequest.getArgs()[0], Payload.class)).isEqualTo(payload);
+        assertThat(serializer.deserialize(deserializedRequest.getArgs()[1], String.class)).isEqualTo("arg");
+    }
+
+    @Test
+    void serialize_cborShouldSmallerThanJson() {
+        final byte[][] args = new byte[][]{new byte[1024]};
+        final StandardRpcRequest request = new StandardRpcRequest(args, new Class[]{byte[].class});
+
+        final byte[] jsonBytes = SerializerFactory.getSerializer(SerializerType.JSON).serialize(request);
+        final byte[] cborBytes = SerializerFactory.getSerializer(SerializerType.CBOR).serialize(request);
+        // The byte array will be base64 encoded in json
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+
+        private String name;
+        private Long id;
+        private Date createTime;
+        private LocalDateTime updateTime;
+        private Map<String, String> properties;
+    }
+
+}
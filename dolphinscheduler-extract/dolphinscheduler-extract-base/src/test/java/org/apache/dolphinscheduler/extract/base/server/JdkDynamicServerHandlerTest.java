@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.extract.base.server;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.StandardRpcResponse;
+import org.apache.dolphinscheduler.extract.base.protocal.Transporter;
+import org.apache.dolphinscheduler.extract.base.protocal.TransporterHeader;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerFactory;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+class JdkDynamicServerHandlerTest {
+
+    private static final String METHOD_IDENTIFY = "echo";
+
+    private final ISerializer serializer = SerializerFactory.getSerializer(SerializerType.JSON);
+
+    private final ManualExecutorService methodInvokeExecutor = new ManualExecutorService();
+
+    private final JdkDynamicServerHandler jdkDynamicServerHandler =
+            new JdkDynamicServerHandler(methodInvokeExecutor, SerializerType.JSON);
+
+    private final EmbeddedChannel channel = new EmbeddedChannel(jdkDynamicServerHandler);
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void channelRead_decodeRequestInInvokeThread() {
+        jdkDynamicServerHandler.registerMethodInvoker(new EchoMethodInvoker());
+        final ByteBuf body = createRequestBody("hello");
+
+        channel.writeInbound(Transporter.of(TransporterHeader.of(1L, METHOD_IDENTIFY), body));
+        // The body is still held by the invoke task after the io thread released its reference
+        assertThat(body.refCnt()).isEqualTo(1);
+        assertThat((Object) channel.readOutbound()).isNull();
+
+        methodInvokeExecutor.runAll();
+        assertThat(body.refCnt()).isEqualTo(0);
+        final StandardRpcResponse response = readResponse();
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(serializer.deserialize(response.getBody(), String.class)).isEqualTo("hello");
+    }
+
+    @Test
+    void channelRead_releaseBodyIfInvokeThreadPoolIsFull() {
+        jdkDynamicServerHandler.registerMethodInvoker(new EchoMethodInvoker());
+        methodInvokeExecutor.shutdown();
+        final ByteBuf body = createRequestBody("hello");
+
+        channel.writeInbound(Transporter.of(TransporterHeader.of(2L, METHOD_IDENTIFY), body));
+
+        assertThat(body.refCnt()).isEqualTo(0);
+    }
+
+    private ByteBuf createRequestBody(String arg) {
+        final byte[] request = serializer.serialize(StandardRpcRequest.of(new Object[]{arg}, serializer));
+        return Unpooled.directBuffer(request.length).writeBytes(request);
+    }
+
+    private StandardRpcResponse readResponse() {
+        final Transporter transporter = channel.readOutbound();
+        try {
+            return serializer.deserialize(transporter.getBodyInputStream(), StandardRpcResponse.class);
+        } finally {
+            transporter.releaseBody();
+        }
+    }
+
+    private static class EchoMethodInvoker implements ServerMethodInvoker {
+
+        @Override
+        public String getMethodIdentify() {
+            return METHOD_IDENTIFY;
+        }
+
+        @Override
+        public String getMethodProviderIdentify() {
+            return EchoMethodInvoker.class.getName();
+        }
+
+        @Override
+        public Object invoke(Object... args) {
+            return args[0];
+        }
+    }
+
+    /**
+     * Run the submitted tasks only when asked, so that the test can check the body before the task is invoked.
+     */
+    private static class ManualExecutorService extends AbstractExecutorService {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        private boolean shutdown;
+
+        void runAll() {
+            tasks.forEach(Runnable::run);
+            tasks.clear();
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (shutdown) {
+                throw new RejectedExecutionException("The executor is shutdown");
+            }
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return new ArrayList<>(tasks);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+
+}
@@ -21,8 +21,12 @@ import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
 
@@ -32,9 +36,21 @@ public interface ILogService {
     @RpcMethod
     TaskInstanceLogFileDownloadResponse getTaskInstanceWholeLogFileBytes(TaskInstanceLogFileDownloadRequest taskInstanceLogFileDownloadRequest);
 
+    /**
+     * Read a chunk of the log file, used to download the log file chunk by chunk with bounded memory.
+     */
+    @RpcMethod
+    TaskInstanceLogFileChunkResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkRequest taskInstanceLogFileChunkRequest);
+
     @RpcMethod
     TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest);
 
+    /**
+     * Read the log appended after the given byte offset, used to follow the log of the running task instance.
+     */
+    @RpcMethod
+    TaskInstanceLogFollowResponse followTaskInstanceLog(TaskInstanceLogFollowRequest taskInstanceLogFollowRequest);
+
     @RpcMethod
     GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest);
 
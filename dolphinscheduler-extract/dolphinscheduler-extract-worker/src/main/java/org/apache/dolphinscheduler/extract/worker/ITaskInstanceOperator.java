@@ -21,6 +21,8 @@ import org.apache.dolphinscheduler.extract.base.RpcMethod;
 import org.apache.dolphinscheduler.extract.base.RpcService;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskResponse;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillRequest;
@@ -28,12 +30,21 @@ import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillRe
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 @RpcService
 public interface ITaskInstanceOperator {
 
     @RpcMethod
     TaskInstanceDispatchResponse dispatchTask(final TaskInstanceDispatchRequest taskInstanceDispatchRequest);
 
+    /**
+     * Dispatch multiple tasks in one round trip, each task is dispatched independently and has its own response.
+     * <p> The invocation doesn't block the caller, so that the master can have many dispatches in flight.
+     */
+    @RpcMethod
+    CompletableFuture<TaskInstanceBatchDispatchResponse> batchDispatchTask(final TaskInstanceBatchDispatchRequest taskInstanceBatchDispatchRequest);
+
     @RpcMethod
     TaskInstanceKillResponse killTask(final TaskInstanceKillRequest taskInstanceKillRequest);
 
@@ -17,8 +17,10 @@
 
 package org.apache.dolphinscheduler.server.master.cluster;
 
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
+import java.util.Collections;
 import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +39,8 @@ public class MasterSlotManager implements IMasterSlotReBalancer {
 
     private volatile int totalSlots = 0;
 
+    private volatile List<Integer> ownedCommandSlots = Collections.emptyList();
+
     public MasterSlotManager(ClusterManager clusterManager, MasterConfig masterConfig) {
         this.masterConfig = masterConfig;
         this.masterClusters = clusterManager.getMasterClusters();
@@ -73,6 +77,14 @@ public class MasterSlotManager implements IMasterSlotReBalancer {
         return totalSlots;
     }
 
+    /**
+     * Get the command slots owned by the current master, the owned command slots will be recalculated once the master
+     * clusters changed.
+     */
+    public List<Integer> getOwnedCommandSlots() {
+        return ownedCommandSlots;
+    }
+
     public boolean checkSlotValid() {
         return totalSlots > 0 && currentSlot >= 0;
     }
@@ -92,6 +104,7 @@ public class MasterSlotManager implements IMasterSlotReBalancer {
                     "Do rebalance failed, cannot found the current master: {} in the normal master clusters: {}. Please check the current master server status",
                     masterConfig.getMasterAddress(), normalMasterServers);
             currentSlot = -1;
+            ownedCommandSlots = Collections.emptyList();
             return;
         }
 
@@ -102,6 +115,13 @@ public class MasterSlotManager implements IMasterSlotReBalancer {
         }
         totalSlots = normalMasterServers.size();
         currentSlot = tmpCurrentSlot;
-        log.info("Do rebalance success, current master slot: {}, total master slots: {}", currentSlot, totalSlots);
+        ownedCommandSlots = CommandSlotUtils.getOwnedCommandSlots(currentSlot, totalSlots);
+        if (totalSlots > CommandSlotUtils.TOTAL_COMMAND_SLOTS) {
+            log.warn("The total master slots: {} is greater than the total command slots: {}, the SLOT_BASED command "
+                    + "fetch strategy will fall back to fetch commands by id slot", totalSlots,
+                    CommandSlotUtils.TOTAL_COMMAND_SLOTS);
+        }
+        log.info("Do rebalance success, current master slot: {}, total master slots: {}, owned command slots: {}",
+                currentSlot, totalSlots, ownedCommandSlots);
     }
 }
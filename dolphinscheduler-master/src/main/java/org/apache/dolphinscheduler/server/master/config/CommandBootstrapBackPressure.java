@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The back pressure of the command bootstrap pipeline, the master will stop fetching new commands if the running
+ * workflows or the pending workflow events exceed the thresholds.
+ */
+@Data
+public class CommandBootstrapBackPressure {
+
+    private boolean enabled = true;
+
+    /**
+     * The max number of commands which are being bootstrapped at the same time, this is always applied even if the back
+     * pressure is disabled.
+     */
+    private int maxBootstrappingCommands = 100;
+
+    /**
+     * The max number of running workflows in the current master.
+     */
+    private int maxRunningWorkflows = 10000;
+
+    /**
+     * The max number of pending events in all the workflow event buses of the current master.
+     */
+    private int maxPendingWorkflowEvents = 100000;
+
+    public boolean isBackPressured(int runningWorkflows, int pendingWorkflowEvents) {
+        if (!enabled) {
+            return false;
+        }
+        return runningWorkflows >= maxRunningWorkflows || pendingWorkflowEvents >= maxPendingWorkflowEvents;
+    }
+
+    public void validate(Errors errors) {
+        if (maxBootstrappingCommands <= 0) {
+            errors.rejectValue("command-bootstrap-back-pressure", null,
+                    "maxBootstrappingCommands should be a positive value");
+        }
+        if (maxRunningWorkflows <= 0) {
+            errors.rejectValue("command-bootstrap-back-pressure", null,
+                    "maxRunningWorkflows should be a positive value");
+        }
+        if (maxPendingWorkflowEvents <= 0) {
+            errors.rejectValue("command-bootstrap-back-pressure", null,
+                    "maxPendingWorkflowEvents should be a positive value");
+        }
+    }
+}
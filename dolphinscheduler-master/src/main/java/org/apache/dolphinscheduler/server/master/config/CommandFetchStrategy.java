@@ -17,7 +17,11 @@
 
 package org.apache.dolphinscheduler.server.master.config;
 
+import java.time.Duration;
+
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import org.springframework.validation.Errors;
 
@@ -28,12 +32,30 @@ public class CommandFetchStrategy {
 
     private CommandFetchConfig config = new IdSlotBasedFetchConfig();
 
+    /**
+     * The interval to fetch commands when there is no command, the master will be woken up once a command is created
+     * by api server or other masters, so the idle fetch is only a safety net for the lost notification.
+     */
+    private Duration idleFetchInterval = Duration.ofSeconds(1);
+
     public void validate(Errors errors) {
+        if (idleFetchInterval == null || idleFetchInterval.toMillis() <= 0) {
+            errors.rejectValue("idle-fetch-interval", null, "should be greater than 0");
+        }
         config.validate(errors);
     }
 
     public enum CommandFetchStrategyType {
+        /**
+         * Fetch the commands by {@code (id / idStep) % totalSlot = currentSlotIndex}, the query cannot use index.
+         */
         ID_SLOT_BASED,
+        /**
+         * Fetch the commands by the persisted command slot column which is indexed, the idStep is not used.
+         * <p> All the masters in the cluster should use the same strategy, otherwise a command might be fetched by two
+         * masters or by none of them.
+         */
+        SLOT_BASED,
         ;
     }
 
@@ -44,20 +66,32 @@ public class CommandFetchStrategy {
     }
 
     @Data
-    public static class IdSlotBasedFetchConfig implements CommandFetchConfig {
+    public static class SlotBasedFetchConfig implements CommandFetchConfig {
 
-        private int idStep = 1;
         private int fetchSize = 10;
 
         @Override
         public void validate(Errors errors) {
-            if (idStep <= 0) {
-                errors.rejectValue("step", null, "step must be greater than 0");
-            }
             if (fetchSize <= 0) {
                 errors.rejectValue("fetchSize", null, "fetchSize must be greater than 0");
             }
         }
     }
 
+    @Data
+    @ToString(callSuper = true)
+    @EqualsAndHashCode(callSuper = true)
+    public static class IdSlotBasedFetchConfig extends SlotBasedFetchConfig {
+
+        private int idStep = 1;
+
+        @Override
+        public void validate(Errors errors) {
+            if (idStep <= 0) {
+                errors.rejectValue("step", null, "step must be greater than 0");
+            }
+            super.validate(errors);
+        }
+    }
+
 }
@@ -49,10 +49,28 @@ public class MasterConfig implements Validator {
 
     private int workflowEventBusFireThreadCount = Runtime.getRuntime().availableProcessors() * 2 + 1;
 
+    /**
+     * The mode used to fire the workflow event bus, SIGNALLING will fire the event bus once the event is published,
+     * POLLING will scan all the workflow event bus with a fixed interval.
+     */
+    private WorkflowEventBusFireMode workflowEventBusFireMode = WorkflowEventBusFireMode.SIGNALLING;
+
     // todo: change to sync thread pool/ async thread pool ?
     private int masterSyncTaskExecutorThreadPoolSize = Runtime.getRuntime().availableProcessors();
 
     private int masterAsyncTaskExecutorThreadPoolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The max number of ready tasks which will be taken from the dispatch waiting queue in one round, the tasks which
+     * are dispatched to the same worker will be sent in one request.
+     */
+    private int taskDispatchBatchSize = 100;
+
+    /**
+     * The number of threads used to dispatch tasks, each worker group has its own dispatch lane and a lane will hold
+     * at most one thread, so a slow worker group will not block the dispatch of other worker groups.
+     */
+    private int taskDispatchThreadCount = Runtime.getRuntime().availableProcessors();
     /**
      * Master heart beat task execute interval.
      */
@@ -66,6 +84,22 @@ public class MasterConfig implements Validator {
 
     private CommandFetchStrategy commandFetchStrategy = new CommandFetchStrategy();
 
+    /**
+     * The back pressure of the command bootstrap pipeline, used to stop fetching commands when the master is busy.
+     */
+    private CommandBootstrapBackPressure commandBootstrapBackPressure = new CommandBootstrapBackPressure();
+
+    /**
+     * The write-behind of the task instance state transitions, used to reduce the database round trips.
+     */
+    private TaskStateWriteBehind taskStateWriteBehind = new TaskStateWriteBehind();
+
+    /**
+     * The cache of the workflow definitions and the parsed workflow graphs, used to bootstrap the commands of the same
+     * workflow definition version without querying the database.
+     */
+    private WorkflowDefinitionCache workflowDefinitionCache = new WorkflowDefinitionCache();
+
     private WorkerLoadBalancerConfigurationProperties workerLoadBalancerConfigurationProperties =
             new WorkerLoadBalancerConfigurationProperties();
 
@@ -95,6 +129,14 @@ public class MasterConfig implements Validator {
             errors.rejectValue("workflow-event-bus-fire-thread-count", null, "should be a positive value");
         }
 
+        if (masterConfig.getTaskDispatchBatchSize() <= 0) {
+            errors.rejectValue("task-dispatch-batch-size", null, "should be a positive value");
+        }
+
+        if (masterConfig.getTaskDispatchThreadCount() <= 0) {
+            errors.rejectValue("task-dispatch-thread-count", null, "should be a positive value");
+        }
+
         if (masterConfig.getMaxHeartbeatInterval().toMillis() < 0) {
             errors.rejectValue("max-heartbeat-interval", null, "should be a valid duration");
         }
@@ -106,6 +148,9 @@ public class MasterConfig implements Validator {
             masterConfig.setMasterAddress(NetUtils.getAddr(masterConfig.getListenPort()));
         }
         commandFetchStrategy.validate(errors);
+        commandBootstrapBackPressure.validate(errors);
+        taskStateWriteBehind.validate(errors);
+        workflowDefinitionCache.validate(errors);
         workerLoadBalancerConfigurationProperties.validate(errors);
 
         masterConfig.setMasterRegistryPath(
@@ -118,6 +163,9 @@ public class MasterConfig implements Validator {
                 "\n****************************Master Configuration**************************************" +
                         "\n  listen-port -> " + listenPort +
                         "\n  workflow-event-bus-fire-thread-count -> " + workflowEventBusFireThreadCount +
+                        "\n  workflow-event-bus-fire-mode -> " + workflowEventBusFireMode +
+                        "\n  task-dispatch-batch-size -> " + taskDispatchBatchSize +
+                        "\n  task-dispatch-thread-count -> " + taskDispatchThreadCount +
                         "\n  max-heartbeat-interval -> " + maxHeartbeatInterval +
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  registry-disconnect-strategy -> " + registryDisconnectStrategy +
@@ -125,6 +173,9 @@ public class MasterConfig implements Validator {
                         "\n  master-registry-path: " + masterRegistryPath +
                         "\n  worker-group-refresh-interval: " + workerGroupRefreshInterval +
                         "\n  command-fetch-strategy: " + commandFetchStrategy +
+                        "\n  command-bootstrap-back-pressure: " + commandBootstrapBackPressure +
+                        "\n  task-state-write-behind: " + taskStateWriteBehind +
+                        "\n  workflow-definition-cache: " + workflowDefinitionCache +
                         "\n  worker-load-balancer-configuration-properties: "
                         + workerLoadBalancerConfigurationProperties +
                         "\n****************************Master Configuration**************************************";
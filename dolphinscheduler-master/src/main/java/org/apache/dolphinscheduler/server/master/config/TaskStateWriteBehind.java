@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The write-behind of the task instance state transitions, the transitions of the same task instance will be coalesced
+ * and flushed to the database in batches.
+ */
+@Data
+public class TaskStateWriteBehind {
+
+    /**
+     * If disabled, each state transition will be written to the database synchronously.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The interval of flushing the pending state transitions, the flush will also be triggered before the transition
+     * becomes visible to others, e.g. dispatch the successors or finalize the workflow.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * The max number of task instances updated in one JDBC batch.
+     */
+    private int maxBatchSize = 500;
+
+    public void validate(Errors errors) {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            errors.rejectValue("task-state-write-behind", null, "flushInterval should be a positive value");
+        }
+        if (maxBatchSize <= 0) {
+            errors.rejectValue("task-state-write-behind", null, "maxBatchSize should be a positive value");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The cache of the workflow definitions and the parsed workflow graphs, the (code, version) of a workflow definition is
+ * immutable, so the cached entry never needs to be refreshed.
+ */
+@Data
+public class WorkflowDefinitionCache {
+
+    /**
+     * If disabled, the workflow definition and the workflow graph will be loaded from the database for each command.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The max total weight of the cached workflow definitions, the weight of one workflow definition is the number of
+     * the task definitions in it.
+     */
+    private long maxWeight = 100_000;
+
+    /**
+     * The cached workflow definition will be evicted if it is not accessed within this duration.
+     */
+    private Duration expireAfterAccess = Duration.ofHours(2);
+
+    public void validate(Errors errors) {
+        if (maxWeight <= 0) {
+            errors.rejectValue("workflow-definition-cache", null, "maxWeight should be a positive value");
+        }
+        if (expireAfterAccess == null || expireAfterAccess.isNegative() || expireAfterAccess.isZero()) {
+            errors.rejectValue("workflow-definition-cache", null, "expireAfterAccess should be a positive value");
+        }
+    }
+}
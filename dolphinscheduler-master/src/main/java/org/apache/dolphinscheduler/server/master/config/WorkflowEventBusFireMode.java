@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+/**
+ * The mode used by the WorkflowEventBusFireWorker to find the workflow event bus which need to be fired.
+ */
+public enum WorkflowEventBusFireMode {
+
+    /**
+     * Each worker scan all the registered workflow event bus with a fixed interval.
+     */
+    POLLING,
+
+    /**
+     * Each worker will be signalled once an event has been published into its registered workflow event bus, the
+     * delay event will be fired once it is expired.
+     */
+    SIGNALLING,
+    ;
+}
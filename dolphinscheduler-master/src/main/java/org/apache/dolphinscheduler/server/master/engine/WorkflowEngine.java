@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.server.master.engine;
 
 import org.apache.dolphinscheduler.server.master.engine.command.CommandEngine;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStatePersister;
 import org.apache.dolphinscheduler.server.master.runner.MasterTaskExecutorBootstrap;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +33,9 @@ public class WorkflowEngine implements AutoCloseable {
     @Autowired
     private TaskGroupCoordinator taskGroupCoordinator;
 
+    @Autowired
+    private TaskInstanceStatePersister taskInstanceStatePersister;
+
     @Autowired
     private WorkflowEventBusCoordinator workflowEventBusCoordinator;
 
@@ -45,6 +49,8 @@ public class WorkflowEngine implements AutoCloseable {
 
         taskGroupCoordinator.start();
 
+        taskInstanceStatePersister.start();
+
         masterTaskExecutorBootstrap.start();
 
         workflowEventBusCoordinator.start();
@@ -57,6 +63,7 @@ public class WorkflowEngine implements AutoCloseable {
     @Override
     public void close() throws Exception {
         try (
+                final TaskInstanceStatePersister taskInstanceStatePersister1 = taskInstanceStatePersister;
                 final CommandEngine commandEngine1 = commandEngine;
                 final WorkflowEventBusCoordinator workflowEventBusCoordinator1 = workflowEventBusCoordinator;
                 final MasterTaskExecutorBootstrap masterTaskExecutorBootstrap1 = masterTaskExecutorBootstrap;) {
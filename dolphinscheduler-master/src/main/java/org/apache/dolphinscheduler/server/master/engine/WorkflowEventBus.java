@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.engine;
 import org.apache.dolphinscheduler.eventbus.AbstractDelayEventBus;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import lombok.Data;
 import lombok.Getter;
@@ -35,10 +36,28 @@ public class WorkflowEventBus extends AbstractDelayEventBus<AbstractLifecycleEve
 
     private final WorkflowEventBusSummary workflowEventBusSummary = new WorkflowEventBusSummary();
 
+    private volatile Consumer<AbstractLifecycleEvent> eventPublishListener;
+
     public void publish(final AbstractLifecycleEvent event) {
         super.publish(event);
         workflowEventBusSummary.increaseEventCount();
         log.info("Publish event: {}", event);
+        final Consumer<AbstractLifecycleEvent> listener = eventPublishListener;
+        if (listener != null) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * Register the listener which will be notified after an event has been published into the bus.
+     * <p> This is used by the {@link WorkflowEventBusFireWorker} to get the signal that the bus need to be fired.
+     */
+    public void registerEventPublishListener(final Consumer<AbstractLifecycleEvent> eventPublishListener) {
+        this.eventPublishListener = eventPublishListener;
+    }
+
+    public void unRegisterEventPublishListener() {
+        this.eventPublishListener = null;
     }
 
     @Data
@@ -18,11 +18,13 @@
 package org.apache.dolphinscheduler.server.master.engine;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+import org.apache.dolphinscheduler.server.master.config.WorkflowEventBusFireMode;
 import org.apache.dolphinscheduler.server.master.engine.exceptions.WorkflowEventFireException;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
@@ -35,9 +37,14 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -49,6 +56,28 @@ public class WorkflowEventBusFireWorker {
 
     private final Map<ILifecycleEventType, ILifecycleEventHandler> eventHandlerMap = new ConcurrentHashMap<>();
 
+    private final WorkflowEventBusFireMode workflowEventBusFireMode;
+
+    /**
+     * The signals of the workflow event bus which need to be fired, only used in {@link WorkflowEventBusFireMode#SIGNALLING}.
+     * <p> The signal of a delay event will be expired once the event is expired.
+     */
+    private final DelayQueue<WorkflowEventBusFireSignal> workflowEventBusFireSignals = new DelayQueue<>();
+
+    /**
+     * The workflow instances which already have an immediate signal in {@link #workflowEventBusFireSignals}, used to
+     * avoid adding duplicate signals when there are lots of events published in a short time.
+     */
+    private final Set<Integer> signalledWorkflowInstanceIds = ConcurrentHashMap.newKeySet();
+
+    public WorkflowEventBusFireWorker() {
+        this(WorkflowEventBusFireMode.POLLING);
+    }
+
+    public WorkflowEventBusFireWorker(final WorkflowEventBusFireMode workflowEventBusFireMode) {
+        this.workflowEventBusFireMode = checkNotNull(workflowEventBusFireMode);
+    }
+
     public void registerEventHandler(ILifecycleEventHandler eventHandler) {
         checkArgument(eventHandler != null, "event handler cannot be null");
         checkArgument(eventHandler.matchEventType() != null, "event type cannot be null");
@@ -64,13 +93,59 @@ public class WorkflowEventBusFireWorker {
                 "WorkflowExecuteRunnable(%s/%s already registered at WorkflowEventBusFireWorker", workflowInstanceId,
                 workflowInstanceName);
         registeredWorkflowExecuteRunnableMap.put(workflowInstanceId, workflowExecutionRunnable);
+
+        if (workflowEventBusFireMode == WorkflowEventBusFireMode.SIGNALLING) {
+            final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
+            workflowEventBus.registerEventPublishListener(
+                    event -> signalWorkflowEventBus(workflowInstanceId, event.getDelay(TimeUnit.MILLISECONDS)));
+            // The event might be published before the listener registered
+            if (!workflowEventBus.isEmpty()) {
+                signalWorkflowEventBus(workflowInstanceId, 0);
+            }
+        }
     }
 
     public void unRegisterWorkflowEventBus(IWorkflowExecutionRunnable workflowExecutionRunnable) {
         final IWorkflowExecuteContext workflowExecuteContext = workflowExecutionRunnable.getWorkflowExecuteContext();
         final ProcessInstance workflowInstance = workflowExecuteContext.getWorkflowInstance();
         final Integer workflowInstanceId = workflowInstance.getId();
-        registeredWorkflowExecuteRunnableMap.remove(workflowInstanceId, workflowExecutionRunnable);
+        if (registeredWorkflowExecuteRunnableMap.remove(workflowInstanceId, workflowExecutionRunnable)) {
+            workflowExecutionRunnable.getWorkflowEventBus().unRegisterEventPublishListener();
+        }
+    }
+
+    /**
+     * Wait until there exist a signalled workflow event bus and fire it, the delay event will not be fired until it is expired.
+     * <p> This method is only used in {@link WorkflowEventBusFireMode#SIGNALLING}.
+     */
+    public void fireSignalledEvent() throws InterruptedException {
+        final WorkflowEventBusFireSignal workflowEventBusFireSignal = workflowEventBusFireSignals.take();
+        final Integer workflowInstanceId = workflowEventBusFireSignal.getWorkflowInstanceId();
+        // Remove the mark before fire the event bus, so the event published during fire will signal again
+        signalledWorkflowInstanceIds.remove(workflowInstanceId);
+
+        final IWorkflowExecutionRunnable workflowExecutionRunnable =
+                registeredWorkflowExecuteRunnableMap.get(workflowInstanceId);
+        if (workflowExecutionRunnable == null) {
+            return;
+        }
+        final WorkflowEventBus workflowEventBus = workflowExecutionRunnable.getWorkflowEventBus();
+        if (!workflowEventBus.isEmpty()) {
+            fireWorkflowEventBus(workflowExecutionRunnable);
+        }
+        // The remaining events are not expired or failed to fire, signal again until the head event is expired
+        workflowEventBus.peek()
+                .ifPresent(event -> signalWorkflowEventBus(workflowInstanceId, event.getDelay(TimeUnit.MILLISECONDS)));
+    }
+
+    private void signalWorkflowEventBus(final Integer workflowInstanceId, final long delayMills) {
+        if (delayMills > 0) {
+            workflowEventBusFireSignals.add(new WorkflowEventBusFireSignal(workflowInstanceId, delayMills));
+            return;
+        }
+        if (signalledWorkflowInstanceIds.add(workflowInstanceId)) {
+            workflowEventBusFireSignals.add(new WorkflowEventBusFireSignal(workflowInstanceId, 0));
+        }
     }
 
     public void fireAllRegisteredEvent() {
@@ -79,16 +154,20 @@ public class WorkflowEventBusFireWorker {
             return;
         }
         for (IWorkflowExecutionRunnable workflowExecutionRunnable : workflowExecutionRunnables) {
-            final Integer workflowInstanceId = workflowExecutionRunnable.getId();
-            final String workflowInstanceName = workflowExecutionRunnable.getName();
-            try {
-                LogUtils.setWorkflowInstanceIdMDC(workflowInstanceId);
-                doFireSingleWorkflowEventBus(workflowExecutionRunnable);
-            } catch (Exception ex) {
-                log.error("Fire event failed for WorkflowExecuteRunnable: {}", workflowInstanceName, ex);
-            } finally {
-                LogUtils.removeWorkflowInstanceIdMDC();
-            }
+            fireWorkflowEventBus(workflowExecutionRunnable);
+        }
+    }
+
+    private void fireWorkflowEventBus(final IWorkflowExecutionRunnable workflowExecutionRunnable) {
+        final Integer workflowInstanceId = workflowExecutionRunnable.getId();
+        final String workflowInstanceName = workflowExecutionRunnable.getName();
+        try {
+            LogUtils.setWorkflowInstanceIdMDC(workflowInstanceId);
+            doFireSingleWorkflowEventBus(workflowExecutionRunnable);
+        } catch (Exception ex) {
+            log.error("Fire event failed for WorkflowExecuteRunnable: {}", workflowInstanceName, ex);
+        } finally {
+            LogUtils.removeWorkflowInstanceIdMDC();
         }
     }
 
@@ -140,4 +219,27 @@ public class WorkflowEventBusFireWorker {
         lifecycleEventHandler.handle(workflowExecutionRunnable, event);
     }
 
+    @Getter
+    private static final class WorkflowEventBusFireSignal implements Delayed {
+
+        private final Integer workflowInstanceId;
+
+        private final long triggerTimeInMillis;
+
+        private WorkflowEventBusFireSignal(final Integer workflowInstanceId, final long delayMills) {
+            this.workflowInstanceId = workflowInstanceId;
+            this.triggerTimeInMillis = System.currentTimeMillis() + delayMills;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(triggerTimeInMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(triggerTimeInMillis, ((WorkflowEventBusFireSignal) other).triggerTimeInMillis);
+        }
+    }
+
 }
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.engine;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.WorkflowEventBusFireMode;
 
 import java.util.List;
 import java.util.concurrent.Executors;
@@ -48,25 +49,44 @@ public class WorkflowEventBusFireWorkers implements AutoCloseable {
 
     public void start() {
         final int workflowEventBusFireThreadCount = masterConfig.getWorkflowEventBusFireThreadCount();
+        final WorkflowEventBusFireMode workflowEventBusFireMode = masterConfig.getWorkflowEventBusFireMode();
         workflowEventBusFireThreadPool = Executors.newScheduledThreadPool(
                 workflowEventBusFireThreadCount,
                 ThreadUtils.newDaemonThreadFactory("DS-WorkflowEventBusFireWorker-%d"));
         workflowEventBusFireWorkers = new WorkflowEventBusFireWorker[workflowEventBusFireThreadCount];
 
         for (int i = 0; i < workflowEventBusFireThreadCount; i++) {
-            final WorkflowEventBusFireWorker workflowEventBusFireWorker = new WorkflowEventBusFireWorker();
+            final WorkflowEventBusFireWorker workflowEventBusFireWorker =
+                    new WorkflowEventBusFireWorker(workflowEventBusFireMode);
             eventHandlers.forEach(workflowEventBusFireWorker::registerEventHandler);
             workflowEventBusFireWorkers[i] = workflowEventBusFireWorker;
 
-            workflowEventBusFireThreadPool.scheduleWithFixedDelay(
-                    workflowEventBusFireWorker::fireAllRegisteredEvent,
-                    DEFAULT_FIRE_INTERVAL,
-                    // todo: do not use a fixed interval for all worker, each worker use wait notify to control the fire
-                    // interval
-                    DEFAULT_FIRE_INTERVAL,
-                    TimeUnit.MILLISECONDS);
+            if (workflowEventBusFireMode == WorkflowEventBusFireMode.SIGNALLING) {
+                workflowEventBusFireThreadPool.execute(() -> fireSignalledEventLoop(workflowEventBusFireWorker));
+            } else {
+                workflowEventBusFireThreadPool.scheduleWithFixedDelay(
+                        workflowEventBusFireWorker::fireAllRegisteredEvent,
+                        DEFAULT_FIRE_INTERVAL,
+                        DEFAULT_FIRE_INTERVAL,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+        log.info("WorkflowEventBusFireWorkers started, worker size: {}, fire mode: {}",
+                workflowEventBusFireThreadCount, workflowEventBusFireMode);
+    }
+
+    private void fireSignalledEventLoop(final WorkflowEventBusFireWorker workflowEventBusFireWorker) {
+        while (!workflowEventBusFireThreadPool.isShutdown()) {
+            try {
+                workflowEventBusFireWorker.fireSignalledEvent();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                log.info("WorkflowEventBusFireWorker has been interrupted, will exit the fire loop");
+                return;
+            } catch (Throwable throwable) {
+                log.error("Fire signalled event failed", throwable);
+            }
         }
-        log.info("WorkflowEventBusFireWorkers started, worker size: {}", workflowEventBusFireThreadCount);
     }
 
     public WorkflowEventBusFireWorker getWorker(Integer workerSlot) {
@@ -80,7 +100,12 @@ public class WorkflowEventBusFireWorkers implements AutoCloseable {
     @Override
     public void close() throws Exception {
         if (workflowEventBusFireThreadPool != null) {
-            workflowEventBusFireThreadPool.shutdown();
+            if (masterConfig.getWorkflowEventBusFireMode() == WorkflowEventBusFireMode.SIGNALLING) {
+                // Interrupt the worker which is waiting for the signal
+                workflowEventBusFireThreadPool.shutdownNow();
+            } else {
+                workflowEventBusFireThreadPool.shutdown();
+            }
         }
         log.info("WorkflowEventBusFireWorkers closed");
     }
@@ -29,10 +29,12 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
 import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
+import org.apache.dolphinscheduler.server.master.config.CommandBootstrapBackPressure;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.config.MasterServerLoadProtection;
 import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusCoordinator;
+import org.apache.dolphinscheduler.server.master.engine.exceptions.CommandDuplicateHandleException;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowStartLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.WorkflowExecutionRunnableFactory;
@@ -42,10 +44,16 @@ import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -54,6 +62,9 @@ import org.springframework.stereotype.Service;
 
 /**
  * Master scheduler thread, this thread will consume the commands from database and trigger processInstance executed.
+ * <p> The commands are bootstrapped in a pipeline: the loop keeps fetching new commands while the fetched commands are
+ * being constructed and bootstrapped in {@code commandHandleThreadPool}, so a slow command will not block the others.
+ * The pipeline is bounded by {@link CommandBootstrapBackPressure}.
  */
 @Service
 @Slf4j
@@ -82,6 +93,19 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
 
     private ExecutorService commandHandleThreadPool;
 
+    /**
+     * Released once a new command is created, used to wake up the command loop which is waiting for new commands.
+     */
+    private final Semaphore commandCreatedSignal = new Semaphore(0);
+
+    /**
+     * The commands which are being bootstrapped, used to filter the commands which are fetched again before they are
+     * deleted from db.
+     */
+    private final Map<Integer, Command> bootstrappingCommands = new ConcurrentHashMap<>();
+
+    private Semaphore bootstrapPermits;
+
     protected CommandEngine() {
         super("MasterCommandLoopThread");
     }
@@ -91,6 +115,9 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
         log.info("MasterSchedulerBootstrap starting..");
         this.commandHandleThreadPool = ThreadUtils.newDaemonFixedThreadExecutor("MasterCommandHandleThreadPool",
                 Runtime.getRuntime().availableProcessors());
+        this.bootstrapPermits =
+                new Semaphore(masterConfig.getCommandBootstrapBackPressure().getMaxBootstrappingCommands());
+        MasterServerMetrics.registerCommandBootstrappingGauge(bootstrappingCommands::size);
         super.start();
         log.info("MasterSchedulerBootstrap started...");
     }
@@ -105,6 +132,7 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
     @Override
     public void run() {
         MasterServerLoadProtection serverLoadProtection = masterConfig.getServerLoadProtection();
+        CommandBootstrapBackPressure commandBootstrapBackPressure = masterConfig.getCommandBootstrapBackPressure();
         while (!ServerLifeCycleManager.isStopped()) {
             try {
                 if (!ServerLifeCycleManager.isRunning()) {
@@ -112,7 +140,6 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
                     log.warn("The current server is not at running status, cannot consumes commands.");
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                 }
-                // todo: if the workflow event queue is much, we need to handle the back pressure
                 SystemMetrics systemMetrics = metricsProvider.getSystemMetrics();
                 if (serverLoadProtection.isOverload(systemMetrics)) {
                     log.warn("The current server is overload, cannot consumes commands.");
@@ -120,22 +147,35 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
-                List<Command> commands = commandFetcher.fetchCommands();
-                if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
+                if (isBackPressured(commandBootstrapBackPressure)) {
+                    MasterServerMetrics.incCommandBootstrapBackPressure();
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
+                // Drain the signals before fetching, the commands created before this point will be fetched by this
+                // round, and the commands created after this point will wake up the next idle wait.
+                commandCreatedSignal.drainPermits();
+                List<Command> commands = commandFetcher.fetchCommands()
+                        .stream()
+                        .filter(command -> !bootstrappingCommands.containsKey(command.getId()))
+                        .collect(Collectors.toList());
+                if (CollectionUtils.isEmpty(commands)) {
+                    // indicate that no new command, wait until a new command is created, a bootstrapping command is
+                    // finished or the idle fetch interval elapsed
+                    waitForNewCommand();
+                    continue;
+                }
 
-                List<CompletableFuture<Void>> allCompleteFutures = new ArrayList<>();
                 for (Command command : commands) {
-                    CompletableFuture<Void> completableFuture = bootstrapCommand(command)
+                    // block here if there are too many commands being bootstrapped
+                    bootstrapPermits.acquire();
+                    bootstrappingCommands.put(command.getId(), command);
+                    bootstrapCommand(command)
                             .thenAccept(this::bootstrapWorkflowExecutionRunnable)
                             .thenAccept((unused) -> bootstrapSuccess(command))
-                            .exceptionally(throwable -> bootstrapError(command, throwable));
-                    allCompleteFutures.add(completableFuture);
+                            .exceptionally(throwable -> bootstrapError(command, throwable))
+                            .whenComplete((unused, throwable) -> bootstrapFinished(command));
                 }
-                CompletableFuture.allOf(allCompleteFutures.toArray(new CompletableFuture[0])).join();
             } catch (InterruptedException interruptedException) {
                 log.warn("Master schedule bootstrap interrupted, close the loop", interruptedException);
                 Thread.currentThread().interrupt();
@@ -148,12 +188,62 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
         }
     }
 
+    /**
+     * Wake up the command loop to fetch the new created commands immediately.
+     */
+    public void wakeUp() {
+        commandCreatedSignal.release();
+    }
+
+    private void waitForNewCommand() throws InterruptedException {
+        final long idleFetchIntervalMills = masterConfig.getCommandFetchStrategy().getIdleFetchInterval().toMillis();
+        if (commandCreatedSignal.tryAcquire(idleFetchIntervalMills, TimeUnit.MILLISECONDS)) {
+            log.debug("Received command created signal, fetch the commands immediately");
+        }
+    }
+
+    private boolean isBackPressured(final CommandBootstrapBackPressure commandBootstrapBackPressure) {
+        if (!commandBootstrapBackPressure.isEnabled()) {
+            return false;
+        }
+        final Collection<IWorkflowExecutionRunnable> workflowExecutionRunnables = workflowRepository.getAll();
+        final int runningWorkflows = workflowExecutionRunnables.size();
+        final int pendingWorkflowEvents = workflowExecutionRunnables
+                .stream()
+                .mapToInt(workflowExecutionRunnable -> workflowExecutionRunnable.getWorkflowEventBus().size())
+                .sum();
+        if (commandBootstrapBackPressure.isBackPressured(runningWorkflows, pendingWorkflowEvents)) {
+            log.warn("The current master is busy, running workflows: {}, pending workflow events: {}, "
+                    + "cannot consumes commands.", runningWorkflows, pendingWorkflowEvents);
+            return true;
+        }
+        return false;
+    }
+
     private CompletableFuture<IWorkflowExecutionRunnable> bootstrapCommand(Command command) {
-        return supplyAsync(
-                () -> workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command), commandHandleThreadPool);
+        final long submitTime = System.currentTimeMillis();
+        return supplyAsync(() -> {
+            final long startTime = System.currentTimeMillis();
+            MasterServerMetrics.recordCommandBootstrapStageTime("wait", startTime - submitTime);
+            try {
+                return workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command);
+            } finally {
+                MasterServerMetrics.recordCommandBootstrapStageTime("create",
+                        System.currentTimeMillis() - startTime);
+            }
+        }, commandHandleThreadPool);
     }
 
     private CompletableFuture<Void> bootstrapWorkflowExecutionRunnable(IWorkflowExecutionRunnable workflowExecutionRunnable) {
+        final long startTime = System.currentTimeMillis();
+        try {
+            return doBootstrapWorkflowExecutionRunnable(workflowExecutionRunnable);
+        } finally {
+            MasterServerMetrics.recordCommandBootstrapStageTime("bootstrap", System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private CompletableFuture<Void> doBootstrapWorkflowExecutionRunnable(IWorkflowExecutionRunnable workflowExecutionRunnable) {
         final ProcessInstance workflowInstance =
                 workflowExecutionRunnable.getWorkflowExecuteContext().getWorkflowInstance();
         if (workflowInstance.getState() == WorkflowExecutionStatus.SERIAL_WAIT) {
@@ -177,9 +267,25 @@ public class CommandEngine extends BaseDaemonThread implements AutoCloseable {
     }
 
     private Void bootstrapError(Command command, Throwable throwable) {
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+        if (cause instanceof CommandDuplicateHandleException) {
+            // The command was fetched before it's deleted by the previous bootstrap, it has been handled already, so
+            // it should not be moved to the error commands
+            log.warn("Skip bootstrap command: {}, since it has already been handled", command.getId());
+            return null;
+        }
         log.error("Failed bootstrap command {} ", JSONUtils.toPrettyJsonString(command), throwable);
         commandService.moveToErrorCommand(command, ExceptionUtils.getStackTrace(throwable));
         return null;
     }
 
+    private void bootstrapFinished(Command command) {
+        bootstrappingCommands.remove(command.getId());
+        bootstrapPermits.release();
+        // wake up the command loop, since the fetched commands might be skipped as they were being bootstrapped
+        wakeUp();
+    }
+
 }
@@ -41,6 +41,10 @@ public class CommandFetcherConfiguration {
                 CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig =
                         (CommandFetchStrategy.IdSlotBasedFetchConfig) commandFetchStrategy.getConfig();
                 return new IdSlotBasedCommandFetcher(idSlotBasedFetchConfig, masterSlotManager, commandDao);
+            case SLOT_BASED:
+                CommandFetchStrategy.SlotBasedFetchConfig slotBasedFetchConfig =
+                        (CommandFetchStrategy.SlotBasedFetchConfig) commandFetchStrategy.getConfig();
+                return new SlotBasedCommandFetcher(slotBasedFetchConfig, masterSlotManager, commandDao);
             default:
                 throw new IllegalArgumentException(
                         "unsupported command fetch strategy type: " + commandFetchStrategy.getType());
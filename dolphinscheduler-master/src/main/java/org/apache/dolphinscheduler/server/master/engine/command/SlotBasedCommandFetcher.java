@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.command;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The command fetcher which is fetch commands by the persisted command slot, the command slots are distributed to the
+ * masters by {@link MasterSlotManager}.
+ * <p> If there are more masters than {@link CommandSlotUtils#TOTAL_COMMAND_SLOTS}, some masters cannot own any command
+ * slot, then all the masters fall back to fetch the commands by id slot, so that the commands are still distributed to
+ * all the masters.
+ */
+@Slf4j
+public class SlotBasedCommandFetcher implements ICommandFetcher {
+
+    private final CommandFetchStrategy.SlotBasedFetchConfig slotBasedFetchConfig;
+
+    private final CommandDao commandDao;
+
+    private final MasterSlotManager masterSlotManager;
+
+    private final IdSlotBasedCommandFetcher idSlotBasedCommandFetcher;
+
+    public SlotBasedCommandFetcher(CommandFetchStrategy.SlotBasedFetchConfig slotBasedFetchConfig,
+                                   MasterSlotManager masterSlotManager,
+                                   CommandDao commandDao) {
+        this.slotBasedFetchConfig = slotBasedFetchConfig;
+        this.masterSlotManager = masterSlotManager;
+        this.commandDao = commandDao;
+        // The id step only affects how evenly the commands are distributed, each command is still owned by one master
+        final CommandFetchStrategy.IdSlotBasedFetchConfig idSlotBasedFetchConfig =
+                new CommandFetchStrategy.IdSlotBasedFetchConfig();
+        idSlotBasedFetchConfig.setFetchSize(slotBasedFetchConfig.getFetchSize());
+        this.idSlotBasedCommandFetcher =
+                new IdSlotBasedCommandFetcher(idSlotBasedFetchConfig, masterSlotManager, commandDao);
+    }
+
+    @Override
+    public List<Command> fetchCommands() {
+        long scheduleStartTime = System.currentTimeMillis();
+        if (!masterSlotManager.checkSlotValid()) {
+            log.warn("MasterSlotManager check slot ({} -> {})is invalidated.",
+                    masterSlotManager.getCurrentMasterSlot(), masterSlotManager.getTotalMasterSlots());
+            return Collections.emptyList();
+        }
+        if (masterSlotManager.getTotalMasterSlots() > CommandSlotUtils.TOTAL_COMMAND_SLOTS) {
+            return idSlotBasedCommandFetcher.fetchCommands();
+        }
+        List<Integer> ownedCommandSlots = masterSlotManager.getOwnedCommandSlots();
+        if (CollectionUtils.isEmpty(ownedCommandSlots)) {
+            log.debug("The current master doesn't own any command slot, skip fetching commands");
+            return Collections.emptyList();
+        }
+        List<Command> commands =
+                commandDao.queryCommandBySlots(ownedCommandSlots, slotBasedFetchConfig.getFetchSize());
+        long cost = System.currentTimeMillis() - scheduleStartTime;
+        log.info("[CommandSlot-{}] Fetch {} commands in {}ms.", ownedCommandSlots, commands.size(), cost);
+        ProcessInstanceMetrics.recordCommandQueryTime(cost);
+        return commands;
+    }
+
+}
@@ -25,13 +25,13 @@ import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.ProcessDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.master.command.ICommandParam;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
 import org.apache.dolphinscheduler.server.master.engine.command.ICommandHandler;
 import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowGraph;
-import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowGraphFactory;
+import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowDefinitionGraphCache;
+import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowDefinitionGraphCache.WorkflowDefinitionGraph;
 import org.apache.dolphinscheduler.server.master.engine.workflow.listener.IWorkflowLifecycleListener;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.WorkflowExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.WorkflowExecutionRunnableBuilder;
@@ -51,10 +51,7 @@ import org.springframework.context.ApplicationContext;
 public abstract class AbstractCommandHandler implements ICommandHandler {
 
     @Autowired
-    protected ProcessDefinitionLogDao workflowDefinitionLogDao;
-
-    @Autowired
-    protected WorkflowGraphFactory workflowGraphFactory;
+    protected WorkflowDefinitionGraphCache workflowDefinitionGraphCache;
 
     @Autowired
     protected ApplicationContext applicationContext;
@@ -100,23 +97,17 @@ public abstract class AbstractCommandHandler implements ICommandHandler {
     protected void assembleWorkflowDefinition(
                                               final WorkflowExecuteContextBuilder workflowExecuteContextBuilder) {
         final Command command = workflowExecuteContextBuilder.getCommand();
-        final long workflowDefinitionCode = command.getProcessDefinitionCode();
-        final int workflowDefinitionVersion = command.getProcessDefinitionVersion();
-
-        final ProcessDefinition workflowDefinition = workflowDefinitionLogDao.queryByDefinitionCodeAndVersion(
-                workflowDefinitionCode,
-                workflowDefinitionVersion);
-        checkArgument(workflowDefinition != null,
-                "Cannot find the WorkflowDefinition: [" + workflowDefinitionCode + ":" + workflowDefinitionVersion
-                        + "]");
-        workflowExecuteContextBuilder.setWorkflowDefinition(workflowDefinition);
-
+        final WorkflowDefinitionGraph workflowDefinitionGraph = workflowDefinitionGraphCache
+                .getWorkflowDefinitionGraph(command.getProcessDefinitionCode(), command.getProcessDefinitionVersion());
+        workflowExecuteContextBuilder.setWorkflowDefinition(workflowDefinitionGraph.getWorkflowDefinition());
     }
 
     protected void assembleWorkflowGraph(
                                          final WorkflowExecuteContextBuilder workflowExecuteContextBuilder) {
         final ProcessDefinition workflowDefinition = workflowExecuteContextBuilder.getWorkflowDefinition();
-        workflowExecuteContextBuilder.setWorkflowGraph(workflowGraphFactory.createWorkflowGraph(workflowDefinition));
+        final WorkflowDefinitionGraph workflowDefinitionGraph = workflowDefinitionGraphCache
+                .getWorkflowDefinitionGraph(workflowDefinition.getCode(), workflowDefinition.getVersion());
+        workflowExecuteContextBuilder.setWorkflowGraph(workflowDefinitionGraph.getWorkflowGraph());
     }
 
     protected abstract void assembleWorkflowInstance(
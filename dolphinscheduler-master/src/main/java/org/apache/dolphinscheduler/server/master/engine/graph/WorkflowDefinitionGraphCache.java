@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.graph;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.repository.ProcessDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.WorkflowDefinitionCache;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * The cache of the workflow definitions and the parsed {@link IWorkflowGraph}, keyed by the workflow definition
+ * (code, version).
+ * <p>
+ * A released workflow definition version is immutable, so the commands of the same version can share the cached
+ * definition and graph without querying the database, the entries are only evicted by the weight or the idle time.
+ * The cached {@link ProcessDefinition} and {@link IWorkflowGraph} are shared by the workflow instances, they should be
+ * treated as read-only.
+ */
+@Slf4j
+@Component
+public class WorkflowDefinitionGraphCache {
+
+    @Autowired
+    private ProcessDefinitionLogDao workflowDefinitionLogDao;
+
+    @Autowired
+    private WorkflowGraphFactory workflowGraphFactory;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private Cache<WorkflowDefinitionKey, WorkflowDefinitionGraph> workflowDefinitionGraphCache;
+
+    @PostConstruct
+    public void init() {
+        final WorkflowDefinitionCache workflowDefinitionCache = masterConfig.getWorkflowDefinitionCache();
+        if (!workflowDefinitionCache.isEnabled()) {
+            log.info(
+                    "WorkflowDefinitionGraphCache is disabled, the workflow definition will be loaded for each command");
+            return;
+        }
+        workflowDefinitionGraphCache = CacheBuilder.newBuilder()
+                .maximumWeight(workflowDefinitionCache.getMaxWeight())
+                .weigher((WorkflowDefinitionKey key, WorkflowDefinitionGraph value) -> value.getWeight())
+                .expireAfterAccess(workflowDefinitionCache.getExpireAfterAccess().toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        MasterServerMetrics.registerWorkflowDefinitionCache(workflowDefinitionGraphCache);
+        log.info("WorkflowDefinitionGraphCache initialized, {}", workflowDefinitionCache);
+    }
+
+    /**
+     * Get the workflow definition and the parsed workflow graph of the given version, load from the database if absent.
+     *
+     * @throws IllegalArgumentException if the workflow definition version doesn't exist
+     */
+    public WorkflowDefinitionGraph getWorkflowDefinitionGraph(final long workflowDefinitionCode,
+                                                              final int workflowDefinitionVersion) {
+        if (workflowDefinitionGraphCache == null) {
+            return loadWorkflowDefinitionGraph(workflowDefinitionCode, workflowDefinitionVersion);
+        }
+        try {
+            return workflowDefinitionGraphCache.get(
+                    new WorkflowDefinitionKey(workflowDefinitionCode, workflowDefinitionVersion),
+                    () -> loadWorkflowDefinitionGraph(workflowDefinitionCode, workflowDefinitionVersion));
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Load the WorkflowDefinition: [" + workflowDefinitionCode + ":"
+                    + workflowDefinitionVersion + "] failed", ex.getCause());
+        }
+    }
+
+    private WorkflowDefinitionGraph loadWorkflowDefinitionGraph(final long workflowDefinitionCode,
+                                                                final int workflowDefinitionVersion) {
+        final ProcessDefinition workflowDefinition = workflowDefinitionLogDao.queryByDefinitionCodeAndVersion(
+                workflowDefinitionCode,
+                workflowDefinitionVersion);
+        checkArgument(workflowDefinition != null,
+                "Cannot find the WorkflowDefinition: [" + workflowDefinitionCode + ":" + workflowDefinitionVersion
+                        + "]");
+        final IWorkflowGraph workflowGraph = workflowGraphFactory.createWorkflowGraph(workflowDefinition);
+        return new WorkflowDefinitionGraph(workflowDefinition, workflowGraph);
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class WorkflowDefinitionKey {
+
+        private final long workflowDefinitionCode;
+
+        private final int workflowDefinitionVersion;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class WorkflowDefinitionGraph {
+
+        private final ProcessDefinition workflowDefinition;
+
+        private final IWorkflowGraph workflowGraph;
+
+        private int getWeight() {
+            // The empty workflow still occupies one slot
+            return Math.max(1, workflowGraph.getAllTaskNodes().size());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.persistence;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
+
+import java.util.function.BiConsumer;
+
+/**
+ * The columns of {@link TaskInstance} which are changed by the state transitions.
+ */
+public enum TaskInstanceStateColumn {
+
+    STATE((from, to) -> to.setState(from.getState())),
+    HOST((from, to) -> to.setHost(from.getHost())),
+    START_TIME((from, to) -> to.setStartTime(from.getStartTime())),
+    END_TIME((from, to) -> to.setEndTime(from.getEndTime())),
+    LOG_PATH((from, to) -> to.setLogPath(from.getLogPath())),
+    APP_LINK((from, to) -> to.setAppLink(from.getAppLink())),
+    VAR_POOL((from, to) -> to.setVarPool(from.getVarPool())),
+    ;
+
+    private final BiConsumer<TaskInstance, TaskInstanceStateUpdate> valueCopier;
+
+    TaskInstanceStateColumn(BiConsumer<TaskInstance, TaskInstanceStateUpdate> valueCopier) {
+        this.valueCopier = valueCopier;
+    }
+
+    /**
+     * Copy the value of this column from the task instance to the state update.
+     */
+    public void copyValue(TaskInstance source, TaskInstanceStateUpdate target) {
+        valueCopier.accept(source, target);
+    }
+}
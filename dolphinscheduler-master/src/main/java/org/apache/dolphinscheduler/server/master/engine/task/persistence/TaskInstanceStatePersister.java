@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.persistence;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskStateWriteBehind;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind persistence of the {@link TaskInstance} state transitions.
+ * <p>
+ * The transitions of the same task instance are coalesced in memory, only the changed columns are written, and the
+ * pending transitions are flushed in JDBC batches by a single flusher thread, so the event bus fire threads don't need
+ * to wait for the database on each transition.
+ * <p>
+ * Before a transition becomes visible to others, e.g. dispatch the successors, retry or failover the task, finalize the
+ * workflow, the caller should call {@link #flush()}, which is a durability barrier: it blocks until all the transitions
+ * persisted before it have been written to the database, the concurrent barriers will be satisfied by the same batch.
+ * <p>
+ * The transitions which are needed by the failover, e.g. the host of the dispatched task, should be written by
+ * {@link #persistNow(TaskInstance, TaskInstanceStateColumn...)}, otherwise the task might be executed twice if the
+ * master crashes before the flush.
+ */
+@Slf4j
+@Component
+public class TaskInstanceStatePersister implements AutoCloseable {
+
+    @Autowired
+    private TaskInstanceDao taskInstanceDao;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    private final Map<Integer, PendingTaskInstanceState> pendingStates = new ConcurrentHashMap<>();
+
+    private final Queue<CompletableFuture<Void>> flushBarriers = new ConcurrentLinkedQueue<>();
+
+    private final Semaphore flushSignal = new Semaphore(0);
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    public synchronized void start() {
+        final TaskStateWriteBehind taskStateWriteBehind = masterConfig.getTaskStateWriteBehind();
+        if (!taskStateWriteBehind.isEnabled()) {
+            log.info(
+                    "TaskInstanceStatePersister is disabled, the task state transitions will be written synchronously");
+            return;
+        }
+        running = true;
+        flusher = ThreadUtils.newDaemonThreadFactory("TaskInstanceStatePersister-Flusher")
+                .newThread(() -> flushLoop(taskStateWriteBehind));
+        flusher.start();
+        log.info("TaskInstanceStatePersister started, {}", taskStateWriteBehind);
+    }
+
+    /**
+     * Persist the given columns of the task instance, the values are captured now but the write may be delayed and
+     * coalesced with the following transitions of the same task instance.
+     */
+    public void persist(final TaskInstance taskInstance, final TaskInstanceStateColumn... columns) {
+        final PendingTaskInstanceState pendingState = PendingTaskInstanceState.of(taskInstance, columns);
+        if (!running) {
+            writePendingStates(Collections.singletonList(pendingState));
+            return;
+        }
+        pendingStates.merge(taskInstance.getId(), pendingState, PendingTaskInstanceState::mergeNewer);
+        if (pendingStates.size() >= masterConfig.getTaskStateWriteBehind().getMaxBatchSize()) {
+            flushSignal.release();
+        }
+    }
+
+    /**
+     * Persist the given columns of the task instance synchronously, the pending transitions of the same task instance
+     * are written together, so that they will not override this one later.
+     */
+    public synchronized void persistNow(final TaskInstance taskInstance, final TaskInstanceStateColumn... columns) {
+        PendingTaskInstanceState pendingState = PendingTaskInstanceState.of(taskInstance, columns);
+        final PendingTaskInstanceState olderPendingState = pendingStates.remove(taskInstance.getId());
+        if (olderPendingState != null) {
+            pendingState = olderPendingState.mergeNewer(pendingState);
+        }
+        writePendingStatesOrPutBack(Collections.singletonList(pendingState));
+    }
+
+    /**
+     * The durability barrier, blocks until all the task instance states persisted before have been written.
+     * <p>
+     * The failure of the write is rethrown as it is, so that the caller can still recognize e.g. the database connection
+     * failure and retry the event later.
+     */
+    public void flush() {
+        if (!running) {
+            flushPendingStates();
+            return;
+        }
+        final CompletableFuture<Void> flushBarrier = new CompletableFuture<>();
+        flushBarriers.add(flushBarrier);
+        flushSignal.release();
+        if (!running) {
+            // The flusher may have exited before the barrier is added
+            flushPendingStates();
+        }
+        try {
+            flushBarrier.join();
+        } catch (CompletionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    public int getPendingStateSize() {
+        return pendingStates.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (flusher != null) {
+            // Don't interrupt the flusher, the interrupt may break the JDBC connection which is in use
+            flushSignal.release();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushPendingStates();
+        log.info("TaskInstanceStatePersister closed");
+    }
+
+    private void flushLoop(final TaskStateWriteBehind taskStateWriteBehind) {
+        final long flushIntervalMills = taskStateWriteBehind.getFlushInterval().toMillis();
+        while (running) {
+            try {
+                if (flushSignal.tryAcquire(flushIntervalMills, TimeUnit.MILLISECONDS)) {
+                    flushSignal.drainPermits();
+                }
+                flushPendingStates();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable ex) {
+                log.error("Flush the task instance states failed, will retry in the next round", ex);
+            }
+        }
+    }
+
+    /**
+     * Write all the pending states and then release the barriers registered before, the barriers will fail if the write
+     * failed, the failed states will be put back and retried in the next round.
+     */
+    private synchronized void flushPendingStates() {
+        final List<CompletableFuture<Void>> barriers = new ArrayList<>();
+        CompletableFuture<Void> flushBarrier;
+        while ((flushBarrier = flushBarriers.poll()) != null) {
+            barriers.add(flushBarrier);
+        }
+        try {
+            final int maxBatchSize = masterConfig.getTaskStateWriteBehind().getMaxBatchSize();
+            final List<PendingTaskInstanceState> batch = new ArrayList<>();
+            for (Integer taskInstanceId : new ArrayList<>(pendingStates.keySet())) {
+                final PendingTaskInstanceState pendingState = pendingStates.remove(taskInstanceId);
+                if (pendingState != null) {
+                    batch.add(pendingState);
+                }
+                if (batch.size() >= maxBatchSize) {
+                    writePendingStatesOrPutBack(batch);
+                    batch.clear();
+                }
+            }
+            writePendingStatesOrPutBack(batch);
+            barriers.forEach(barrier -> barrier.complete(null));
+        } catch (Throwable ex) {
+            barriers.forEach(barrier -> barrier.completeExceptionally(ex));
+            throw ex;
+        }
+    }
+
+    private void writePendingStatesOrPutBack(final List<PendingTaskInstanceState> batch) {
+        try {
+            writePendingStates(batch);
+        } catch (Throwable ex) {
+            // The states persisted during the write are newer, they should override the failed ones
+            for (PendingTaskInstanceState pendingState : batch) {
+                pendingStates.merge(pendingState.getTaskInstanceId(), pendingState,
+                        (newer, failed) -> failed.mergeNewer(newer));
+            }
+            throw ex;
+        }
+    }
+
+    private void writePendingStates(final List<PendingTaskInstanceState> pendingStates) {
+        if (pendingStates.isEmpty()) {
+            return;
+        }
+        // Put the updates with the same columns together, so that they can be executed in one JDBC batch
+        if (pendingStates.size() == 1) {
+            taskInstanceDao.updateTaskInstanceStateById(pendingStates.get(0).getStateUpdate());
+            return;
+        }
+        final List<TaskInstanceStateUpdate> stateUpdates = pendingStates.stream()
+                .sorted(Comparator.comparing(PendingTaskInstanceState::getColumnsKey))
+                .map(PendingTaskInstanceState::getStateUpdate)
+                .collect(Collectors.toList());
+        taskInstanceDao.batchUpdateTaskInstanceStateById(stateUpdates);
+    }
+
+    private static class PendingTaskInstanceState {
+
+        private final TaskInstanceStateUpdate stateUpdate;
+
+        private final Set<TaskInstanceStateColumn> columns;
+
+        private PendingTaskInstanceState(TaskInstanceStateUpdate stateUpdate, Set<TaskInstanceStateColumn> columns) {
+            this.stateUpdate = stateUpdate;
+            this.columns = columns;
+        }
+
+        private static PendingTaskInstanceState of(TaskInstance taskInstance, TaskInstanceStateColumn... columns) {
+            checkNotNull(taskInstance.getId(), "The task instance id is null");
+            checkArgument(columns.length > 0, "The columns is empty");
+            final TaskInstanceStateUpdate stateUpdate = TaskInstanceStateUpdate.builder()
+                    .taskInstanceId(taskInstance.getId())
+                    .build();
+            for (TaskInstanceStateColumn column : columns) {
+                column.copyValue(taskInstance, stateUpdate);
+            }
+            final Set<TaskInstanceStateColumn> columnSet = EnumSet.noneOf(TaskInstanceStateColumn.class);
+            Collections.addAll(columnSet, columns);
+            return new PendingTaskInstanceState(stateUpdate, columnSet);
+        }
+
+        private Integer getTaskInstanceId() {
+            return stateUpdate.getTaskInstanceId();
+        }
+
+        private TaskInstanceStateUpdate getStateUpdate() {
+            return stateUpdate;
+        }
+
+        private String getColumnsKey() {
+            return columns.toString();
+        }
+
+        /**
+         * Coalesce this state with the newer one, the values in the newer state take precedence.
+         */
+        private PendingTaskInstanceState mergeNewer(PendingTaskInstanceState newer) {
+            final TaskInstanceStateUpdate newerUpdate = newer.stateUpdate;
+            final TaskInstanceStateUpdate mergedUpdate = TaskInstanceStateUpdate.builder()
+                    .taskInstanceId(stateUpdate.getTaskInstanceId())
+                    .state(newerOrElse(newerUpdate.getState(), stateUpdate.getState()))
+                    .host(newerOrElse(newerUpdate.getHost(), stateUpdate.getHost()))
+                    .startTime(newerOrElse(newerUpdate.getStartTime(), stateUpdate.getStartTime()))
+                    .endTime(newerOrElse(newerUpdate.getEndTime(), stateUpdate.getEndTime()))
+                    .logPath(newerOrElse(newerUpdate.getLogPath(), stateUpdate.getLogPath()))
+                    .appLink(newerOrElse(newerUpdate.getAppLink(), stateUpdate.getAppLink()))
+                    .varPool(newerOrElse(newerUpdate.getVarPool(), stateUpdate.getVarPool()))
+                    .build();
+            final Set<TaskInstanceStateColumn> mergedColumns = EnumSet.copyOf(columns);
+            mergedColumns.addAll(newer.columns);
+            return new PendingTaskInstanceState(mergedUpdate, mergedColumns);
+        }
+
+        private static <T> T newerOrElse(T newerValue, T value) {
+            return newerValue != null ? newerValue : value;
+        }
+    }
+}
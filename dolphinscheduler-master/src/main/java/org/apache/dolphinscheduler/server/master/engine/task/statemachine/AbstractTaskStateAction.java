@@ -19,10 +19,16 @@ package org.apache.dolphinscheduler.server.master.engine.task.statemachine;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus.DISPATCH;
+import static org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStateColumn.APP_LINK;
+import static org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStateColumn.END_TIME;
+import static org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStateColumn.HOST;
+import static org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStateColumn.LOG_PATH;
+import static org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStateColumn.START_TIME;
+import static org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStateColumn.STATE;
+import static org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStateColumn.VAR_POOL;
 
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskRequest;
@@ -44,6 +50,7 @@ import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.Tas
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskRetryLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskRunningLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.task.lifecycle.event.TaskSuccessLifecycleEvent;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStatePersister;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskInstanceFactories;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.event.WorkflowTopologyLogicalTransitionWithTaskFinishLifecycleEvent;
@@ -64,7 +71,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
     protected TaskGroupCoordinator taskGroupCoordinator;
 
     @Autowired
-    protected TaskInstanceDao taskInstanceDao;
+    protected TaskInstanceStatePersister taskInstanceStatePersister;
 
     @Autowired
     protected TaskInstanceFactories taskInstanceFactories;
@@ -97,10 +104,13 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
 
     /**
      * Release the resources needed by the task instance.
+     * <p> Should be called after the final state of the task instance is persisted, the released task group slot might
+     * be acquired by other tasks at once, they should see the final state in DB.
      */
     protected void releaseTaskInstanceResourcesIfNeeded(final ITaskExecutionRunnable taskExecutionRunnable) {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         if (taskGroupCoordinator.needToReleaseTaskGroupSlot(taskInstance)) {
+            taskInstanceStatePersister.flush();
             taskGroupCoordinator.releaseTaskGroupSlot(taskInstance);
         }
     }
@@ -112,7 +122,8 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(DISPATCH);
         taskInstance.setHost(taskDispatchedEvent.getExecutorHost());
-        taskInstanceDao.updateById(taskInstance);
+        // The host is used to take over the task when failover, so it's written at once
+        taskInstanceStatePersister.persistNow(taskInstance, STATE, HOST);
     }
 
     protected void persistentTaskInstanceStartedEventToDB(final ITaskExecutionRunnable taskExecutionRunnable,
@@ -123,16 +134,18 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         taskInstance.setLogPath(taskRunningEvent.getLogPath());
         if (StringUtils.isNotEmpty(taskRunningEvent.getRuntimeContext())) {
             taskInstance.setAppLink(taskRunningEvent.getRuntimeContext());
+            taskInstanceStatePersister.persistNow(taskInstance, STATE, START_TIME, LOG_PATH, APP_LINK);
+            return;
         }
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceStatePersister.persistNow(taskInstance, STATE, START_TIME, LOG_PATH);
     }
 
     @Override
     public void pausedEventAction(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                   final ITaskExecutionRunnable taskExecutionRunnable,
                                   final TaskPausedLifecycleEvent taskPausedEvent) {
-        releaseTaskInstanceResourcesIfNeeded(taskExecutionRunnable);
         persistentTaskInstancePausedEventToDB(taskExecutionRunnable, taskPausedEvent);
+        releaseTaskInstanceResourcesIfNeeded(taskExecutionRunnable);
         taskExecutionRunnable.getWorkflowExecutionGraph().markTaskExecutionRunnableChainPause(taskExecutionRunnable);
         publishWorkflowInstanceTopologyLogicalTransitionEvent(taskExecutionRunnable);
     }
@@ -141,15 +154,15 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
                                                        final TaskPausedLifecycleEvent taskPausedEvent) {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.PAUSE);
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceStatePersister.persist(taskInstance, STATE);
     }
 
     @Override
     public void killedEventAction(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                   final ITaskExecutionRunnable taskExecutionRunnable,
                                   final TaskKilledLifecycleEvent taskInstanceKillEvent) {
-        releaseTaskInstanceResourcesIfNeeded(taskExecutionRunnable);
         persistentTaskInstanceKilledEventToDB(taskExecutionRunnable, taskInstanceKillEvent);
+        releaseTaskInstanceResourcesIfNeeded(taskExecutionRunnable);
         taskExecutionRunnable.getWorkflowExecutionGraph().markTaskExecutionRunnableChainKill(taskExecutionRunnable);
         publishWorkflowInstanceTopologyLogicalTransitionEvent(taskExecutionRunnable);
     }
@@ -159,18 +172,19 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.KILL);
         taskInstance.setEndTime(taskKilledEvent.getEndTime());
-        taskInstanceDao.updateById(taskInstance);
-
+        taskInstanceStatePersister.persist(taskInstance, STATE, END_TIME);
     }
 
     @Override
     public void failedEventAction(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                   final ITaskExecutionRunnable taskExecutionRunnable,
                                   final TaskFailedLifecycleEvent taskFailedEvent) {
-        releaseTaskInstanceResourcesIfNeeded(taskExecutionRunnable);
         persistentTaskInstanceFailedEventToDB(taskExecutionRunnable, taskFailedEvent);
+        releaseTaskInstanceResourcesIfNeeded(taskExecutionRunnable);
 
         if (taskExecutionRunnable.isTaskInstanceNeedRetry()) {
+            // The retry task instance is created based on the failed one in DB
+            taskInstanceStatePersister.flush();
             taskExecutionRunnable.getWorkflowEventBus().publish(TaskRetryLifecycleEvent.of(taskExecutionRunnable));
             return;
         }
@@ -190,15 +204,15 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
         taskInstance.setState(TaskExecutionStatus.FAILURE);
         taskInstance.setEndTime(taskFailedEvent.getEndTime());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceStatePersister.persist(taskInstance, STATE, END_TIME);
     }
 
     @Override
     public void succeedEventAction(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                    final ITaskExecutionRunnable taskExecutionRunnable,
                                    final TaskSuccessLifecycleEvent taskSuccessEvent) {
-        releaseTaskInstanceResourcesIfNeeded(taskExecutionRunnable);
         persistentTaskInstanceSuccessEventToDB(taskExecutionRunnable, taskSuccessEvent);
+        releaseTaskInstanceResourcesIfNeeded(taskExecutionRunnable);
         mergeTaskVarPoolToWorkflow(workflowExecutionRunnable, taskExecutionRunnable);
         publishWorkflowInstanceTopologyLogicalTransitionEvent(taskExecutionRunnable);
     }
@@ -218,7 +232,7 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
         taskInstance.setState(TaskExecutionStatus.SUCCESS);
         taskInstance.setEndTime(taskSuccessEvent.getEndTime());
         taskInstance.setVarPool(taskSuccessEvent.getVarPool());
-        taskInstanceDao.updateById(taskInstance);
+        taskInstanceStatePersister.persist(taskInstance, STATE, END_TIME, VAR_POOL);
     }
 
     /**
@@ -234,6 +248,8 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
             log.info("Failover task success, the task {} has been taken-over", taskExecutionRunnable.getName());
             return;
         }
+        // The failover task instance is created based on the origin one in DB
+        taskInstanceStatePersister.flush();
         taskExecutionRunnable.initializeFailoverTaskInstance();
         tryToDispatchTask(taskExecutionRunnable);
         log.info("Failover task success, the task {} has been resubmitted.", taskExecutionRunnable.getName());
@@ -276,6 +292,8 @@ public abstract class AbstractTaskStateAction implements ITaskStateAction {
     }
 
     protected void publishWorkflowInstanceTopologyLogicalTransitionEvent(final ITaskExecutionRunnable taskExecutionRunnable) {
+        // The successors and the workflow should see the persisted task state
+        taskInstanceStatePersister.flush();
         final Integer workflowInstanceId = taskExecutionRunnable.getWorkflowInstance().getId();
         final IWorkflowExecutionRunnable workflowExecutionRunnable = workflowRepository.get(workflowInstanceId);
         taskExecutionRunnable.getWorkflowExecutionGraph().markTaskExecutionRunnableInActive(taskExecutionRunnable);
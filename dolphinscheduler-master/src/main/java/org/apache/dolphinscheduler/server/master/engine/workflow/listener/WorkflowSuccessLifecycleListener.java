@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.extract.master.command.ICommandParam;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.AbstractWorkflowLifecycleLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.workflow.lifecycle.WorkflowLifecycleEventType;
 import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -46,6 +47,9 @@ public class WorkflowSuccessLifecycleListener implements IWorkflowLifecycleListe
     @Autowired
     private CommandDao commandDao;
 
+    @Autowired
+    private MasterCommandNotifier masterCommandNotifier;
+
     public void notifyWorkflowLifecycleEvent(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                              final AbstractWorkflowLifecycleLifecycleEvent lifecycleEvent) {
         final ProcessInstance workflowInstance = workflowExecutionRunnable.getWorkflowInstance();
@@ -100,6 +104,7 @@ public class WorkflowSuccessLifecycleListener implements IWorkflowLifecycleListe
                 .build();
 
         commandDao.insert(command);
+        masterCommandNotifier.notifyCommandCreated(command);
     }
 
     @Override
@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.model.WorkflowInstanceStateUpdate;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.server.master.engine.AbstractLifecycleEvent;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowCacheRepository;
@@ -115,6 +116,7 @@ public abstract class AbstractWorkflowStateAction implements IWorkflowStateActio
     /**
      * Transformer the workflow instance state to targetState. This method will both update the
      * workflow instance state in memory and in the database.
+     * <p> Only the state columns are written, the end time and the var pool are written when the workflow is finished.
      */
     protected void transformWorkflowInstanceState(final IWorkflowExecutionRunnable workflowExecutionRunnable,
                                                   final WorkflowExecutionStatus targetState) {
@@ -122,7 +124,16 @@ public abstract class AbstractWorkflowStateAction implements IWorkflowStateActio
         WorkflowExecutionStatus originState = workflowInstance.getState();
         try {
             workflowInstance.setState(targetState);
-            workflowInstanceDao.updateById(workflowInstance);
+            final WorkflowInstanceStateUpdate.WorkflowInstanceStateUpdateBuilder stateUpdateBuilder =
+                    WorkflowInstanceStateUpdate.builder()
+                            .workflowInstanceId(workflowInstance.getId())
+                            .state(targetState);
+            if (targetState.isFinished()) {
+                stateUpdateBuilder
+                        .endTime(workflowInstance.getEndTime())
+                        .varPool(workflowInstance.getVarPool());
+            }
+            workflowInstanceDao.updateWorkflowInstanceStateById(stateUpdateBuilder.build());
             log.info("Success set WorkflowExecuteRunnable: {} state from: {} to {}",
                     workflowInstance.getName(), originState.name(), targetState.name());
         } catch (Exception ex) {
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.repository.CommandDao;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.extract.master.command.WorkflowFailoverCommandParam;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -42,6 +43,9 @@ public class WorkflowFailover {
     @Autowired
     private CommandDao commandDao;
 
+    @Autowired
+    private MasterCommandNotifier masterCommandNotifier;
+
     @Transactional
     public void failoverWorkflow(final ProcessInstance processInstance) {
         workflowInstanceDao.updateWorkflowInstanceState(
@@ -61,6 +65,7 @@ public class WorkflowFailover {
                 .processInstanceId(processInstance.getId())
                 .build();
         commandDao.insert(failoverCommand);
+        masterCommandNotifier.notifyCommandCreated(failoverCommand);
         log.info("Success failover workflowInstance: [id={}, name={}, state={}]",
                 processInstance.getId(),
                 processInstance.getName(),
@@ -17,12 +17,20 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
+
+import com.google.common.cache.Cache;
+
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -48,6 +56,17 @@ public class MasterServerMetrics {
                     .description("master heartbeat count")
                     .register(Metrics.globalRegistry);
 
+    private final Counter commandBootstrapBackPressureCounter =
+            Counter.builder("ds.master.command.bootstrap.back.pressure.count")
+                    .description("The number of times the command fetching is paused by the back pressure")
+                    .register(Metrics.globalRegistry);
+
+    private final Map<String, Timer> commandBootstrapStageTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> taskDispatchQueueWaitTimers = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> taskDispatchLatencyTimers = new ConcurrentHashMap<>();
+
     public void registerMasterMemoryAvailableGauge(Supplier<Number> supplier) {
         Gauge.builder("ds.master.memory.available", supplier)
                 .description("Master memory available")
@@ -72,6 +91,70 @@ public class MasterServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerTaskDispatchLanePendingGauge(final String workerGroup, final Supplier<Number> supplier) {
+        Gauge.builder("ds.master.task.dispatch.lane.pending.count", supplier)
+                .tag("worker_group", workerGroup)
+                .description("The number of tasks waiting to be dispatched in the dispatch lane of the worker group")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerCommandBootstrappingGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.master.command.bootstrapping.count", supplier)
+                .description("The number of commands which are being bootstrapped")
+                .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Record the time cost of the given stage in the command bootstrap pipeline.
+     */
+    public void recordCommandBootstrapStageTime(final String stage, final long milliseconds) {
+        commandBootstrapStageTimers.computeIfAbsent(stage,
+                s -> Timer.builder("ds.master.command.bootstrap.stage.time")
+                        .tag("stage", s)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("The time cost of the stage in the command bootstrap pipeline, unit ms")
+                        .register(Metrics.globalRegistry))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register the size, hit, miss and eviction metrics of the workflow definition cache.
+     */
+    public void registerWorkflowDefinitionCache(final Cache<?, ?> workflowDefinitionCache) {
+        GuavaCacheMetrics.monitor(Metrics.globalRegistry, workflowDefinitionCache,
+                "ds.master.workflow.definition.cache");
+    }
+
+    public void incCommandBootstrapBackPressure() {
+        commandBootstrapBackPressureCounter.increment();
+    }
+
+    /**
+     * Record the time of the task wait in the dispatch waiting queue after it can be dispatched.
+     */
+    public void recordTaskDispatchQueueWaitTime(final String workerGroup, final long milliseconds) {
+        taskDispatchQueueWaitTimers.computeIfAbsent(workerGroup,
+                wg -> Timer.builder("ds.master.task.dispatch.queue.wait.time")
+                        .tag("worker_group", wg)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("The time of the task wait in the dispatch waiting queue, unit ms")
+                        .register(Metrics.globalRegistry))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Record the time from the task is submitted to the dispatch lane until the dispatch finished.
+     */
+    public void recordTaskDispatchLatency(final String workerGroup, final long milliseconds) {
+        taskDispatchLatencyTimers.computeIfAbsent(workerGroup,
+                wg -> Timer.builder("ds.master.task.dispatch.latency")
+                        .tag("worker_group", wg)
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("The time cost of dispatching the task in the dispatch lane, unit ms")
+                        .register(Metrics.globalRegistry))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public void incMasterOverload() {
         masterOverloadCounter.increment();
     }
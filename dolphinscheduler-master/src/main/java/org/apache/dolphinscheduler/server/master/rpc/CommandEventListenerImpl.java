@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.rpc;
+
+import org.apache.dolphinscheduler.extract.master.ICommandEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.CommandCreatedEvent;
+import org.apache.dolphinscheduler.server.master.engine.command.CommandEngine;
+
+import java.util.concurrent.CompletableFuture;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class CommandEventListenerImpl implements ICommandEventListener {
+
+    @Autowired
+    private CommandEngine commandEngine;
+
+    @Override
+    public CompletableFuture<Void> onCommandCreated(final CommandCreatedEvent commandCreatedEvent) {
+        log.debug("Received CommandCreatedEvent: {}", commandCreatedEvent);
+        commandEngine.wakeUp();
+        return CompletableFuture.completedFuture(null);
+    }
+
+}
@@ -17,13 +17,18 @@
 
 package org.apache.dolphinscheduler.server.master.rpc;
 
-import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
+import org.apache.dolphinscheduler.common.log.LogFileContent;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
 
@@ -46,6 +51,15 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public TaskInstanceLogFileChunkResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkRequest taskInstanceLogFileChunkRequest) {
+        LogFileChunk logFileChunk = LogUtils.getFileContentChunk(
+                taskInstanceLogFileChunkRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogFileChunkRequest.getOffset(),
+                taskInstanceLogFileChunkRequest.getLength());
+        return new TaskInstanceLogFileChunkResponse(logFileChunk.getBytes(), logFileChunk.getFileSize());
+    }
+
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
 
@@ -58,6 +72,14 @@ public class MasterLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogFollowResponse followTaskInstanceLog(TaskInstanceLogFollowRequest taskInstanceLogFollowRequest) {
+        LogFileContent logFileContent = LogUtils.readFileContentFromOffset(
+                taskInstanceLogFollowRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogFollowRequest.getOffset());
+        return new TaskInstanceLogFollowResponse(logFileContent.getContent(), logFileContent.getNextOffset());
+    }
+
     @Override
     public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
         return new GetAppIdResponse(Collections.emptyList());
@@ -65,6 +87,6 @@ public class MasterLogServiceImpl implements ILogService {
 
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
-        FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogUtils.deleteLogFile(taskInstanceLogAbsolutePath);
     }
 }
@@ -17,66 +17,226 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
-import org.apache.dolphinscheduler.server.master.runner.queue.DelayEntry;
-import org.apache.dolphinscheduler.server.master.runner.queue.PriorityDelayQueue;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+import org.apache.dolphinscheduler.server.master.runner.queue.HierarchicalTimingWheel;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Component;
 
 /**
- * The class is used to store {@link ITaskExecutionRunnable} which needs to be dispatched. The {@link ITaskExecutionRunnable}
- * will be stored in {@link PriorityDelayQueue}, if the {@link ITaskExecutionRunnable}'s delay time is 0, then it will be
- * consumed by {@link GlobalTaskDispatchWaitingQueueLooper}.
+ * The class is used to store {@link ITaskExecutionRunnable} which needs to be dispatched, if the
+ * {@link ITaskExecutionRunnable}'s delay time is 0, then it will be consumed by {@link GlobalTaskDispatchWaitingQueueLooper}.
  * <p>
- * The order of {@link ITaskExecutionRunnable} in the {@link PriorityDelayQueue} is determined by {@link ITaskExecutionRunnable#compareTo}.
+ * The ready {@link ITaskExecutionRunnable}s are sharded by worker group, each shard is a lock-free skip list ordered by
+ * {@link ITaskExecutionRunnable#compareTo}, the consumer takes from the shards in round-robin, so a busy worker group
+ * will not starve the others. The delayed {@link ITaskExecutionRunnable}s, e.g. the retry dispatch, are held in a
+ * {@link HierarchicalTimingWheel} and moved to the shard once the delay time is reached.
+ * <p>
+ * Neither the producers nor the consumers hold a shared monitor, the number of the ready {@link ITaskExecutionRunnable}s
+ * is tracked by a {@link Semaphore}, which is used to block the consumer when there is nothing to dispatch.
  */
 @Slf4j
 @Component
-public class GlobalTaskDispatchWaitingQueue {
+public class GlobalTaskDispatchWaitingQueue implements AutoCloseable {
+
+    private static final long DELAY_TIMING_WHEEL_TICK_MILLS = 100L;
+
+    private static final int DELAY_TIMING_WHEEL_SIZE = 512;
 
     private final Set<Integer> waitingTaskInstanceIds = ConcurrentHashMap.newKeySet();
-    private final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue =
-            new PriorityDelayQueue<>();
+
+    private final Map<String, NavigableSet<WaitingEntry>> readyShards = new ConcurrentHashMap<>();
+
+    // The same shards as readyShards, used to poll the shards in round-robin
+    private final List<NavigableSet<WaitingEntry>> readyShardList = new CopyOnWriteArrayList<>();
+
+    // One permit for each entry in the readyShards
+    private final Semaphore readyEntryPermits = new Semaphore(0);
+
+    private final AtomicInteger shardCursor = new AtomicInteger();
+
+    private final AtomicLong entrySequence = new AtomicLong();
+
+    private final HierarchicalTimingWheel<WaitingEntry> delayTimingWheel = new HierarchicalTimingWheel<>(
+            "GlobalTaskDispatchWaitingQueue-DelayTimingWheel",
+            DELAY_TIMING_WHEEL_TICK_MILLS,
+            DELAY_TIMING_WHEEL_SIZE,
+            this::addReadyEntry);
 
     /**
      * Submit a {@link ITaskExecutionRunnable} with delay time 0, it will be consumed immediately.
      */
-    public synchronized void dispatchTaskExecuteRunnable(ITaskExecutionRunnable ITaskExecutionRunnable) {
+    public void dispatchTaskExecuteRunnable(ITaskExecutionRunnable ITaskExecutionRunnable) {
         dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable, 0);
     }
 
     /**
      * Submit a {@link ITaskExecutionRunnable} with delay time, if the delay time <= 0 then it can be consumed.
      */
-    public synchronized void dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable taskExecutionRunnable,
-                                                                  long delayTimeMills) {
+    public void dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable taskExecutionRunnable,
+                                                     long delayTimeMills) {
         waitingTaskInstanceIds.add(taskExecutionRunnable.getTaskInstance().getId());
-        priorityDelayQueue.add(new DelayEntry<>(delayTimeMills, taskExecutionRunnable));
+        final WaitingEntry waitingEntry = new WaitingEntry(
+                taskExecutionRunnable,
+                System.currentTimeMillis() + Math.max(0, delayTimeMills),
+                entrySequence.incrementAndGet());
+        if (delayTimeMills <= 0) {
+            addReadyEntry(waitingEntry);
+        } else {
+            delayTimingWheel.add(waitingEntry, waitingEntry.getTriggerTimeMills());
+        }
     }
 
     /**
-     * Consume {@link ITaskExecutionRunnable} from the {@link PriorityDelayQueue}, only the delay time <= 0 can be consumed.
+     * Consume {@link ITaskExecutionRunnable} whose delay time <= 0, will block until one can be consumed.
      */
     @SneakyThrows
     public ITaskExecutionRunnable takeTaskExecuteRunnable() {
-        ITaskExecutionRunnable taskExecutionRunnable = priorityDelayQueue.take().getData();
-        while (!markTaskExecutionRunnableRemoved(taskExecutionRunnable)) {
-            taskExecutionRunnable = priorityDelayQueue.take().getData();
+        while (true) {
+            readyEntryPermits.acquire();
+            final WaitingEntry waitingEntry = pollReadyEntry();
+            if (markTaskExecutionRunnableRemoved(waitingEntry.getData())) {
+                recordQueueWaitTime(waitingEntry);
+                return waitingEntry.getData();
+            }
+        }
+    }
+
+    /**
+     * Consume all the {@link ITaskExecutionRunnable}s which can be dispatched now, will block until at least one can be
+     * consumed, the returned size will not exceed the given maxSize.
+     */
+    public List<ITaskExecutionRunnable> takeTaskExecuteRunnables(int maxSize) {
+        final List<ITaskExecutionRunnable> taskExecutionRunnables = new ArrayList<>();
+        taskExecutionRunnables.add(takeTaskExecuteRunnable());
+        int acquiredPermits;
+        while ((acquiredPermits = tryAcquireReadyEntryPermits(maxSize - taskExecutionRunnables.size())) > 0) {
+            for (int i = 0; i < acquiredPermits; i++) {
+                final WaitingEntry waitingEntry = pollReadyEntry();
+                if (markTaskExecutionRunnableRemoved(waitingEntry.getData())) {
+                    recordQueueWaitTime(waitingEntry);
+                    taskExecutionRunnables.add(waitingEntry.getData());
+                }
+            }
         }
-        return taskExecutionRunnable;
+        return taskExecutionRunnables;
     }
 
     public int getWaitingDispatchTaskNumber() {
         return waitingTaskInstanceIds.size();
     }
 
-    public synchronized boolean markTaskExecutionRunnableRemoved(ITaskExecutionRunnable taskExecutionRunnable) {
+    /**
+     * Mark the {@link ITaskExecutionRunnable} removed, the entry left in the shard will be skipped when it is polled.
+     */
+    public boolean markTaskExecutionRunnableRemoved(ITaskExecutionRunnable taskExecutionRunnable) {
         return waitingTaskInstanceIds.remove(taskExecutionRunnable.getTaskInstance().getId());
     }
+
+    @Override
+    public void close() {
+        delayTimingWheel.close();
+    }
+
+    /**
+     * Acquire the permits of the ready entries in one shot, return the acquired permit number which will not exceed the
+     * given maxPermits.
+     */
+    private int tryAcquireReadyEntryPermits(int maxPermits) {
+        while (maxPermits > 0) {
+            final int permits = Math.min(maxPermits, readyEntryPermits.availablePermits());
+            if (permits <= 0) {
+                return 0;
+            }
+            if (readyEntryPermits.tryAcquire(permits)) {
+                return permits;
+            }
+        }
+        return 0;
+    }
+
+    private void addReadyEntry(WaitingEntry waitingEntry) {
+        final String workerGroup =
+                WorkerGroupUtils.getWorkerGroupOrDefault(waitingEntry.getData().getTaskInstance().getWorkerGroup());
+        readyShards.computeIfAbsent(workerGroup, key -> {
+            final NavigableSet<WaitingEntry> readyShard = new ConcurrentSkipListSet<>();
+            readyShardList.add(readyShard);
+            return readyShard;
+        }).add(waitingEntry);
+        readyEntryPermits.release();
+    }
+
+    /**
+     * Poll an entry from the shards in round-robin, should only be called after a permit has been acquired, so there is
+     * at least one entry left for the caller.
+     */
+    private WaitingEntry pollReadyEntry() {
+        while (true) {
+            final int shardSize = readyShardList.size();
+            final int startIndex = Math.floorMod(shardCursor.getAndIncrement(), shardSize);
+            for (int i = 0; i < shardSize; i++) {
+                final WaitingEntry waitingEntry = readyShardList.get((startIndex + i) % shardSize).pollFirst();
+                if (waitingEntry != null) {
+                    return waitingEntry;
+                }
+            }
+            // The entry belongs to this permit is being added or has been moved to a shard which is already scanned
+            Thread.yield();
+        }
+    }
+
+    private void recordQueueWaitTime(WaitingEntry waitingEntry) {
+        final String workerGroup =
+                WorkerGroupUtils.getWorkerGroupOrDefault(waitingEntry.getData().getTaskInstance().getWorkerGroup());
+        MasterServerMetrics.recordTaskDispatchQueueWaitTime(workerGroup,
+                Math.max(0, System.currentTimeMillis() - waitingEntry.getTriggerTimeMills()));
+    }
+
+    @Getter
+    private static class WaitingEntry implements Comparable<WaitingEntry> {
+
+        private final ITaskExecutionRunnable data;
+
+        private final long triggerTimeMills;
+
+        // Used to distinguish the entries whose data are equal in priority, the earlier submitted one comes first
+        private final long sequence;
+
+        private WaitingEntry(ITaskExecutionRunnable data, long triggerTimeMills, long sequence) {
+            this.data = data;
+            this.triggerTimeMills = triggerTimeMills;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(WaitingEntry other) {
+            final int dataCompareResult = data.compareTo(other.data);
+            if (dataCompareResult != 0) {
+                return dataCompareResult;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public String toString() {
+            return "WaitingEntry{" + "data=" + data + ", triggerTimeMills=" + triggerTimeMills + '}';
+        }
+    }
 }
@@ -18,12 +18,21 @@
 package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import lombok.extern.slf4j.Slf4j;
@@ -41,8 +50,18 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
     @Autowired
     private TaskDispatchFactory taskDispatchFactory;
 
+    @Autowired
+    private MasterConfig masterConfig;
+
     private final AtomicBoolean RUNNING_FLAG = new AtomicBoolean(false);
 
+    /**
+     * Each worker group has its own dispatch lane, the lanes share the dispatch thread pool.
+     */
+    private final Map<String, TaskDispatchLane> dispatchLanes = new ConcurrentHashMap<>();
+
+    private ExecutorService dispatchThreadPool;
+
     public GlobalTaskDispatchWaitingQueueLooper() {
         super("GlobalTaskDispatchWaitingQueueLooper");
     }
@@ -54,6 +73,8 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
             return;
         }
         log.info("GlobalTaskDispatchWaitingQueueLooper starting...");
+        dispatchThreadPool = ThreadUtils.newDaemonFixedThreadExecutor("GlobalTaskDispatchThread-%d",
+                masterConfig.getTaskDispatchThreadCount());
         super.start();
         log.info("GlobalTaskDispatchWaitingQueueLooper started...");
     }
@@ -66,32 +87,91 @@ public class GlobalTaskDispatchWaitingQueueLooper extends BaseDaemonThread imple
     }
 
     void doDispatch() {
-        final ITaskExecutionRunnable taskExecutionRunnable = globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable();
-        final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
-        try {
+        final List<ITaskExecutionRunnable> taskExecutionRunnables =
+                globalTaskDispatchWaitingQueue.takeTaskExecuteRunnables(masterConfig.getTaskDispatchBatchSize());
+        final Map<String, List<ITaskExecutionRunnable>> workerGroupTaskExecutionRunnables = new LinkedHashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            final TaskInstance taskInstance = taskExecutionRunnable.getTaskInstance();
             final TaskExecutionStatus status = taskInstance.getState();
             if (status != TaskExecutionStatus.SUBMITTED_SUCCESS && status != TaskExecutionStatus.DELAY_EXECUTION) {
                 log.warn("The TaskInstance {} state is : {}, will not dispatch", taskInstance.getName(), status);
-                return;
+                continue;
             }
-            final TaskDispatcher taskDispatcher = taskDispatchFactory.getTaskDispatcher(taskInstance);
-            taskDispatcher.dispatchTask(taskExecutionRunnable);
-        } catch (Exception e) {
-            // If dispatch failed, will put the task back to the queue
-            // The task will be dispatched after waiting time.
-            // the waiting time will increase multiple of times, but will not exceed 60 seconds
-            long waitingTimeMills = Math.max(
-                    taskExecutionRunnable.getTaskExecutionContext().increaseDispatchFailTimes() * 1_000L, 60_000L);
-            globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable,
-                    waitingTimeMills);
-            log.error("Dispatch Task: {} failed will retry after: {}/ms", taskInstance.getName(), waitingTimeMills, e);
+            workerGroupTaskExecutionRunnables
+                    .computeIfAbsent(WorkerGroupUtils.getWorkerGroupOrDefault(taskInstance.getWorkerGroup()),
+                            k -> new ArrayList<>())
+                    .add(taskExecutionRunnable);
         }
+        workerGroupTaskExecutionRunnables.forEach((workerGroup, sameWorkerGroupTaskExecutionRunnables) -> {
+            try {
+                dispatchLanes.computeIfAbsent(workerGroup, this::createDispatchLane)
+                        .submit(sameWorkerGroupTaskExecutionRunnables);
+            } catch (Exception e) {
+                sameWorkerGroupTaskExecutionRunnables.forEach(taskExecutionRunnable -> retryDispatch(
+                        taskExecutionRunnable, e));
+            }
+        });
+    }
+
+    private TaskDispatchLane createDispatchLane(String workerGroup) {
+        log.info("Create task dispatch lane for worker group: {}", workerGroup);
+        return new TaskDispatchLane(workerGroup, dispatchThreadPool, masterConfig.getTaskDispatchBatchSize(),
+                this::dispatchTasks);
+    }
+
+    /**
+     * Dispatch the tasks in the dispatch lane, the tasks are grouped by the {@link TaskDispatcher}. The dispatch
+     * doesn't wait for the response of the dispatched tasks, the failed tasks are retried once the response arrived.
+     */
+    private void dispatchTasks(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        final Map<TaskDispatcher, List<ITaskExecutionRunnable>> dispatcherTaskExecutionRunnables =
+                new LinkedHashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            try {
+                dispatcherTaskExecutionRunnables
+                        .computeIfAbsent(taskDispatchFactory.getTaskDispatcher(taskExecutionRunnable.getTaskInstance()),
+                                k -> new ArrayList<>())
+                        .add(taskExecutionRunnable);
+            } catch (Exception e) {
+                retryDispatch(taskExecutionRunnable, e);
+            }
+        }
+        dispatcherTaskExecutionRunnables.forEach((taskDispatcher, sameDispatcherTaskExecutionRunnables) -> {
+            try {
+                taskDispatcher.dispatchTasks(sameDispatcherTaskExecutionRunnables)
+                        .whenComplete((dispatchFailedTasks, throwable) -> {
+                            if (throwable != null) {
+                                sameDispatcherTaskExecutionRunnables.forEach(taskExecutionRunnable -> retryDispatch(
+                                        taskExecutionRunnable, throwable));
+                                return;
+                            }
+                            dispatchFailedTasks.forEach(this::retryDispatch);
+                        });
+            } catch (Exception e) {
+                sameDispatcherTaskExecutionRunnables.forEach(taskExecutionRunnable -> retryDispatch(
+                        taskExecutionRunnable, e));
+            }
+        });
+    }
+
+    private void retryDispatch(final ITaskExecutionRunnable taskExecutionRunnable, final Throwable e) {
+        // If dispatch failed, will put the task back to the queue
+        // The task will be dispatched after waiting time.
+        // the waiting time will increase multiple of times, but will not exceed 60 seconds
+        long waitingTimeMills = Math.max(
+                taskExecutionRunnable.getTaskExecutionContext().increaseDispatchFailTimes() * 1_000L, 60_000L);
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable, waitingTimeMills);
+        log.error("Dispatch Task: {} failed will retry after: {}/ms",
+                taskExecutionRunnable.getTaskInstance().getName(), waitingTimeMills, e);
     }
 
     @Override
     public void close() throws Exception {
         if (RUNNING_FLAG.compareAndSet(true, false)) {
             log.info("GlobalTaskDispatchWaitingQueueLooper stopping...");
+            if (dispatchThreadPool != null) {
+                dispatchThreadPool.shutdownNow();
+            }
             log.info("GlobalTaskDispatchWaitingQueueLooper stopped...");
         } else {
             log.error("GlobalTaskDispatchWaitingQueueLooper is not started");
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The dispatch lane of a worker group. The tasks in the same lane are dispatched serially by the shared dispatch
+ * executor, so that a slow or unreachable worker group will only delay its own lane and hold at most one dispatch
+ * thread.
+ */
+@Slf4j
+class TaskDispatchLane {
+
+    private final String workerGroup;
+
+    private final Executor dispatchExecutor;
+
+    private final int dispatchBatchSize;
+
+    private final Consumer<List<ITaskExecutionRunnable>> batchDispatcher;
+
+    private final Queue<PendingTask> pendingTasks = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingTaskCount = new AtomicInteger(0);
+
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+
+    TaskDispatchLane(String workerGroup,
+                     Executor dispatchExecutor,
+                     int dispatchBatchSize,
+                     Consumer<List<ITaskExecutionRunnable>> batchDispatcher) {
+        this.workerGroup = workerGroup;
+        this.dispatchExecutor = dispatchExecutor;
+        this.dispatchBatchSize = dispatchBatchSize;
+        this.batchDispatcher = batchDispatcher;
+        MasterServerMetrics.registerTaskDispatchLanePendingGauge(workerGroup, pendingTaskCount::get);
+    }
+
+    void submit(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        final long now = System.currentTimeMillis();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            pendingTasks.add(new PendingTask(taskExecutionRunnable, now));
+            pendingTaskCount.incrementAndGet();
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatchExecutor.execute(this::drain);
+        } catch (Exception ex) {
+            draining.set(false);
+            throw ex;
+        }
+    }
+
+    private void drain() {
+        try {
+            List<PendingTask> batch;
+            while (!(batch = pollBatch()).isEmpty()) {
+                dispatch(batch);
+            }
+        } finally {
+            draining.set(false);
+        }
+        // The task might be submitted after the last poll but before the draining flag is reset
+        if (!pendingTasks.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void dispatch(List<PendingTask> batch) {
+        final List<ITaskExecutionRunnable> taskExecutionRunnables = new ArrayList<>(batch.size());
+        for (PendingTask pendingTask : batch) {
+            taskExecutionRunnables.add(pendingTask.taskExecutionRunnable);
+        }
+        try {
+            batchDispatcher.accept(taskExecutionRunnables);
+        } catch (Exception ex) {
+            log.error("Dispatch tasks in lane: {} failed", workerGroup, ex);
+        }
+        final long now = System.currentTimeMillis();
+        for (PendingTask pendingTask : batch) {
+            MasterServerMetrics.recordTaskDispatchLatency(workerGroup, now - pendingTask.submitTime);
+        }
+    }
+
+    private List<PendingTask> pollBatch() {
+        final List<PendingTask> batch = new ArrayList<>();
+        PendingTask pendingTask;
+        while (batch.size() < dispatchBatchSize && (pendingTask = pendingTasks.poll()) != null) {
+            batch.add(pendingTask);
+            pendingTaskCount.decrementAndGet();
+        }
+        return batch;
+    }
+
+    int getPendingTaskCount() {
+        return pendingTaskCount.get();
+    }
+
+    @AllArgsConstructor
+    private static class PendingTask {
+
+        private final ITaskExecutionRunnable taskExecutionRunnable;
+
+        private final long submitTime;
+    }
+}
@@ -23,7 +23,11 @@ import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecu
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.WorkerGroupNotFoundException;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,6 +36,35 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
 
     @Override
     public void dispatchTask(ITaskExecutionRunnable taskExecutionRunnable) throws TaskDispatchException {
+        final String taskInstanceDispatchAddress = injectTaskInstanceDispatchHost(taskExecutionRunnable);
+        doDispatch(taskExecutionRunnable);
+        // todo: update the task state and host here, otherwise when the master failover the task host is null
+        // but it already dispatched to worker
+        // Or when the worker receive the task, it should wait the master send a start event to it.
+        // the second solution is better
+        log.info("Success dispatch task {} to {}.", taskExecutionRunnable.getTaskExecutionContext().getTaskName(),
+                taskInstanceDispatchAddress);
+    }
+
+    @Override
+    public CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> dispatchTasks(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        final Map<ITaskExecutionRunnable, TaskDispatchException> dispatchFailedTasks = new HashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            try {
+                dispatchTask(taskExecutionRunnable);
+            } catch (TaskDispatchException e) {
+                dispatchFailedTasks.put(taskExecutionRunnable, e);
+            }
+        }
+        return CompletableFuture.completedFuture(dispatchFailedTasks);
+    }
+
+    /**
+     * Select the host to execute the task and inject it into the task.
+     *
+     * @return the selected host address
+     */
+    protected String injectTaskInstanceDispatchHost(ITaskExecutionRunnable taskExecutionRunnable) throws TaskDispatchException {
         final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
         final String taskName = taskExecutionRunnable.getTaskExecutionContext().getTaskName();
         final String taskInstanceDispatchAddress;
@@ -48,12 +81,7 @@ public abstract class BaseTaskDispatcher implements TaskDispatcher {
         // Then we can use the host to do worker failover.
         taskExecutionContext.setHost(taskInstanceDispatchAddress);
         taskExecutionRunnable.getTaskInstance().setHost(taskInstanceDispatchAddress);
-        doDispatch(taskExecutionRunnable);
-        // todo: update the task state and host here, otherwise when the master failover the task host is null
-        // but it already dispatched to worker
-        // Or when the worker receive the task, it should wait the master send a start event to it.
-        // the second solution is better
-        log.info("Success dispatch task {} to {}.", taskName, taskInstanceDispatchAddress);
+        return taskInstanceDispatchAddress;
     }
 
     protected abstract void doDispatch(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException;
@@ -20,6 +20,10 @@ package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Used to do task dispatcher.
  */
@@ -27,4 +31,12 @@ public interface TaskDispatcher {
 
     void dispatchTask(ITaskExecutionRunnable ITaskExecutionRunnable) throws TaskDispatchException;
 
+    /**
+     * Dispatch the given tasks, each task is dispatched independently.
+     *
+     * @return the future completed with the tasks which dispatch failed and the failure cause, empty if all the tasks
+     * dispatch success
+     */
+    CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> dispatchTasks(List<ITaskExecutionRunnable> taskExecutionRunnables);
+
 }
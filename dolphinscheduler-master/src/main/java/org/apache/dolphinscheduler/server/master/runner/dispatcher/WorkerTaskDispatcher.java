@@ -19,9 +19,13 @@ package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
@@ -29,20 +33,56 @@ import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoa
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
 import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 public class WorkerTaskDispatcher extends BaseTaskDispatcher {
 
+    /**
+     * The worker which doesn't support the batch dispatch will be checked again after this interval, since the worker
+     * might have been upgraded.
+     */
+    private static final long BATCH_DISPATCH_UNSUPPORTED_RECHECK_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
     private final IWorkerLoadBalancer workerLoadBalancer;
 
+    /**
+     * The workers in old version which doesn't support the batch dispatch, the value is the time when it's detected.
+     */
+    private final Map<String, Long> batchDispatchUnsupportedWorkers = new ConcurrentHashMap<>();
+
+    /**
+     * Dispatch the tasks one by one to the workers which doesn't support the batch dispatch, so that the blocking
+     * requests will not occupy the rpc callback threads.
+     */
+    private final Executor fallbackDispatchExecutor;
+
+    @Autowired
     public WorkerTaskDispatcher(IWorkerLoadBalancer workerLoadBalancer) {
+        this(workerLoadBalancer, ThreadUtils.newDaemonFixedThreadExecutor("WorkerTaskFallbackDispatcher-%d", 1));
+    }
+
+    WorkerTaskDispatcher(IWorkerLoadBalancer workerLoadBalancer, Executor fallbackDispatchExecutor) {
         this.workerLoadBalancer = checkNotNull(workerLoadBalancer);
+        this.fallbackDispatchExecutor = checkNotNull(fallbackDispatchExecutor);
     }
 
     @Override
@@ -66,6 +106,151 @@ public class WorkerTaskDispatcher extends BaseTaskDispatcher {
         }
     }
 
+    /**
+     * Group the tasks by the selected worker, and dispatch the tasks of the same worker in one request. The requests
+     * to the workers are sent without waiting for the responses.
+     */
+    @Override
+    public CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> dispatchTasks(List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        final Map<ITaskExecutionRunnable, TaskDispatchException> dispatchFailedTasks = new ConcurrentHashMap<>();
+        final Map<String, List<ITaskExecutionRunnable>> workerTaskExecutionRunnables = new LinkedHashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            try {
+                final String workerAddress = injectTaskInstanceDispatchHost(taskExecutionRunnable);
+                workerTaskExecutionRunnables.computeIfAbsent(workerAddress, k -> new ArrayList<>())
+                        .add(taskExecutionRunnable);
+            } catch (TaskDispatchException e) {
+                dispatchFailedTasks.put(taskExecutionRunnable, e);
+            }
+        }
+        final List<CompletableFuture<Void>> batchDispatchFutures = new ArrayList<>();
+        workerTaskExecutionRunnables.forEach((workerAddress, sameWorkerTaskExecutionRunnables) -> batchDispatchFutures
+                .add(doBatchDispatch(workerAddress, sameWorkerTaskExecutionRunnables)
+                        .thenAccept(dispatchFailedTasks::putAll)));
+        return CompletableFuture.allOf(batchDispatchFutures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> dispatchFailedTasks);
+    }
+
+    /**
+     * Dispatch the tasks to the worker in one request, if the worker doesn't support the batch dispatch, e.g. it's
+     * not upgraded yet during the rolling upgrade, the tasks will be dispatched one by one.
+     *
+     * @return the future completed with the tasks which dispatch failed, the future never completes exceptionally
+     */
+    private CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> doBatchDispatch(String workerAddress,
+                                                                                                  List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        if (isBatchDispatchUnsupported(workerAddress)) {
+            return fallbackDispatch(workerAddress, taskExecutionRunnables);
+        }
+        final TaskInstanceBatchDispatchRequest taskInstanceBatchDispatchRequest = new TaskInstanceBatchDispatchRequest(
+                taskExecutionRunnables.stream()
+                        .map(ITaskExecutionRunnable::getTaskExecutionContext)
+                        .collect(Collectors.toList()));
+        final CompletableFuture<TaskInstanceBatchDispatchResponse> batchDispatchFuture;
+        try {
+            batchDispatchFuture = SingletonJdkDynamicRpcClientProxyFactory
+                    .withService(ITaskInstanceOperator.class)
+                    .withHost(workerAddress)
+                    .batchDispatchTask(taskInstanceBatchDispatchRequest);
+        } catch (Exception e) {
+            return CompletableFuture
+                    .completedFuture(getAllDispatchFailedTasks(workerAddress, taskExecutionRunnables, e));
+        }
+        return batchDispatchFuture.handle((taskInstanceBatchDispatchResponse, throwable) -> {
+            if (throwable == null) {
+                return CompletableFuture.completedFuture(
+                        getDispatchFailedTasks(workerAddress, taskExecutionRunnables,
+                                taskInstanceBatchDispatchResponse));
+            }
+            final Throwable cause = unwrap(throwable);
+            if (cause instanceof MethodNotFoundException) {
+                log.warn("The worker: {} doesn't support batch dispatch, will dispatch the tasks one by one: {}",
+                        workerAddress, cause.getMessage());
+                batchDispatchUnsupportedWorkers.put(workerAddress, System.currentTimeMillis());
+                return fallbackDispatch(workerAddress, taskExecutionRunnables);
+            }
+            return CompletableFuture
+                    .completedFuture(getAllDispatchFailedTasks(workerAddress, taskExecutionRunnables, cause));
+        }).thenCompose(Function.identity());
+    }
+
+    private boolean isBatchDispatchUnsupported(String workerAddress) {
+        final Long detectedTime = batchDispatchUnsupportedWorkers.get(workerAddress);
+        if (detectedTime == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - detectedTime > BATCH_DISPATCH_UNSUPPORTED_RECHECK_INTERVAL_MILLIS) {
+            batchDispatchUnsupportedWorkers.remove(workerAddress, detectedTime);
+            return false;
+        }
+        return true;
+    }
+
+    private CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> fallbackDispatch(String workerAddress,
+                                                                                                   List<ITaskExecutionRunnable> taskExecutionRunnables) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                final Map<ITaskExecutionRunnable, TaskDispatchException> dispatchFailedTasks = new HashMap<>();
+                for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+                    try {
+                        doDispatch(taskExecutionRunnable);
+                        log.info("Success dispatch task {} to {}.",
+                                taskExecutionRunnable.getTaskExecutionContext().getTaskName(), workerAddress);
+                    } catch (TaskDispatchException e) {
+                        dispatchFailedTasks.put(taskExecutionRunnable, e);
+                    }
+                }
+                return dispatchFailedTasks;
+            }, fallbackDispatchExecutor);
+        } catch (Exception e) {
+            return CompletableFuture
+                    .completedFuture(getAllDispatchFailedTasks(workerAddress, taskExecutionRunnables, e));
+        }
+    }
+
+    private Map<ITaskExecutionRunnable, TaskDispatchException> getDispatchFailedTasks(String workerAddress,
+                                                                                      List<ITaskExecutionRunnable> taskExecutionRunnables,
+                                                                                      TaskInstanceBatchDispatchResponse taskInstanceBatchDispatchResponse) {
+        final Map<ITaskExecutionRunnable, TaskDispatchException> dispatchFailedTasks = new HashMap<>();
+        final Map<Integer, TaskInstanceDispatchResponse> taskInstanceDispatchResponses =
+                taskInstanceBatchDispatchResponse.getTaskInstanceDispatchResponses()
+                        .stream()
+                        .collect(Collectors.toMap(TaskInstanceDispatchResponse::getTaskInstanceId,
+                                Function.identity(), (response1, response2) -> response1));
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            final TaskExecutionContext taskExecutionContext = taskExecutionRunnable.getTaskExecutionContext();
+            final TaskInstanceDispatchResponse taskInstanceDispatchResponse =
+                    taskInstanceDispatchResponses.get(taskExecutionContext.getTaskInstanceId());
+            if (taskInstanceDispatchResponse == null || !taskInstanceDispatchResponse.isDispatchSuccess()) {
+                dispatchFailedTasks.put(taskExecutionRunnable, new TaskDispatchException("Dispatch task: "
+                        + taskExecutionContext.getTaskName() + " to " + workerAddress + " failed: "
+                        + taskInstanceDispatchResponse));
+                continue;
+            }
+            log.info("Success dispatch task {} to {}.", taskExecutionContext.getTaskName(), workerAddress);
+        }
+        return dispatchFailedTasks;
+    }
+
+    private Map<ITaskExecutionRunnable, TaskDispatchException> getAllDispatchFailedTasks(String workerAddress,
+                                                                                         List<ITaskExecutionRunnable> taskExecutionRunnables,
+                                                                                         Throwable cause) {
+        final Map<ITaskExecutionRunnable, TaskDispatchException> dispatchFailedTasks = new HashMap<>();
+        for (ITaskExecutionRunnable taskExecutionRunnable : taskExecutionRunnables) {
+            dispatchFailedTasks.put(taskExecutionRunnable, new TaskDispatchException("Dispatch task: "
+                    + taskExecutionRunnable.getTaskExecutionContext().getTaskName() + " to " + workerAddress
+                    + " failed", cause));
+        }
+        return dispatchFailedTasks;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
     @Override
     protected Optional<Host> getTaskInstanceDispatchHost(ITaskExecutionRunnable ITaskExecutionRunnable) {
         String workerGroup = ITaskExecutionRunnable.getTaskExecutionContext().getWorkerGroup();
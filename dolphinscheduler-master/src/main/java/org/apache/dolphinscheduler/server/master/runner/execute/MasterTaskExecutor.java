@@ -147,15 +147,18 @@ public abstract class MasterTaskExecutor implements Runnable {
     }
 
     protected void closeLogAppender() {
+        log.info(FINALIZE_SESSION_MARKER, FINALIZE_SESSION_MARKER.toString());
+        // the task log file is closed by the finalize marker, the following logs should not reopen it
+        LogUtils.removeTaskInstanceLogFullPathMDC();
+        String logPath =
+                org.apache.dolphinscheduler.common.utils.LogUtils.rollLogFile(taskExecutionContext.getLogPath());
         try {
             if (RemoteLogUtils.isRemoteLoggingEnable()) {
-                RemoteLogUtils.sendRemoteLog(taskExecutionContext.getLogPath());
-                log.info("Send task log {} to remote storage successfully", taskExecutionContext.getLogPath());
+                RemoteLogUtils.sendRemoteLog(logPath);
+                log.info("Send task log {} to remote storage successfully", logPath);
             }
         } catch (Exception ex) {
-            log.error("Send task log {} to remote storage failed", taskExecutionContext.getLogPath(), ex);
-        } finally {
-            log.info(FINALIZE_SESSION_MARKER, FINALIZE_SESSION_MARKER.toString());
+            log.error("Send task log {} to remote storage failed", logPath, ex);
         }
     }
 
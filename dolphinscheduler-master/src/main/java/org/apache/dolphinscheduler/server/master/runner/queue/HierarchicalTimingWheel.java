@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.queue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A hierarchical timing wheel which hands over the element to the given expired handler once its trigger time is reached.
+ * <p>
+ * The producers only append the element to a lock-free inbox, the wheels are only touched by a single ticker thread,
+ * which is started lazily when the first element is added. Each tick the ticker moves the inbox into the wheels and
+ * advances them, the elements in the overflow wheels are cascaded down when their bucket is reached. So adding an
+ * element costs O(1) and the element will be handed over at most one tick later than its trigger time.
+ */
+@Slf4j
+public class HierarchicalTimingWheel<V> implements AutoCloseable {
+
+    private final String name;
+
+    private final long tickMills;
+
+    private final int wheelSize;
+
+    private final Consumer<V> expiredHandler;
+
+    private final Queue<TimerEntry<V>> inbox = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingSize = new AtomicInteger();
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private volatile ScheduledExecutorService ticker;
+
+    // Only accessed by the ticker thread
+    private TimingWheel<V> timingWheel;
+
+    public HierarchicalTimingWheel(String name, long tickMills, int wheelSize, Consumer<V> expiredHandler) {
+        checkArgument(tickMills > 0, "tickMills must be greater than 0");
+        checkArgument(wheelSize > 1, "wheelSize must be greater than 1");
+        this.name = checkNotNull(name);
+        this.tickMills = tickMills;
+        this.wheelSize = wheelSize;
+        this.expiredHandler = checkNotNull(expiredHandler);
+    }
+
+    /**
+     * Add the element which will be handed over to the expired handler once the trigger time is reached.
+     */
+    public void add(V element, long triggerTimeMills) {
+        checkNotNull(element);
+        pendingSize.incrementAndGet();
+        inbox.add(new TimerEntry<>(element, triggerTimeMills));
+        startIfNeeded();
+    }
+
+    /**
+     * The number of the elements which have not been handed over.
+     */
+    public int size() {
+        return pendingSize.get();
+    }
+
+    @Override
+    public void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void startIfNeeded() {
+        if (started.get() || !started.compareAndSet(false, true)) {
+            return;
+        }
+        timingWheel = new TimingWheel<>(tickMills, wheelSize, System.currentTimeMillis());
+        ticker = ThreadUtils.newSingleDaemonScheduledExecutorService(name + "-Ticker");
+        ticker.scheduleWithFixedDelay(this::tick, tickMills, tickMills, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        try {
+            final long now = System.currentTimeMillis();
+            TimerEntry<V> timerEntry;
+            while ((timerEntry = inbox.poll()) != null) {
+                place(timerEntry);
+            }
+            for (TimingWheel<V> wheel = timingWheel; wheel != null; wheel = wheel.overflowWheel) {
+                final Queue<TimerEntry<V>> expiredEntries = wheel.advance(now);
+                while ((timerEntry = expiredEntries.poll()) != null) {
+                    if (wheel == timingWheel) {
+                        handOver(timerEntry);
+                    } else {
+                        place(timerEntry);
+                    }
+                }
+            }
+        } catch (Throwable ex) {
+            log.error("{} tick error", name, ex);
+        }
+    }
+
+    private void place(TimerEntry<V> timerEntry) {
+        if (!timingWheel.add(timerEntry)) {
+            handOver(timerEntry);
+        }
+    }
+
+    private void handOver(TimerEntry<V> timerEntry) {
+        pendingSize.decrementAndGet();
+        try {
+            expiredHandler.accept(timerEntry.element);
+        } catch (Throwable ex) {
+            log.error("{} handle expired element: {} error", name, timerEntry.element, ex);
+        }
+    }
+
+    private static class TimerEntry<V> {
+
+        private final V element;
+
+        private final long triggerTimeMills;
+
+        private TimerEntry(V element, long triggerTimeMills) {
+            this.element = element;
+            this.triggerTimeMills = triggerTimeMills;
+        }
+    }
+
+    /**
+     * One level of the hierarchical timing wheel, the bucket of the slot n holds the elements whose trigger time is in
+     * [n * tickMills, (n + 1) * tickMills).
+     * <p>
+     * The lowest wheel expires a slot once the slot has passed, the overflow wheels expire a slot once the slot begins,
+     * then its elements will be cascaded into the lower wheels.
+     */
+    private static class TimingWheel<V> {
+
+        private final long tickMills;
+
+        private final int wheelSize;
+
+        private final boolean lowest;
+
+        private final Queue<TimerEntry<V>>[] buckets;
+
+        private long currentSlot;
+
+        private TimingWheel<V> overflowWheel;
+
+        private TimingWheel(long tickMills, int wheelSize, long currentTimeMills) {
+            this(tickMills, wheelSize, currentTimeMills, true);
+        }
+
+        @SuppressWarnings("unchecked")
+        private TimingWheel(long tickMills, int wheelSize, long currentTimeMills, boolean lowest) {
+            this.tickMills = tickMills;
+            this.wheelSize = wheelSize;
+            this.lowest = lowest;
+            this.currentSlot = currentTimeMills / tickMills;
+            this.buckets = new Queue[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+        }
+
+        /**
+         * Add the entry into this wheel or the overflow wheels, return false if the entry is already expired.
+         */
+        private boolean add(TimerEntry<V> timerEntry) {
+            final long slot = timerEntry.triggerTimeMills / tickMills;
+            if (lowest ? slot < currentSlot : slot <= currentSlot) {
+                return false;
+            }
+            if (slot < currentSlot + wheelSize) {
+                buckets[(int) (slot % wheelSize)].add(timerEntry);
+                return true;
+            }
+            if (overflowWheel == null) {
+                overflowWheel = new TimingWheel<>(tickMills * wheelSize, wheelSize, currentSlot * tickMills, false);
+            }
+            return overflowWheel.add(timerEntry);
+        }
+
+        /**
+         * Advance the wheel to the given time, return the entries in the expired slots.
+         */
+        private Queue<TimerEntry<V>> advance(long currentTimeMills) {
+            final long targetSlot = currentTimeMills / tickMills;
+            final Queue<TimerEntry<V>> expiredEntries = new ArrayDeque<>();
+            if (lowest) {
+                while (currentSlot < targetSlot) {
+                    drainBucket(currentSlot, expiredEntries);
+                    currentSlot++;
+                }
+            } else {
+                while (currentSlot < targetSlot) {
+                    currentSlot++;
+                    drainBucket(currentSlot, expiredEntries);
+                }
+            }
+            return expiredEntries;
+        }
+
+        private void drainBucket(long slot, Queue<TimerEntry<V>> expiredEntries) {
+            final Queue<TimerEntry<V>> bucket = buckets[(int) (slot % wheelSize)];
+            expiredEntries.addAll(bucket);
+            bucket.clear();
+        }
+    }
+}
@@ -34,6 +34,14 @@ public class PriorityDelayQueue<V extends DelayEntry> {
         return queue.take();
     }
 
+    /**
+     * Retrieves and removes the head of this queue, or returns null if this queue has no elements with an expired
+     * delay.
+     */
+    public V poll() {
+        return queue.poll();
+    }
+
     public int size() {
         return queue.size();
     }
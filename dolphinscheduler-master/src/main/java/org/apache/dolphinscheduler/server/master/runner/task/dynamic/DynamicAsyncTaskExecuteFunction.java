@@ -23,12 +23,13 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
 import java.time.Duration;
@@ -53,7 +54,9 @@ public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction
 
     private final SubWorkflowService subWorkflowService;
 
-    private final CommandMapper commandMapper;
+    private final CommandDao commandDao;
+
+    private final MasterCommandNotifier masterCommandNotifier;
 
     private final int degreeOfParallelism;
 
@@ -63,7 +66,8 @@ public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction
                                            ProcessInstance processInstance,
                                            TaskInstance taskInstance,
                                            DynamicLogicTask dynamicLogicTask,
-                                           CommandMapper commandMapper,
+                                           CommandDao commandDao,
+                                           MasterCommandNotifier masterCommandNotifier,
                                            SubWorkflowService subWorkflowService,
                                            int degreeOfParallelism) {
         this.processInstance = processInstance;
@@ -71,7 +75,8 @@ public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction
         this.logicTask = dynamicLogicTask;
         this.degreeOfParallelism = degreeOfParallelism;
 
-        this.commandMapper = commandMapper;
+        this.commandDao = commandDao;
+        this.masterCommandNotifier = masterCommandNotifier;
         this.subWorkflowService = subWorkflowService;
     }
 
@@ -160,7 +165,8 @@ public class DynamicAsyncTaskExecuteFunction implements AsyncTaskExecuteFunction
                     subProcessInstance.getProcessDefinitionCode(), subProcessInstance.getProcessDefinitionVersion(),
                     parameters);
             command.setProcessInstanceId(subProcessInstance.getId());
-            commandMapper.insert(command);
+            commandDao.insert(command);
+            masterCommandNotifier.notifyCommandCreated(command);
             log.info("start sub process instance, sub process instance id: {}, command: {}", subProcessInstance.getId(),
                     command);
         }
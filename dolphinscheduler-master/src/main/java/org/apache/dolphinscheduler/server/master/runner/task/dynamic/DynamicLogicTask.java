@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.dao.entity.RelationSubWorkflow;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
@@ -42,6 +43,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.server.master.exception.MasterTaskExecuteException;
 import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction;
 import org.apache.dolphinscheduler.server.master.runner.task.BaseAsyncLogicTask;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
@@ -72,6 +74,10 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
 
     private final CommandMapper commandMapper;
 
+    private final CommandDao commandDao;
+
+    private final MasterCommandNotifier masterCommandNotifier;
+
     private final ProcessService processService;
 
     private ProcessInstance processInstance;
@@ -86,7 +92,9 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
                             SubWorkflowService subWorkflowService,
                             ProcessService processService,
                             ProcessDefinitionMapper processDefineMapper,
-                            CommandMapper commandMapper) {
+                            CommandMapper commandMapper,
+                            CommandDao commandDao,
+                            MasterCommandNotifier masterCommandNotifier) {
         super(taskExecutionContext,
                 JSONUtils.parseObject(taskExecutionContext.getTaskParams(), new TypeReference<DynamicParameters>() {
                 }));
@@ -95,6 +103,8 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
         this.processService = processService;
         this.processDefineMapper = processDefineMapper;
         this.commandMapper = commandMapper;
+        this.commandDao = commandDao;
+        this.masterCommandNotifier = masterCommandNotifier;
 
         this.processInstance = processInstanceDao.queryById(taskExecutionContext.getProcessInstanceId());
         this.taskInstance = taskInstanceDao.queryById(taskExecutionContext.getTaskInstanceId());
@@ -119,7 +129,7 @@ public class DynamicLogicTask extends BaseAsyncLogicTask<DynamicParameters> {
             resetProcessInstanceStatus(existsSubProcessInstanceList);
         }
         return new DynamicAsyncTaskExecuteFunction(taskExecutionContext, processInstance, taskInstance, this,
-                commandMapper,
+                commandDao, masterCommandNotifier,
                 subWorkflowService, taskParameters.getDegreeOfParallelism());
     }
 
@@ -41,6 +41,7 @@ import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
 import org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction;
 import org.apache.dolphinscheduler.server.master.runner.message.LogicTaskInstanceExecutionEventSenderManager;
 import org.apache.dolphinscheduler.server.master.runner.task.BaseAsyncLogicTask;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -66,6 +67,8 @@ public class SubWorkflowLogicTask extends BaseAsyncLogicTask<SubProcessParameter
 
     private final CommandDao commandDao;
 
+    private final MasterCommandNotifier masterCommandNotifier;
+
     private final IWorkflowExecutionRunnable workflowExecutionRunnable;
 
     private final SubWorkflowLogicTaskRuntimeContext subWorkflowLogicTaskRuntimeContext;
@@ -79,6 +82,7 @@ public class SubWorkflowLogicTask extends BaseAsyncLogicTask<SubProcessParameter
         this.processDefinitionDao = applicationContext.getBean(ProcessDefinitionDao.class);
         this.processInstanceDao = applicationContext.getBean(ProcessInstanceDao.class);
         this.commandDao = applicationContext.getBean(CommandDao.class);
+        this.masterCommandNotifier = applicationContext.getBean(MasterCommandNotifier.class);
         this.logicTaskInstanceExecutionEventSenderManager =
                 applicationContext.getBean(LogicTaskInstanceExecutionEventSenderManager.class);
         this.workflowExecutionRunnable = workflowExecutionRunnable;
@@ -199,6 +203,7 @@ public class SubWorkflowLogicTask extends BaseAsyncLogicTask<SubProcessParameter
                 .testFlag(taskExecutionContext.getTestFlag())
                 .build();
         commandDao.insert(command);
+        masterCommandNotifier.notifyCommandCreated(command);
         return SubWorkflowLogicTaskRuntimeContext.builder()
                 .subWorkflowCommandId(command.getId())
                 .build();
@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.cluster;
 import static com.google.common.truth.Truth.assertThat;
 
 import org.apache.dolphinscheduler.common.enums.ServerStatus;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -79,6 +80,13 @@ class MasterSlotManagerTest {
         assertThat(masterSlotManager.getTotalMasterSlots()).isEqualTo(3);
     }
 
+    @Test
+    void getOwnedCommandSlots() {
+        assertThat(masterSlotManager.getOwnedCommandSlots()).isNotEmpty();
+        assertThat(masterSlotManager.getOwnedCommandSlots()).isEqualTo(CommandSlotUtils
+                .getOwnedCommandSlots(masterSlotManager.getCurrentMasterSlot(), 3));
+    }
+
     @Test
     void checkSlotValid() {
         assertThat(masterSlotManager.checkSlotValid()).isTrue();
@@ -102,5 +110,7 @@ class MasterSlotManagerTest {
         clusterManager.getMasterClusters().onServerRemove(master3);
         // After doReBalance, the total master slots should be 2
         assertThat(masterSlotManager.getTotalMasterSlots()).isEqualTo(2);
+        assertThat(masterSlotManager.getOwnedCommandSlots()).isEqualTo(CommandSlotUtils
+                .getOwnedCommandSlots(masterSlotManager.getCurrentMasterSlot(), 2));
     }
 }
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CommandBootstrapBackPressureTest {
+
+    @Test
+    void isBackPressured_disabled() {
+        CommandBootstrapBackPressure commandBootstrapBackPressure = new CommandBootstrapBackPressure();
+        commandBootstrapBackPressure.setEnabled(false);
+        assertThat(commandBootstrapBackPressure.isBackPressured(Integer.MAX_VALUE, Integer.MAX_VALUE)).isFalse();
+    }
+
+    @Test
+    void isBackPressured_runningWorkflowsExceedThreshold() {
+        CommandBootstrapBackPressure commandBootstrapBackPressure = new CommandBootstrapBackPressure();
+        commandBootstrapBackPressure.setMaxRunningWorkflows(10);
+        assertThat(commandBootstrapBackPressure.isBackPressured(9, 0)).isFalse();
+        assertThat(commandBootstrapBackPressure.isBackPressured(10, 0)).isTrue();
+    }
+
+    @Test
+    void isBackPressured_pendingWorkflowEventsExceedThreshold() {
+        CommandBootstrapBackPressure commandBootstrapBackPressure = new CommandBootstrapBackPressure();
+        commandBootstrapBackPressure.setMaxPendingWorkflowEvents(100);
+        assertThat(commandBootstrapBackPressure.isBackPressured(0, 99)).isFalse();
+        assertThat(commandBootstrapBackPressure.isBackPressured(0, 100)).isTrue();
+    }
+}
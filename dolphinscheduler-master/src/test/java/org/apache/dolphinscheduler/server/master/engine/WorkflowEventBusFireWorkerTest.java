@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.WorkflowEventBusFireMode;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStateColumn;
+import org.apache.dolphinscheduler.server.master.engine.task.persistence.TaskInstanceStatePersister;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.IWorkflowExecuteContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class WorkflowEventBusFireWorkerTest {
+
+    private static final ILifecycleEventType TEST_EVENT_TYPE = new ILifecycleEventType() {
+    };
+
+    private static final ILifecycleEventType PERSIST_TASK_STATE_EVENT_TYPE = new ILifecycleEventType() {
+    };
+
+    private final TaskInstanceDao taskInstanceDao = mock(TaskInstanceDao.class);
+
+    private final TaskInstanceStatePersister taskInstanceStatePersister = new TaskInstanceStatePersister();
+
+    private final List<AbstractLifecycleEvent> firedEvents = new CopyOnWriteArrayList<>();
+
+    private WorkflowEventBusFireWorker workflowEventBusFireWorker;
+
+    private Thread fireThread;
+
+    @BeforeEach
+    public void setUp() {
+        workflowEventBusFireWorker = new WorkflowEventBusFireWorker(WorkflowEventBusFireMode.SIGNALLING);
+        workflowEventBusFireWorker.registerEventHandler(new ILifecycleEventHandler<AbstractLifecycleEvent>() {
+
+            @Override
+            public void handle(IWorkflowExecutionRunnable workflowExecutionRunnable, AbstractLifecycleEvent event) {
+                firedEvents.add(event);
+            }
+
+            @Override
+            public ILifecycleEventType matchEventType() {
+                return TEST_EVENT_TYPE;
+            }
+        });
+        // Persist the task state and wait for the write, like the task state actions
+        workflowEventBusFireWorker.registerEventHandler(new ILifecycleEventHandler<AbstractLifecycleEvent>() {
+
+            @Override
+            public void handle(IWorkflowExecutionRunnable workflowExecutionRunnable, AbstractLifecycleEvent event) {
+                final TaskInstance taskInstance = new TaskInstance();
+                taskInstance.setId(1);
+                taskInstance.setState(TaskExecutionStatus.SUCCESS);
+                taskInstanceStatePersister.persist(taskInstance, TaskInstanceStateColumn.STATE);
+                taskInstanceStatePersister.flush();
+                firedEvents.add(event);
+            }
+
+            @Override
+            public ILifecycleEventType matchEventType() {
+                return PERSIST_TASK_STATE_EVENT_TYPE;
+            }
+        });
+        final MasterConfig masterConfig = new MasterConfig();
+        masterConfig.getTaskStateWriteBehind().setFlushInterval(Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(taskInstanceStatePersister, "taskInstanceDao", taskInstanceDao);
+        ReflectionTestUtils.setField(taskInstanceStatePersister, "masterConfig", masterConfig);
+        taskInstanceStatePersister.start();
+        fireThread = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    workflowEventBusFireWorker.fireSignalledEvent();
+                }
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        fireThread.setDaemon(true);
+        fireThread.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        fireThread.interrupt();
+        taskInstanceStatePersister.close();
+    }
+
+    @Test
+    void fireSignalledEvent_eventPublishedBeforeRegister() {
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = createWorkflowExecutionRunnable(1);
+        final TestLifecycleEvent event = new TestLifecycleEvent(0);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(firedEvents).containsExactly(event));
+    }
+
+    @Test
+    void fireSignalledEvent_eventPublishedAfterRegister() {
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = createWorkflowExecutionRunnable(2);
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+
+        final TestLifecycleEvent event1 = new TestLifecycleEvent(0);
+        final TestLifecycleEvent event2 = new TestLifecycleEvent(0);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event1);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event2);
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(firedEvents).containsExactly(event1, event2));
+    }
+
+    @Test
+    void fireSignalledEvent_withDelayEvent() {
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = createWorkflowExecutionRunnable(3);
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+
+        final TestLifecycleEvent delayEvent = new TestLifecycleEvent(2_000);
+        final TestLifecycleEvent event = new TestLifecycleEvent(0);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(delayEvent);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(firedEvents).containsExactly(event));
+        Awaitility.await()
+                .atLeast(Duration.ofMillis(500))
+                .atMost(Duration.ofSeconds(3))
+                .untilAsserted(() -> assertThat(firedEvents).containsExactly(event, delayEvent));
+    }
+
+    @Test
+    void fireSignalledEvent_afterUnRegister() {
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = createWorkflowExecutionRunnable(4);
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+        workflowEventBusFireWorker.unRegisterWorkflowEventBus(workflowExecutionRunnable);
+
+        workflowExecutionRunnable.getWorkflowEventBus().publish(new TestLifecycleEvent(0));
+        Awaitility.await()
+                .during(Duration.ofMillis(500))
+                .atMost(Duration.ofSeconds(1))
+                .untilAsserted(() -> assertThat(firedEvents).isEmpty());
+        assertThat(workflowExecutionRunnable.getWorkflowEventBus().isEmpty()).isFalse();
+    }
+
+    @Test
+    void fireSignalledEvent_republishIfTaskStateFlushFailedByDatabase() {
+        doThrow(new DataAccessResourceFailureException("Database is down"))
+                .doReturn(true)
+                .when(taskInstanceDao).updateTaskInstanceStateById(any());
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = createWorkflowExecutionRunnable(5);
+        workflowEventBusFireWorker.registerWorkflowEventBus(workflowExecutionRunnable);
+
+        final TestLifecycleEvent event = new TestLifecycleEvent(0, PERSIST_TASK_STATE_EVENT_TYPE);
+        workflowExecutionRunnable.getWorkflowEventBus().publish(event);
+
+        // The event is fired again after the database connection failure rather than dropped
+        Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(firedEvents).containsExactly(event));
+        verify(taskInstanceDao, times(2)).updateTaskInstanceStateById(any());
+        assertThat(workflowExecutionRunnable.getWorkflowEventBus().getWorkflowEventBusSummary()
+                .getFireFailedEventCount().get()).isEqualTo(0);
+    }
+
+    private IWorkflowExecutionRunnable createWorkflowExecutionRunnable(int workflowInstanceId) {
+        final ProcessInstance workflowInstance = new ProcessInstance();
+        workflowInstance.setId(workflowInstanceId);
+        workflowInstance.setName("workflow-" + workflowInstanceId);
+
+        final WorkflowEventBus workflowEventBus = new WorkflowEventBus();
+        final IWorkflowExecuteContext workflowExecuteContext = mock(IWorkflowExecuteContext.class);
+        when(workflowExecuteContext.getWorkflowInstance()).thenReturn(workflowInstance);
+
+        final IWorkflowExecutionRunnable workflowExecutionRunnable = mock(IWorkflowExecutionRunnable.class);
+        when(workflowExecutionRunnable.getId()).thenReturn(workflowInstanceId);
+        when(workflowExecutionRunnable.getName()).thenReturn(workflowInstance.getName());
+        when(workflowExecutionRunnable.getWorkflowExecuteContext()).thenReturn(workflowExecuteContext);
+        when(workflowExecutionRunnable.getWorkflowEventBus()).thenReturn(workflowEventBus);
+        return workflowExecutionRunnable;
+    }
+
+    private static class TestLifecycleEvent extends AbstractLifecycleEvent {
+
+        private final ILifecycleEventType eventType;
+
+        TestLifecycleEvent(long delayTime) {
+            this(delayTime, TEST_EVENT_TYPE);
+        }
+
+        TestLifecycleEvent(long delayTime, ILifecycleEventType eventType) {
+            super(delayTime);
+            this.eventType = eventType;
+        }
+
+        @Override
+        public ILifecycleEventType getEventType() {
+            return eventType;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.command;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static java.time.Duration.ofSeconds;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
+import org.apache.dolphinscheduler.server.master.config.CommandBootstrapBackPressure;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.MasterServerLoadProtection;
+import org.apache.dolphinscheduler.server.master.engine.IWorkflowRepository;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBusCoordinator;
+import org.apache.dolphinscheduler.server.master.engine.exceptions.CommandDuplicateHandleException;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.IWorkflowExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.engine.workflow.runnable.WorkflowExecutionRunnableFactory;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CommandEngineTest {
+
+    @InjectMocks
+    private CommandEngine commandEngine;
+
+    @Mock
+    private ICommandFetcher commandFetcher;
+
+    @Mock
+    private CommandService commandService;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private IWorkflowRepository workflowRepository;
+
+    @Mock
+    private WorkflowExecutionRunnableFactory workflowExecutionRunnableFactory;
+
+    @Mock
+    private MetricsProvider metricsProvider;
+
+    @Mock
+    private WorkflowEventBusCoordinator workflowEventBusCoordinator;
+
+    private CommandBootstrapBackPressure commandBootstrapBackPressure;
+
+    private final CountDownLatch bootstrapLatch = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        final MasterServerLoadProtection serverLoadProtection = new MasterServerLoadProtection();
+        serverLoadProtection.setEnabled(false);
+        final CommandFetchStrategy commandFetchStrategy = new CommandFetchStrategy();
+        // Long enough that the loop can only fetch again within the test when it is woken up
+        commandFetchStrategy.setIdleFetchInterval(ofMinutes(10));
+        when(masterConfig.getServerLoadProtection()).thenReturn(serverLoadProtection);
+        when(masterConfig.getCommandFetchStrategy()).thenReturn(commandFetchStrategy);
+        commandBootstrapBackPressure = new CommandBootstrapBackPressure();
+        when(masterConfig.getCommandBootstrapBackPressure()).thenReturn(commandBootstrapBackPressure);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The loop breaks once it's interrupted
+        commandEngine.interrupt();
+        bootstrapLatch.countDown();
+    }
+
+    @Test
+    void testWakeUpIdleCommandLoop() {
+        when(commandFetcher.fetchCommands()).thenReturn(Collections.emptyList());
+        commandEngine.start();
+
+        // The loop is waiting for the new command after the first empty fetch
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(commandFetcher, times(1)).fetchCommands());
+        await().during(ofMillis(500)).atMost(ofSeconds(1))
+                .untilAsserted(() -> verify(commandFetcher, times(1)).fetchCommands());
+
+        commandEngine.wakeUp();
+        await().atMost(ofSeconds(1)).untilAsserted(() -> verify(commandFetcher, times(2)).fetchCommands());
+    }
+
+    @Test
+    void testSlowBootstrapNotBlockOtherCommands() throws Exception {
+        // The commands are bootstrapped in a pool sized by the available processors
+        Assumptions.assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+        Command slowCommand = createCommand(1);
+        Command command = createCommand(2);
+        IWorkflowExecutionRunnable workflowExecutionRunnable = createWorkflowExecutionRunnable();
+        when(commandFetcher.fetchCommands())
+                .thenReturn(Arrays.asList(slowCommand, command), Collections.emptyList());
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(slowCommand)).thenAnswer(invocation -> {
+            bootstrapLatch.await();
+            return createWorkflowExecutionRunnable();
+        });
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command))
+                .thenReturn(workflowExecutionRunnable);
+        commandEngine.start();
+
+        // The command is bootstrapped while the slow command is still being created
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(workflowRepository).put(workflowExecutionRunnable));
+        verify(workflowRepository, times(1)).put(any());
+
+        bootstrapLatch.countDown();
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(workflowRepository, times(2)).put(any()));
+        verify(commandService, never()).moveToErrorCommand(any(), anyString());
+    }
+
+    @Test
+    void testBootstrapPermitReleasedWhenBootstrapFailed() {
+        // Only one command can be bootstrapped at the same time
+        commandBootstrapBackPressure.setMaxBootstrappingCommands(1);
+        Command failedCommand = createCommand(1);
+        Command command = createCommand(2);
+        IWorkflowExecutionRunnable workflowExecutionRunnable = createWorkflowExecutionRunnable();
+        when(commandFetcher.fetchCommands()).thenReturn(
+                Collections.singletonList(failedCommand),
+                Collections.singletonList(command),
+                Collections.emptyList());
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(failedCommand))
+                .thenThrow(new IllegalStateException("bootstrap failed"));
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command))
+                .thenReturn(workflowExecutionRunnable);
+        commandEngine.start();
+
+        // The next command can only be bootstrapped once the permit of the failed command is released
+        await().atMost(ofSeconds(5)).untilAsserted(() -> verify(workflowRepository).put(workflowExecutionRunnable));
+        verify(commandService).moveToErrorCommand(eq(failedCommand), anyString());
+        verify(commandService, never()).moveToErrorCommand(eq(command), anyString());
+    }
+
+    @Test
+    void testDuplicateHandledCommandNotMovedToErrorCommand() {
+        Command command = createCommand(1);
+        when(commandFetcher.fetchCommands()).thenReturn(Collections.singletonList(command), Collections.emptyList());
+        // The command has been deleted by the previous bootstrap after this fetch
+        when(workflowExecutionRunnableFactory.createWorkflowExecuteRunnable(command))
+                .thenThrow(new CommandDuplicateHandleException(command));
+        commandEngine.start();
+
+        await().atMost(ofSeconds(5))
+                .untilAsserted(() -> verify(workflowExecutionRunnableFactory).createWorkflowExecuteRunnable(command));
+        await().during(ofMillis(500)).atMost(ofSeconds(1))
+                .untilAsserted(() -> verify(commandService, never()).moveToErrorCommand(any(), anyString()));
+        verify(workflowRepository, never()).put(any());
+    }
+
+    private Command createCommand(int commandId) {
+        Command command = new Command();
+        command.setId(commandId);
+        return command;
+    }
+
+    private IWorkflowExecutionRunnable createWorkflowExecutionRunnable() {
+        ProcessInstance workflowInstance = new ProcessInstance();
+        workflowInstance.setState(WorkflowExecutionStatus.RUNNING_EXECUTION);
+        IWorkflowExecutionRunnable workflowExecutionRunnable =
+                mock(IWorkflowExecutionRunnable.class, RETURNS_DEEP_STUBS);
+        when(workflowExecutionRunnable.getWorkflowExecuteContext().getWorkflowInstance()).thenReturn(workflowInstance);
+        return workflowExecutionRunnable;
+    }
+
+}
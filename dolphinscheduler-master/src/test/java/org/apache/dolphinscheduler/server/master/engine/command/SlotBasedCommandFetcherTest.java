@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.command;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
+import org.apache.dolphinscheduler.server.master.cluster.MasterSlotManager;
+import org.apache.dolphinscheduler.server.master.config.CommandFetchStrategy;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SlotBasedCommandFetcherTest {
+
+    @Mock
+    private MasterSlotManager masterSlotManager;
+
+    @Mock
+    private CommandDao commandDao;
+
+    private SlotBasedCommandFetcher slotBasedCommandFetcher;
+
+    @BeforeEach
+    void setUp() {
+        CommandFetchStrategy.SlotBasedFetchConfig slotBasedFetchConfig =
+                new CommandFetchStrategy.SlotBasedFetchConfig();
+        slotBasedFetchConfig.setFetchSize(20);
+        slotBasedCommandFetcher = new SlotBasedCommandFetcher(slotBasedFetchConfig, masterSlotManager, commandDao);
+        when(masterSlotManager.checkSlotValid()).thenReturn(true);
+    }
+
+    @Test
+    void testFetchCommandsByOwnedCommandSlots() {
+        when(masterSlotManager.getCurrentMasterSlot()).thenReturn(1);
+        when(masterSlotManager.getTotalMasterSlots()).thenReturn(4);
+        when(masterSlotManager.getOwnedCommandSlots()).thenReturn(Arrays.asList(1, 5, 9, 13));
+
+        slotBasedCommandFetcher.fetchCommands();
+
+        verify(commandDao).queryCommandBySlots(Arrays.asList(1, 5, 9, 13), 20);
+        verify(commandDao, never()).queryCommandByIdSlot(anyInt(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testFallbackToIdSlotWhenMastersMoreThanCommandSlots() {
+        int totalMasterSlots = CommandSlotUtils.TOTAL_COMMAND_SLOTS + 1;
+        when(masterSlotManager.getCurrentMasterSlot()).thenReturn(totalMasterSlots - 1);
+        when(masterSlotManager.getTotalMasterSlots()).thenReturn(totalMasterSlots);
+        when(masterSlotManager.getOwnedCommandSlots()).thenReturn(CommandSlotUtils
+                .getOwnedCommandSlots(totalMasterSlots - 1, totalMasterSlots));
+
+        slotBasedCommandFetcher.fetchCommands();
+
+        verify(commandDao).queryCommandByIdSlot(totalMasterSlots - 1, totalMasterSlots, 1, 20);
+        verify(commandDao, never()).queryCommandBySlots(anyList(), anyInt());
+    }
+
+}
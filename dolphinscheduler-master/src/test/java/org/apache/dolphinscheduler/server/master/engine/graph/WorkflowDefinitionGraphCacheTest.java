@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinitionLog;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.repository.ProcessDefinitionLogDao;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.WorkflowDefinitionCache;
+import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowDefinitionGraphCache.WorkflowDefinitionGraph;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowDefinitionGraphCacheTest {
+
+    @Mock
+    private ProcessDefinitionLogDao workflowDefinitionLogDao;
+
+    @Mock
+    private WorkflowGraphFactory workflowGraphFactory;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @InjectMocks
+    private WorkflowDefinitionGraphCache workflowDefinitionGraphCache;
+
+    private final WorkflowDefinitionCache workflowDefinitionCache = new WorkflowDefinitionCache();
+
+    @BeforeEach
+    void setUp() {
+        when(masterConfig.getWorkflowDefinitionCache()).thenReturn(workflowDefinitionCache);
+    }
+
+    @Test
+    void getWorkflowDefinitionGraph_loadOnceForSameVersion() {
+        workflowDefinitionGraphCache.init();
+        mockWorkflowDefinition(1L, 1);
+        mockWorkflowGraphFactory();
+
+        final WorkflowDefinitionGraph first = workflowDefinitionGraphCache.getWorkflowDefinitionGraph(1L, 1);
+        final WorkflowDefinitionGraph second = workflowDefinitionGraphCache.getWorkflowDefinitionGraph(1L, 1);
+
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(second.getWorkflowDefinition().getCode()).isEqualTo(1L);
+        verify(workflowDefinitionLogDao, times(1)).queryByDefinitionCodeAndVersion(1L, 1);
+        verify(workflowGraphFactory, times(1)).createWorkflowGraph(any());
+    }
+
+    @Test
+    void getWorkflowDefinitionGraph_loadEachVersion() {
+        workflowDefinitionGraphCache.init();
+        mockWorkflowDefinition(1L, 1);
+        mockWorkflowDefinition(1L, 2);
+        mockWorkflowGraphFactory();
+
+        final WorkflowDefinitionGraph version1 = workflowDefinitionGraphCache.getWorkflowDefinitionGraph(1L, 1);
+        final WorkflowDefinitionGraph version2 = workflowDefinitionGraphCache.getWorkflowDefinitionGraph(1L, 2);
+
+        assertThat(version1.getWorkflowDefinition().getVersion()).isEqualTo(1);
+        assertThat(version2.getWorkflowDefinition().getVersion()).isEqualTo(2);
+        verify(workflowGraphFactory, times(2)).createWorkflowGraph(any());
+    }
+
+    @Test
+    void getWorkflowDefinitionGraph_notExist() {
+        workflowDefinitionGraphCache.init();
+
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> workflowDefinitionGraphCache.getWorkflowDefinitionGraph(1L, 1));
+        assertThat(exception).hasMessageThat().isEqualTo("Cannot find the WorkflowDefinition: [1:1]");
+
+        // The missing definition should not be cached
+        mockWorkflowDefinition(1L, 1);
+        mockWorkflowGraphFactory();
+        assertThat(workflowDefinitionGraphCache.getWorkflowDefinitionGraph(1L, 1)).isNotNull();
+    }
+
+    @Test
+    void getWorkflowDefinitionGraph_loadEachTimeIfDisabled() {
+        workflowDefinitionCache.setEnabled(false);
+        workflowDefinitionGraphCache.init();
+        mockWorkflowDefinition(1L, 1);
+        mockWorkflowGraphFactory();
+
+        workflowDefinitionGraphCache.getWorkflowDefinitionGraph(1L, 1);
+        workflowDefinitionGraphCache.getWorkflowDefinitionGraph(1L, 1);
+
+        verify(workflowDefinitionLogDao, times(2)).queryByDefinitionCodeAndVersion(1L, 1);
+    }
+
+    private void mockWorkflowDefinition(long code, int version) {
+        final ProcessDefinitionLog workflowDefinition = new ProcessDefinitionLog();
+        workflowDefinition.setCode(code);
+        workflowDefinition.setVersion(version);
+        when(workflowDefinitionLogDao.queryByDefinitionCodeAndVersion(code, version)).thenReturn(workflowDefinition);
+    }
+
+    private void mockWorkflowGraphFactory() {
+        when(workflowGraphFactory.createWorkflowGraph(any(ProcessDefinition.class)))
+                .thenAnswer(invocation -> new WorkflowGraph(Collections.emptyList(),
+                        Collections.<TaskDefinition>emptyList()));
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.engine.task.persistence;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.TaskInstanceStateUpdate;
+import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.config.TaskStateWriteBehind;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class TaskInstanceStatePersisterTest {
+
+    @Mock
+    private TaskInstanceDao taskInstanceDao;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @InjectMocks
+    private TaskInstanceStatePersister taskInstanceStatePersister;
+
+    private final TaskStateWriteBehind taskStateWriteBehind = new TaskStateWriteBehind();
+
+    @BeforeEach
+    void setUp() {
+        // Make sure the flush is only triggered by the barrier in the test
+        taskStateWriteBehind.setFlushInterval(Duration.ofMinutes(10));
+        when(masterConfig.getTaskStateWriteBehind()).thenReturn(taskStateWriteBehind);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskInstanceStatePersister.close();
+    }
+
+    @Test
+    void persist_coalesceTransitionsOfSameTaskInstance() {
+        taskInstanceStatePersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.DISPATCH);
+        taskInstance.setHost("127.0.0.1:1234");
+        taskInstanceStatePersister.persist(taskInstance, TaskInstanceStateColumn.STATE, TaskInstanceStateColumn.HOST);
+        taskInstance.setState(TaskExecutionStatus.RUNNING_EXECUTION);
+        taskInstance.setStartTime(new Date());
+        taskInstanceStatePersister.persist(taskInstance, TaskInstanceStateColumn.STATE,
+                TaskInstanceStateColumn.START_TIME);
+        // The change after persist should not be written
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+        verify(taskInstanceDao, never()).updateTaskInstanceStateById(any());
+        assertThat(taskInstanceStatePersister.getPendingStateSize()).isEqualTo(1);
+
+        taskInstanceStatePersister.flush();
+
+        final ArgumentCaptor<TaskInstanceStateUpdate> captor = ArgumentCaptor.forClass(TaskInstanceStateUpdate.class);
+        verify(taskInstanceDao, times(1)).updateTaskInstanceStateById(captor.capture());
+        verify(taskInstanceDao, never()).batchUpdateTaskInstanceStateById(any());
+        final TaskInstanceStateUpdate written = captor.getValue();
+        assertThat(written.getTaskInstanceId()).isEqualTo(1);
+        assertThat(written.getState()).isEqualTo(TaskExecutionStatus.RUNNING_EXECUTION);
+        assertThat(written.getHost()).isEqualTo("127.0.0.1:1234");
+        assertThat(written.getStartTime()).isNotNull();
+        assertThat(written.getEndTime()).isNull();
+        assertThat(written.getVarPool()).isNull();
+        assertThat(taskInstanceStatePersister.getPendingStateSize()).isEqualTo(0);
+    }
+
+    @Test
+    void persist_writeSynchronouslyIfDisabled() {
+        taskStateWriteBehind.setEnabled(false);
+        taskInstanceStatePersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.SUCCESS);
+
+        taskInstanceStatePersister.persist(taskInstance, TaskInstanceStateColumn.STATE);
+
+        verify(taskInstanceDao, times(1)).updateTaskInstanceStateById(any());
+        assertThat(taskInstanceStatePersister.getPendingStateSize()).isEqualTo(0);
+    }
+
+    @Test
+    void persistNow_writeWithPendingTransitionsOfSameTaskInstance() {
+        taskInstanceStatePersister.start();
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstanceStatePersister.persist(taskInstance, TaskInstanceStateColumn.STATE);
+        taskInstance.setState(TaskExecutionStatus.DISPATCH);
+        taskInstance.setHost("127.0.0.1:1234");
+
+        taskInstanceStatePersister.persistNow(taskInstance, TaskInstanceStateColumn.STATE,
+                TaskInstanceStateColumn.HOST);
+
+        final ArgumentCaptor<TaskInstanceStateUpdate> captor = ArgumentCaptor.forClass(TaskInstanceStateUpdate.class);
+        verify(taskInstanceDao, times(1)).updateTaskInstanceStateById(captor.capture());
+        assertThat(captor.getValue().getState()).isEqualTo(TaskExecutionStatus.DISPATCH);
+        assertThat(captor.getValue().getHost()).isEqualTo("127.0.0.1:1234");
+        // The older pending transition is written together, it will not override the newer one in the next flush
+        assertThat(taskInstanceStatePersister.getPendingStateSize()).isEqualTo(0);
+    }
+
+    @Test
+    void flush_putBackIfWriteFailed() {
+        taskInstanceStatePersister.start();
+        doThrow(new IllegalStateException("Database is down"))
+                .doReturn(true)
+                .when(taskInstanceDao).updateTaskInstanceStateById(any());
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.FAILURE);
+        taskInstanceStatePersister.persist(taskInstance, TaskInstanceStateColumn.STATE);
+
+        assertThrows(Exception.class, () -> taskInstanceStatePersister.flush());
+        assertThat(taskInstanceStatePersister.getPendingStateSize()).isEqualTo(1);
+
+        taskInstanceStatePersister.flush();
+        verify(taskInstanceDao, times(2)).updateTaskInstanceStateById(any());
+        assertThat(taskInstanceStatePersister.getPendingStateSize()).isEqualTo(0);
+    }
+
+    @Test
+    void flush_rethrowTheCauseIfWriteFailed() {
+        taskInstanceStatePersister.start();
+        final DataAccessResourceFailureException databaseDownException =
+                new DataAccessResourceFailureException("Database is down");
+        doThrow(databaseDownException)
+                .doReturn(true)
+                .when(taskInstanceDao).updateTaskInstanceStateById(any());
+        final TaskInstance taskInstance = createTaskInstance(1);
+        taskInstance.setState(TaskExecutionStatus.FAILURE);
+        taskInstanceStatePersister.persist(taskInstance, TaskInstanceStateColumn.STATE);
+
+        // The caller checks the database connection failure by the exception type
+        assertThat(assertThrows(DataAccessResourceFailureException.class, () -> taskInstanceStatePersister.flush()))
+                .isSameInstanceAs(databaseDownException);
+    }
+
+    @Test
+    void close_flushPendingStates() {
+        taskInstanceStatePersister.start();
+        for (int i = 1; i <= 3; i++) {
+            final TaskInstance taskInstance = createTaskInstance(i);
+            taskInstance.setState(TaskExecutionStatus.KILL);
+            taskInstanceStatePersister.persist(taskInstance, TaskInstanceStateColumn.STATE);
+        }
+
+        taskInstanceStatePersister.close();
+
+        assertThat(captureBatchWrittenStateUpdates(1).get(0)).hasSize(3);
+        assertThat(taskInstanceStatePersister.getPendingStateSize()).isEqualTo(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<TaskInstanceStateUpdate>> captureBatchWrittenStateUpdates(int times) {
+        final ArgumentCaptor<Collection<TaskInstanceStateUpdate>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(taskInstanceDao, times(times)).batchUpdateTaskInstanceStateById(captor.capture());
+        final List<List<TaskInstanceStateUpdate>> writtenStateUpdates = new ArrayList<>();
+        captor.getAllValues().forEach(stateUpdates -> writtenStateUpdates.add(new ArrayList<>(stateUpdates)));
+        return writtenStateUpdates;
+    }
+
+    private TaskInstance createTaskInstance(int id) {
+        final TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(id);
+        taskInstance.setName("task-" + id);
+        return taskInstance;
+    }
+}
@@ -21,7 +21,6 @@ import static java.time.Duration.ofSeconds;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -33,6 +32,7 @@ import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
 import org.apache.dolphinscheduler.server.master.engine.graph.WorkflowExecutionGraph;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
@@ -41,8 +41,11 @@ import org.apache.dolphinscheduler.server.master.engine.task.runnable.TaskExecut
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatchFactory;
 import org.apache.dolphinscheduler.server.master.runner.dispatcher.TaskDispatcher;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -65,6 +68,15 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
     @Mock
     private TaskDispatchFactory taskDispatchFactory;
 
+    @Mock
+    private MasterConfig masterConfig;
+
+    @BeforeEach
+    void setUp() {
+        when(masterConfig.getTaskDispatchBatchSize()).thenReturn(100);
+        when(masterConfig.getTaskDispatchThreadCount()).thenReturn(2);
+    }
+
     @Test
     void testTaskExecutionRunnableStatusIsNotSubmitted() throws Exception {
         ProcessInstance processInstance = new ProcessInstance();
@@ -76,9 +88,11 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
 
         TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
-        doNothing().when(taskDispatcher).dispatchTask(any());
+        when(taskDispatcher.dispatchTasks(any()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyMap()));
 
-        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnables(100))
+                .thenReturn(Collections.singletonList(defaultTaskExecuteRunnable));
         globalTaskDispatchWaitingQueueLooper.start();
         await().during(ofSeconds(1))
                 .untilAsserted(() -> verify(taskDispatchFactory, never()).getTaskDispatcher(taskInstance));
@@ -96,13 +110,16 @@ class GlobalTaskDispatchWaitingQueueLooperTest {
 
         TaskDispatcher taskDispatcher = mock(TaskDispatcher.class);
         when(taskDispatchFactory.getTaskDispatcher(taskInstance)).thenReturn(taskDispatcher);
-        doNothing().when(taskDispatcher).dispatchTask(any());
+        when(taskDispatcher.dispatchTasks(any()))
+                .thenReturn(CompletableFuture.completedFuture(Collections.emptyMap()));
 
-        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).thenReturn(defaultTaskExecuteRunnable);
+        // Take the task only once, otherwise the lane might batch the same task several times
+        when(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnables(100))
+                .thenReturn(Collections.singletonList(defaultTaskExecuteRunnable), Collections.emptyList());
         globalTaskDispatchWaitingQueueLooper.start();
         await().atMost(ofSeconds(1)).untilAsserted(() -> {
             verify(taskDispatchFactory, atLeastOnce()).getTaskDispatcher(any(TaskInstance.class));
-            verify(taskDispatcher, atLeastOnce()).dispatchTask(any(ITaskExecutionRunnable.class));
+            verify(taskDispatcher, atLeastOnce()).dispatchTasks(Collections.singletonList(defaultTaskExecuteRunnable));
         });
         globalTaskDispatchWaitingQueueLooper.close();
 
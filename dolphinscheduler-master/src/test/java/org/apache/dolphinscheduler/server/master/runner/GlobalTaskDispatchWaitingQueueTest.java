@@ -39,10 +39,14 @@ import org.apache.commons.lang3.time.DateUtils;
 
 import java.time.Duration;
 import java.util.Date;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.awaitility.Awaitility;
 import org.awaitility.core.ConditionTimeoutException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -57,6 +61,11 @@ class GlobalTaskDispatchWaitingQueueTest {
         globalTaskDispatchWaitingQueue = new GlobalTaskDispatchWaitingQueue();
     }
 
+    @AfterEach
+    public void tearDown() {
+        globalTaskDispatchWaitingQueue.close();
+    }
+
     @Test
     void submitTaskExecuteRunnable() {
         ITaskExecutionRunnable ITaskExecutionRunnable = createTaskExecuteRunnable();
@@ -168,6 +177,78 @@ class GlobalTaskDispatchWaitingQueueTest {
                 .isEqualTo(2);
     }
 
+    @Test
+    void takeTaskExecuteRunnables() {
+        for (int i = 0; i < 5; i++) {
+            globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(createTaskExecuteRunnable());
+        }
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(createTaskExecuteRunnable(), 60_000L);
+
+        // Only the tasks which can be dispatched now will be taken, and the size will not exceed the maxSize
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnables(3)).hasSize(3);
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnables(3)).hasSize(2);
+        assertThat(globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()).isEqualTo(1);
+    }
+
+    @Test
+    void takeTaskExecuteRunnables_roundRobinBetweenWorkerGroups() {
+        for (int i = 0; i < 4; i++) {
+            ITaskExecutionRunnable taskExecutionRunnable = createTaskExecuteRunnable();
+            taskExecutionRunnable.getTaskInstance().setWorkerGroup("busy");
+            globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable);
+        }
+        ITaskExecutionRunnable idleTaskExecutionRunnable = createTaskExecuteRunnable();
+        idleTaskExecutionRunnable.getTaskInstance().setWorkerGroup("idle");
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(idleTaskExecutionRunnable);
+
+        // The task in the idle worker group should not wait for all the tasks in the busy worker group
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnables(2)).contains(idleTaskExecutionRunnable);
+    }
+
+    @Test
+    void takeTaskExecuteRunnable_skipRemovedTaskExecutionRunnable() {
+        ITaskExecutionRunnable removedTaskExecutionRunnable = createTaskExecuteRunnable();
+        removedTaskExecutionRunnable.getTaskInstance().setTaskInstancePriority(Priority.HIGHEST);
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(removedTaskExecutionRunnable);
+        ITaskExecutionRunnable taskExecutionRunnable = createTaskExecuteRunnable();
+        globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable);
+
+        assertThat(globalTaskDispatchWaitingQueue.markTaskExecutionRunnableRemoved(removedTaskExecutionRunnable))
+                .isTrue();
+        assertThat(globalTaskDispatchWaitingQueue.takeTaskExecuteRunnable()).isSameInstanceAs(taskExecutionRunnable);
+        assertThat(globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()).isEqualTo(0);
+    }
+
+    @Test
+    void takeTaskExecuteRunnables_withConcurrentProducers() {
+        final int producerNum = 4;
+        final int taskNumPerProducer = 250;
+        final Set<Integer> takenTaskInstanceIds = ConcurrentHashMap.newKeySet();
+        final CompletableFuture<Void> consumer = CompletableFuture.runAsync(() -> {
+            while (takenTaskInstanceIds.size() < producerNum * taskNumPerProducer) {
+                globalTaskDispatchWaitingQueue.takeTaskExecuteRunnables(10)
+                        .forEach(taskExecutionRunnable -> takenTaskInstanceIds
+                                .add(taskExecutionRunnable.getTaskInstance().getId()));
+            }
+        });
+        final AtomicInteger taskInstanceId = new AtomicInteger();
+        for (int i = 0; i < producerNum; i++) {
+            final String workerGroup = "workerGroup-" + i;
+            CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < taskNumPerProducer; j++) {
+                    ITaskExecutionRunnable taskExecutionRunnable = createTaskExecuteRunnable();
+                    taskExecutionRunnable.getTaskInstance().setId(taskInstanceId.incrementAndGet());
+                    taskExecutionRunnable.getTaskInstance().setWorkerGroup(workerGroup);
+                    globalTaskDispatchWaitingQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable, j % 2);
+                }
+            });
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(consumer::isDone);
+        assertThat(takenTaskInstanceIds).hasSize(producerNum * taskNumPerProducer);
+        assertThat(globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber()).isEqualTo(0);
+    }
+
     @Test
     void getWaitingDispatchTaskNumber() {
         Assertions.assertEquals(0, globalTaskDispatchWaitingQueue.getWaitingDispatchTaskNumber());
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TaskDispatchLaneTest {
+
+    private ExecutorService dispatchThreadPool;
+
+    @BeforeEach
+    void setUp() {
+        dispatchThreadPool = ThreadUtils.newDaemonFixedThreadExecutor("TaskDispatchLaneTest-%d", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatchThreadPool.shutdownNow();
+    }
+
+    @Test
+    void testDispatchInBatch() {
+        final List<Integer> dispatchedBatchSizes = new CopyOnWriteArrayList<>();
+        final TaskDispatchLane taskDispatchLane = new TaskDispatchLane("default", dispatchThreadPool, 3,
+                taskExecutionRunnables -> dispatchedBatchSizes.add(taskExecutionRunnables.size()));
+
+        taskDispatchLane.submit(createTaskExecutionRunnables(7));
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(dispatchedBatchSizes.stream().mapToInt(Integer::intValue).sum())
+                        .isEqualTo(7));
+        assertThat(dispatchedBatchSizes.stream().allMatch(size -> size <= 3)).isTrue();
+        assertThat(taskDispatchLane.getPendingTaskCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testSlowLaneWillNotBlockOtherLanes() {
+        final CountDownLatch slowLaneBlocker = new CountDownLatch(1);
+        final TaskDispatchLane slowLane = new TaskDispatchLane("slow", dispatchThreadPool, 1,
+                taskExecutionRunnables -> {
+                    try {
+                        slowLaneBlocker.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        final List<ITaskExecutionRunnable> dispatchedTasks = new CopyOnWriteArrayList<>();
+        final TaskDispatchLane fastLane =
+                new TaskDispatchLane("fast", dispatchThreadPool, 1, dispatchedTasks::addAll);
+
+        // The slow lane only hold one dispatch thread even if it has many tasks
+        slowLane.submit(createTaskExecutionRunnables(10));
+        fastLane.submit(createTaskExecutionRunnables(10));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(dispatchedTasks).hasSize(10);
+            assertThat(slowLane.getPendingTaskCount()).isEqualTo(9);
+        });
+
+        slowLaneBlocker.countDown();
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(slowLane.getPendingTaskCount()).isEqualTo(0));
+    }
+
+    private List<ITaskExecutionRunnable> createTaskExecutionRunnables(int size) {
+        final List<ITaskExecutionRunnable> taskExecutionRunnables = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            taskExecutionRunnables.add(mock(ITaskExecutionRunnable.class));
+        }
+        return Collections.unmodifiableList(taskExecutionRunnables);
+    }
+}
@@ -17,16 +17,30 @@
 
 package org.apache.dolphinscheduler.server.master.runner.dispatcher;
 
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.base.exception.MethodInvocationException;
+import org.apache.dolphinscheduler.extract.base.exception.MethodNotFoundException;
+import org.apache.dolphinscheduler.extract.base.exception.RemotingTimeoutException;
 import org.apache.dolphinscheduler.extract.base.utils.Host;
+import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchResponse;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.cluster.loadbalancer.IWorkerLoadBalancer;
 import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.exception.dispatch.TaskDispatchException;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -45,4 +59,114 @@ public class WorkerTaskDispatcherTest {
                 workerTaskDispatcher.getTaskInstanceDispatchHost(ITaskExecutionRunnable);
         Assertions.assertEquals("localhost:1234", taskInstanceDispatchHost.get().getAddress());
     }
+
+    @Test
+    public void testDispatchTasksWithoutWaitingForResponse() throws Exception {
+        IWorkerLoadBalancer workerLoadBalancer = Mockito.mock(IWorkerLoadBalancer.class);
+        Mockito.when(workerLoadBalancer.select(Mockito.any())).thenReturn(Optional.of("localhost:1234"));
+        WorkerTaskDispatcher workerTaskDispatcher = new WorkerTaskDispatcher(workerLoadBalancer);
+        ITaskExecutionRunnable successTask = createTaskExecutionRunnable(1, "success");
+        ITaskExecutionRunnable failedTask = createTaskExecutionRunnable(2, "failed");
+
+        ITaskInstanceOperator taskInstanceOperator = Mockito.mock(ITaskInstanceOperator.class);
+        CompletableFuture<TaskInstanceBatchDispatchResponse> batchDispatchFuture = new CompletableFuture<>();
+        Mockito.when(taskInstanceOperator.batchDispatchTask(Mockito.any())).thenReturn(batchDispatchFuture);
+        try (
+                MockedStatic<SingletonJdkDynamicRpcClientProxyFactory> proxyFactory =
+                        Mockito.mockStatic(SingletonJdkDynamicRpcClientProxyFactory.class)) {
+            mockTaskInstanceOperator(proxyFactory, taskInstanceOperator);
+
+            CompletableFuture<Map<ITaskExecutionRunnable, TaskDispatchException>> dispatchFuture =
+                    workerTaskDispatcher.dispatchTasks(Arrays.asList(successTask, failedTask));
+            Assertions.assertFalse(dispatchFuture.isDone());
+
+            batchDispatchFuture.complete(new TaskInstanceBatchDispatchResponse(Arrays.asList(
+                    TaskInstanceDispatchResponse.success(1),
+                    TaskInstanceDispatchResponse.failed(2, "worker is busy"))));
+            Map<ITaskExecutionRunnable, TaskDispatchException> dispatchFailedTasks = dispatchFuture.get();
+            Assertions.assertEquals(1, dispatchFailedTasks.size());
+            Assertions.assertTrue(dispatchFailedTasks.containsKey(failedTask));
+            Mockito.verify(taskInstanceOperator).batchDispatchTask(Mockito.any());
+        }
+    }
+
+    @Test
+    public void testDispatchTasksFailedByRpcError() throws Exception {
+        IWorkerLoadBalancer workerLoadBalancer = Mockito.mock(IWorkerLoadBalancer.class);
+        Mockito.when(workerLoadBalancer.select(Mockito.any())).thenReturn(Optional.of("localhost:1234"));
+        WorkerTaskDispatcher workerTaskDispatcher = new WorkerTaskDispatcher(workerLoadBalancer);
+        ITaskExecutionRunnable task = createTaskExecutionRunnable(1, "task");
+
+        ITaskInstanceOperator taskInstanceOperator = Mockito.mock(ITaskInstanceOperator.class);
+        CompletableFuture<TaskInstanceBatchDispatchResponse> batchDispatchFuture = new CompletableFuture<>();
+        batchDispatchFuture.completeExceptionally(new RemotingTimeoutException("timeout"));
+        Mockito.when(taskInstanceOperator.batchDispatchTask(Mockito.any())).thenReturn(batchDispatchFuture);
+        try (
+                MockedStatic<SingletonJdkDynamicRpcClientProxyFactory> proxyFactory =
+                        Mockito.mockStatic(SingletonJdkDynamicRpcClientProxyFactory.class)) {
+            mockTaskInstanceOperator(proxyFactory, taskInstanceOperator);
+
+            Map<ITaskExecutionRunnable, TaskDispatchException> dispatchFailedTasks =
+                    workerTaskDispatcher.dispatchTasks(Collections.singletonList(task)).get();
+            Assertions.assertEquals(1, dispatchFailedTasks.size());
+            Assertions.assertInstanceOf(RemotingTimeoutException.class, dispatchFailedTasks.get(task).getCause());
+        }
+    }
+
+    @Test
+    public void testDispatchTasksFallbackToDispatchOneByOne() throws Exception {
+        IWorkerLoadBalancer workerLoadBalancer = Mockito.mock(IWorkerLoadBalancer.class);
+        Mockito.when(workerLoadBalancer.select(Mockito.any())).thenReturn(Optional.of("localhost:1234"));
+        // Dispatch in the caller thread, since the static mock only works in the thread which creates it
+        WorkerTaskDispatcher workerTaskDispatcher = new WorkerTaskDispatcher(workerLoadBalancer, Runnable::run);
+        ITaskExecutionRunnable successTask = createTaskExecutionRunnable(1, "success");
+        ITaskExecutionRunnable failedTask = createTaskExecutionRunnable(2, "failed");
+
+        ITaskInstanceOperator taskInstanceOperator = Mockito.mock(ITaskInstanceOperator.class);
+        CompletableFuture<TaskInstanceBatchDispatchResponse> batchDispatchFuture = new CompletableFuture<>();
+        batchDispatchFuture.completeExceptionally(MethodInvocationException
+                .of(MethodNotFoundException.MESSAGE_PREFIX + "batchDispatchTask"));
+        Mockito.when(taskInstanceOperator.batchDispatchTask(Mockito.any())).thenReturn(batchDispatchFuture);
+        Mockito.when(taskInstanceOperator.dispatchTask(Mockito.any())).thenReturn(
+                TaskInstanceDispatchResponse.success(1),
+                TaskInstanceDispatchResponse.failed(2, "worker is busy"),
+                TaskInstanceDispatchResponse.success(1),
+                TaskInstanceDispatchResponse.success(2));
+        try (
+                MockedStatic<SingletonJdkDynamicRpcClientProxyFactory> proxyFactory =
+                        Mockito.mockStatic(SingletonJdkDynamicRpcClientProxyFactory.class)) {
+            mockTaskInstanceOperator(proxyFactory, taskInstanceOperator);
+
+            Map<ITaskExecutionRunnable, TaskDispatchException> dispatchFailedTasks =
+                    workerTaskDispatcher.dispatchTasks(Arrays.asList(successTask, failedTask)).get();
+            Assertions.assertEquals(1, dispatchFailedTasks.size());
+            Assertions.assertTrue(dispatchFailedTasks.containsKey(failedTask));
+
+            // The worker is remembered, the later tasks will be dispatched one by one directly
+            Assertions.assertTrue(
+                    workerTaskDispatcher.dispatchTasks(Arrays.asList(successTask, failedTask)).get().isEmpty());
+            Mockito.verify(taskInstanceOperator, Mockito.times(1)).batchDispatchTask(Mockito.any());
+            Mockito.verify(taskInstanceOperator, Mockito.times(4)).dispatchTask(Mockito.any());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockTaskInstanceOperator(MockedStatic<SingletonJdkDynamicRpcClientProxyFactory> proxyFactory,
+                                          ITaskInstanceOperator taskInstanceOperator) {
+        SingletonJdkDynamicRpcClientProxyFactory.JdkDynamicRpcClientProxyBuilder<ITaskInstanceOperator> proxyBuilder =
+                Mockito.mock(SingletonJdkDynamicRpcClientProxyFactory.JdkDynamicRpcClientProxyBuilder.class);
+        Mockito.when(proxyBuilder.withHost(Mockito.any())).thenReturn(taskInstanceOperator);
+        proxyFactory.when(() -> SingletonJdkDynamicRpcClientProxyFactory.withService(ITaskInstanceOperator.class))
+                .thenReturn(proxyBuilder);
+    }
+
+    private ITaskExecutionRunnable createTaskExecutionRunnable(int taskInstanceId, String taskName) {
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(taskInstanceId);
+        taskExecutionContext.setTaskName(taskName);
+        ITaskExecutionRunnable taskExecutionRunnable = Mockito.mock(ITaskExecutionRunnable.class);
+        Mockito.when(taskExecutionRunnable.getTaskExecutionContext()).thenReturn(taskExecutionContext);
+        Mockito.when(taskExecutionRunnable.getTaskInstance()).thenReturn(new TaskInstance());
+        return taskExecutionRunnable;
+    }
 }
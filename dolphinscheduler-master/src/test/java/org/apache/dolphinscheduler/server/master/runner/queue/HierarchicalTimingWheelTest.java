@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner.queue;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MILLS = 10L;
+
+    private final Map<String, Long> handOverTimes = new ConcurrentHashMap<>();
+
+    private HierarchicalTimingWheel<String> timingWheel;
+
+    @BeforeEach
+    void setUp() {
+        handOverTimes.clear();
+        // A small wheel, the elements delayed more than 40ms will be cascaded from the overflow wheels
+        timingWheel = new HierarchicalTimingWheel<>("TestTimingWheel", TICK_MILLS, 4,
+                element -> handOverTimes.put(element, System.currentTimeMillis()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheel.close();
+    }
+
+    @Test
+    void add_expiredElement() {
+        timingWheel.add("expired", System.currentTimeMillis() - 1_000L);
+
+        await().atMost(Duration.ofSeconds(1)).until(() -> handOverTimes.containsKey("expired"));
+        assertThat(timingWheel.size()).isEqualTo(0);
+    }
+
+    @Test
+    void add_elementsInDifferentWheels() {
+        final long now = System.currentTimeMillis();
+        final long[] delays = {20L, 35L, 150L, 700L, 1_500L};
+        for (long delay : delays) {
+            timingWheel.add(String.valueOf(delay), now + delay);
+        }
+        assertThat(timingWheel.size()).isEqualTo(delays.length);
+
+        await().atMost(Duration.ofSeconds(3)).until(() -> handOverTimes.size() == delays.length);
+        for (long delay : delays) {
+            // The element should never be handed over before its trigger time
+            assertThat(handOverTimes.get(String.valueOf(delay))).isAtLeast(now + delay);
+        }
+        assertThat(timingWheel.size()).isEqualTo(0);
+    }
+}
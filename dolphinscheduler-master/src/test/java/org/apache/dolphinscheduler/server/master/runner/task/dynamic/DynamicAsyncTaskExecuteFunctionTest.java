@@ -19,13 +19,16 @@ package org.apache.dolphinscheduler.server.master.runner.task.dynamic;
 
 import static org.apache.dolphinscheduler.server.master.runner.execute.AsyncTaskExecuteFunction.AsyncTaskExecutionStatus;
 
+import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
-import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DynamicParameters;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -49,7 +52,10 @@ class DynamicAsyncTaskExecuteFunctionTest {
     private SubWorkflowService subWorkflowService;
 
     @Mock
-    private CommandMapper commandMapper;
+    private CommandDao commandDao;
+
+    @Mock
+    private MasterCommandNotifier masterCommandNotifier;
 
     @Mock
     private DynamicLogicTask dynamicLogicTask;
@@ -69,9 +75,10 @@ class DynamicAsyncTaskExecuteFunctionTest {
                 processInstance,
                 taskInstance,
                 dynamicLogicTask,
-                commandMapper,
+                commandDao,
+                masterCommandNotifier,
                 subWorkflowService,
-                0);
+                1);
     }
 
     @Test
@@ -138,4 +145,27 @@ class DynamicAsyncTaskExecuteFunctionTest {
         Assertions.assertEquals(AsyncTaskExecutionStatus.FAILED, status);
     }
 
+    @Test
+    void shouldNotifyMastersWhenStartSubProcessInstances() {
+        // Given
+        processInstance.setCommandType(CommandType.START_PROCESS);
+        ProcessInstance subProcessInstance = new ProcessInstance();
+        subProcessInstance.setId(3);
+        subProcessInstance.setProcessDefinitionCode(4L);
+        subProcessInstance.setProcessDefinitionVersion(1);
+        subProcessInstance.setCommandParam("{}");
+        List<ProcessInstance> processInstances = Collections.singletonList(subProcessInstance);
+        Mockito.when(subWorkflowService.getAllDynamicSubWorkflow(1, 2L)).thenReturn(processInstances);
+        Mockito.when(subWorkflowService.filterWaitToRunProcessInstances(Mockito.anyList()))
+                .thenReturn(processInstances);
+
+        // When
+        AsyncTaskExecutionStatus status = function.getAsyncTaskExecutionStatus();
+
+        // Then
+        Assertions.assertEquals(AsyncTaskExecutionStatus.RUNNING, status);
+        Mockito.verify(commandDao).insert(Mockito.argThat(command -> command.getProcessInstanceId() == 3));
+        Mockito.verify(masterCommandNotifier)
+                .notifyCommandCreated(Mockito.argThat(command -> command.getProcessInstanceId() == 3));
+    }
 }
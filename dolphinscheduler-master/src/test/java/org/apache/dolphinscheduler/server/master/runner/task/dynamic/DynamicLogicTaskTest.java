@@ -23,11 +23,13 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.repository.CommandDao;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.DynamicInputParameter;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DynamicParameters;
+import org.apache.dolphinscheduler.service.command.MasterCommandNotifier;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.subworkflow.SubWorkflowService;
 
@@ -65,6 +67,12 @@ class DynamicLogicTaskTest {
     @Mock
     private CommandMapper commandMapper;
 
+    @Mock
+    private CommandDao commandDao;
+
+    @Mock
+    private MasterCommandNotifier masterCommandNotifier;
+
     private DynamicParameters dynamicParameters;
 
     private ProcessInstance processInstance;
@@ -87,7 +95,9 @@ class DynamicLogicTaskTest {
                 subWorkflowService,
                 processService,
                 processDefineMapper,
-                commandMapper);
+                commandMapper,
+                commandDao,
+                masterCommandNotifier);
     }
 
     @Test
@@ -118,7 +128,9 @@ class DynamicLogicTaskTest {
                 subWorkflowService,
                 processService,
                 processDefineMapper,
-                commandMapper);
+                commandMapper,
+                commandDao,
+                masterCommandNotifier);
 
         List<Map<String, String>> parameterGroup = dynamicLogicTask.generateParameterGroup();
 
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.microbench.base;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,6 +30,7 @@ import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.Profiler;
 import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
@@ -70,6 +73,8 @@ public abstract class AbstractBaseBenchmark {
             optBuilder.forks(getForks());
         }
 
+        getProfilers().forEach(optBuilder::addProfiler);
+
         String output = getReportDir();
         if (output != null) {
             boolean writeFileStatus;
@@ -100,6 +105,13 @@ public abstract class AbstractBaseBenchmark {
         new Runner(newOptionsBuilder().build()).run();
     }
 
+    /**
+     * The profilers used by the benchmark, e.g. {@link org.openjdk.jmh.profile.GCProfiler} to measure the allocation rate.
+     */
+    protected List<Class<? extends Profiler>> getProfilers() {
+        return Collections.emptyList();
+    }
+
     private int getWarmupIterations() {
 
         String value = System.getProperty("warmupIterations");
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.engine.WorkflowEventBus;
+import org.apache.dolphinscheduler.server.master.engine.graph.IWorkflowExecutionGraph;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+
+/**
+ * A light weight {@link ITaskExecutionRunnable} which only carries the fields used by the dispatch queue.
+ */
+public class BenchmarkTaskExecutionRunnable implements ITaskExecutionRunnable {
+
+    private final ProcessInstance workflowInstance;
+
+    private final TaskInstance taskInstance;
+
+    public BenchmarkTaskExecutionRunnable(int taskInstanceId, String workerGroup, Priority priority) {
+        this.workflowInstance = new ProcessInstance();
+        this.workflowInstance.setProcessInstancePriority(Priority.MEDIUM);
+        this.taskInstance = new TaskInstance();
+        this.taskInstance.setId(taskInstanceId);
+        this.taskInstance.setWorkerGroup(workerGroup);
+        this.taskInstance.setTaskInstancePriority(priority);
+    }
+
+    @Override
+    public String getName() {
+        return "BenchmarkTask-" + taskInstance.getId();
+    }
+
+    @Override
+    public boolean isTaskInstanceInitialized() {
+        return true;
+    }
+
+    @Override
+    public void initializeTaskInstance() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isTaskInstanceNeedRetry() {
+        return false;
+    }
+
+    @Override
+    public void initializeRetryTaskInstance() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void initializeFailoverTaskInstance() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public WorkflowEventBus getWorkflowEventBus() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IWorkflowExecutionGraph getWorkflowExecutionGraph() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProcessInstance getWorkflowInstance() {
+        return workflowInstance;
+    }
+
+    @Override
+    public TaskInstance getTaskInstance() {
+        return taskInstance;
+    }
+
+    @Override
+    public TaskDefinition getTaskDefinition() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TaskExecutionContext getTaskExecutionContext() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int compareTo(ITaskExecutionRunnable other) {
+        int priorityCompareResult = taskInstance.getTaskInstancePriority().getCode()
+                - other.getTaskInstance().getTaskInstancePriority().getCode();
+        if (priorityCompareResult != 0) {
+            return priorityCompareResult;
+        }
+        return Integer.compare(taskInstance.getId(), other.getTaskInstance().getId());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.dao.utils.WorkerGroupUtils;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
+import org.apache.dolphinscheduler.server.master.runner.queue.DelayEntry;
+import org.apache.dolphinscheduler.server.master.runner.queue.PriorityDelayQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The former GlobalTaskDispatchWaitingQueue, all the tasks are held in one {@link PriorityDelayQueue} and the producers
+ * are serialized by the monitor, used as the baseline of {@link TaskDispatchWaitingQueueBenchmark}.
+ */
+public class SynchronizedTaskDispatchWaitingQueue {
+
+    private final Set<Integer> waitingTaskInstanceIds = ConcurrentHashMap.newKeySet();
+
+    private final PriorityDelayQueue<DelayEntry<ITaskExecutionRunnable>> priorityDelayQueue =
+            new PriorityDelayQueue<>();
+
+    public synchronized void dispatchTaskExecuteRunnableWithDelay(ITaskExecutionRunnable taskExecutionRunnable,
+                                                                  long delayTimeMills) {
+        waitingTaskInstanceIds.add(taskExecutionRunnable.getTaskInstance().getId());
+        priorityDelayQueue.add(new DelayEntry<>(delayTimeMills, taskExecutionRunnable));
+    }
+
+    public ITaskExecutionRunnable takeTaskExecuteRunnable() {
+        DelayEntry<ITaskExecutionRunnable> delayEntry = priorityDelayQueue.take();
+        while (!markTaskExecutionRunnableRemoved(delayEntry.getData())) {
+            delayEntry = priorityDelayQueue.take();
+        }
+        recordQueueWaitTime(delayEntry);
+        return delayEntry.getData();
+    }
+
+    public List<ITaskExecutionRunnable> takeTaskExecuteRunnables(int maxSize) {
+        final List<ITaskExecutionRunnable> taskExecutionRunnables = new ArrayList<>();
+        taskExecutionRunnables.add(takeTaskExecuteRunnable());
+        while (taskExecutionRunnables.size() < maxSize) {
+            final DelayEntry<ITaskExecutionRunnable> delayEntry = priorityDelayQueue.poll();
+            if (delayEntry == null) {
+                break;
+            }
+            if (markTaskExecutionRunnableRemoved(delayEntry.getData())) {
+                recordQueueWaitTime(delayEntry);
+                taskExecutionRunnables.add(delayEntry.getData());
+            }
+        }
+        return taskExecutionRunnables;
+    }
+
+    private void recordQueueWaitTime(DelayEntry<ITaskExecutionRunnable> delayEntry) {
+        final String workerGroup =
+                WorkerGroupUtils.getWorkerGroupOrDefault(delayEntry.getData().getTaskInstance().getWorkerGroup());
+        MasterServerMetrics.recordTaskDispatchQueueWaitTime(workerGroup,
+                Math.max(0, System.currentTimeMillis() - delayEntry.getTriggerTimeMills()));
+    }
+
+    public synchronized boolean markTaskExecutionRunnableRemoved(ITaskExecutionRunnable taskExecutionRunnable) {
+        return waitingTaskInstanceIds.remove(taskExecutionRunnable.getTaskInstance().getId());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.engine.task.runnable.ITaskExecutionRunnable;
+import org.apache.dolphinscheduler.server.master.runner.GlobalTaskDispatchWaitingQueue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the contention of the sharded {@link GlobalTaskDispatchWaitingQueue} with the former monitor based
+ * {@link SynchronizedTaskDispatchWaitingQueue}.
+ * <p>
+ * Each benchmark thread acts as both producer and consumer, it dispatches a batch of tasks and then takes a batch, so
+ * the queue never blocks the thread forever. The tasks dispatched by the thread belong to the worker group of the
+ * thread, the workerGroupNum controls how many shards the tasks are spread over.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskDispatchWaitingQueueBenchmark extends AbstractBaseBenchmark {
+
+    private static final int BATCH_SIZE = 10;
+
+    @Param({"1", "8"})
+    private int workerGroupNum;
+
+    private final AtomicInteger taskInstanceIdGenerator = new AtomicInteger();
+
+    private final AtomicInteger threadIndexGenerator = new AtomicInteger();
+
+    private GlobalTaskDispatchWaitingQueue shardedQueue;
+
+    private SynchronizedTaskDispatchWaitingQueue synchronizedQueue;
+
+    @State(Scope.Thread)
+    public static class ProducerState {
+
+        private String workerGroup;
+
+        private ITaskExecutionRunnable[] taskExecutionRunnables;
+
+        @Setup
+        public void setup(TaskDispatchWaitingQueueBenchmark benchmark) {
+            workerGroup = "workerGroup-" + benchmark.threadIndexGenerator.getAndIncrement() % benchmark.workerGroupNum;
+            taskExecutionRunnables = new ITaskExecutionRunnable[BATCH_SIZE];
+        }
+
+        private ITaskExecutionRunnable[] nextBatch(AtomicInteger taskInstanceIdGenerator) {
+            final Priority[] priorities = Priority.values();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                taskExecutionRunnables[i] = new BenchmarkTaskExecutionRunnable(
+                        taskInstanceIdGenerator.incrementAndGet(),
+                        workerGroup,
+                        priorities[i % priorities.length]);
+            }
+            return taskExecutionRunnables;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        shardedQueue = new GlobalTaskDispatchWaitingQueue();
+        synchronizedQueue = new SynchronizedTaskDispatchWaitingQueue();
+    }
+
+    @TearDown
+    public void tearDown() {
+        shardedQueue.close();
+    }
+
+    @Benchmark
+    public List<ITaskExecutionRunnable> shardedQueue(ProducerState producerState) {
+        for (ITaskExecutionRunnable taskExecutionRunnable : producerState.nextBatch(taskInstanceIdGenerator)) {
+            shardedQueue.dispatchTaskExecuteRunnable(taskExecutionRunnable);
+        }
+        return shardedQueue.takeTaskExecuteRunnables(BATCH_SIZE);
+    }
+
+    @Benchmark
+    public List<ITaskExecutionRunnable> synchronizedQueue(ProducerState producerState) {
+        for (ITaskExecutionRunnable taskExecutionRunnable : producerState.nextBatch(taskInstanceIdGenerator)) {
+            synchronizedQueue.dispatchTaskExecuteRunnableWithDelay(taskExecutionRunnable, 0);
+        }
+        return synchronizedQueue.takeTaskExecuteRunnables(BATCH_SIZE);
+    }
+}
@@ -26,4 +26,7 @@ public interface IService {
     @RpcMethod
     String ping(String pingRequest);
 
+    @RpcMethod
+    String echo(String payload);
+
 }
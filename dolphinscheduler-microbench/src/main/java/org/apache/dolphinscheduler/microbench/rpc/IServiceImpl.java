@@ -24,4 +24,9 @@ public class IServiceImpl implements IService {
         return "I get " + pingRequest + ", I am Pong!";
     }
 
+    @Override
+    public String echo(String payload) {
+        return payload;
+    }
+
 }
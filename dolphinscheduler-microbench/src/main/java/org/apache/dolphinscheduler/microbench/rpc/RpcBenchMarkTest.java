@@ -22,6 +22,10 @@ import org.apache.dolphinscheduler.extract.base.config.NettyServerConfig;
 import org.apache.dolphinscheduler.extract.base.server.SpringServerMethodInvokerDiscovery;
 import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
 
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
@@ -31,12 +35,15 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.Profiler;
 
 @Slf4j
 @Warmup(iterations = 5, time = 1)
@@ -49,6 +56,14 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
 
     private IService iService;
 
+    /**
+     * The large payload is used to measure the allocation rate of the codec, e.g. dispatch a task with large script.
+     */
+    @Param({"1024", "1048576"})
+    private int payloadSize;
+
+    private String payload;
+
     @Setup
     public void before() {
         NettyServerConfig nettyServerConfig =
@@ -58,6 +73,7 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         springServerMethodInvokerDiscovery.start();
         iService =
                 SingletonJdkDynamicRpcClientProxyFactory.getProxyClient("localhost:12345", IService.class);
+        payload = StringUtils.repeat('x', payloadSize);
     }
 
     @Benchmark
@@ -68,6 +84,21 @@ public class RpcBenchMarkTest extends AbstractBaseBenchmark {
         bh.consume(pong);
     }
 
+    @Benchmark
+    @BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void sendPayloadTest(Blackhole bh) {
+        bh.consume(iService.echo(payload));
+    }
+
+    /**
+     * Use {@link GCProfiler} to report the allocation rate per operation.
+     */
+    @Override
+    protected List<Class<? extends Profiler>> getProfilers() {
+        return Collections.singletonList(GCProfiler.class);
+    }
+
     @TearDown
     public void after() {
         springServerMethodInvokerDiscovery.close();
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.rpc;
+
+import org.apache.dolphinscheduler.extract.base.StandardRpcRequest;
+import org.apache.dolphinscheduler.extract.base.serialize.ISerializer;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerFactory;
+import org.apache.dolphinscheduler.extract.base.serialize.SerializerType;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare the rpc serializers by encoding/decoding a payload which is similar to the task dispatch request.
+ */
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class SerializerBenchMarkTest extends AbstractBaseBenchmark {
+
+    @Param({"JSON", "CBOR"})
+    private SerializerType serializerType;
+
+    private ISerializer serializer;
+
+    private Object[] args;
+
+    private byte[] requestBytes;
+
+    @Setup
+    public void before() {
+        serializer = SerializerFactory.getSerializer(serializerType);
+        args = new Object[]{createDispatchPayload()};
+        requestBytes = serializer.serialize(StandardRpcRequest.of(args, serializer));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void serializeTest(Blackhole bh) {
+        bh.consume(serializer.serialize(StandardRpcRequest.of(args, serializer)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void deserializeTest(Blackhole bh) {
+        StandardRpcRequest request = serializer.deserialize(requestBytes, StandardRpcRequest.class);
+        bh.consume(serializer.deserialize(request.getArgs()[0], DispatchPayload.class));
+    }
+
+    private DispatchPayload createDispatchPayload() {
+        DispatchPayload payload = new DispatchPayload();
+        payload.setTaskInstanceId(1);
+        payload.setTaskName("shell-task");
+        payload.setTaskType("SHELL");
+        payload.setFirstSubmitTime(new Date());
+        payload.setExecutePath("/tmp/dolphinscheduler/exec/process/default/1/1_1/1/1");
+        payload.setLogPath("/opt/dolphinscheduler/logs/20240101/1/1/1/1.log");
+        StringBuilder rawScript = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            rawScript.append("echo \"line ").append(i).append(" of the shell script\"\n");
+        }
+        payload.setTaskParams("{\"rawScript\":\"" + rawScript + "\",\"localParams\":[],\"resourceList\":[]}");
+        Map<String, String> prepareParamsMap = new HashMap<>();
+        List<String> resources = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            prepareParamsMap.put("param_" + i, "value_" + i);
+            resources.add("/dolphinscheduler/default/resources/resource_" + i + ".jar");
+        }
+        payload.setPrepareParamsMap(prepareParamsMap);
+        payload.setResources(resources);
+        return payload;
+    }
+
+    @Data
+    public static class DispatchPayload {
+
+        private int taskInstanceId;
+        private String taskName;
+        private String taskType;
+        private Date firstSubmitTime;
+        private String executePath;
+        private String logPath;
+        private String taskParams;
+        private Map<String, String> prepareParamsMap;
+        private List<String> resources;
+    }
+
+}
@@ -35,6 +35,7 @@ import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ErrorCommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.dao.utils.CommandSlotUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
 import org.apache.dolphinscheduler.service.utils.ParamUtils;
@@ -74,6 +75,9 @@ public class CommandServiceImpl implements CommandService {
     @Autowired
     private ProcessDefinitionMapper processDefineMapper;
 
+    @Autowired
+    private MasterCommandNotifier masterCommandNotifier;
+
     @Override
     public void moveToErrorCommand(Command command, String message) {
         ErrorCommand errorCommand = new ErrorCommand(command, message);
@@ -98,7 +102,13 @@ public class CommandServiceImpl implements CommandService {
             command.setCommandParam(JSONUtils.toJsonString(commandParams));
         }
         command.setId(null);
+        if (command.getSlot() == null) {
+            command.setSlot(CommandSlotUtils.randomCommandSlot());
+        }
         result = commandMapper.insert(command);
+        if (result > 0) {
+            masterCommandNotifier.notifyCommandCreated(command);
+        }
         return result;
     }
 
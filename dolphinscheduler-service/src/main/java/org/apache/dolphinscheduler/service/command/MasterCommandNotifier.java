@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.command;
+
+import org.apache.dolphinscheduler.common.model.Server;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.extract.base.client.SingletonJdkDynamicRpcClientProxyFactory;
+import org.apache.dolphinscheduler.extract.master.ICommandEventListener;
+import org.apache.dolphinscheduler.extract.master.transportor.CommandCreatedEvent;
+import org.apache.dolphinscheduler.registry.api.RegistryClient;
+import org.apache.dolphinscheduler.registry.api.enums.RegistryNodeType;
+
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Notify the masters once a command is inserted, so that the master can bootstrap the command in milliseconds rather
+ * than waiting for the next idle fetch.
+ * <p> The notification is best-effort, if it is lost the command will still be fetched by the master's periodic fetch.
+ * If the command is inserted in a transaction, the notification will be sent after the transaction committed, otherwise
+ * the master might not see the command.
+ */
+@Slf4j
+@Component
+public class MasterCommandNotifier {
+
+    @Autowired
+    private RegistryClient registryClient;
+
+    public void notifyCommandCreated(final Command command) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    doNotifyCommandCreated(command.getId());
+                }
+            });
+            return;
+        }
+        doNotifyCommandCreated(command.getId());
+    }
+
+    private void doNotifyCommandCreated(final Integer commandId) {
+        final List<Server> masterServers;
+        try {
+            masterServers = registryClient.getServerList(RegistryNodeType.MASTER);
+        } catch (Exception ex) {
+            log.warn("Query master servers failed, skip notifying the command: {} created", commandId, ex);
+            return;
+        }
+        final CommandCreatedEvent commandCreatedEvent = CommandCreatedEvent.builder()
+                .commandId(commandId)
+                .eventCreateTime(System.currentTimeMillis())
+                .build();
+        // The command is fetched by the master which holds its slot, every master only fetches its own slot after being
+        // woken up, so it's safe to notify all masters.
+        for (Server masterServer : masterServers) {
+            final String masterAddress = String.format("%s:%s", masterServer.getHost(), masterServer.getPort());
+            try {
+                SingletonJdkDynamicRpcClientProxyFactory
+                        .getProxyClient(masterAddress, ICommandEventListener.class)
+                        .onCommandCreated(commandCreatedEvent)
+                        .whenComplete((unused, throwable) -> {
+                            if (throwable != null) {
+                                log.warn("Notify master: {} command: {} created failed", masterAddress, commandId,
+                                        throwable);
+                            }
+                        });
+            } catch (Exception ex) {
+                log.warn("Notify master: {} command: {} created failed", masterAddress, commandId, ex);
+            }
+        }
+    }
+
+}
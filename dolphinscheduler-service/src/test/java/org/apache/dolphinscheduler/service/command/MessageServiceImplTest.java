@@ -68,6 +68,9 @@ class MessageServiceImplTest {
     @Mock
     private ScheduleMapper scheduleMapper;
 
+    @Mock
+    private MasterCommandNotifier masterCommandNotifier;
+
     @Test
     public void testCreateSubCommand() {
         ProcessInstance parentInstance = new ProcessInstance();
@@ -168,6 +171,7 @@ class MessageServiceImplTest {
         int exeMethodResult = commandService.createCommand(command);
         Assertions.assertEquals(mockResult, exeMethodResult);
         Mockito.verify(commandMapper, Mockito.times(1)).insert(command);
+        Mockito.verify(masterCommandNotifier, Mockito.times(1)).notifyCommandCreated(command);
     }
 
 }
@@ -54,7 +54,6 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSException;
-import com.aliyun.oss.model.GetObjectRequest;
 import com.aliyun.oss.model.ListObjectsV2Request;
 import com.aliyun.oss.model.ListObjectsV2Result;
 import com.aliyun.oss.model.OSSObject;
@@ -302,8 +301,9 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
     @Override
     public StorageEntity getStorageEntity(String resourceAbsolutePath) {
         resourceAbsolutePath = transformAbsolutePathToOssKey(resourceAbsolutePath);
-        OSSObject object = ossClient.getObject(new GetObjectRequest(bucketName, resourceAbsolutePath));
-        return transformOSSObjectToStorageEntity(object);
+        // Only the metadata is used, so a HEAD request is enough
+        ObjectMetadata objectMetadata = ossClient.getObjectMetadata(bucketName, resourceAbsolutePath);
+        return transformOSSObjectToStorageEntity(resourceAbsolutePath, objectMetadata);
     }
 
     public void ensureBucketSuccessfullyCreated(String bucketName) {
@@ -324,18 +324,18 @@ public class OssStorageOperator extends AbstractStorageOperator implements Close
         return OssClientFactory.buildOssClient(ossConnection);
     }
 
-    protected StorageEntity transformOSSObjectToStorageEntity(OSSObject ossObject) {
-        ResourceMetadata resourceMetaData = getResourceMetaData(ossObject.getKey());
+    protected StorageEntity transformOSSObjectToStorageEntity(String ossKey, ObjectMetadata objectMetadata) {
+        ResourceMetadata resourceMetaData = getResourceMetaData(ossKey);
 
         StorageEntity storageEntity = new StorageEntity();
-        storageEntity.setFileName(new File(ossObject.getKey()).getName());
-        storageEntity.setFullName(ossObject.getKey());
+        storageEntity.setFileName(new File(ossKey).getName());
+        storageEntity.setFullName(ossKey);
         storageEntity.setPfullName(resourceMetaData.getResourceParentAbsolutePath());
         storageEntity.setType(resourceMetaData.getResourceType());
         storageEntity.setDirectory(resourceMetaData.isDirectory());
-        storageEntity.setSize(ossObject.getObjectMetadata().getContentLength());
-        storageEntity.setCreateTime(ossObject.getObjectMetadata().getLastModified());
-        storageEntity.setUpdateTime(ossObject.getObjectMetadata().getLastModified());
+        storageEntity.setSize(objectMetadata.getContentLength());
+        storageEntity.setCreateTime(objectMetadata.getLastModified());
+        storageEntity.setUpdateTime(objectMetadata.getLastModified());
         return storageEntity;
     }
 
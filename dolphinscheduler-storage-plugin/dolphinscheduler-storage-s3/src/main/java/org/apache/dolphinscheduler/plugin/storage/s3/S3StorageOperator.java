@@ -251,8 +251,9 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
     public StorageEntity getStorageEntity(String resourceAbsolutePath) {
         resourceAbsolutePath = transformAbsolutePathToS3Key(resourceAbsolutePath);
 
-        S3Object object = s3Client.getObject(bucketName, resourceAbsolutePath);
-        return transformS3ObjectToStorageEntity(object);
+        // Only the metadata is used, so a HEAD request is enough
+        ObjectMetadata objectMetadata = s3Client.getObjectMetadata(bucketName, resourceAbsolutePath);
+        return transformS3ObjectToStorageEntity(resourceAbsolutePath, objectMetadata);
     }
 
     private List<StorageEntity> listStorageEntityRecursively(String resourceAbsolutePath) {
@@ -281,9 +282,8 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
         return storageEntityList;
     }
 
-    private StorageEntity transformS3ObjectToStorageEntity(S3Object object) {
+    private StorageEntity transformS3ObjectToStorageEntity(String s3Key, ObjectMetadata objectMetadata) {
 
-        String s3Key = object.getKey();
         String absolutePath = transformS3KeyToAbsolutePath(s3Key);
 
         ResourceMetadata resourceMetaData = getResourceMetaData(absolutePath);
@@ -293,9 +293,9 @@ public class S3StorageOperator extends AbstractStorageOperator implements Closea
         entity.setFullName(absolutePath);
         entity.setDirectory(resourceMetaData.isDirectory());
         entity.setType(resourceMetaData.getResourceType());
-        entity.setSize(object.getObjectMetadata().getContentLength());
-        entity.setCreateTime(object.getObjectMetadata().getLastModified());
-        entity.setUpdateTime(object.getObjectMetadata().getLastModified());
+        entity.setSize(objectMetadata.getContentLength());
+        entity.setCreateTime(objectMetadata.getLastModified());
+        entity.setUpdateTime(objectMetadata.getLastModified());
         return entity;
     }
 
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.plugin.task.api;
 
-import static org.apache.dolphinscheduler.common.constants.Constants.EMPTY_STRING;
 import static org.apache.dolphinscheduler.common.constants.Constants.SLEEP_TIME_MILLIS;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_CODE_FAILURE;
 import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_CODE_KILL;
@@ -25,16 +24,18 @@ import static org.apache.dolphinscheduler.plugin.task.api.TaskConstants.EXIT_COD
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskOutput;
+import org.apache.dolphinscheduler.plugin.task.api.log.TaskOutputPump;
 import org.apache.dolphinscheduler.plugin.task.api.model.TaskResponse;
 import org.apache.dolphinscheduler.plugin.task.api.parser.TaskOutputParameterParser;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptor;
 import org.apache.dolphinscheduler.plugin.task.api.shell.IShellInterceptorBuilder;
-import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ShellUtils;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -42,13 +43,16 @@ import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
+
+import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.Kernel32;
+import com.sun.jna.platform.win32.WinNT;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
 
 /**
@@ -68,15 +72,6 @@ public abstract class AbstractCommandExecutor {
      */
     protected Consumer<LinkedBlockingQueue<String>> logHandler;
 
-    /**
-     * log list
-     */
-    protected LinkedBlockingQueue<String> logBuffer;
-
-    protected boolean processLogOutputIsSuccess = false;
-
-    protected boolean podLogOutputIsFinished = false;
-
     /**
      * taskRequest
      */
@@ -90,8 +85,6 @@ public abstract class AbstractCommandExecutor {
                                    TaskExecutionContext taskRequest) {
         this.logHandler = logHandler;
         this.taskRequest = taskRequest;
-        this.logBuffer = new LinkedBlockingQueue<>();
-        this.logBuffer.add(EMPTY_STRING);
 
         if (this.taskRequest != null) {
             // set logBufferEnable=true if the task uses logHandler and logBuffer to buffer log messages
@@ -137,11 +130,18 @@ public abstract class AbstractCommandExecutor {
         IShellInterceptor iShellInterceptor = iShellInterceptorBuilder.build();
         process = iShellInterceptor.execute();
 
+        // the process output and the pod log are read by the shared readers and written into the task log by the
+        // shared flusher of TaskOutputPump
+        TaskOutput taskOutput = TaskOutputPump.getInstance().register(taskRequest.getLogPath(), logHandler);
+
         // parse process output
-        parseProcessOutput(this.process);
+        parseProcessOutput(this.process, taskOutput);
 
         // collect pod log
-        collectPodLogIfNeeded();
+        collectPodLogIfNeeded(taskOutput);
+
+        taskOutput.readersStarted();
+        taskOutputFuture = taskOutput.getOutputFuture();
 
         int processId = getProcessId(this.process);
 
@@ -225,16 +225,12 @@ public abstract class AbstractCommandExecutor {
         log.info("Success kill task: {}, pid: {}", taskRequest.getTaskAppId(), taskRequest.getProcessId());
     }
 
-    private void collectPodLogIfNeeded() {
+    private void collectPodLogIfNeeded(TaskOutput taskOutput) {
         if (null == taskRequest.getK8sTaskExecutionContext()) {
-            podLogOutputIsFinished = true;
             return;
         }
 
-        ExecutorService collectPodLogExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("CollectPodLogOutput-thread-" + taskRequest.getTaskName());
-
-        podLogOutputFuture = collectPodLogExecutorService.submit(() -> {
+        podLogOutputFuture = taskOutput.startReader(() -> {
             // wait for launching (driver) pod
             ThreadUtils.sleep(SLEEP_TIME_MILLIS * 5L);
             try (
@@ -246,67 +242,32 @@ public abstract class AbstractCommandExecutor {
                     String line;
                     try (BufferedReader reader = new BufferedReader(new InputStreamReader(watcher.getOutput()))) {
                         while ((line = reader.readLine()) != null) {
-                            logBuffer.add(String.format("[K8S-pod-log-%s]: %s", taskRequest.getTaskName(), line));
+                            taskOutput.append(String.format("[K8S-pod-log-%s]: %s", taskRequest.getTaskName(), line));
                         }
                     }
                 }
             } catch (Exception e) {
                 throw new RuntimeException(e);
-            } finally {
-                podLogOutputIsFinished = true;
             }
-
+            return null;
         });
-
-        collectPodLogExecutorService.shutdown();
     }
 
-    private void parseProcessOutput(Process process) {
-        // todo: remove this this thread pool.
-        ExecutorService getOutputLogService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("ResolveOutputLog-thread-" + taskRequest.getTaskName());
-        getOutputLogService.execute(() -> {
+    private void parseProcessOutput(Process process, TaskOutput taskOutput) {
+        taskOutput.startReader(() -> {
             TaskOutputParameterParser taskOutputParameterParser = new TaskOutputParameterParser();
             try (BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
                 String line;
                 while ((line = inReader.readLine()) != null) {
-                    logBuffer.add(line);
+                    taskOutput.append(line);
                     taskOutputParameterParser.appendParseLog(line);
                 }
-                processLogOutputIsSuccess = true;
             } catch (Exception e) {
                 log.error("Parse var pool error", e);
-                processLogOutputIsSuccess = true;
-            } finally {
-                LogUtils.removeTaskInstanceLogFullPathMDC();
             }
             taskOutputParams = taskOutputParameterParser.getTaskOutputParams();
+            return null;
         });
-
-        getOutputLogService.shutdown();
-
-        ExecutorService parseProcessOutputExecutorService = ThreadUtils
-                .newSingleDaemonScheduledExecutorService("TaskInstanceLogOutput-thread-" + taskRequest.getTaskName());
-        taskOutputFuture = parseProcessOutputExecutorService.submit(() -> {
-            try {
-                LogUtils.setTaskInstanceLogFullPathMDC(taskRequest.getLogPath());
-                while (logBuffer.size() > 1 || !processLogOutputIsSuccess || !podLogOutputIsFinished) {
-                    if (logBuffer.size() > 1) {
-                        logHandler.accept(logBuffer);
-                        logBuffer.clear();
-                        logBuffer.add(EMPTY_STRING);
-                    } else {
-                        Thread.sleep(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Output task log error", e);
-            } finally {
-                LogUtils.removeTaskInstanceLogFullPathMDC();
-            }
-        });
-        parseProcessOutputExecutorService.shutdown();
     }
 
     /**
@@ -18,13 +18,28 @@
 package org.apache.dolphinscheduler.plugin.task.api;
 
 import org.apache.dolphinscheduler.plugin.task.api.model.ApplicationInfo;
+import org.apache.dolphinscheduler.plugin.task.api.remote.RemoteApplicationStatusProbe;
+import org.apache.dolphinscheduler.plugin.task.api.remote.RemoteApplicationStatusTracker;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 public abstract class AbstractRemoteTask extends AbstractTask {
 
+    private static final Duration DEFAULT_APPLICATION_STATUS_PROBE_INTERVAL = Duration.ofSeconds(10);
+
+    private static final Duration DEFAULT_MAX_APPLICATION_STATUS_PROBE_INTERVAL = Duration.ofMinutes(1);
+
+    private volatile CompletableFuture<Void> applicationStatusFuture;
+
     /**
      * constructor
      *
@@ -36,7 +51,14 @@ public abstract class AbstractRemoteTask extends AbstractTask {
 
     @Override
     public void cancel() throws TaskException {
-        this.cancelApplication();
+        try {
+            this.cancelApplication();
+        } finally {
+            CompletableFuture<Void> future = applicationStatusFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
     }
 
     public abstract List<String> getApplicationIds() throws TaskException;
@@ -51,10 +73,32 @@ public abstract class AbstractRemoteTask extends AbstractTask {
      */
     @Override
     public void handle(TaskCallBack taskCallBack) throws TaskException {
+        submitOrRecoverApplication(taskCallBack);
+        // keep tracking application status
+        trackApplicationStatus();
+    }
+
+    /**
+     * Same as {@link #handle(TaskCallBack)}, but the application status is tracked by the shared
+     * {@link RemoteApplicationStatusTracker} rather than blocking the calling thread, if the task provides a
+     * {@link RemoteApplicationStatusProbe}. Otherwise, the application status is tracked in the calling thread.
+     *
+     * @return the future completed when the remote application is finished
+     */
+    public CompletableFuture<Void> handleAsync(TaskCallBack taskCallBack) throws TaskException {
+        submitOrRecoverApplication(taskCallBack);
+        RemoteApplicationStatusProbe probe = getApplicationStatusProbe();
+        if (probe == null) {
+            trackApplicationStatus();
+            return CompletableFuture.completedFuture(null);
+        }
+        return trackApplicationStatusAsync(probe);
+    }
+
+    private void submitOrRecoverApplication(TaskCallBack taskCallBack) throws TaskException {
         // if appIds is not empty, just track application status, avoid resubmitting remote task
         if (StringUtils.isNotEmpty(taskRequest.getAppIds())) {
             setAppIds(taskRequest.getAppIds());
-            trackApplicationStatus();
             return;
         }
 
@@ -66,9 +110,53 @@ public abstract class AbstractRemoteTask extends AbstractTask {
             // callback to update remote application info
             taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
         }
+    }
 
-        // keep tracking application status
-        trackApplicationStatus();
+    /**
+     * Start tracking the application status by the {@link RemoteApplicationStatusProbe}.
+     */
+    protected CompletableFuture<Void> trackApplicationStatusAsync(RemoteApplicationStatusProbe probe) {
+        applicationStatusFuture = RemoteApplicationStatusTracker.getInstance().track(
+                probe,
+                getApplicationStatusProbeInterval(),
+                getMaxApplicationStatusProbeInterval());
+        return applicationStatusFuture;
+    }
+
+    /**
+     * Track the application status by the {@link RemoteApplicationStatusProbe} and wait until the application is
+     * finished, this can be used to implement {@link #trackApplicationStatus()} by the tasks which provide a probe.
+     */
+    protected void awaitApplicationStatus() throws TaskException {
+        try {
+            trackApplicationStatusAsync(getApplicationStatusProbe()).get();
+        } catch (CancellationException ex) {
+            log.info("The application status tracking is cancelled");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new TaskException("Interrupted while tracking the application status", ex);
+        } catch (ExecutionException ex) {
+            throw new TaskException("Track the application status failed", ex.getCause());
+        }
+    }
+
+    /**
+     * The probe used to query the remote application status once, return null if the task doesn't support tracking the
+     * application status asynchronously.
+     */
+    protected RemoteApplicationStatusProbe getApplicationStatusProbe() {
+        return null;
+    }
+
+    /**
+     * The interval between the first two probes, the interval doubles after each probe until the max interval.
+     */
+    protected Duration getApplicationStatusProbeInterval() {
+        return DEFAULT_APPLICATION_STATUS_PROBE_INTERVAL;
+    }
+
+    protected Duration getMaxApplicationStatusProbeInterval() {
+        return DEFAULT_MAX_APPLICATION_STATUS_PROBE_INTERVAL;
     }
 
     /**
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static org.apache.dolphinscheduler.common.constants.Constants.EMPTY_STRING;
+
+import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The output of a task registered in {@link TaskOutputPump}.
+ * <p>
+ * The readers of the task append the lines by {@link #append(String)}, after all the readers are started the task
+ * should call {@link #readersStarted()}, then {@link #getOutputFuture()} will complete once all the readers are
+ * finished and all the lines are written into the task log.
+ */
+@Slf4j
+public class TaskOutput {
+
+    private final String taskLogPath;
+
+    private final Consumer<LinkedBlockingQueue<String>> logHandler;
+
+    private final BlockingQueue<String> outputBuffer;
+
+    private final int flushThreshold;
+
+    private final ExecutorService taskOutputReaderExecutor;
+
+    private final Runnable flushSignal;
+
+    private final AtomicInteger activeReaders = new AtomicInteger();
+
+    private volatile boolean readersStarted;
+
+    private final CompletableFuture<Void> outputFuture = new CompletableFuture<>();
+
+    TaskOutput(String taskLogPath,
+               Consumer<LinkedBlockingQueue<String>> logHandler,
+               int outputBufferSize,
+               ExecutorService taskOutputReaderExecutor,
+               Runnable flushSignal) {
+        this.taskLogPath = taskLogPath;
+        this.logHandler = logHandler;
+        this.outputBuffer = new ArrayBlockingQueue<>(outputBufferSize);
+        this.flushThreshold = Math.max(1, outputBufferSize / 2);
+        this.taskOutputReaderExecutor = taskOutputReaderExecutor;
+        this.flushSignal = flushSignal;
+    }
+
+    /**
+     * Run the reader in the shared reader pool, the reader should append the lines it read to this output.
+     */
+    public <T> Future<T> startReader(final Callable<T> reader) {
+        if (readersStarted) {
+            throw new IllegalStateException("Cannot start reader after the readers started");
+        }
+        activeReaders.incrementAndGet();
+        try {
+            return taskOutputReaderExecutor.submit(() -> {
+                try {
+                    LogUtils.setTaskInstanceLogFullPathMDC(taskLogPath);
+                    return reader.call();
+                } finally {
+                    LogUtils.removeTaskInstanceLogFullPathMDC();
+                    activeReaders.decrementAndGet();
+                    flushSignal.run();
+                }
+            });
+        } catch (Throwable ex) {
+            activeReaders.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    /**
+     * Mark all the readers are started, the output will be finished once the started readers are finished.
+     */
+    public void readersStarted() {
+        readersStarted = true;
+        flushSignal.run();
+    }
+
+    /**
+     * Append a line into the output, will block if the output buffer is full.
+     */
+    public void append(final String line) throws InterruptedException {
+        outputBuffer.put(line);
+        if (outputBuffer.size() >= flushThreshold) {
+            flushSignal.run();
+        }
+    }
+
+    /**
+     * Completes once all the readers are finished and all the lines are written into the task log.
+     */
+    public Future<Void> getOutputFuture() {
+        return outputFuture;
+    }
+
+    /**
+     * Write the buffered lines into the task log.
+     *
+     * @return true if the output is finished
+     */
+    boolean flush() {
+        // Check before draining, so that no line will be appended after the drain if the readers are finished
+        final boolean readersFinished = readersStarted && activeReaders.get() == 0;
+        if (!outputBuffer.isEmpty()) {
+            final LinkedBlockingQueue<String> lines = new LinkedBlockingQueue<>();
+            // the leading empty line keeps the first line aligned with the following lines in the task log
+            lines.add(EMPTY_STRING);
+            outputBuffer.drainTo(lines);
+            try {
+                LogUtils.setTaskInstanceLogFullPathMDC(taskLogPath);
+                logHandler.accept(lines);
+            } catch (Exception ex) {
+                log.error("Output task log error", ex);
+            } finally {
+                LogUtils.removeTaskInstanceLogFullPathMDC();
+            }
+        }
+        return readersFinished && outputBuffer.isEmpty();
+    }
+
+    void complete() {
+        outputFuture.complete(null);
+    }
+}
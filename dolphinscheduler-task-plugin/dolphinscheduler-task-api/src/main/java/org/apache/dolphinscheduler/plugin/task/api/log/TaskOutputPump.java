@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pumps the output of all the running tasks into the task logs.
+ * <p>
+ * The output streams are read by a shared reader pool, whose threads are reused across the tasks, and the lines are
+ * buffered in a bounded buffer of each task, then a single flusher thread writes the buffered lines of all the tasks
+ * into their task logs. The lines of one task are written in the order they are read.
+ */
+@Slf4j
+public class TaskOutputPump {
+
+    /**
+     * The max number of lines buffered for one task, the reader will block if the buffer is full.
+     */
+    static final int DEFAULT_TASK_OUTPUT_BUFFER_SIZE = 4096;
+
+    private static final TaskOutputPump INSTANCE = new TaskOutputPump(DEFAULT_TASK_OUTPUT_BUFFER_SIZE);
+
+    private final int taskOutputBufferSize;
+
+    /**
+     * The output streams are blocking, so each active stream occupies a reader thread, the idle threads are reused by
+     * the following tasks rather than created for each task.
+     */
+    private final ExecutorService taskOutputReaderExecutor;
+
+    private final Set<TaskOutput> taskOutputs = ConcurrentHashMap.newKeySet();
+
+    private final Semaphore flushSignal = new Semaphore(0);
+
+    TaskOutputPump(int taskOutputBufferSize) {
+        this.taskOutputBufferSize = taskOutputBufferSize;
+        this.taskOutputReaderExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), ThreadUtils.newDaemonThreadFactory("TaskOutputReader-%d"));
+        ThreadUtils.newDaemonThreadFactory("TaskOutputFlusher").newThread(this::flushLoop).start();
+    }
+
+    public static TaskOutputPump getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register the output of a task, the lines appended to the output will be passed to the log handler under the
+     * MDC of the given task log path.
+     */
+    public TaskOutput register(final String taskLogPath, final Consumer<LinkedBlockingQueue<String>> logHandler) {
+        final TaskOutput taskOutput = new TaskOutput(taskLogPath, logHandler, taskOutputBufferSize,
+                taskOutputReaderExecutor, this::signalFlush);
+        taskOutputs.add(taskOutput);
+        return taskOutput;
+    }
+
+    int getTaskOutputSize() {
+        return taskOutputs.size();
+    }
+
+    void signalFlush() {
+        flushSignal.release();
+    }
+
+    private void flushLoop() {
+        while (true) {
+            try {
+                if (flushSignal.tryAcquire(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    flushSignal.drainPermits();
+                }
+                for (TaskOutput taskOutput : taskOutputs) {
+                    if (taskOutput.flush()) {
+                        taskOutputs.remove(taskOutput);
+                        taskOutput.complete();
+                    }
+                }
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                log.warn("TaskOutputFlusher is interrupted, will exit");
+                return;
+            } catch (Throwable ex) {
+                log.error("Flush the task output error", ex);
+            }
+        }
+    }
+}
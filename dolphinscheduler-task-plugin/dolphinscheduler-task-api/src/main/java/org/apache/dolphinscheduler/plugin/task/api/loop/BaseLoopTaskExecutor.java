@@ -23,9 +23,11 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.ApplicationInfo;
+import org.apache.dolphinscheduler.plugin.task.api.remote.RemoteApplicationStatusProbe;
 import org.apache.dolphinscheduler.plugin.task.api.utils.RetryUtils;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
@@ -57,34 +59,9 @@ public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
     @Override
     public void handle(TaskCallBack taskCallBack) throws TaskException {
         try {
-            final long loopInterval = getTaskInstanceStatusQueryInterval().toMillis();
-            loopTaskInstanceInfo = submitLoopTask();
-            this.setAppIds(loopTaskInstanceInfo.getTaskInstanceId());
-            taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
-
+            submitAndUpdateApplicationInfo(taskCallBack);
             // loop the task status until the task is finished or task has been canceled.
-            // we use retry utils here to avoid the task status query failure due to network failure.
-            // the default retry policy is 3 times, and the interval is 1 second.
-            LoopTaskInstanceStatus loopTaskInstanceStatus = null;
-            while (!cancel) {
-                loopTaskInstanceStatus = RetryUtils.retryFunction(() -> queryTaskInstanceStatus(loopTaskInstanceInfo));
-                if (loopTaskInstanceStatus.isFinished()) {
-                    break;
-                }
-                Thread.sleep(loopInterval);
-            }
-            if (loopTaskInstanceStatus != null && loopTaskInstanceStatus.isSuccess()) {
-                setExitStatusCode(TaskConstants.EXIT_CODE_SUCCESS);
-                log.info("The task instance: {} execute successfully.", appIds);
-            } else {
-                setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
-                log.info("The task instance: {} is execute failure.", appIds);
-            }
-        } catch (InterruptedException e) {
-            setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
-            log.error("The current loop thread has been interrupted", e);
-            Thread.currentThread().interrupt();
-            throw new TaskException("The current loop thread has been interrupted");
+            awaitApplicationStatus();
         } catch (TaskException ex) {
             // print the error message with task log.
             log.error("Loop task execute error", ex);
@@ -97,6 +74,64 @@ public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> handleAsync(TaskCallBack taskCallBack) throws TaskException {
+        try {
+            submitAndUpdateApplicationInfo(taskCallBack);
+        } catch (TaskException ex) {
+            setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
+            throw ex;
+        } catch (Exception ex) {
+            setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
+            throw new TaskException("Loop task execute error", ex);
+        }
+        return trackApplicationStatusAsync(getApplicationStatusProbe());
+    }
+
+    private void submitAndUpdateApplicationInfo(TaskCallBack taskCallBack) throws TaskException {
+        loopTaskInstanceInfo = submitLoopTask();
+        this.setAppIds(loopTaskInstanceInfo.getTaskInstanceId());
+        taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
+    }
+
+    /**
+     * Query the task status once, we use retry utils here to avoid the task status query failure due to network
+     * failure, the default retry policy is 3 times, and the interval is 1 second.
+     */
+    @Override
+    protected RemoteApplicationStatusProbe getApplicationStatusProbe() {
+        return () -> {
+            if (cancel) {
+                setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
+                log.info("The task instance: {} has been canceled.", appIds);
+                return true;
+            }
+            LoopTaskInstanceStatus loopTaskInstanceStatus =
+                    RetryUtils.retryFunction(() -> queryTaskInstanceStatus(loopTaskInstanceInfo));
+            if (!loopTaskInstanceStatus.isFinished()) {
+                return false;
+            }
+            if (loopTaskInstanceStatus.isSuccess()) {
+                setExitStatusCode(TaskConstants.EXIT_CODE_SUCCESS);
+                log.info("The task instance: {} execute successfully.", appIds);
+            } else {
+                setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
+                log.info("The task instance: {} is execute failure.", appIds);
+            }
+            return true;
+        };
+    }
+
+    @Override
+    protected Duration getApplicationStatusProbeInterval() {
+        return getTaskInstanceStatusQueryInterval();
+    }
+
+    @Override
+    protected Duration getMaxApplicationStatusProbeInterval() {
+        return getTaskInstanceStatusQueryInterval();
+    }
+
     /**
      * Submit the loop task, if submit failed, directly throw exception
      */
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.remote;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.slf4j.MDC;
+
+/**
+ * Track the status of the remote applications, e.g. EMR, Kubeflow, by calling their
+ * {@link RemoteApplicationStatusProbe} on a small shared scheduler rather than sleeping in a thread for each remote
+ * application.
+ * <p>
+ * The probe interval is doubled each time the remote application is still running, up to the max interval, since the
+ * long-running applications don't need to be probed as frequently as the short ones. The probe is retried on the next
+ * interval if it failed, and the tracking fails after {@link #MAX_CONSECUTIVE_PROBE_FAILURES} consecutive failures.
+ */
+@Slf4j
+public class RemoteApplicationStatusTracker {
+
+    private static final int TRACKER_THREADS = 4;
+
+    private static final int MAX_CONSECUTIVE_PROBE_FAILURES = 3;
+
+    private static final RemoteApplicationStatusTracker INSTANCE = new RemoteApplicationStatusTracker();
+
+    private final ScheduledExecutorService scheduler =
+            ThreadUtils.newDaemonScheduledExecutorService("RemoteApplicationStatusTracker-%d", TRACKER_THREADS);
+
+    private final AtomicInteger trackingSize = new AtomicInteger();
+
+    private RemoteApplicationStatusTracker() {
+    }
+
+    public static RemoteApplicationStatusTracker getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start tracking the remote application, the first probe is executed immediately.
+     *
+     * @return the future completed when the remote application is finished, cancel the future to stop tracking
+     */
+    public CompletableFuture<Void> track(RemoteApplicationStatusProbe probe, Duration interval, Duration maxInterval) {
+        TrackingApplication trackingApplication = new TrackingApplication(probe, interval.toMillis(),
+                Math.max(interval.toMillis(), maxInterval.toMillis()), MDC.getCopyOfContextMap());
+        trackingSize.incrementAndGet();
+        trackingApplication.future.whenComplete((result, throwable) -> trackingSize.decrementAndGet());
+        scheduler.execute(trackingApplication);
+        return trackingApplication.future;
+    }
+
+    /**
+     * The number of the remote applications in tracking.
+     */
+    public int getTrackingSize() {
+        return trackingSize.get();
+    }
+
+    private class TrackingApplication implements Runnable {
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private final RemoteApplicationStatusProbe probe;
+
+        private final long maxInterval;
+
+        private final Map<String, String> mdcContext;
+
+        private long interval;
+
+        private int consecutiveFailures;
+
+        TrackingApplication(RemoteApplicationStatusProbe probe,
+                            long interval,
+                            long maxInterval,
+                            Map<String, String> mdcContext) {
+            this.probe = probe;
+            this.interval = interval;
+            this.maxInterval = maxInterval;
+            this.mdcContext = mdcContext;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) {
+                // the tracking is cancelled
+                return;
+            }
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            try {
+                if (probe.probe()) {
+                    future.complete(null);
+                    return;
+                }
+                consecutiveFailures = 0;
+            } catch (Throwable ex) {
+                if (++consecutiveFailures >= MAX_CONSECUTIVE_PROBE_FAILURES) {
+                    log.error("Probe the remote application status failed {} times, stop tracking",
+                            consecutiveFailures, ex);
+                    future.completeExceptionally(ex);
+                    return;
+                }
+                log.warn("Probe the remote application status failed, will retry after {} ms", interval, ex);
+            } finally {
+                MDC.clear();
+            }
+            scheduler.schedule(this, interval, TimeUnit.MILLISECONDS);
+            interval = Math.min(interval * 2, maxInterval);
+        }
+    }
+}
@@ -26,8 +26,12 @@ import org.apache.dolphinscheduler.plugin.task.api.log.TaskLogDiscriminator;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -162,12 +166,15 @@ public class LogUtils {
     }
 
     public List<String> getAppIdsFromLogFile(@NonNull String logPath) {
-        File logFile = new File(logPath);
-        if (!logFile.exists() || !logFile.isFile()) {
+        if (!org.apache.dolphinscheduler.common.utils.LogUtils.isLogFileExists(logPath)) {
             return Collections.emptyList();
         }
         Set<String> appIds = new HashSet<>();
-        try (Stream<String> stream = Files.lines(Paths.get(logPath))) {
+        try (
+                BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(
+                        org.apache.dolphinscheduler.common.utils.LogUtils.openLogFileChannel(logPath)),
+                        StandardCharsets.UTF_8));
+                Stream<String> stream = reader.lines()) {
             stream.forEach(line -> {
                 Matcher matcher = APPLICATION_REGEX.matcher(line);
                 if (matcher.find()) {
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.log;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TaskOutputPumpTest {
+
+    private final TaskOutputPump taskOutputPump = new TaskOutputPump(16);
+
+    @Test
+    void testOutputIsWrittenInOrderAndCompletes() throws Exception {
+        List<String> taskLog = new CopyOnWriteArrayList<>();
+        TaskOutput taskOutput = taskOutputPump.register("/tmp/task.log", lines -> collect(lines, taskLog));
+
+        taskOutput.startReader(() -> {
+            for (int i = 0; i < 100; i++) {
+                taskOutput.append("line-" + i);
+            }
+            return null;
+        });
+        taskOutput.readersStarted();
+
+        taskOutput.getOutputFuture().get(10, TimeUnit.SECONDS);
+        assertThat(taskLog).containsExactlyElementsIn(
+                IntStream.range(0, 100).mapToObj(i -> "line-" + i).collect(Collectors.toList())).inOrder();
+        assertThat(taskOutputPump.getTaskOutputSize()).isEqualTo(0);
+    }
+
+    @Test
+    void testOutputCompletesAfterAllReadersFinished() throws Exception {
+        List<String> taskLog = new CopyOnWriteArrayList<>();
+        TaskOutput taskOutput = taskOutputPump.register("/tmp/task.log", lines -> collect(lines, taskLog));
+        CountDownLatch podLogLatch = new CountDownLatch(1);
+
+        taskOutput.startReader(() -> {
+            taskOutput.append("process");
+            return null;
+        });
+        taskOutput.startReader(() -> {
+            podLogLatch.await();
+            taskOutput.append("pod");
+            return null;
+        });
+        taskOutput.readersStarted();
+
+        Thread.sleep(200);
+        assertThat(taskOutput.getOutputFuture().isDone()).isFalse();
+
+        podLogLatch.countDown();
+        taskOutput.getOutputFuture().get(10, TimeUnit.SECONDS);
+        assertThat(taskLog).containsExactly("process", "pod");
+    }
+
+    @Test
+    void testReaderErrorDoesNotBlockOutput() throws Exception {
+        TaskOutput taskOutput = taskOutputPump.register("/tmp/task.log", lines -> {
+        });
+
+        Future<Object> reader = taskOutput.startReader(() -> {
+            throw new IllegalStateException("The driver pod does not exist.");
+        });
+        taskOutput.readersStarted();
+
+        taskOutput.getOutputFuture().get(10, TimeUnit.SECONDS);
+        Assertions.assertThrows(ExecutionException.class, reader::get);
+        Assertions.assertThrows(IllegalStateException.class, () -> taskOutput.startReader(() -> null));
+    }
+
+    private void collect(LinkedBlockingQueue<String> lines, List<String> taskLog) {
+        // skip the leading empty line
+        lines.poll();
+        while (!lines.isEmpty()) {
+            taskLog.add(lines.poll());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api.remote;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RemoteApplicationStatusTrackerTest {
+
+    private final RemoteApplicationStatusTracker tracker = RemoteApplicationStatusTracker.getInstance();
+
+    @Test
+    public void testTrackUntilFinished() throws Exception {
+        AtomicInteger probeTimes = new AtomicInteger();
+        CompletableFuture<Void> future = tracker.track(() -> probeTimes.incrementAndGet() >= 3,
+                Duration.ofMillis(10), Duration.ofMillis(20));
+
+        future.get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(3, probeTimes.get());
+    }
+
+    @Test
+    public void testTrackFailedAfterConsecutiveProbeFailures() {
+        AtomicInteger probeTimes = new AtomicInteger();
+        CompletableFuture<Void> future = tracker.track(() -> {
+            probeTimes.incrementAndGet();
+            throw new IllegalStateException("probe failed");
+        }, Duration.ofMillis(10), Duration.ofMillis(10));
+
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class,
+                () -> future.get(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(ex.getCause() instanceof IllegalStateException);
+        Assertions.assertEquals(3, probeTimes.get());
+    }
+
+    @Test
+    public void testCancelTracking() throws Exception {
+        AtomicInteger probeTimes = new AtomicInteger();
+        CompletableFuture<Void> future = tracker.track(() -> {
+            probeTimes.incrementAndGet();
+            return false;
+        }, Duration.ofMillis(10), Duration.ofMillis(10));
+
+        future.cancel(false);
+        int probeTimesAfterCancel = probeTimes.get();
+        Thread.sleep(100);
+        Assertions.assertTrue(probeTimes.get() <= probeTimesAfterCancel + 1);
+        Assertions.assertEquals(0, tracker.getTrackingSize());
+    }
+}
@@ -48,7 +48,6 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import lombok.Data;
-import lombok.SneakyThrows;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -187,30 +186,6 @@ public class DatasyncHook {
         return false;
     }
 
-    @SneakyThrows
-    public Boolean doubleCheckFinishStatus(TaskExecutionStatus expectStatus, TaskExecutionStatus[] stopStatus) {
-
-        List<TaskExecutionStatus> stopStatusSet = Arrays.asList(stopStatus);
-        while (true) {
-            TaskExecutionStatus status = queryDatasyncTaskExecStatus();
-
-            if (status == null) {
-                continue;
-            }
-
-            if (expectStatus.equals(status)) {
-                log.info("double check finish status success");
-                return true;
-            } else if (stopStatusSet.contains(status)) {
-                break;
-            }
-            log.debug("wait 10s to recheck finish status....");
-            Thread.sleep(10000);
-        }
-        log.warn("double check error");
-        return false;
-    }
-
     private static void castParamPropertyPackage(DatasyncParameters parameters, CreateTaskRequest.Builder builder) {
         List<DatasyncParameters.TagListEntry> tags = parameters.getTags();
         if (tags != null && tags.size() > 0) {
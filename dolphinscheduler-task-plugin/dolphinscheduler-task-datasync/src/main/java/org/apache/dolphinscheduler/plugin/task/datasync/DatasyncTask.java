@@ -27,11 +27,13 @@ import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.remote.RemoteApplicationStatusProbe;
 
 import software.amazon.awssdk.services.datasync.model.TaskExecutionStatus;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -120,14 +122,27 @@ public class DatasyncTask extends AbstractRemoteTask {
 
     @Override
     public void trackApplicationStatus() throws TaskException {
+        awaitApplicationStatus();
+    }
+
+    @Override
+    protected RemoteApplicationStatusProbe getApplicationStatusProbe() {
         checkApplicationId();
-        Boolean isFinishedSuccessfully = null;
-        isFinishedSuccessfully = hook.doubleCheckFinishStatus(TaskExecutionStatus.SUCCESS, DatasyncHook.doneStatus);
-        if (!isFinishedSuccessfully) {
-            exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
-        } else {
-            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
-        }
+        List<TaskExecutionStatus> stopStatusSet = Arrays.asList(DatasyncHook.doneStatus);
+        return () -> {
+            TaskExecutionStatus status = hook.queryDatasyncTaskExecStatus();
+            if (TaskExecutionStatus.SUCCESS.equals(status)) {
+                log.info("double check finish status success");
+                exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+                return true;
+            }
+            if (stopStatusSet.contains(status)) {
+                log.warn("double check error");
+                exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
+                return true;
+            }
+            return false;
+        };
     }
 
     /**
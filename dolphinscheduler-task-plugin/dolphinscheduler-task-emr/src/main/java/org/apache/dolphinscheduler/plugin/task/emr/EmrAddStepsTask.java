@@ -20,12 +20,12 @@ package org.apache.dolphinscheduler.plugin.task.emr;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.remote.RemoteApplicationStatusProbe;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,6 +53,11 @@ public class EmrAddStepsTask extends AbstractEmrTask {
 
     private String stepId;
 
+    /**
+     * the latest step status fetched by the application status probe
+     */
+    private volatile StepStatus stepStatus;
+
     private final HashSet<String> waitingStateSet = Sets.newHashSet(
             StepState.PENDING.toString(),
             StepState.CANCEL_PENDING.toString(),
@@ -100,23 +105,25 @@ public class EmrAddStepsTask extends AbstractEmrTask {
 
     @Override
     public void trackApplicationStatus() throws TaskException {
-        StepStatus stepStatus = getStepStatus();
+        awaitApplicationStatus();
+    }
 
-        try {
-            while (waitingStateSet.contains(stepStatus.getState())) {
-                TimeUnit.SECONDS.sleep(10);
+    @Override
+    protected RemoteApplicationStatusProbe getApplicationStatusProbe() {
+        return () -> {
+            try {
                 stepStatus = getStepStatus();
+                if (waitingStateSet.contains(stepStatus.getState())) {
+                    return false;
+                }
+            } catch (EmrTaskException | SdkBaseException e) {
+                log.error("emr task failed with error", e);
             }
-        } catch (EmrTaskException | SdkBaseException e) {
-            log.error("emr task failed with error", e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new TaskException("Execute emr task failed", e);
-        } finally {
             final int exitStatusCode = calculateExitStatusCode(stepStatus);
             setExitStatusCode(exitStatusCode);
             log.info("emr task finished with step status : {}", stepStatus);
-        }
+            return true;
+        };
     }
 
     /**
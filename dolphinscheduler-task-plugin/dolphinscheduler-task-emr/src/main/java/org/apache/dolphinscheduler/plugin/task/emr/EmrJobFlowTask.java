@@ -20,12 +20,12 @@ package org.apache.dolphinscheduler.plugin.task.emr;
 import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.remote.RemoteApplicationStatusProbe;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -46,6 +46,11 @@ import com.google.common.collect.Sets;
 @Slf4j
 public class EmrJobFlowTask extends AbstractEmrTask {
 
+    /**
+     * the latest cluster status fetched by the application status probe
+     */
+    private volatile ClusterStatus clusterStatus;
+
     private final HashSet<String> waitingStateSet = Sets.newHashSet(
             ClusterState.STARTING.toString(),
             ClusterState.BOOTSTRAPPING.toString(),
@@ -93,24 +98,25 @@ public class EmrJobFlowTask extends AbstractEmrTask {
 
     @Override
     public void trackApplicationStatus() throws TaskException {
-        ClusterStatus clusterStatus = null;
-        try {
-            clusterStatus = getClusterStatus();
+        awaitApplicationStatus();
+    }
 
-            while (waitingStateSet.contains(clusterStatus.getState())) {
-                TimeUnit.SECONDS.sleep(10);
+    @Override
+    protected RemoteApplicationStatusProbe getApplicationStatusProbe() {
+        return () -> {
+            try {
                 clusterStatus = getClusterStatus();
+                if (waitingStateSet.contains(clusterStatus.getState())) {
+                    return false;
+                }
+            } catch (EmrTaskException | SdkBaseException e) {
+                log.error("emr task failed with error", e);
             }
-        } catch (EmrTaskException | SdkBaseException e) {
-            log.error("emr task failed with error", e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new TaskException("Execute emr task failed", e);
-        } finally {
             final int exitStatusCode = calculateExitStatusCode(clusterStatus);
             setExitStatusCode(exitStatusCode);
             log.info("emr task finished with cluster status : {}", clusterStatus);
-        }
+            return true;
+        };
     }
 
     /**
@@ -48,6 +48,11 @@ public class HttpTask extends AbstractTask {
 
     private TaskExecutionContext taskExecutionContext;
 
+    /**
+     * the prepared params converted once and shared by the headers, params and body placeholders
+     */
+    private Map<String, String> paramsMap;
+
     /**
      * constructor
      *
@@ -66,6 +71,7 @@ public class HttpTask extends AbstractTask {
         if (httpParameters == null || !httpParameters.checkParameters()) {
             throw new RuntimeException("http task params is not valid");
         }
+        this.paramsMap = ParameterUtils.convert(taskExecutionContext.getPrepareParamsMap());
     }
 
     @Override
@@ -206,9 +212,9 @@ public class HttpTask extends AbstractTask {
                         && !httpProperty.getProp().equalsIgnoreCase(HttpConstants.CONTENT_TYPE))
                 .peek((httpProperty) -> {
                     httpProperty.setProp(ParameterUtils.convertParameterPlaceholders(httpProperty.getProp(),
-                            ParameterUtils.convert(taskExecutionContext.getPrepareParamsMap())));
+                            paramsMap));
                     httpProperty.setValue(ParameterUtils.convertParameterPlaceholders(httpProperty.getValue(),
-                            ParameterUtils.convert(taskExecutionContext.getPrepareParamsMap())));
+                            paramsMap));
                 })
                 .collect(Collectors.toMap(HttpProperty::getProp, HttpProperty::getValue));
     }
@@ -239,16 +245,16 @@ public class HttpTask extends AbstractTask {
                 .filter(httpProperty -> httpProperty.getHttpParametersType().equals(HttpParametersType.PARAMETER))
                 .peek((httpProperty) -> {
                     httpProperty.setProp(ParameterUtils.convertParameterPlaceholders(httpProperty.getProp(),
-                            ParameterUtils.convert(taskExecutionContext.getPrepareParamsMap())));
+                            paramsMap));
                     httpProperty.setValue(ParameterUtils.convertParameterPlaceholders(httpProperty.getValue(),
-                            ParameterUtils.convert(taskExecutionContext.getPrepareParamsMap())));
+                            paramsMap));
                 })
                 .collect(Collectors.toMap(HttpProperty::getProp, HttpProperty::getValue));
     }
 
     private Map<String, Object> getRequestBody() {
         String convertedParams = ParameterUtils.convertParameterPlaceholders(httpParameters.getHttpRequestBody(),
-                ParameterUtils.convert(taskExecutionContext.getPrepareParamsMap()));
+                paramsMap);
         Map<String, String> requestBody = JSONUtils.toMap(convertedParams);
         if (requestBody == null) {
             return null;
@@ -32,6 +32,7 @@ public class HttpTaskChannelFactory implements TaskChannelFactory {
 
     @Override
     public TaskChannel create() {
+        HttpTaskMetrics.registerHttpClientPoolGauges();
         return new HttpTaskChannel();
     }
 }
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.http;
+
+import org.apache.dolphinscheduler.common.utils.OkHttpUtils;
+
+import lombok.experimental.UtilityClass;
+import okhttp3.ConnectionPool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+@UtilityClass
+public class HttpTaskMetrics {
+
+    public void registerHttpClientPoolGauges() {
+        ConnectionPool connectionPool = OkHttpUtils.getConnectionPool();
+        Gauge.builder("ds.task.http.client.pool.connections", connectionPool, ConnectionPool::connectionCount)
+                .description("connections in the http client connection pool used by the http tasks")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.task.http.client.pool.idle.connections", connectionPool,
+                ConnectionPool::idleConnectionCount)
+                .description("idle connections in the http client connection pool used by the http tasks")
+                .register(Metrics.globalRegistry);
+    }
+}
@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.plugin.kubeflow;
 
-import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
@@ -25,6 +24,7 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.remote.RemoteApplicationStatusProbe;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 
 import java.io.IOException;
@@ -32,6 +32,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -86,23 +87,32 @@ public class KubeflowTask extends AbstractRemoteTask {
      */
     @Override
     public void trackApplicationStatus() throws TaskException {
+        awaitApplicationStatus();
+    }
+
+    @Override
+    protected RemoteApplicationStatusProbe getApplicationStatusProbe() {
         String command = kubeflowHelper.buildGetCommand(yamlPath.toString());
         log.info("Kubeflow task get command: \n{}", command);
-        do {
-            ThreadUtils.sleep(KubeflowHelper.CONSTANTS.TRACK_INTERVAL);
+        return () -> {
             String message = runCommand(command);
             String phase = kubeflowHelper.parseGetMessage(message);
             if (KubeflowHelper.STATUS.FAILED_SET.contains(phase)) {
                 exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
                 log.info("Kubeflow task get Failed result: \n{}", message);
-                break;
+                return true;
             } else if (KubeflowHelper.STATUS.SUCCESS_SET.contains(phase)) {
                 exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
                 log.info("Kubeflow task get Succeeded result: \n{}", message);
-                break;
+                return true;
             }
-        } while (true);
+            return false;
+        };
+    }
 
+    @Override
+    protected Duration getApplicationStatusProbeInterval() {
+        return Duration.ofMillis(KubeflowHelper.CONSTANTS.TRACK_INTERVAL);
     }
 
     @Override
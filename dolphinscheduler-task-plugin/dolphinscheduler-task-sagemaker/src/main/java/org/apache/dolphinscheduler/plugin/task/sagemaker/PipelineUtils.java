@@ -64,12 +64,25 @@ public class PipelineUtils {
     }
 
     public int checkPipelineExecutionStatus(AmazonSageMaker client, PipelineId pipelineId) {
+        Integer exitStatusCode = probePipelineExecutionStatus(client, pipelineId);
+        while (exitStatusCode == null) {
+            ThreadUtils.sleep(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
+            exitStatusCode = probePipelineExecutionStatus(client, pipelineId);
+        }
+        return exitStatusCode;
+    }
+
+    /**
+     * Check the pipeline execution status once
+     *
+     * @return the exit status code if the pipeline execution is finished, otherwise null
+     */
+    public Integer probePipelineExecutionStatus(AmazonSageMaker client, PipelineId pipelineId) {
         String pipelineStatus = describePipelineExecution(client, pipelineId);
-        while (EXECUTING.equals(pipelineStatus)) {
+        if (EXECUTING.equals(pipelineStatus)) {
             log.info("check Pipeline Steps running");
             listPipelineExecutionSteps(client, pipelineId);
-            ThreadUtils.sleep(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
-            pipelineStatus = describePipelineExecution(client, pipelineId);
+            return null;
         }
 
         int exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
@@ -32,11 +32,13 @@ import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.remote.RemoteApplicationStatusProbe;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -137,9 +139,26 @@ public class SagemakerTask extends AbstractRemoteTask {
 
     @Override
     public void trackApplicationStatus() throws TaskException {
-        initPipelineId();
         // Keep checking the health status
-        exitStatusCode = utils.checkPipelineExecutionStatus(client, pipelineId);
+        awaitApplicationStatus();
+    }
+
+    @Override
+    protected RemoteApplicationStatusProbe getApplicationStatusProbe() {
+        initPipelineId();
+        return () -> {
+            Integer pipelineExitStatusCode = utils.probePipelineExecutionStatus(client, pipelineId);
+            if (pipelineExitStatusCode == null) {
+                return false;
+            }
+            exitStatusCode = pipelineExitStatusCode;
+            return true;
+        };
+    }
+
+    @Override
+    protected Duration getApplicationStatusProbeInterval() {
+        return Duration.ofMillis(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
     }
 
     /**
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Collect the query result of the sql task row by row rather than materializing the whole result set, the first
+ * display rows are logged, and the rows are kept as a JSON array only if the result is used by the out parameters or
+ * the alert attachment, bounded by the max bytes.
+ */
+@Slf4j
+public class SqlQueryResultCollector {
+
+    private final int displayRows;
+
+    private final boolean keepResult;
+
+    private final long maxResultBytes;
+
+    private final StringBuilder result = new StringBuilder();
+
+    private long resultBytes;
+
+    @Getter
+    private int resultRows;
+
+    @Getter
+    private long rows;
+
+    @Getter
+    private long bytes;
+
+    @Getter
+    private boolean truncated;
+
+    public SqlQueryResultCollector(int displayRows, boolean keepResult, long maxResultBytes) {
+        this.displayRows = displayRows;
+        this.keepResult = keepResult;
+        this.maxResultBytes = maxResultBytes;
+    }
+
+    /**
+     * Collect a row of the query result.
+     *
+     * @return true if the subsequent rows are still needed
+     */
+    public boolean collect(ObjectNode row) {
+        String rowJson = JSONUtils.toJsonString(row);
+        int rowBytes = rowJson.getBytes(StandardCharsets.UTF_8).length;
+        rows++;
+        bytes += rowBytes;
+        if (rows <= displayRows) {
+            log.info("row {} : {}", rows, rowJson);
+        }
+        if (keepResult && !truncated) {
+            // the separator or the bracket of the JSON array
+            if (resultBytes + rowBytes + 2 > maxResultBytes) {
+                truncated = true;
+                log.warn("The sql query result exceeds the max bytes: {}, the subsequent rows are dropped, "
+                        + "only {} rows are kept", maxResultBytes, resultRows);
+            } else {
+                result.append(resultRows == 0 ? '[' : ',').append(rowJson);
+                resultBytes += rowBytes + 1;
+                resultRows++;
+            }
+        }
+        return rows < displayRows || (keepResult && !truncated);
+    }
+
+    /**
+     * The JSON array of the kept rows, or null if no row is kept.
+     */
+    public String getResult() {
+        if (resultRows == 0) {
+            return null;
+        }
+        return result + "]";
+    }
+}
@@ -17,8 +17,10 @@
 
 package org.apache.dolphinscheduler.plugin.task.sql;
 
+import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceProcessorProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.DataSourceUtils;
@@ -46,6 +48,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -81,6 +84,10 @@ public class SqlTask extends AbstractTask {
      */
     private static final int QUERY_LIMIT = 10000;
 
+    private static final int DEFAULT_QUERY_RESULT_FETCH_SIZE = 1000;
+
+    private static final long DEFAULT_QUERY_RESULT_MAX_BYTES = 10 * 1024 * 1024L;
+
     private SQLTaskExecutionContext sqlTaskExecutionContext;
 
     public static final int TEST_FLAG_YES = 1;
@@ -180,7 +187,8 @@ public class SqlTask extends AbstractTask {
                                 baseConnectionParam)) {
 
             // pre execute
-            executeUpdate(connection, preStatementsBinds, "pre");
+            boolean batchExecution = isBatchExecutionSupported(connection);
+            executeUpdate(connection, preStatementsBinds, "pre", batchExecution);
 
             // main execute
             String result = null;
@@ -190,14 +198,16 @@ public class SqlTask extends AbstractTask {
                 result = executeQuery(connection, mainStatementsBinds.get(0), "main");
             } else if (sqlParameters.getSqlType() == SqlType.NON_QUERY.ordinal()) {
                 // non query statement
-                String updateResult = executeUpdate(connection, mainStatementsBinds, "main");
+                // the update count of the last statement is used by the out parameter, which is not reported by batches
+                boolean mainBatchExecution = batchExecution && !hasOutParameter();
+                String updateResult = executeUpdate(connection, mainStatementsBinds, "main", mainBatchExecution);
                 result = setNonQuerySqlReturn(updateResult, sqlParameters.getLocalParams());
             }
             // deal out params
             sqlParameters.dealOutParam(result);
 
             // post execute
-            executeUpdate(connection, postStatementsBinds, "post");
+            executeUpdate(connection, postStatementsBinds, "post", batchExecution);
         } catch (Exception e) {
             log.error("execute sql error: {}", e.getMessage());
             throw e;
@@ -220,38 +230,46 @@ public class SqlTask extends AbstractTask {
     }
 
     /**
-     * result process
+     * result process, the rows are processed one by one, and only the rows used by the out parameters and the alert
+     * attachment are kept
      *
      * @param resultSet resultSet
      * @throws Exception Exception
      */
     private String resultProcess(ResultSet resultSet) throws Exception {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
+        String result = null;
         if (resultSet != null) {
             ResultSetMetaData md = resultSet.getMetaData();
             int num = md.getColumnCount();
 
-            while (resultSet.next()) {
+            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
+                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
+            SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(displayRows,
+                    isQueryResultNeeded(),
+                    PropertyUtils.getLong(Constants.TASK_SQL_RESULT_MAX_BYTES, DEFAULT_QUERY_RESULT_MAX_BYTES));
+            log.info("display sql result {} rows at most as follows:", displayRows);
+            boolean needMoreRows = true;
+            while (needMoreRows && resultSet.next()) {
                 ObjectNode mapOfColValues = JSONUtils.createObjectNode();
                 for (int i = 1; i <= num; i++) {
                     mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
                 }
-                resultJSONArray.add(mapOfColValues);
+                needMoreRows = resultCollector.collect(mapOfColValues);
             }
-
-            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
-                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
-            displayRows = Math.min(displayRows, resultJSONArray.size());
-            log.info("display sql result {} rows as follows:", displayRows);
-            for (int i = 0; i < displayRows; i++) {
-                String row = JSONUtils.toJsonString(resultJSONArray.get(i));
-                log.info("row {} : {}", i + 1, row);
+            log.info("sql query result processed {} rows, {} bytes, {} rows kept",
+                    resultCollector.getRows(), resultCollector.getBytes(), resultCollector.getResultRows());
+            SqlTaskMetrics.incSqlQueryResultRows(resultCollector.getRows());
+            SqlTaskMetrics.incSqlQueryResultBytes(resultCollector.getBytes());
+            if (resultCollector.isTruncated()) {
+                SqlTaskMetrics.incSqlQueryResultTruncatedCount();
             }
+            // the result is null if it's not needed
+            result = resultCollector.getRows() == 0 ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
+                    : resultCollector.getResult();
+        } else {
+            result = JSONUtils.toJsonString(generateEmptyRow(null));
         }
 
-        String result = resultJSONArray.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
-                : JSONUtils.toJsonString(resultJSONArray);
-
         if (Boolean.TRUE.equals(sqlParameters.getSendEmail())) {
             sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
                     ? sqlParameters.getTitle()
@@ -261,6 +279,19 @@ public class SqlTask extends AbstractTask {
         return result;
     }
 
+    /**
+     * The query result is only needed by the out parameters and the alert attachment, otherwise only the display rows
+     * are fetched.
+     */
+    private boolean isQueryResultNeeded() {
+        return Boolean.TRUE.equals(sqlParameters.getSendEmail()) || hasOutParameter();
+    }
+
+    private boolean hasOutParameter() {
+        return sqlParameters.getLocalParams() != null
+                && sqlParameters.getLocalParams().stream().anyMatch(property -> Direct.OUT == property.getDirect());
+    }
+
     /**
      * generate empty Results as ArrayNode
      */
@@ -299,35 +330,142 @@ public class SqlTask extends AbstractTask {
     private String executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
         try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBinds)) {
             log.info("{} statement execute query, for sql: {}", handlerType, sqlBinds.getSql());
-            ResultSet resultSet = statement.executeQuery();
-            return resultProcess(resultSet);
+            int fetchSize = PropertyUtils.getInt(Constants.TASK_SQL_RESULT_FETCH_SIZE, DEFAULT_QUERY_RESULT_FETCH_SIZE);
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultProcess(resultSet);
+            }
         }
     }
 
     private String executeUpdate(Connection connection, List<SqlBinds> statementsBinds,
-                                 String handlerType) throws Exception {
+                                 String handlerType, boolean batchExecution) throws Exception {
+        if (batchExecution && statementsBinds.size() > 1) {
+            return executeBatchUpdate(connection, statementsBinds, handlerType);
+        }
         int result = 0;
         for (SqlBinds sqlBind : statementsBinds) {
-            try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBind)) {
-                result = statement.executeUpdate();
-                log.info("{} statement execute update result: {}, for sql: {}", handlerType, result,
-                        sqlBind.getSql());
+            result = executeSingleUpdate(connection, sqlBind, handlerType);
+        }
+        return String.valueOf(result);
+    }
+
+    private int executeSingleUpdate(Connection connection, SqlBinds sqlBind, String handlerType) throws Exception {
+        try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBind)) {
+            long startTime = System.currentTimeMillis();
+            int result = statement.executeUpdate();
+            log.info("{} statement execute update result: {}, cost: {} ms, for sql: {}", handlerType, result,
+                    System.currentTimeMillis() - startTime, sqlBind.getSql());
+            return result;
+        }
+    }
+
+    /**
+     * Execute the consecutive statements with the same sql by a prepared statement batch, and the consecutive
+     * statements without parameters by a statement batch, the other statements are executed one by one.
+     */
+    private String executeBatchUpdate(Connection connection, List<SqlBinds> statementsBinds,
+                                      String handlerType) throws Exception {
+        int result = 0;
+        for (List<SqlBinds> batch : groupBatchStatements(statementsBinds)) {
+            if (batch.size() == 1) {
+                result = executeSingleUpdate(connection, batch.get(0), handlerType);
+                continue;
+            }
+            long startTime = System.currentTimeMillis();
+            int[] results;
+            if (isSameSql(batch)) {
+                try (PreparedStatement statement = prepareStatement(connection, batch.get(0).getSql())) {
+                    for (SqlBinds sqlBind : batch) {
+                        bindParameters(statement, sqlBind);
+                        statement.addBatch();
+                    }
+                    results = statement.executeBatch();
+                }
+            } else {
+                try (Statement statement = connection.createStatement()) {
+                    setQueryTimeoutIfNeeded(statement);
+                    for (SqlBinds sqlBind : batch) {
+                        statement.addBatch(sqlBind.getSql());
+                    }
+                    results = statement.executeBatch();
+                }
             }
+            log.info("{} statements execute batch update, size: {}, cost: {} ms", handlerType, batch.size(),
+                    System.currentTimeMillis() - startTime);
+            for (int i = 0; i < batch.size(); i++) {
+                log.info("{} statement execute update result: {}, for sql: {}", handlerType,
+                        i < results.length ? results[i] : Statement.SUCCESS_NO_INFO, batch.get(i).getSql());
+            }
+            result = results.length == 0 ? 0 : results[results.length - 1];
         }
         return String.valueOf(result);
     }
 
+    /**
+     * Group the consecutive statements which can be executed in a batch, either they have the same sql, or they have
+     * no parameters.
+     */
+    static List<List<SqlBinds>> groupBatchStatements(List<SqlBinds> statementsBinds) {
+        List<List<SqlBinds>> batches = new ArrayList<>();
+        List<SqlBinds> batch = null;
+        for (SqlBinds sqlBind : statementsBinds) {
+            if (batch != null && canJoinBatch(batch, sqlBind)) {
+                batch.add(sqlBind);
+                continue;
+            }
+            batch = new ArrayList<>();
+            batch.add(sqlBind);
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static boolean canJoinBatch(List<SqlBinds> batch, SqlBinds sqlBind) {
+        if (isSameSql(batch) && batch.get(0).getSql().equals(sqlBind.getSql())) {
+            return true;
+        }
+        return !hasParameters(sqlBind) && batch.stream().noneMatch(SqlTask::hasParameters);
+    }
+
+    private static boolean isSameSql(List<SqlBinds> batch) {
+        String sql = batch.get(0).getSql();
+        return batch.stream().allMatch(sqlBind -> sql.equals(sqlBind.getSql()));
+    }
+
+    private static boolean hasParameters(SqlBinds sqlBind) {
+        return sqlBind.getParamsMap() != null && !sqlBind.getParamsMap().isEmpty();
+    }
+
+    private boolean isBatchExecutionSupported(Connection connection) {
+        if (!PropertyUtils.getBoolean(Constants.TASK_SQL_BATCH_EXECUTION_ENABLE, false)) {
+            return false;
+        }
+        try {
+            if (connection.getMetaData().supportsBatchUpdates()) {
+                return true;
+            }
+            log.info("The datasource doesn't support batch updates, the statements will be executed one by one");
+        } catch (SQLException e) {
+            log.warn("Check whether the datasource supports batch updates failed, the statements will be executed "
+                    + "one by one", e);
+        }
+        return false;
+    }
+
     /**
      * close jdbc resource
      *
-     * @param connection connection
+     * @param resource connection or statement
      */
-    private void close(Connection connection) {
-        if (connection != null) {
+    private void close(AutoCloseable resource) {
+        if (resource != null) {
             try {
-                connection.close();
-            } catch (SQLException e) {
-                log.error("close connection error : {}", e.getMessage(), e);
+                resource.close();
+            } catch (Exception e) {
+                log.error("close jdbc resource error : {}", e.getMessage(), e);
             }
         }
     }
@@ -341,16 +479,39 @@ public class SqlTask extends AbstractTask {
      * @throws Exception Exception
      */
     private PreparedStatement prepareStatementAndBind(Connection connection, SqlBinds sqlBinds) {
+        PreparedStatement stmt = prepareStatement(connection, sqlBinds.getSql());
+        try {
+            bindParameters(stmt, sqlBinds);
+            return stmt;
+        } catch (RuntimeException exception) {
+            close(stmt);
+            throw exception;
+        }
+    }
+
+    private PreparedStatement prepareStatement(Connection connection, String sql) {
+        try {
+            PreparedStatement stmt = connection.prepareStatement(sql);
+            setQueryTimeoutIfNeeded(stmt);
+            stmt.setMaxRows(sqlParameters.getLimit() <= 0 ? QUERY_LIMIT : sqlParameters.getLimit());
+            return stmt;
+        } catch (Exception exception) {
+            throw new TaskException("SQL task prepareStatementAndBind error", exception);
+        }
+    }
+
+    private void setQueryTimeoutIfNeeded(Statement stmt) throws SQLException {
         // is the timeout set
         // todo: we need control the timeout at master side.
         boolean timeoutFlag = taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.FAILED
                 || taskExecutionContext.getTaskTimeoutStrategy() == TaskTimeoutStrategy.WARNFAILED;
+        if (timeoutFlag) {
+            stmt.setQueryTimeout(taskExecutionContext.getTaskTimeout());
+        }
+    }
+
+    private void bindParameters(PreparedStatement stmt, SqlBinds sqlBinds) {
         try {
-            PreparedStatement stmt = connection.prepareStatement(sqlBinds.getSql());
-            if (timeoutFlag) {
-                stmt.setQueryTimeout(taskExecutionContext.getTaskTimeout());
-            }
-            stmt.setMaxRows(sqlParameters.getLimit() <= 0 ? QUERY_LIMIT : sqlParameters.getLimit());
             Map<Integer, Property> params = sqlBinds.getParamsMap();
             if (params != null) {
                 for (Map.Entry<Integer, Property> entry : params.entrySet()) {
@@ -360,7 +521,6 @@ public class SqlTask extends AbstractTask {
             }
             log.info("prepare statement replace sql : {}, sql parameters : {}", sqlBinds.getSql(),
                     sqlBinds.getParamsMap());
-            return stmt;
         } catch (Exception exception) {
             throw new TaskException("SQL task prepareStatementAndBind error", exception);
         }
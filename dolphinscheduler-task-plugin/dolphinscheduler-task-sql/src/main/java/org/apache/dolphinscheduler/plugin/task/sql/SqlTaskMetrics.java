@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+
+@UtilityClass
+public class SqlTaskMetrics {
+
+    private final Counter sqlQueryResultRowsCounter =
+            Counter.builder("ds.task.sql.query.result.rows")
+                    .description("rows of the sql task query result processed")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter sqlQueryResultBytesCounter =
+            Counter.builder("ds.task.sql.query.result.bytes")
+                    .description("bytes of the sql task query result processed")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter sqlQueryResultTruncatedCounter =
+            Counter.builder("ds.task.sql.query.result.truncated.count")
+                    .description("sql task query results truncated by the max bytes count")
+                    .register(Metrics.globalRegistry);
+
+    public void incSqlQueryResultRows(long rows) {
+        sqlQueryResultRowsCounter.increment(rows);
+    }
+
+    public void incSqlQueryResultBytes(long bytes) {
+        sqlQueryResultBytesCounter.increment(bytes);
+    }
+
+    public void incSqlQueryResultTruncatedCount() {
+        sqlQueryResultTruncatedCounter.increment();
+    }
+}
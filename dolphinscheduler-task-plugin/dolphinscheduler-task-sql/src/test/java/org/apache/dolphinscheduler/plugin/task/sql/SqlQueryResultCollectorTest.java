@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class SqlQueryResultCollectorTest {
+
+    @Test
+    void testCollectDisplayRowsOnlyIfResultNotNeeded() {
+        SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(2, false, 1024);
+
+        Assertions.assertTrue(resultCollector.collect(newRow(1)));
+        Assertions.assertFalse(resultCollector.collect(newRow(2)));
+        Assertions.assertEquals(2, resultCollector.getRows());
+        Assertions.assertNull(resultCollector.getResult());
+    }
+
+    @Test
+    void testCollectResult() {
+        SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(1, true, 1024);
+
+        Assertions.assertTrue(resultCollector.collect(newRow(1)));
+        Assertions.assertTrue(resultCollector.collect(newRow(2)));
+        Assertions.assertEquals("[{\"id\":1},{\"id\":2}]", resultCollector.getResult());
+        Assertions.assertEquals(2, JSONUtils.toList(resultCollector.getResult(), Object.class).size());
+        Assertions.assertFalse(resultCollector.isTruncated());
+    }
+
+    @Test
+    void testCollectResultExceedsMaxBytes() {
+        // each row is 8 bytes: {"id":1}
+        SqlQueryResultCollector resultCollector = new SqlQueryResultCollector(1, true, 20);
+
+        Assertions.assertTrue(resultCollector.collect(newRow(1)));
+        Assertions.assertTrue(resultCollector.collect(newRow(2)));
+        Assertions.assertFalse(resultCollector.collect(newRow(3)));
+        Assertions.assertTrue(resultCollector.isTruncated());
+        Assertions.assertEquals(3, resultCollector.getRows());
+        Assertions.assertEquals(24, resultCollector.getBytes());
+        Assertions.assertEquals("[{\"id\":1},{\"id\":2}]", resultCollector.getResult());
+        Assertions.assertTrue(resultCollector.getResult().length() <= 20);
+    }
+
+    private ObjectNode newRow(int id) {
+        ObjectNode row = JSONUtils.createObjectNode();
+        row.set("id", JSONUtils.toJsonNode(id));
+        return row;
+    }
+}
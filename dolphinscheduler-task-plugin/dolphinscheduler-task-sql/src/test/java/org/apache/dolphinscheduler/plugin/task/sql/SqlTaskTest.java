@@ -30,6 +30,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.ParameterUtils;
 import org.apache.dolphinscheduler.spi.enums.DbType;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
@@ -173,4 +174,26 @@ class SqlTaskTest {
         Assertions.assertEquals(4, sqlParamsMap.size());
         Assertions.assertEquals(expected, formatSql);
     }
+
+    @Test
+    void testGroupBatchStatements() {
+        Map<Integer, Property> params1 = new HashMap<>();
+        params1.put(1, new Property("id", Direct.IN, DataType.INTEGER, "1"));
+        Map<Integer, Property> params2 = new HashMap<>();
+        params2.put(1, new Property("id", Direct.IN, DataType.INTEGER, "2"));
+        SqlBinds truncate = new SqlBinds("truncate table t1", new HashMap<>());
+        SqlBinds delete = new SqlBinds("delete from t2", null);
+        SqlBinds insert1 = new SqlBinds("insert into t1 values (?)", params1);
+        SqlBinds insert2 = new SqlBinds("insert into t1 values (?)", params2);
+        SqlBinds update = new SqlBinds("update t1 set id = ? where id = 0", params1);
+
+        List<List<SqlBinds>> batches =
+                SqlTask.groupBatchStatements(Lists.newArrayList(truncate, delete, insert1, insert2, update, delete));
+
+        Assertions.assertEquals(4, batches.size());
+        Assertions.assertEquals(Lists.newArrayList(truncate, delete), batches.get(0));
+        Assertions.assertEquals(Lists.newArrayList(insert1, insert2), batches.get(1));
+        Assertions.assertEquals(Lists.newArrayList(update), batches.get(2));
+        Assertions.assertEquals(Lists.newArrayList(delete), batches.get(3));
+    }
 }
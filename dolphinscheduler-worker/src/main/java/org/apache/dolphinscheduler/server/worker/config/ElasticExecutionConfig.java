@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The elastic execution mode of the worker, the task executors are not bounded by the exec-threads but admitted by
+ * the running task limit and the server load protection, this is suitable for the workers which mostly supervise the
+ * long-polling remote tasks, e.g. EMR, SageMaker, DataSync.
+ */
+@Data
+public class ElasticExecutionConfig {
+
+    /**
+     * If enabled, the task executors will run on virtual threads when the worker runs on JDK 21 or later, otherwise
+     * on a cached daemon thread pool, and the exec-threads and task-execute-threads-full-policy will be ignored.
+     */
+    private boolean enabled = false;
+
+    /**
+     * The max number of the task executors running at the same time, the new task will be rejected once exceeded or
+     * the worker is overload by the server-load-protection.
+     */
+    private int maxRunningTasks = 2000;
+
+    public void validate(Errors errors) {
+        if (maxRunningTasks <= 0) {
+            errors.rejectValue("elastic-execution", null, "maxRunningTasks should be a positive value");
+        }
+    }
+}
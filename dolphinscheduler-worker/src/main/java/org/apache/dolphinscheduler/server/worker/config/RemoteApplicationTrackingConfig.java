@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import lombok.Data;
+
+import org.springframework.validation.Errors;
+
+/**
+ * The remote application tracking of the worker, the status of the remote applications submitted by the remote tasks,
+ * e.g. EMR, SageMaker, DataSync, Kubeflow, is tracked by a shared scheduler and the task is finished asynchronously,
+ * so that the task executor doesn't occupy an exec thread during the whole remote application.
+ */
+@Data
+public class RemoteApplicationTrackingConfig {
+
+    /**
+     * If disabled, the task executor will wait for the remote application to finish in the exec thread.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The max number of the remote applications tracked asynchronously at the same time, the subsequent remote tasks
+     * will wait for the remote application in the exec thread once exceeded.
+     */
+    private int maxTrackingTasks = 5000;
+
+    public void validate(Errors errors) {
+        if (maxTrackingTasks <= 0) {
+            errors.rejectValue("remote-application-tracking", null, "maxTrackingTasks should be a positive value");
+        }
+    }
+}
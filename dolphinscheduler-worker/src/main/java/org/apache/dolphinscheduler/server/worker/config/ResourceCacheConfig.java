@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.config;
+
+import lombok.Data;
+
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.Errors;
+
+/**
+ * The worker local cache of the resource files downloaded from the storage, the tasks using the same resource file
+ * will share the cached file rather than download it again.
+ */
+@Data
+public class ResourceCacheConfig {
+
+    /**
+     * If disabled, the resource files will be downloaded into the task working directory for each task.
+     * <p> The cached file is copied into the task working directory, so the task can modify its own copy.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The directory of the cached files, default is ${data.basedir.path}/resource-cache.
+     */
+    private String directory;
+
+    /**
+     * The max total size of the cached files, the least recently used files will be evicted once exceeded.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(10);
+
+    public void validate(Errors errors) {
+        if (maxSize == null || maxSize.isNegative() || maxSize.toBytes() == 0) {
+            errors.rejectValue("resource-cache", null, "maxSize should be a positive value");
+        }
+    }
+}
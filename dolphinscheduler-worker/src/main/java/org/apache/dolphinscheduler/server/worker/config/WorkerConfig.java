@@ -58,6 +58,12 @@ public class WorkerConfig implements Validator {
 
     private TenantConfig tenantConfig = new TenantConfig();
 
+    private ResourceCacheConfig resourceCache = new ResourceCacheConfig();
+
+    private ElasticExecutionConfig elasticExecution = new ElasticExecutionConfig();
+
+    private RemoteApplicationTrackingConfig remoteApplicationTracking = new RemoteApplicationTrackingConfig();
+
     @Override
     public boolean supports(Class<?> clazz) {
         return WorkerConfig.class.isAssignableFrom(clazz);
@@ -72,6 +78,9 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getMaxHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("max-heartbeat-interval", null, "shoule be a valid duration");
         }
+        workerConfig.getResourceCache().validate(errors);
+        workerConfig.getElasticExecution().validate(errors);
+        workerConfig.getRemoteApplicationTracking().validate(errors);
         if (StringUtils.isEmpty(workerConfig.getWorkerAddress())) {
             workerConfig.setWorkerAddress(NetUtils.getAddr(workerConfig.getListenPort()));
         }
@@ -89,9 +98,12 @@ public class WorkerConfig implements Validator {
                         "\n  max-heartbeat-interval -> " + maxHeartbeatInterval +
                         "\n  host-weight -> " + hostWeight +
                         "\n  tenantConfig -> " + tenantConfig +
+                        "\n  resource-cache -> " + resourceCache +
                         "\n  server-load-protection -> " + serverLoadProtection +
                         "\n  registry-disconnect-strategy -> " + registryDisconnectStrategy +
                         "\n  task-execute-threads-full-policy: " + taskExecuteThreadsFullPolicy +
+                        "\n  elastic-execution -> " + elasticExecution +
+                        "\n  remote-application-tracking -> " + remoteApplicationTracking +
                         "\n  address -> " + workerAddress +
                         "\n  registry-path: " + workerRegistryPath +
                         "\n****************************Worker Configuration**************************************";
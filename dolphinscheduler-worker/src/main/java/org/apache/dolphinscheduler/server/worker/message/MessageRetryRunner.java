@@ -17,23 +17,24 @@
 
 package org.apache.dolphinscheduler.server.worker.message;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import lombok.Data;
 import lombok.NonNull;
@@ -45,15 +46,41 @@ import org.springframework.stereotype.Component;
 
 import com.google.common.base.Objects;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+/**
+ * Retry sending the task instance events which are not acked by the master.
+ * <p>
+ * Each message has its own deadline in a hashed wheel timer, the deadline is backed off exponentially from
+ * {@link #DEFAULT_INITIAL_RETRY_INTERVAL} to {@link #DEFAULT_MAX_RETRY_INTERVAL} after each retry. The due messages are
+ * handed over to this thread and re-sent grouped by the master host, so the cost is proportional to the due messages
+ * rather than all the outstanding messages, and a master host which cannot be reached only costs one failed send in
+ * each round.
+ */
 @Component
 @Slf4j
 public class MessageRetryRunner extends BaseDaemonThread {
 
+    private static final long DEFAULT_INITIAL_RETRY_INTERVAL = Duration.ofSeconds(30L).toMillis();
+
+    private static final long DEFAULT_MAX_RETRY_INTERVAL = Duration.ofMinutes(5L).toMillis();
+
+    private static final long DUE_MESSAGE_POLL_INTERVAL = Duration.ofSeconds(1L).toMillis();
+
+    private final long initialRetryInterval;
+
+    private final long maxRetryInterval;
+
     protected MessageRetryRunner() {
-        super("WorkerMessageRetryRunnerThread");
+        this(DEFAULT_INITIAL_RETRY_INTERVAL, DEFAULT_MAX_RETRY_INTERVAL);
     }
 
-    private static final long MESSAGE_RETRY_WINDOW = Duration.ofMinutes(5L).toMillis();
+    MessageRetryRunner(long initialRetryInterval, long maxRetryInterval) {
+        super("WorkerMessageRetryRunnerThread");
+        this.initialRetryInterval = initialRetryInterval;
+        this.maxRetryInterval = maxRetryInterval;
+    }
 
     @Lazy
     @Autowired
@@ -62,43 +89,68 @@ public class MessageRetryRunner extends BaseDaemonThread {
     private final Map<ITaskExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceExecutionEventSender<ITaskExecutionEvent>> messageSenderMap =
             new HashMap<>();
 
-    private final Map<Integer, List<TaskInstanceMessage>> needToRetryMessages = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<ITaskExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage>> needToRetryMessages =
+            new ConcurrentHashMap<>();
+
+    private final HashedWheelTimer retryTimer = new HashedWheelTimer(
+            ThreadUtils.newDaemonThreadFactory("WorkerMessageRetryTimerThread"),
+            100,
+            TimeUnit.MILLISECONDS,
+            1024);
+
+    private final BlockingQueue<TaskInstanceMessage> dueMessages = new LinkedBlockingQueue<>();
 
     @Override
     public synchronized void start() {
         log.info("Message retry runner staring");
+        registerMessageSenders();
+        super.start();
+        log.info("Message retry runner started");
+    }
+
+    void registerMessageSenders() {
         messageSenders.forEach(messageSender -> {
             messageSenderMap.put(messageSender.getMessageType(), messageSender);
             log.info("Injected message sender: {}", messageSender.getClass().getSimpleName());
         });
-        super.start();
-        log.info("Message retry runner started");
     }
 
     public void addRetryMessage(int taskInstanceId, @NonNull ITaskExecutionEvent iTaskExecutionEvent) {
-        needToRetryMessages.computeIfAbsent(taskInstanceId, k -> Collections.synchronizedList(new ArrayList<>()))
-                .add(TaskInstanceMessage.of(taskInstanceId, iTaskExecutionEvent.getEventType(),
-                        iTaskExecutionEvent));
+        TaskInstanceMessage taskInstanceMessage =
+                TaskInstanceMessage.of(taskInstanceId, iTaskExecutionEvent.getEventType(), iTaskExecutionEvent);
+        needToRetryMessages.compute(taskInstanceId, (k, taskInstanceMessages) -> {
+            if (taskInstanceMessages == null) {
+                taskInstanceMessages = new ConcurrentHashMap<>();
+            }
+            cancelRetry(taskInstanceMessages.put(taskInstanceMessage.getEventType(), taskInstanceMessage));
+            return taskInstanceMessages;
+        });
+        scheduleRetry(taskInstanceMessage, initialRetryInterval);
     }
 
     public void removeRetryMessage(int taskInstanceId,
                                    @NonNull ITaskExecutionEvent.TaskInstanceExecutionEventType eventType) {
-        List<TaskInstanceMessage> taskInstanceMessages = needToRetryMessages.get(taskInstanceId);
-        if (taskInstanceMessages != null) {
-            taskInstanceMessages.remove(TaskInstanceMessage.of(taskInstanceId, eventType, null));
-        }
+        needToRetryMessages.computeIfPresent(taskInstanceId, (k, taskInstanceMessages) -> {
+            cancelRetry(taskInstanceMessages.remove(eventType));
+            return taskInstanceMessages.isEmpty() ? null : taskInstanceMessages;
+        });
     }
 
     public void removeRetryMessages(int taskInstanceId) {
-        needToRetryMessages.remove(taskInstanceId);
+        Map<ITaskExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                needToRetryMessages.remove(taskInstanceId);
+        if (taskInstanceMessages != null) {
+            taskInstanceMessages.values().forEach(this::cancelRetry);
+        }
     }
 
     public boolean updateMessageHost(int taskInstanceId, String messageReceiverHost) {
-        List<TaskInstanceMessage> taskInstanceMessages = this.needToRetryMessages.get(taskInstanceId);
-        if (CollectionUtils.isEmpty(taskInstanceMessages)) {
+        Map<ITaskExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                this.needToRetryMessages.get(taskInstanceId);
+        if (MapUtils.isEmpty(taskInstanceMessages)) {
             return false;
         }
-        taskInstanceMessages.forEach(taskInstanceMessage -> {
+        taskInstanceMessages.values().forEach(taskInstanceMessage -> {
             taskInstanceMessage.getEvent().setWorkflowInstanceHost(messageReceiverHost);
         });
         return true;
@@ -107,41 +159,7 @@ public class MessageRetryRunner extends BaseDaemonThread {
     public void run() {
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                if (MapUtils.isEmpty(needToRetryMessages)) {
-                    Thread.sleep(MESSAGE_RETRY_WINDOW);
-                }
-
-                long now = System.currentTimeMillis();
-                Iterator<Map.Entry<Integer, List<TaskInstanceMessage>>> iterator =
-                        needToRetryMessages.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    Map.Entry<Integer, List<TaskInstanceMessage>> taskEntry = iterator.next();
-                    Integer taskInstanceId = taskEntry.getKey();
-                    List<TaskInstanceMessage> taskInstanceMessages = taskEntry.getValue();
-                    if (taskInstanceMessages.isEmpty()) {
-                        iterator.remove();
-                        continue;
-                    }
-                    LogUtils.setTaskInstanceIdMDC(taskInstanceId);
-                    try {
-                        for (TaskInstanceMessage taskInstanceMessage : taskInstanceMessages) {
-                            ITaskExecutionEvent.TaskInstanceExecutionEventType eventType =
-                                    taskInstanceMessage.getEventType();
-                            ITaskExecutionEvent event = taskInstanceMessage.getEvent();
-                            if (now - event.getEventSendTime() > MESSAGE_RETRY_WINDOW) {
-                                log.info("Begin retry send message to master, event: {}", event);
-                                event.setEventSendTime(now);
-                                messageSenderMap.get(eventType).sendEvent(event);
-                                log.info("Success send message to master, event: {}", event);
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.warn("Retry send message to master error", e);
-                    } finally {
-                        LogUtils.removeTaskInstanceIdMDC();
-                    }
-                }
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                retryDueMessages(DUE_MESSAGE_POLL_INTERVAL);
             } catch (InterruptedException instance) {
                 log.warn("The message retry thread is interrupted, will break this loop", instance);
                 Thread.currentThread().interrupt();
@@ -150,10 +168,96 @@ public class MessageRetryRunner extends BaseDaemonThread {
                 log.error("Retry send message failed, get an known exception.", ex);
             }
         }
+        retryTimer.stop();
+    }
+
+    /**
+     * Wait at most the given time for the due messages, then re-send all the due messages grouped by the master host.
+     */
+    void retryDueMessages(long waitMillis) throws InterruptedException {
+        TaskInstanceMessage dueMessage = dueMessages.poll(waitMillis, TimeUnit.MILLISECONDS);
+        if (dueMessage == null) {
+            return;
+        }
+        List<TaskInstanceMessage> messages = new ArrayList<>();
+        messages.add(dueMessage);
+        dueMessages.drainTo(messages);
+
+        Map<String, List<TaskInstanceMessage>> messagesByHost = new LinkedHashMap<>();
+        for (TaskInstanceMessage message : messages) {
+            messagesByHost.computeIfAbsent(message.getEvent().getWorkflowInstanceHost(),
+                    k -> new ArrayList<>()).add(message);
+        }
+        messagesByHost.forEach(this::retrySendMessages);
+    }
+
+    int getDueMessageSize() {
+        return dueMessages.size();
+    }
+
+    private void retrySendMessages(String host, List<TaskInstanceMessage> messages) {
+        boolean hostUnreachable = false;
+        for (TaskInstanceMessage taskInstanceMessage : messages) {
+            if (!isRetrying(taskInstanceMessage)) {
+                // the message has been acked after it is due
+                continue;
+            }
+            long nextRetryInterval = Math.min(taskInstanceMessage.getRetryInterval() * 2, maxRetryInterval);
+            if (hostUnreachable) {
+                scheduleRetry(taskInstanceMessage, nextRetryInterval);
+                continue;
+            }
+            ITaskExecutionEvent event = taskInstanceMessage.getEvent();
+            LogUtils.setTaskInstanceIdMDC((int) taskInstanceMessage.getTaskInstanceId());
+            try {
+                log.info("Begin retry send message to master, event: {}", event);
+                event.setEventSendTime(System.currentTimeMillis());
+                messageSenderMap.get(taskInstanceMessage.getEventType()).sendEvent(event);
+                log.info("Success send message to master, event: {}", event);
+            } catch (Exception e) {
+                // the following messages to the same host will be retried in the next round
+                log.warn("Retry send message to master: {} error", host, e);
+                hostUnreachable = true;
+            } finally {
+                LogUtils.removeTaskInstanceIdMDC();
+                scheduleRetry(taskInstanceMessage, nextRetryInterval);
+            }
+        }
+    }
+
+    private void scheduleRetry(TaskInstanceMessage taskInstanceMessage, long retryInterval) {
+        if (!isRetrying(taskInstanceMessage)) {
+            return;
+        }
+        taskInstanceMessage.setRetryInterval(retryInterval);
+        taskInstanceMessage.setRetryTimeout(retryTimer.newTimeout(timeout -> {
+            if (isRetrying(taskInstanceMessage)) {
+                dueMessages.add(taskInstanceMessage);
+            }
+        }, retryInterval, TimeUnit.MILLISECONDS));
+    }
+
+    private void cancelRetry(TaskInstanceMessage taskInstanceMessage) {
+        if (taskInstanceMessage != null && taskInstanceMessage.getRetryTimeout() != null) {
+            taskInstanceMessage.getRetryTimeout().cancel();
+        }
+    }
+
+    /**
+     * Whether the message is still waiting for the ack, a message is replaced if the same type of event is sent again.
+     */
+    private boolean isRetrying(TaskInstanceMessage taskInstanceMessage) {
+        Map<ITaskExecutionEvent.TaskInstanceExecutionEventType, TaskInstanceMessage> taskInstanceMessages =
+                needToRetryMessages.get((int) taskInstanceMessage.getTaskInstanceId());
+        return taskInstanceMessages != null
+                && taskInstanceMessages.get(taskInstanceMessage.getEventType()) == taskInstanceMessage;
     }
 
     public void clearMessage() {
+        needToRetryMessages.values()
+                .forEach(taskInstanceMessages -> taskInstanceMessages.values().forEach(this::cancelRetry));
         needToRetryMessages.clear();
+        dueMessages.clear();
     }
 
     /**
@@ -165,6 +269,8 @@ public class MessageRetryRunner extends BaseDaemonThread {
         private long taskInstanceId;
         private ITaskExecutionEvent.TaskInstanceExecutionEventType eventType;
         private ITaskExecutionEvent event;
+        private volatile long retryInterval;
+        private volatile Timeout retryTimeout;
 
         public static TaskInstanceMessage of(long taskInstanceId,
                                              ITaskExecutionEvent.TaskInstanceExecutionEventType eventType,
@@ -52,6 +52,18 @@ public class WorkerServerMetrics {
                     .description("worker resource download failure count")
                     .register(Metrics.globalRegistry);
 
+    private final Counter workerResourceCacheHitCounter =
+            Counter.builder("ds.worker.resource.download.cache.count")
+                    .tag("result", "hit")
+                    .description("worker resource fetched from the local cache count")
+                    .register(Metrics.globalRegistry);
+
+    private final Counter workerResourceCacheMissCounter =
+            Counter.builder("ds.worker.resource.download.cache.count")
+                    .tag("result", "miss")
+                    .description("worker resource downloaded into the local cache count")
+                    .register(Metrics.globalRegistry);
+
     private final Counter workerHeartBeatCounter =
             Counter.builder("ds.worker.heartbeat.count")
                     .description("worker heartbeat count")
@@ -88,6 +100,21 @@ public class WorkerServerMetrics {
         workerResourceDownloadFailCounter.increment();
     }
 
+    public void incWorkerResourceCacheHitCount() {
+        workerResourceCacheHitCounter.increment();
+    }
+
+    public void incWorkerResourceCacheMissCount() {
+        workerResourceCacheMissCounter.increment();
+    }
+
+    public void registerWorkerResourceCacheSizeGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.resource.download.cache.size", supplier)
+                .baseUnit("bytes")
+                .description("total size of the cached resource files on worker")
+                .register(Metrics.globalRegistry);
+    }
+
     public void incWorkerHeartbeatCount() {
         workerHeartBeatCounter.increment();
     }
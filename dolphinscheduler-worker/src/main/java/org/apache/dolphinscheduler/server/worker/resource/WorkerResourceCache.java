@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * The worker local cache of the resource files, the cached file is addressed by the resource path and the size and the
+ * update time in the storage, so a changed resource will never hit the stale file.
+ * <p>
+ * The concurrent fetches of the same resource only download once, the cached file is copied into the task working
+ * directory, so the modifications made by the task never leak into the cache, and a cached file whose size no longer
+ * matches is dropped and downloaded again. The least recently used files are evicted once the total size exceeds the
+ * quota, the task working directory holds its own copy, so the eviction doesn't affect the running tasks.
+ */
+@Slf4j
+@Component
+public class WorkerResourceCache {
+
+    private static final Pattern CACHED_FILE_NAME_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String DOWNLOADING_FILE_SUFFIX = ".downloading";
+
+    @Autowired
+    private WorkerConfig workerConfig;
+
+    /**
+     * The cached resources in the access order, guarded by this.
+     */
+    private final LinkedHashMap<String, CachedResource> cachedResources = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long cachedResourcesSize;
+
+    private final Map<String, CompletableFuture<CachedResource>> downloadingResources = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    private Path cacheDirectory;
+
+    private long maxCacheSize;
+
+    @PostConstruct
+    public void init() {
+        final ResourceCacheConfig resourceCacheConfig = workerConfig.getResourceCache();
+        if (!resourceCacheConfig.isEnabled()) {
+            log.info("WorkerResourceCache is disabled, the resource will be downloaded for each task");
+            return;
+        }
+        cacheDirectory = StringUtils.isEmpty(resourceCacheConfig.getDirectory())
+                ? Paths.get(FileUtils.DATA_BASEDIR, "resource-cache")
+                : Paths.get(resourceCacheConfig.getDirectory());
+        maxCacheSize = resourceCacheConfig.getMaxSize().toBytes();
+        try {
+            FileUtils.createDirectoryWith755(cacheDirectory);
+            loadCachedResources();
+        } catch (Exception ex) {
+            log.error("Initialize the resource cache directory: {} failed, the resource cache is disabled",
+                    cacheDirectory, ex);
+            return;
+        }
+        WorkerServerMetrics.registerWorkerResourceCacheSizeGauge(this::getCachedResourcesSize);
+        enabled = true;
+        log.info("WorkerResourceCache initialized, {}, cached size: {} bytes", resourceCacheConfig,
+                getCachedResourcesSize());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized long getCachedResourcesSize() {
+        return cachedResourcesSize;
+    }
+
+    /**
+     * Fetch the resource into the given local path through the cache, the resource will be downloaded into the cache
+     * if absent.
+     *
+     * @return false if the resource cannot be cached, e.g. the storage doesn't provide the metadata of the resource,
+     * the caller should download it directly
+     */
+    public boolean fetchResource(final StorageOperator storageOperator,
+                                 final String resourceAbsolutePathInStorage,
+                                 final Path resourceAbsolutePathInLocal) throws IOException {
+        if (!enabled) {
+            return false;
+        }
+        final StorageEntity storageEntity;
+        try {
+            storageEntity = storageOperator.getStorageEntity(resourceAbsolutePathInStorage);
+        } catch (Exception ex) {
+            log.warn("Get the metadata of resource: {} failed, will not cache it", resourceAbsolutePathInStorage, ex);
+            return false;
+        }
+        if (storageEntity == null || storageEntity.isDirectory() || storageEntity.getUpdateTime() == null
+                || storageEntity.getSize() > maxCacheSize) {
+            return false;
+        }
+        final String cacheKey = Hashing.sha256()
+                .hashString(resourceAbsolutePathInStorage + "\n" + storageEntity.getSize() + "\n"
+                        + storageEntity.getUpdateTime().getTime(), StandardCharsets.UTF_8)
+                .toString();
+        try {
+            materialize(getOrDownload(storageOperator, resourceAbsolutePathInStorage, cacheKey),
+                    resourceAbsolutePathInLocal);
+        } catch (NoSuchFileException ex) {
+            // The cached file has been evicted or dropped before copied, download it again
+            log.info("The cached file of resource: {} has been evicted, will fetch it again",
+                    resourceAbsolutePathInStorage);
+            materialize(getOrDownload(storageOperator, resourceAbsolutePathInStorage, cacheKey),
+                    resourceAbsolutePathInLocal);
+        }
+        return true;
+    }
+
+    private CachedResource getOrDownload(final StorageOperator storageOperator,
+                                         final String resourceAbsolutePathInStorage,
+                                         final String cacheKey) throws IOException {
+        CachedResource cachedResource = getCachedResource(cacheKey);
+        if (cachedResource != null) {
+            WorkerServerMetrics.incWorkerResourceCacheHitCount();
+            return cachedResource;
+        }
+        final CompletableFuture<CachedResource> downloadFuture = new CompletableFuture<>();
+        final CompletableFuture<CachedResource> existingDownloadFuture =
+                downloadingResources.putIfAbsent(cacheKey, downloadFuture);
+        if (existingDownloadFuture != null) {
+            // The same resource is being downloaded by another task, wait for it
+            WorkerServerMetrics.incWorkerResourceCacheHitCount();
+            return waitDownload(existingDownloadFuture);
+        }
+        try {
+            // The download may have been finished between the lookup and the registration
+            cachedResource = getCachedResource(cacheKey);
+            if (cachedResource == null) {
+                WorkerServerMetrics.incWorkerResourceCacheMissCount();
+                cachedResource = download(storageOperator, resourceAbsolutePathInStorage, cacheKey);
+                addCachedResource(cacheKey, cachedResource);
+            } else {
+                WorkerServerMetrics.incWorkerResourceCacheHitCount();
+            }
+            downloadFuture.complete(cachedResource);
+            return cachedResource;
+        } catch (Throwable ex) {
+            downloadFuture.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            downloadingResources.remove(cacheKey, downloadFuture);
+        }
+    }
+
+    private CachedResource download(final StorageOperator storageOperator,
+                                    final String resourceAbsolutePathInStorage,
+                                    final String cacheKey) throws IOException {
+        final Path downloadingFile = cacheDirectory.resolve(cacheKey + DOWNLOADING_FILE_SUFFIX);
+        final Path cachedFile = cacheDirectory.resolve(cacheKey);
+        try {
+            final long resourceDownloadStartTime = System.currentTimeMillis();
+            storageOperator.download(resourceAbsolutePathInStorage, downloadingFile.toString(), true);
+            FileUtils.setFileTo755(downloadingFile.toFile());
+            Files.move(downloadingFile, cachedFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            final long size = Files.size(cachedFile);
+            log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage, cachedFile);
+            WorkerServerMetrics
+                    .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
+            WorkerServerMetrics.recordWorkerResourceDownloadSize(size);
+            WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
+            return new CachedResource(cachedFile, size);
+        } catch (Exception ex) {
+            WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
+            Files.deleteIfExists(downloadingFile);
+            throw ex;
+        }
+    }
+
+    /**
+     * Copy the cached file into the task working directory, the task may modify its own copy, so the cached file must
+     * not be shared with the task, e.g. by a hard link.
+     */
+    private void materialize(final CachedResource cachedResource,
+                             final Path resourceAbsolutePathInLocal) throws IOException {
+        final Path cachedFile = cachedResource.getPath();
+        final long cachedFileSize;
+        try {
+            cachedFileSize = Files.size(cachedFile);
+        } catch (NoSuchFileException ex) {
+            invalidateCachedResource(cachedResource);
+            throw ex;
+        }
+        if (cachedFileSize != cachedResource.getSize()) {
+            // The cached file has been modified outside the cache, drop it and download again
+            log.warn("The cached resource file {} size changed from {} to {}, will drop it", cachedFile,
+                    cachedResource.getSize(), cachedFileSize);
+            invalidateCachedResource(cachedResource);
+            Files.deleteIfExists(cachedFile);
+            throw new NoSuchFileException(cachedFile.toString());
+        }
+        final Path parent = resourceAbsolutePathInLocal.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        // Copy into a temporary file first, so that the task never sees a partially copied resource
+        final Path copyingFile = Files.createTempFile(parent, resourceAbsolutePathInLocal.getFileName().toString(),
+                DOWNLOADING_FILE_SUFFIX);
+        try {
+            Files.copy(cachedFile, copyingFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(copyingFile, resourceAbsolutePathInLocal, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            log.info("Copy the cached resource file {} -> {} successfully", cachedFile, resourceAbsolutePathInLocal);
+        } catch (NoSuchFileException ex) {
+            invalidateCachedResource(cachedResource);
+            throw ex;
+        } finally {
+            Files.deleteIfExists(copyingFile);
+        }
+    }
+
+    private CachedResource waitDownload(final CompletableFuture<CachedResource> downloadFuture) throws IOException {
+        try {
+            return downloadFuture.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private synchronized CachedResource getCachedResource(final String cacheKey) {
+        return cachedResources.get(cacheKey);
+    }
+
+    private synchronized void addCachedResource(final String cacheKey, final CachedResource cachedResource) {
+        final CachedResource replaced = cachedResources.put(cacheKey, cachedResource);
+        if (replaced != null) {
+            cachedResourcesSize -= replaced.getSize();
+        }
+        cachedResourcesSize += cachedResource.getSize();
+        evictIfNeeded(cacheKey);
+    }
+
+    private synchronized void invalidateCachedResource(final CachedResource cachedResource) {
+        final Iterator<CachedResource> iterator = cachedResources.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == cachedResource) {
+                iterator.remove();
+                cachedResourcesSize -= cachedResource.getSize();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evict the least recently used resources until the total size is under the quota, the given resource is kept.
+     */
+    private synchronized void evictIfNeeded(final String keptCacheKey) {
+        final Iterator<Map.Entry<String, CachedResource>> iterator = cachedResources.entrySet().iterator();
+        while (cachedResourcesSize > maxCacheSize && iterator.hasNext()) {
+            final Map.Entry<String, CachedResource> eldest = iterator.next();
+            if (eldest.getKey().equals(keptCacheKey)) {
+                continue;
+            }
+            iterator.remove();
+            cachedResourcesSize -= eldest.getValue().getSize();
+            try {
+                Files.deleteIfExists(eldest.getValue().getPath());
+                log.info("Evict the cached resource file: {}", eldest.getValue().getPath());
+            } catch (IOException ex) {
+                log.warn("Delete the evicted resource file: {} failed", eldest.getValue().getPath(), ex);
+            }
+        }
+    }
+
+    /**
+     * Load the files cached before the restart, the files which are not downloaded completely will be deleted.
+     */
+    private synchronized void loadCachedResources() throws IOException {
+        final List<File> cachedFiles;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            cachedFiles = files.map(Path::toFile)
+                    .filter(File::isFile)
+                    .sorted(Comparator.comparingLong(File::lastModified))
+                    .collect(Collectors.toList());
+        }
+        for (File cachedFile : cachedFiles) {
+            if (cachedFile.getName().endsWith(DOWNLOADING_FILE_SUFFIX)) {
+                Files.deleteIfExists(cachedFile.toPath());
+                continue;
+            }
+            if (CACHED_FILE_NAME_PATTERN.matcher(cachedFile.getName()).matches()) {
+                addCachedResource(cachedFile.getName(), new CachedResource(cachedFile.toPath(), cachedFile.length()));
+            }
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedResource {
+
+        private final Path path;
+
+        private final long size;
+    }
+}
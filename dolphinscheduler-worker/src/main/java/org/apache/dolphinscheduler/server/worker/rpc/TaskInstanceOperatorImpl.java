@@ -20,17 +20,28 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 import org.apache.dolphinscheduler.extract.worker.ITaskInstanceOperator;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TakeOverTaskResponse;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchRequest;
+import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceBatchDispatchResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceDispatchResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstanceKillResponse;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseRequest;
 import org.apache.dolphinscheduler.extract.worker.transportor.TaskInstancePauseResponse;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.worker.runner.operator.TaskInstanceDispatchOperationFunction;
 import org.apache.dolphinscheduler.server.worker.runner.operator.TaskInstanceOperationFunctionManager;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import lombok.extern.slf4j.Slf4j;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class TaskInstanceOperatorImpl implements ITaskInstanceOperator {
 
@@ -43,6 +54,27 @@ public class TaskInstanceOperatorImpl implements ITaskInstanceOperator {
                 .operate(taskInstanceDispatchRequest);
     }
 
+    @Override
+    public CompletableFuture<TaskInstanceBatchDispatchResponse> batchDispatchTask(final TaskInstanceBatchDispatchRequest taskInstanceBatchDispatchRequest) {
+        final TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
+                taskInstanceOperationFunctionManager.getTaskInstanceDispatchOperationFunction();
+        final List<TaskInstanceDispatchResponse> taskInstanceDispatchResponses = new ArrayList<>();
+        for (TaskExecutionContext taskExecutionContext : taskInstanceBatchDispatchRequest
+                .getTaskExecutionContexts()) {
+            try {
+                taskInstanceDispatchResponses.add(taskInstanceDispatchOperationFunction
+                        .operate(new TaskInstanceDispatchRequest(taskExecutionContext)));
+            } catch (Exception ex) {
+                // Make sure one task failed will not affect the other tasks in the same batch
+                log.error("Dispatch task: {} failed", taskExecutionContext.getTaskName(), ex);
+                taskInstanceDispatchResponses.add(TaskInstanceDispatchResponse
+                        .failed(taskExecutionContext.getTaskInstanceId(), ex.getMessage()));
+            }
+        }
+        // The dispatch operation only submits the task to the executor, so it's completed in place
+        return CompletableFuture.completedFuture(new TaskInstanceBatchDispatchResponse(taskInstanceDispatchResponses));
+    }
+
     @Override
     public TaskInstanceKillResponse killTask(final TaskInstanceKillRequest taskInstanceKillRequest) {
         return taskInstanceOperationFunctionManager.getTaskInstanceKillOperationFunction()
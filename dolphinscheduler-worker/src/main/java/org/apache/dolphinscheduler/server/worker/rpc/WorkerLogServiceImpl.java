@@ -20,14 +20,19 @@ package org.apache.dolphinscheduler.server.worker.rpc;
 import static org.apache.dolphinscheduler.common.constants.Constants.APPID_COLLECT;
 import static org.apache.dolphinscheduler.common.constants.Constants.DEFAULT_COLLECT_WAY;
 
-import org.apache.dolphinscheduler.common.utils.FileUtils;
+import org.apache.dolphinscheduler.common.log.LogFileChunk;
+import org.apache.dolphinscheduler.common.log.LogFileContent;
 import org.apache.dolphinscheduler.common.utils.LogUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.extract.common.ILogService;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.GetAppIdResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileChunkResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFileDownloadResponse;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowRequest;
+import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogFollowResponse;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryRequest;
 import org.apache.dolphinscheduler.extract.common.transportor.TaskInstanceLogPageQueryResponse;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecutor;
@@ -51,6 +56,15 @@ public class WorkerLogServiceImpl implements ILogService {
         return new TaskInstanceLogFileDownloadResponse(bytes);
     }
 
+    @Override
+    public TaskInstanceLogFileChunkResponse getTaskInstanceLogFileChunk(TaskInstanceLogFileChunkRequest taskInstanceLogFileChunkRequest) {
+        LogFileChunk logFileChunk = LogUtils.getFileContentChunk(
+                taskInstanceLogFileChunkRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogFileChunkRequest.getOffset(),
+                taskInstanceLogFileChunkRequest.getLength());
+        return new TaskInstanceLogFileChunkResponse(logFileChunk.getBytes(), logFileChunk.getFileSize());
+    }
+
     @Override
     public TaskInstanceLogPageQueryResponse pageQueryTaskInstanceLog(TaskInstanceLogPageQueryRequest taskInstanceLogPageQueryRequest) {
         List<String> lines = LogUtils.readPartFileContent(
@@ -62,6 +76,14 @@ public class WorkerLogServiceImpl implements ILogService {
         return new TaskInstanceLogPageQueryResponse(logContent);
     }
 
+    @Override
+    public TaskInstanceLogFollowResponse followTaskInstanceLog(TaskInstanceLogFollowRequest taskInstanceLogFollowRequest) {
+        LogFileContent logFileContent = LogUtils.readFileContentFromOffset(
+                taskInstanceLogFollowRequest.getTaskInstanceLogAbsolutePath(),
+                taskInstanceLogFollowRequest.getOffset());
+        return new TaskInstanceLogFollowResponse(logFileContent.getContent(), logFileContent.getNextOffset());
+    }
+
     @Override
     public GetAppIdResponse getAppId(GetAppIdRequest getAppIdRequest) {
         String appInfoPath = null;
@@ -79,6 +101,6 @@ public class WorkerLogServiceImpl implements ILogService {
 
     @Override
     public void removeTaskInstanceLog(String taskInstanceLogAbsolutePath) {
-        FileUtils.deleteFile(taskInstanceLogAbsolutePath);
+        LogUtils.deleteLogFile(taskInstanceLogAbsolutePath);
     }
 }
@@ -18,11 +18,14 @@
 package org.apache.dolphinscheduler.server.worker.runner;
 
 import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
 import org.apache.dolphinscheduler.plugin.task.api.TaskCallBack;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.worker.config.RemoteApplicationTrackingConfig;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import javax.annotation.Nullable;
@@ -35,12 +38,14 @@ public class DefaultWorkerTaskExecutor extends WorkerTaskExecutor {
                                      @NonNull WorkerConfig workerConfig,
                                      @NonNull WorkerMessageSender workerMessageSender,
                                      @Nullable StorageOperator storageOperator,
-                                     @NonNull WorkerRegistryClient workerRegistryClient) {
+                                     @NonNull WorkerRegistryClient workerRegistryClient,
+                                     @Nullable WorkerResourceCache workerResourceCache) {
         super(taskExecutionContext,
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
     }
 
     @Override
@@ -48,9 +53,27 @@ public class DefaultWorkerTaskExecutor extends WorkerTaskExecutor {
         if (task == null) {
             throw new IllegalArgumentException("The task plugin instance is not initialized");
         }
+        if (task instanceof AbstractRemoteTask && isRemoteApplicationTrackingAvailable()) {
+            remoteApplicationStatusFuture = ((AbstractRemoteTask) task).handleAsync(taskCallBack);
+            return;
+        }
         task.handle(taskCallBack);
     }
 
+    private boolean isRemoteApplicationTrackingAvailable() {
+        RemoteApplicationTrackingConfig remoteApplicationTrackingConfig = workerConfig.getRemoteApplicationTracking();
+        if (!remoteApplicationTrackingConfig.isEnabled()) {
+            return false;
+        }
+        if (getRemoteApplicationTrackingTaskExecutorSize() >= remoteApplicationTrackingConfig.getMaxTrackingTasks()) {
+            log.warn("The remote application tracking tasks exceeds the max-tracking-tasks: {}, "
+                    + "will wait for the remote application in the exec thread",
+                    remoteApplicationTrackingConfig.getMaxTrackingTasks());
+            return false;
+        }
+        return true;
+    }
+
     @Override
     protected void afterExecute() {
         super.afterExecute();
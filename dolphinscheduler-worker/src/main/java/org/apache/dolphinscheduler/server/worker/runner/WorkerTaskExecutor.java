@@ -25,6 +25,7 @@ import static org.apache.dolphinscheduler.common.constants.Constants.SINGLE_SLAS
 import org.apache.dolphinscheduler.common.enums.WarningType;
 import org.apache.dolphinscheduler.common.log.SensitiveDataConverter;
 import org.apache.dolphinscheduler.common.log.remote.RemoteLogUtils;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.extract.alert.IAlertOperator;
 import org.apache.dolphinscheduler.extract.alert.request.AlertSendRequest;
@@ -50,6 +51,7 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.ProcessUtils;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 import org.apache.dolphinscheduler.server.worker.utils.TaskExecutionContextUtils;
 import org.apache.dolphinscheduler.server.worker.utils.TaskFilesTransferUtils;
@@ -58,7 +60,13 @@ import org.apache.dolphinscheduler.server.worker.utils.TenantUtils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.NoSuchFileException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
@@ -66,6 +74,7 @@ import lombok.NonNull;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 
 import com.google.common.base.Strings;
 
@@ -73,25 +82,45 @@ public abstract class WorkerTaskExecutor implements Runnable {
 
     protected static final Logger log = LoggerFactory.getLogger(WorkerTaskExecutor.class);
 
+    /**
+     * The task executors which are waiting for the remote application asynchronously, they don't occupy an exec thread.
+     */
+    private static final AtomicInteger REMOTE_APPLICATION_TRACKING_TASK_EXECUTORS = new AtomicInteger();
+
+    /**
+     * Finalize the task executors after the remote application is finished, the finalization might upload the output
+     * files, so it should not run in the tracker threads.
+     */
+    private static final ExecutorService REMOTE_APPLICATION_FINALIZE_EXECUTOR =
+            ThreadUtils.newDaemonFixedThreadExecutor("WorkerRemoteApplicationFinalizeThread-%d", 4);
+
     protected final TaskExecutionContext taskExecutionContext;
     protected final WorkerConfig workerConfig;
     protected final WorkerMessageSender workerMessageSender;
     protected final @Nullable StorageOperator storageOperator;
     protected final WorkerRegistryClient workerRegistryClient;
+    protected final @Nullable WorkerResourceCache workerResourceCache;
 
     protected @Nullable AbstractTask task;
 
+    /**
+     * Set by {@link #executeTask(TaskCallBack)} if the remote application status is tracked asynchronously.
+     */
+    protected @Nullable CompletableFuture<Void> remoteApplicationStatusFuture;
+
     protected WorkerTaskExecutor(
                                  @NonNull TaskExecutionContext taskExecutionContext,
                                  @NonNull WorkerConfig workerConfig,
                                  @NonNull WorkerMessageSender workerMessageSender,
                                  @Nullable StorageOperator storageOperator,
-                                 @NonNull WorkerRegistryClient workerRegistryClient) {
+                                 @NonNull WorkerRegistryClient workerRegistryClient,
+                                 @Nullable WorkerResourceCache workerResourceCache) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
         this.workerMessageSender = workerMessageSender;
         this.storageOperator = storageOperator;
         this.workerRegistryClient = workerRegistryClient;
+        this.workerResourceCache = workerResourceCache;
         SensitiveDataConverter.addMaskPattern(K8S_CONFIG_REGEX);
     }
 
@@ -172,6 +201,14 @@ public abstract class WorkerTaskExecutor implements Runnable {
             TaskInstanceLogHeader.printExecuteTaskHeader();
             executeTask(taskCallBack);
 
+            if (remoteApplicationStatusFuture != null) {
+                if (!remoteApplicationStatusFuture.isDone()) {
+                    finalizeAfterRemoteApplicationFinished(remoteApplicationStatusFuture);
+                    return;
+                }
+                awaitRemoteApplicationStatus(remoteApplicationStatusFuture);
+            }
+
             TaskInstanceLogHeader.printFinalizeTaskHeader();
             afterExecute();
             closeLogAppender();
@@ -185,6 +222,54 @@ public abstract class WorkerTaskExecutor implements Runnable {
         }
     }
 
+    /**
+     * Release the current thread and finalize the task once the remote application is finished.
+     */
+    private void finalizeAfterRemoteApplicationFinished(CompletableFuture<Void> future) {
+        log.info("The remote application status is tracked asynchronously, release the task executor thread");
+        REMOTE_APPLICATION_TRACKING_TASK_EXECUTORS.incrementAndGet();
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        future.whenCompleteAsync((result, throwable) -> {
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            try {
+                awaitRemoteApplicationStatus(future);
+                TaskInstanceLogHeader.printFinalizeTaskHeader();
+                afterExecute();
+                closeLogAppender();
+            } catch (Throwable ex) {
+                log.error("Task execute failed, due to meet an exception", ex);
+                afterThrowing(ex);
+                closeLogAppender();
+            } finally {
+                REMOTE_APPLICATION_TRACKING_TASK_EXECUTORS.decrementAndGet();
+                MDC.clear();
+            }
+        }, REMOTE_APPLICATION_FINALIZE_EXECUTOR);
+    }
+
+    /**
+     * Get the result of the finished remote application, the cancelled tracking is the same as the task has been
+     * killed, the task result will be sent as the blocking tracking.
+     */
+    private void awaitRemoteApplicationStatus(CompletableFuture<Void> future) throws Throwable {
+        try {
+            future.join();
+        } catch (CancellationException ex) {
+            log.info("The remote application status tracking is cancelled");
+        } catch (CompletionException ex) {
+            throw ex.getCause() == null ? ex : ex.getCause();
+        }
+    }
+
+    /**
+     * The number of the task executors which are waiting for the remote application asynchronously.
+     */
+    public static int getRemoteApplicationTrackingTaskExecutorSize() {
+        return REMOTE_APPLICATION_TRACKING_TASK_EXECUTORS.get();
+    }
+
     protected void initializeTask() {
         log.info("Begin to initialize task");
 
@@ -224,7 +309,7 @@ public abstract class WorkerTaskExecutor implements Runnable {
         log.info("Create TaskChannel: {} successfully", taskChannel.getClass().getName());
 
         ResourceContext resourceContext = TaskExecutionContextUtils.downloadResourcesIfNeeded(taskChannel,
-                storageOperator, taskExecutionContext);
+                storageOperator, workerResourceCache, taskExecutionContext);
         taskExecutionContext.setResourceContext(resourceContext);
         log.info("Download resources successfully: \n{}", taskExecutionContext.getResourceContext());
 
@@ -348,16 +433,18 @@ public abstract class WorkerTaskExecutor implements Runnable {
     }
 
     protected void closeLogAppender() {
+        log.info(FINALIZE_SESSION_MARKER, FINALIZE_SESSION_MARKER.toString());
+        // the task log file is closed by the finalize marker, the following logs should not reopen it
+        LogUtils.removeTaskInstanceLogFullPathMDC();
+        String logPath =
+                org.apache.dolphinscheduler.common.utils.LogUtils.rollLogFile(taskExecutionContext.getLogPath());
         try {
             if (RemoteLogUtils.isRemoteLoggingEnable()) {
-                RemoteLogUtils.sendRemoteLog(taskExecutionContext.getLogPath());
-                log.info("Log handler sends task log {} to remote storage asynchronously.",
-                        taskExecutionContext.getLogPath());
+                RemoteLogUtils.sendRemoteLog(logPath);
+                log.info("Log handler sends task log {} to remote storage asynchronously.", logPath);
             }
         } catch (Exception ex) {
             log.error("Send remote log failed", ex);
-        } finally {
-            log.info(FINALIZE_SESSION_MARKER, FINALIZE_SESSION_MARKER.toString());
         }
     }
 
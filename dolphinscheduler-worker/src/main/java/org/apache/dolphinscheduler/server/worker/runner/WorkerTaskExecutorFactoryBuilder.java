@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.registry.WorkerRegistryClient;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -41,16 +42,21 @@ public class WorkerTaskExecutorFactoryBuilder {
     @Autowired
     private WorkerRegistryClient workerRegistryClient;
 
+    @Autowired
+    private WorkerResourceCache workerResourceCache;
+
     public WorkerTaskExecutorFactoryBuilder(
                                             WorkerConfig workerConfig,
                                             WorkerMessageSender workerMessageSender,
                                             WorkerTaskExecutorThreadPool workerManager,
                                             StorageOperator storageOperator,
-                                            WorkerRegistryClient workerRegistryClient) {
+                                            WorkerRegistryClient workerRegistryClient,
+                                            WorkerResourceCache workerResourceCache) {
         this.workerConfig = workerConfig;
         this.workerMessageSender = workerMessageSender;
         this.storageOperator = storageOperator;
         this.workerRegistryClient = workerRegistryClient;
+        this.workerResourceCache = workerResourceCache;
     }
 
     public WorkerTaskExecutorFactory<? extends WorkerTaskExecutor> createWorkerTaskExecutorFactory(TaskExecutionContext taskExecutionContext) {
@@ -58,7 +64,8 @@ public class WorkerTaskExecutorFactoryBuilder {
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                workerResourceCache);
     }
 
 }
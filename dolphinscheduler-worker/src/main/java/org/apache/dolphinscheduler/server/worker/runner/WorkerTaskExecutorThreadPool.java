@@ -19,11 +19,16 @@ package org.apache.dolphinscheduler.server.worker.runner;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
+import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
+import org.apache.dolphinscheduler.server.worker.config.ElasticExecutionConfig;
 import org.apache.dolphinscheduler.server.worker.config.TaskExecuteThreadsFullPolicy;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import lombok.extern.slf4j.Slf4j;
@@ -40,12 +45,33 @@ public class WorkerTaskExecutorThreadPool {
 
     private final WorkerConfig workerConfig;
 
-    public WorkerTaskExecutorThreadPool(WorkerConfig workerConfig, WorkerMessageSender workerMessageSender) {
-        this.threadPoolExecutor =
-                ThreadUtils.newDaemonFixedThreadExecutor("WorkerTaskExecutorThreadPool", workerConfig.getExecThreads());
-        threadPoolExecutor.prestartAllCoreThreads();
+    private final MetricsProvider metricsProvider;
+
+    /**
+     * Only used in elastic execution mode, each running task executor holds a permit.
+     */
+    private final Semaphore elasticExecutionPermits;
+
+    private final ExecutorService elasticExecutor;
+
+    public WorkerTaskExecutorThreadPool(WorkerConfig workerConfig,
+                                        WorkerMessageSender workerMessageSender,
+                                        MetricsProvider metricsProvider) {
         this.workerConfig = workerConfig;
         this.workerMessageSender = workerMessageSender;
+        this.metricsProvider = metricsProvider;
+        ElasticExecutionConfig elasticExecutionConfig = workerConfig.getElasticExecution();
+        if (elasticExecutionConfig.isEnabled()) {
+            this.threadPoolExecutor = null;
+            this.elasticExecutionPermits = new Semaphore(elasticExecutionConfig.getMaxRunningTasks());
+            this.elasticExecutor = newElasticExecutor();
+        } else {
+            this.threadPoolExecutor = ThreadUtils.newDaemonFixedThreadExecutor("WorkerTaskExecutorThreadPool",
+                    workerConfig.getExecThreads());
+            threadPoolExecutor.prestartAllCoreThreads();
+            this.elasticExecutionPermits = null;
+            this.elasticExecutor = null;
+        }
 
         WorkerServerMetrics.registerWorkerExecuteQueueSizeGauge(this::getWaitingTaskExecutorSize);
         WorkerServerMetrics.registerWorkerActiveExecuteThreadGauge(this::getRunningTaskExecutorSize);
@@ -53,6 +79,9 @@ public class WorkerTaskExecutorThreadPool {
 
     public boolean submitWorkerTaskExecutor(WorkerTaskExecutor workerTaskExecutor) {
         synchronized (WorkerTaskExecutorThreadPool.class) {
+            if (isElasticExecution()) {
+                return submitElasticWorkerTaskExecutor(workerTaskExecutor);
+            }
             if (TaskExecuteThreadsFullPolicy.CONTINUE.equals(workerConfig.getTaskExecuteThreadsFullPolicy())) {
                 WorkerTaskExecutorHolder.put(workerTaskExecutor);
                 sendDispatchedEvent(workerTaskExecutor);
@@ -71,6 +100,59 @@ public class WorkerTaskExecutorThreadPool {
         }
     }
 
+    private boolean submitElasticWorkerTaskExecutor(WorkerTaskExecutor workerTaskExecutor) {
+        if (workerConfig.getServerLoadProtection().isOverload(metricsProvider.getSystemMetrics())) {
+            log.warn("The worker server is overload, cannot submit new WorkerTaskExecutor");
+            WorkerServerMetrics.incWorkerSubmitQueueIsFullCount();
+            return false;
+        }
+        if (!elasticExecutionPermits.tryAcquire()) {
+            log.warn("The running WorkerTaskExecutor exceeds the max-running-tasks: {}, cannot submit new one",
+                    workerConfig.getElasticExecution().getMaxRunningTasks());
+            WorkerServerMetrics.incWorkerSubmitQueueIsFullCount();
+            return false;
+        }
+        try {
+            WorkerTaskExecutorHolder.put(workerTaskExecutor);
+        } catch (RuntimeException ex) {
+            elasticExecutionPermits.release();
+            throw ex;
+        }
+        sendDispatchedEvent(workerTaskExecutor);
+        elasticExecutor.execute(() -> {
+            try {
+                workerTaskExecutor.run();
+            } finally {
+                elasticExecutionPermits.release();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Create the executor of the elastic execution mode, the virtual thread is used if the worker runs on JDK 21 or
+     * later, since most of the task executors are blocked in waiting the process or polling the remote task, otherwise
+     * fallback to a cached daemon thread pool.
+     */
+    private static ExecutorService newElasticExecutor() {
+        try {
+            ExecutorService virtualThreadExecutor =
+                    (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("WorkerTaskExecutorThreadPool is running in elastic execution mode with virtual threads");
+            return virtualThreadExecutor;
+        } catch (NoSuchMethodException ex) {
+            log.info("WorkerTaskExecutorThreadPool is running in elastic execution mode with platform threads, "
+                    + "since the virtual thread is not supported by current JDK");
+        } catch (Exception ex) {
+            log.warn("Create virtual thread executor failed, fallback to platform threads", ex);
+        }
+        return Executors.newCachedThreadPool(ThreadUtils.newDaemonThreadFactory("WorkerTaskExecutorThreadPool-%d"));
+    }
+
+    private boolean isElasticExecution() {
+        return elasticExecutor != null;
+    }
+
     private void sendDispatchedEvent(WorkerTaskExecutor workerTaskExecutor) {
         workerMessageSender.sendMessageWithRetry(
                 workerTaskExecutor.getTaskExecutionContext(),
@@ -78,23 +160,46 @@ public class WorkerTaskExecutorThreadPool {
     }
 
     public boolean isOverload() {
-        return WorkerTaskExecutorHolder.size() >= workerConfig.getExecThreads();
+        if (isElasticExecution()) {
+            return elasticExecutionPermits.availablePermits() <= 0;
+        }
+        return getExecThreadTaskExecutorSize() >= workerConfig.getExecThreads();
+    }
+
+    /**
+     * The task executors which occupy or are waiting for an exec thread, the task executors waiting for the remote
+     * application asynchronously have released their exec threads.
+     */
+    private int getExecThreadTaskExecutorSize() {
+        return Math.max(0,
+                WorkerTaskExecutorHolder.size() - WorkerTaskExecutor.getRemoteApplicationTrackingTaskExecutorSize());
     }
 
     public int getWaitingTaskExecutorSize() {
-        if (WorkerTaskExecutorHolder.size() <= workerConfig.getExecThreads()) {
+        if (isElasticExecution()) {
+            // The task executor is started once admitted in elastic execution mode
+            return 0;
+        }
+        int execThreadTaskExecutorSize = getExecThreadTaskExecutorSize();
+        if (execThreadTaskExecutorSize <= workerConfig.getExecThreads()) {
             return 0;
         } else {
-            return WorkerTaskExecutorHolder.size() - workerConfig.getExecThreads();
+            return execThreadTaskExecutorSize - workerConfig.getExecThreads();
         }
     }
 
     public int getRunningTaskExecutorSize() {
-        return Math.min(WorkerTaskExecutorHolder.size(), workerConfig.getExecThreads());
+        if (isElasticExecution()) {
+            return WorkerTaskExecutorHolder.size();
+        }
+        return Math.min(getExecThreadTaskExecutorSize(), workerConfig.getExecThreads());
     }
 
     public double getThreadPoolUsage() {
-        return (double) WorkerTaskExecutorHolder.size() / workerConfig.getExecThreads();
+        if (isElasticExecution()) {
+            return (double) WorkerTaskExecutorHolder.size() / workerConfig.getElasticExecution().getMaxRunningTasks();
+        }
+        return (double) getExecThreadTaskExecutorSize() / workerConfig.getExecThreads();
     }
 
     /**
@@ -102,12 +207,19 @@ public class WorkerTaskExecutorThreadPool {
      */
     public void killTaskBeforeExecuteByInstanceId(Integer taskInstanceId) {
         synchronized (WorkerTaskExecutorThreadPool.class) {
+            if (isElasticExecution()) {
+                // There is no waiting task executor in elastic execution mode
+                return;
+            }
             WorkerTaskExecutor workerTaskExecutor = WorkerTaskExecutorHolder.get(taskInstanceId);
             threadPoolExecutor.remove(workerTaskExecutor);
         }
     }
 
     public void clearTask() {
+        if (isElasticExecution()) {
+            return;
+        }
         threadPoolExecutor.getQueue().clear();
     }
 }
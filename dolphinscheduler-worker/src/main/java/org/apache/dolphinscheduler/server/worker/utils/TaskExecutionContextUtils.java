@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.plugin.task.api.model.ResourceInfo;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
 import org.apache.dolphinscheduler.plugin.task.api.resource.ResourceContext;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+import org.apache.dolphinscheduler.server.worker.resource.WorkerResourceCache;
 
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -35,6 +36,8 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 
+import javax.annotation.Nullable;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -65,8 +68,13 @@ public class TaskExecutionContextUtils {
         }
     }
 
+    /**
+     * Download the resource files of the task into the task working directory, the resource files will be fetched
+     * through the given worker resource cache if it is enabled.
+     */
     public static ResourceContext downloadResourcesIfNeeded(TaskChannel taskChannel,
                                                             StorageOperator storageOperator,
+                                                            @Nullable WorkerResourceCache workerResourceCache,
                                                             TaskExecutionContext taskExecutionContext) {
         AbstractParameters abstractParameters = taskChannel.parseParameters(taskExecutionContext.getTaskParams());
 
@@ -86,21 +94,12 @@ public class TaskExecutionContextUtils {
                     Paths.get(taskWorkingDirectory, resourceMetaData.getResourceRelativePath()).toString();
             File file = new File(resourceAbsolutePathInLocal);
             if (!file.exists()) {
-                try {
-                    long resourceDownloadStartTime = System.currentTimeMillis();
-                    storageOperator.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, true);
-                    log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
-                            resourceAbsolutePathInLocal);
-                    FileUtils.setFileTo755(file);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
-                    WorkerServerMetrics
-                            .recordWorkerResourceDownloadSize(Files.size(Paths.get(resourceAbsolutePathInLocal)));
-                    WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
-                } catch (Exception ex) {
-                    WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
-                    throw new TaskException(
-                            String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
+                if (workerResourceCache != null && fetchResourceFromCache(workerResourceCache, storageOperator,
+                        resourceAbsolutePathInStorage, resourceAbsolutePathInLocal)) {
+                    log.info("Fetch resource file {} -> {} from the worker resource cache successfully",
+                            resourceAbsolutePathInStorage, resourceAbsolutePathInLocal);
+                } else {
+                    downloadResource(storageOperator, resourceAbsolutePathInStorage, resourceAbsolutePathInLocal);
                 }
             }
             ResourceContext.ResourceItem resourceItem = ResourceContext.ResourceItem.builder()
@@ -112,4 +111,38 @@ public class TaskExecutionContextUtils {
         return resourceContext;
     }
 
+    private static boolean fetchResourceFromCache(WorkerResourceCache workerResourceCache,
+                                                  StorageOperator storageOperator,
+                                                  String resourceAbsolutePathInStorage,
+                                                  String resourceAbsolutePathInLocal) {
+        try {
+            return workerResourceCache.fetchResource(storageOperator, resourceAbsolutePathInStorage,
+                    Paths.get(resourceAbsolutePathInLocal));
+        } catch (Exception ex) {
+            throw new TaskException(
+                    String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
+        }
+    }
+
+    private static void downloadResource(StorageOperator storageOperator,
+                                         String resourceAbsolutePathInStorage,
+                                         String resourceAbsolutePathInLocal) {
+        try {
+            long resourceDownloadStartTime = System.currentTimeMillis();
+            storageOperator.download(resourceAbsolutePathInStorage, resourceAbsolutePathInLocal, true);
+            log.info("Download resource file {} -> {} successfully", resourceAbsolutePathInStorage,
+                    resourceAbsolutePathInLocal);
+            FileUtils.setFileTo755(new File(resourceAbsolutePathInLocal));
+            WorkerServerMetrics
+                    .recordWorkerResourceDownloadTime(System.currentTimeMillis() - resourceDownloadStartTime);
+            WorkerServerMetrics
+                    .recordWorkerResourceDownloadSize(Files.size(Paths.get(resourceAbsolutePathInLocal)));
+            WorkerServerMetrics.incWorkerResourceDownloadSuccessCount();
+        } catch (Exception ex) {
+            WorkerServerMetrics.incWorkerResourceDownloadFailureCount();
+            throw new TaskException(
+                    String.format("Download resource file: %s error", resourceAbsolutePathInStorage), ex);
+        }
+    }
+
 }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.message;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.extract.master.transportor.ITaskExecutionEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionRunningEvent;
+import org.apache.dolphinscheduler.extract.master.transportor.TaskExecutionSuccessEvent;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.collect.Range;
+import com.google.common.truth.Truth;
+
+public class MessageRetryRunnerTest {
+
+    private static final String REACHABLE_HOST = "127.0.0.1:5678";
+
+    private static final String UNREACHABLE_HOST = "127.0.0.2:5678";
+
+    private final MessageRetryRunner messageRetryRunner = new MessageRetryRunner();
+
+    @SuppressWarnings("unchecked")
+    private final TaskInstanceExecutionEventSender<ITaskExecutionEvent> messageSender =
+            mock(TaskInstanceExecutionEventSender.class);
+
+    // The intervals are shortened from 30s and 5min, so the back-off can be observed in the test
+    private final MessageRetryRunner shortIntervalMessageRetryRunner = new MessageRetryRunner(300, 1200);
+
+    @AfterEach
+    public void after() {
+        messageRetryRunner.clearMessage();
+        shortIntervalMessageRetryRunner.clearMessage();
+        shortIntervalMessageRetryRunner.interrupt();
+    }
+
+    @Test
+    public void testRemoveRetryMessage() {
+        TaskExecutionRunningEvent runningEvent = newRunningEvent(1);
+        TaskExecutionSuccessEvent successEvent = TaskExecutionSuccessEvent.builder().taskInstanceId(1).build();
+        messageRetryRunner.addRetryMessage(1, runningEvent);
+        messageRetryRunner.addRetryMessage(1, successEvent);
+
+        messageRetryRunner.removeRetryMessage(1, ITaskExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        Truth.assertThat(messageRetryRunner.updateMessageHost(1, "127.0.0.1:5678")).isTrue();
+        Truth.assertThat(successEvent.getWorkflowInstanceHost()).isEqualTo("127.0.0.1:5678");
+        Truth.assertThat(runningEvent.getWorkflowInstanceHost()).isNull();
+
+        messageRetryRunner.removeRetryMessage(1, ITaskExecutionEvent.TaskInstanceExecutionEventType.SUCCESS);
+        Truth.assertThat(messageRetryRunner.updateMessageHost(1, "127.0.0.1:5678")).isFalse();
+    }
+
+    @Test
+    public void testRemoveRetryMessages() {
+        messageRetryRunner.addRetryMessage(1, newRunningEvent(1));
+        messageRetryRunner.addRetryMessage(2, newRunningEvent(2));
+
+        messageRetryRunner.removeRetryMessages(1);
+        Truth.assertThat(messageRetryRunner.updateMessageHost(1, "127.0.0.1:5678")).isFalse();
+        Truth.assertThat(messageRetryRunner.updateMessageHost(2, "127.0.0.1:5678")).isTrue();
+
+        messageRetryRunner.clearMessage();
+        Truth.assertThat(messageRetryRunner.updateMessageHost(2, "127.0.0.1:5678")).isFalse();
+    }
+
+    @Test
+    public void testRetryWithBackOff() {
+        List<Long> sendTimes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> sendTimes.add(System.nanoTime())).when(messageSender).sendEvent(any());
+        injectMessageSender();
+        shortIntervalMessageRetryRunner.start();
+
+        long addTime = System.nanoTime();
+        shortIntervalMessageRetryRunner.addRetryMessage(1, newRunningEvent(1, REACHABLE_HOST));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> sendTimes.size() >= 4);
+        // The interval is doubled after each retry: 300ms, 600ms, then capped at 1200ms
+        Truth.assertThat(elapsedMillis(addTime, sendTimes.get(0))).isAtLeast(300L);
+        Truth.assertThat(elapsedMillis(sendTimes.get(0), sendTimes.get(1))).isAtLeast(600L);
+        Truth.assertThat(elapsedMillis(sendTimes.get(1), sendTimes.get(2))).isAtLeast(1200L);
+        Truth.assertThat(elapsedMillis(sendTimes.get(2), sendTimes.get(3))).isIn(Range.closedOpen(1200L, 2400L));
+    }
+
+    @Test
+    public void testRetryDueMessagesGroupedByHost() throws InterruptedException {
+        doAnswer(invocation -> {
+            ITaskExecutionEvent event = invocation.getArgument(0);
+            if (UNREACHABLE_HOST.equals(event.getWorkflowInstanceHost())) {
+                throw new IllegalStateException("Cannot connect to " + UNREACHABLE_HOST);
+            }
+            return null;
+        }).when(messageSender).sendEvent(any());
+        injectMessageSender();
+        // Drive the due messages in the test thread rather than the runner thread
+        shortIntervalMessageRetryRunner.registerMessageSenders();
+        for (int taskInstanceId = 1; taskInstanceId <= 4; taskInstanceId++) {
+            String host = taskInstanceId <= 2 ? UNREACHABLE_HOST : REACHABLE_HOST;
+            shortIntervalMessageRetryRunner.addRetryMessage(taskInstanceId, newRunningEvent(taskInstanceId, host));
+        }
+        // The messages are waiting in the timer until they are due
+        Truth.assertThat(shortIntervalMessageRetryRunner.getDueMessageSize()).isEqualTo(0);
+        await().atMost(Duration.ofSeconds(5)).until(() -> shortIntervalMessageRetryRunner.getDueMessageSize() == 4);
+
+        shortIntervalMessageRetryRunner.retryDueMessages(0);
+
+        // All the due messages are drained in one round, the unreachable host only costs one failed send
+        Truth.assertThat(shortIntervalMessageRetryRunner.getDueMessageSize()).isEqualTo(0);
+        verify(messageSender, times(1))
+                .sendEvent(argThat(event -> UNREACHABLE_HOST.equals(event.getWorkflowInstanceHost())));
+        verify(messageSender, times(2))
+                .sendEvent(argThat(event -> REACHABLE_HOST.equals(event.getWorkflowInstanceHost())));
+        // The skipped message is scheduled again together with the sent ones
+        await().atMost(Duration.ofSeconds(5)).until(() -> shortIntervalMessageRetryRunner.getDueMessageSize() == 4);
+    }
+
+    @Test
+    public void testNotRetryAfterRemoved() throws InterruptedException {
+        injectMessageSender();
+        // Drive the due messages in the test thread rather than the runner thread
+        shortIntervalMessageRetryRunner.registerMessageSenders();
+        TaskExecutionRunningEvent ackedBeforeDueEvent = newRunningEvent(1, REACHABLE_HOST);
+        TaskExecutionRunningEvent ackedAfterDueEvent = newRunningEvent(2, REACHABLE_HOST);
+        TaskExecutionRunningEvent notAckedEvent = newRunningEvent(3, REACHABLE_HOST);
+        shortIntervalMessageRetryRunner.addRetryMessage(1, ackedBeforeDueEvent);
+        shortIntervalMessageRetryRunner.addRetryMessage(2, ackedAfterDueEvent);
+        shortIntervalMessageRetryRunner.addRetryMessage(3, notAckedEvent);
+
+        // The timeout is cancelled, so the message will never be due
+        shortIntervalMessageRetryRunner.removeRetryMessage(1,
+                ITaskExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        await().atMost(Duration.ofSeconds(5)).until(() -> shortIntervalMessageRetryRunner.getDueMessageSize() == 2);
+        // The message is skipped when it's removed after it's due
+        shortIntervalMessageRetryRunner.removeRetryMessages(2);
+        shortIntervalMessageRetryRunner.retryDueMessages(0);
+        verify(messageSender, times(1)).sendEvent(notAckedEvent);
+
+        // Only the not acked message is scheduled again
+        await().atMost(Duration.ofSeconds(5)).until(() -> shortIntervalMessageRetryRunner.getDueMessageSize() == 1);
+        shortIntervalMessageRetryRunner.retryDueMessages(0);
+        verify(messageSender, times(2)).sendEvent(notAckedEvent);
+        verify(messageSender, never()).sendEvent(ackedBeforeDueEvent);
+        verify(messageSender, never()).sendEvent(ackedAfterDueEvent);
+    }
+
+    private void injectMessageSender() {
+        when(messageSender.getMessageType()).thenReturn(ITaskExecutionEvent.TaskInstanceExecutionEventType.RUNNING);
+        ReflectionTestUtils.setField(shortIntervalMessageRetryRunner, "messageSenders",
+                Collections.singletonList(messageSender));
+    }
+
+    private long elapsedMillis(long fromNanos, long toNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(toNanos - fromNanos);
+    }
+
+    private TaskExecutionRunningEvent newRunningEvent(int taskInstanceId) {
+        TaskExecutionRunningEvent runningEvent = new TaskExecutionRunningEvent();
+        runningEvent.setTaskInstanceId(taskInstanceId);
+        return runningEvent;
+    }
+
+    private TaskExecutionRunningEvent newRunningEvent(int taskInstanceId, String workflowInstanceHost) {
+        TaskExecutionRunningEvent runningEvent = newRunningEvent(taskInstanceId);
+        runningEvent.setWorkflowInstanceHost(workflowInstanceHost);
+        return runningEvent;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.resource;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.dolphinscheduler.plugin.storage.api.StorageEntity;
+import org.apache.dolphinscheduler.plugin.storage.api.StorageOperator;
+import org.apache.dolphinscheduler.server.worker.config.ResourceCacheConfig;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+class WorkerResourceCacheTest {
+
+    @Mock
+    private WorkerConfig workerConfig;
+
+    @Mock
+    private StorageOperator storageOperator;
+
+    @InjectMocks
+    private WorkerResourceCache workerResourceCache;
+
+    @TempDir
+    private Path tempDirectory;
+
+    private final ResourceCacheConfig resourceCacheConfig = new ResourceCacheConfig();
+
+    @BeforeEach
+    void setUp() {
+        resourceCacheConfig.setDirectory(tempDirectory.resolve("cache").toString());
+        when(workerConfig.getResourceCache()).thenReturn(resourceCacheConfig);
+    }
+
+    @Test
+    void fetchResource_downloadOnceForSameResource() throws IOException {
+        workerResourceCache.init();
+        mockResource("/tenant/resources/a.jar", "a", new Date(1000));
+
+        final Path task1 = tempDirectory.resolve("task1/a.jar");
+        final Path task2 = tempDirectory.resolve("task2/a.jar");
+        assertThat(workerResourceCache.fetchResource(storageOperator, "/tenant/resources/a.jar", task1)).isTrue();
+        assertThat(workerResourceCache.fetchResource(storageOperator, "/tenant/resources/a.jar", task2)).isTrue();
+
+        assertThat(readString(task1)).isEqualTo("a");
+        assertThat(readString(task2)).isEqualTo("a");
+        verify(storageOperator, times(1)).download(eq("/tenant/resources/a.jar"), anyString(), anyBoolean());
+        assertThat(workerResourceCache.getCachedResourcesSize()).isEqualTo(1);
+    }
+
+    @Test
+    void fetchResource_downloadAgainIfResourceChanged() throws IOException {
+        workerResourceCache.init();
+        mockResource("/tenant/resources/a.sh", "v1", new Date(1000));
+        workerResourceCache.fetchResource(storageOperator, "/tenant/resources/a.sh", tempDirectory.resolve("t1/a.sh"));
+
+        mockResource("/tenant/resources/a.sh", "v2", new Date(2000));
+        workerResourceCache.fetchResource(storageOperator, "/tenant/resources/a.sh", tempDirectory.resolve("t2/a.sh"));
+
+        assertThat(readString(tempDirectory.resolve("t1/a.sh"))).isEqualTo("v1");
+        assertThat(readString(tempDirectory.resolve("t2/a.sh"))).isEqualTo("v2");
+        verify(storageOperator, times(2)).download(eq("/tenant/resources/a.sh"), anyString(), anyBoolean());
+    }
+
+    @Test
+    void fetchResource_modifyTaskCopyNotAffectCache() throws IOException {
+        workerResourceCache.init();
+        mockResource("/tenant/resources/a.sh", "v1", new Date(1000));
+
+        final Path task1 = tempDirectory.resolve("t1/a.sh");
+        workerResourceCache.fetchResource(storageOperator, "/tenant/resources/a.sh", task1);
+        Files.write(task1, "modified".getBytes(StandardCharsets.UTF_8));
+        workerResourceCache.fetchResource(storageOperator, "/tenant/resources/a.sh", tempDirectory.resolve("t2/a.sh"));
+
+        assertThat(readString(tempDirectory.resolve("t2/a.sh"))).isEqualTo("v1");
+        verify(storageOperator, times(1)).download(eq("/tenant/resources/a.sh"), anyString(), anyBoolean());
+    }
+
+    @Test
+    void fetchResource_downloadAgainIfCachedFileSizeChanged() throws IOException {
+        workerResourceCache.init();
+        mockResource("/tenant/resources/a.sh", "v1", new Date(1000));
+        workerResourceCache.fetchResource(storageOperator, "/tenant/resources/a.sh", tempDirectory.resolve("t1/a.sh"));
+
+        try (Stream<Path> cachedFiles = Files.list(tempDirectory.resolve("cache"))) {
+            for (Path cachedFile : cachedFiles.collect(Collectors.toList())) {
+                Files.write(cachedFile, "corrupted".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        workerResourceCache.fetchResource(storageOperator, "/tenant/resources/a.sh", tempDirectory.resolve("t2/a.sh"));
+
+        assertThat(readString(tempDirectory.resolve("t2/a.sh"))).isEqualTo("v1");
+        verify(storageOperator, times(2)).download(eq("/tenant/resources/a.sh"), anyString(), anyBoolean());
+    }
+
+    @Test
+    void fetchResource_evictLeastRecentlyUsed() throws IOException {
+        resourceCacheConfig.setMaxSize(DataSize.ofBytes(4));
+        workerResourceCache.init();
+        mockResource("/r/a", "aa", new Date(1000));
+        mockResource("/r/b", "bb", new Date(1000));
+        mockResource("/r/c", "cc", new Date(1000));
+
+        workerResourceCache.fetchResource(storageOperator, "/r/a", tempDirectory.resolve("t1/a"));
+        workerResourceCache.fetchResource(storageOperator, "/r/b", tempDirectory.resolve("t1/b"));
+        // Access a, so that b is the least recently used one
+        workerResourceCache.fetchResource(storageOperator, "/r/a", tempDirectory.resolve("t2/a"));
+        workerResourceCache.fetchResource(storageOperator, "/r/c", tempDirectory.resolve("t2/c"));
+        assertThat(workerResourceCache.getCachedResourcesSize()).isEqualTo(4);
+
+        workerResourceCache.fetchResource(storageOperator, "/r/a", tempDirectory.resolve("t3/a"));
+        workerResourceCache.fetchResource(storageOperator, "/r/b", tempDirectory.resolve("t3/b"));
+        verify(storageOperator, times(1)).download(eq("/r/a"), anyString(), anyBoolean());
+        verify(storageOperator, times(2)).download(eq("/r/b"), anyString(), anyBoolean());
+        // The evicted file is still available in the task working directory
+        assertThat(readString(tempDirectory.resolve("t1/b"))).isEqualTo("bb");
+    }
+
+    @Test
+    void fetchResource_concurrentFetchDownloadOnce() throws Exception {
+        workerResourceCache.init();
+        final CountDownLatch downloadStarted = new CountDownLatch(1);
+        final CountDownLatch downloadReleased = new CountDownLatch(1);
+        when(storageOperator.getStorageEntity("/r/big.jar")).thenReturn(storageEntity("/r/big.jar", 3, new Date(1)));
+        doAnswer(invocation -> {
+            downloadStarted.countDown();
+            downloadReleased.await(10, TimeUnit.SECONDS);
+            Files.write(Paths.get(invocation.getArgument(1, String.class)), "big".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(eq("/r/big.jar"), anyString(), anyBoolean());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final Path target = tempDirectory.resolve("task" + i + "/big.jar");
+                futures.add(executorService
+                        .submit(() -> workerResourceCache.fetchResource(storageOperator, "/r/big.jar", target)));
+                if (i == 0) {
+                    assertThat(downloadStarted.await(10, TimeUnit.SECONDS)).isTrue();
+                }
+            }
+            downloadReleased.countDown();
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        verify(storageOperator, times(1)).download(eq("/r/big.jar"), anyString(), anyBoolean());
+        for (int i = 0; i < 4; i++) {
+            assertThat(readString(tempDirectory.resolve("task" + i + "/big.jar"))).isEqualTo("big");
+        }
+    }
+
+    @Test
+    void fetchResource_notCachedIfMetadataMissing() throws IOException {
+        workerResourceCache.init();
+        when(storageOperator.getStorageEntity("/r/a")).thenReturn(null);
+
+        assertThat(workerResourceCache.fetchResource(storageOperator, "/r/a", tempDirectory.resolve("t1/a"))).isFalse();
+        verify(storageOperator, never()).download(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void fetchResource_disabled() throws IOException {
+        resourceCacheConfig.setEnabled(false);
+        workerResourceCache.init();
+
+        assertThat(workerResourceCache.fetchResource(storageOperator, "/r/a", tempDirectory.resolve("t1/a"))).isFalse();
+        verify(storageOperator, never()).getStorageEntity(anyString());
+    }
+
+    @Test
+    void init_loadCachedResources() throws IOException {
+        workerResourceCache.init();
+        mockResource("/r/a", "aa", new Date(1000));
+        workerResourceCache.fetchResource(storageOperator, "/r/a", tempDirectory.resolve("t1/a"));
+        Files.write(tempDirectory.resolve("cache").resolve("broken.downloading"), new byte[]{1});
+
+        final WorkerResourceCache restartedWorkerResourceCache = new WorkerResourceCache();
+        ReflectionTestUtils.setField(restartedWorkerResourceCache, "workerConfig", workerConfig);
+        restartedWorkerResourceCache.init();
+        restartedWorkerResourceCache.fetchResource(storageOperator, "/r/a", tempDirectory.resolve("t2/a"));
+
+        assertThat(restartedWorkerResourceCache.getCachedResourcesSize()).isEqualTo(2);
+        assertThat(Files.exists(tempDirectory.resolve("cache").resolve("broken.downloading"))).isFalse();
+        verify(storageOperator, times(1)).download(eq("/r/a"), anyString(), anyBoolean());
+    }
+
+    private void mockResource(String path, String content, Date updateTime) {
+        when(storageOperator.getStorageEntity(path)).thenReturn(storageEntity(path, content.length(), updateTime));
+        doAnswer(invocation -> {
+            Files.write(Paths.get(invocation.getArgument(1, String.class)), content.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(storageOperator).download(eq(path), anyString(), anyBoolean());
+    }
+
+    private StorageEntity storageEntity(String path, long size, Date updateTime) {
+        return StorageEntity.builder()
+                .fullName(path)
+                .size(size)
+                .updateTime(updateTime)
+                .build();
+    }
+
+    private String readString(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
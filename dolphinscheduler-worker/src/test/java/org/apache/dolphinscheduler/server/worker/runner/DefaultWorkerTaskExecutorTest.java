@@ -56,7 +56,8 @@ public class DefaultWorkerTaskExecutorTest {
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                null);
 
         Assertions.assertAll(workerTaskExecutor::run);
         Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskExecutionContext.getCurrentExecutionStatus());
@@ -79,7 +80,8 @@ public class DefaultWorkerTaskExecutorTest {
                 workerConfig,
                 workerMessageSender,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                null);
 
         Assertions.assertAll(workerTaskExecutor::run);
         Assertions.assertEquals(TaskExecutionStatus.FAILURE, taskExecutionContext.getCurrentExecutionStatus());
@@ -18,6 +18,8 @@
 package org.apache.dolphinscheduler.server.worker.runner;
 
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.meter.metrics.MetricsProvider;
+import org.apache.dolphinscheduler.meter.metrics.SystemMetrics;
 import org.apache.dolphinscheduler.plugin.task.api.TaskCallBack;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.TaskExecuteThreadsFullPolicy;
@@ -27,6 +29,8 @@ import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 
 import org.apache.commons.lang3.RandomUtils;
 
+import java.util.concurrent.CountDownLatch;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +39,8 @@ import com.google.common.truth.Truth;
 
 class WorkerTaskExecutorThreadPoolTest {
 
+    private final MetricsProvider metricsProvider = () -> SystemMetrics.builder().build();
+
     @BeforeEach
     public void setUp() {
         WorkerTaskExecutorHolder.clear();
@@ -46,7 +52,7 @@ class WorkerTaskExecutorThreadPoolTest {
         final int totalTaskCount = RandomUtils.nextInt(1, 10000);
         final WorkerConfig workerConfig = createWorkerConfig(execThreadCount, TaskExecuteThreadsFullPolicy.CONTINUE);
         final WorkerTaskExecutorThreadPool workerTaskExecutorThreadPool =
-                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender());
+                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender(), metricsProvider);
         // submit totalTaskCount task, the thread pool size is execThreadCount, reject policy is CONTINUE
         // after submit execThreadCount task, the thread pool is overload
         for (int i = 1; i <= totalTaskCount; i++) {
@@ -67,7 +73,7 @@ class WorkerTaskExecutorThreadPoolTest {
         final int totalTaskCount = RandomUtils.nextInt(1, 10000);
         final WorkerConfig workerConfig = createWorkerConfig(execThreadCount, TaskExecuteThreadsFullPolicy.CONTINUE);
         final WorkerTaskExecutorThreadPool workerTaskExecutorThreadPool =
-                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender());
+                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender(), metricsProvider);
         // submit totalTaskCount task, the thread pool size is execThreadCount, reject policy is CONTINUE
         // all task will be submitted success
         for (int i = 1; i <= totalTaskCount; i++) {
@@ -83,7 +89,7 @@ class WorkerTaskExecutorThreadPoolTest {
         final int totalTaskCount = RandomUtils.nextInt(1, 10000);
         final WorkerConfig workerConfig = createWorkerConfig(execThreadCount, TaskExecuteThreadsFullPolicy.REJECT);
         final WorkerTaskExecutorThreadPool workerTaskExecutorThreadPool =
-                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender());
+                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender(), metricsProvider);
         // submit totalTaskCount task, the thread pool size is execThreadCount, reject policy is REJECT
         // only the front execThreadCount task will be submitted success
         for (int i = 1; i <= totalTaskCount; i++) {
@@ -104,7 +110,7 @@ class WorkerTaskExecutorThreadPoolTest {
         final int totalTaskCount = RandomUtils.nextInt(1, 10000);
         final WorkerConfig workerConfig = createWorkerConfig(execThreadCount, TaskExecuteThreadsFullPolicy.CONTINUE);
         final WorkerTaskExecutorThreadPool workerTaskExecutorThreadPool =
-                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender());
+                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender(), metricsProvider);
 
         Truth.assertThat(workerTaskExecutorThreadPool.getWaitingTaskExecutorSize()).isEqualTo(0);
         for (int i = 1; i <= totalTaskCount; i++) {
@@ -126,7 +132,7 @@ class WorkerTaskExecutorThreadPoolTest {
         final int totalTaskCount = RandomUtils.nextInt(1, 10000);
         WorkerConfig workerConfig = createWorkerConfig(execThreadCount, TaskExecuteThreadsFullPolicy.CONTINUE);
         WorkerTaskExecutorThreadPool workerTaskExecutorThreadPool =
-                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender());
+                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender(), metricsProvider);
 
         Truth.assertThat(workerTaskExecutorThreadPool.getRunningTaskExecutorSize()).isEqualTo(0);
         for (int i = 1; i <= totalTaskCount; i++) {
@@ -141,6 +147,54 @@ class WorkerTaskExecutorThreadPoolTest {
         }
     }
 
+    @Test
+    public void testSubmitWorkerTaskExecutorWithElasticExecution() throws InterruptedException {
+        final WorkerConfig workerConfig = createWorkerConfig(1, TaskExecuteThreadsFullPolicy.REJECT);
+        workerConfig.getElasticExecution().setEnabled(true);
+        workerConfig.getElasticExecution().setMaxRunningTasks(200);
+        final WorkerTaskExecutorThreadPool workerTaskExecutorThreadPool =
+                new WorkerTaskExecutorThreadPool(workerConfig, new WorkerMessageSender(), metricsProvider);
+        // the exec-threads is ignored, the task executors are admitted until reach the max-running-tasks
+        final CountDownLatch finishLatch = new CountDownLatch(1);
+        for (int i = 1; i <= 200; i++) {
+            MockWorkerTaskExecutor mockWorkerTaskExecutor = new MockWorkerTaskExecutor(() -> {
+                try {
+                    finishLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Truth.assertThat(workerTaskExecutorThreadPool.submitWorkerTaskExecutor(mockWorkerTaskExecutor)).isTrue();
+        }
+        Truth.assertThat(workerTaskExecutorThreadPool.isOverload()).isTrue();
+        Truth.assertThat(workerTaskExecutorThreadPool.getWaitingTaskExecutorSize()).isEqualTo(0);
+        Truth.assertThat(workerTaskExecutorThreadPool.getRunningTaskExecutorSize()).isEqualTo(200);
+        Truth.assertThat(workerTaskExecutorThreadPool.submitWorkerTaskExecutor(new MockWorkerTaskExecutor(() -> {
+        }))).isFalse();
+
+        // the permits are released once the task executors finished
+        finishLatch.countDown();
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (workerTaskExecutorThreadPool.isOverload() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Truth.assertThat(workerTaskExecutorThreadPool.submitWorkerTaskExecutor(new MockWorkerTaskExecutor(() -> {
+        }))).isTrue();
+    }
+
+    @Test
+    public void testSubmitWorkerTaskExecutorWithElasticExecutionWhenServerOverload() {
+        final WorkerConfig workerConfig = createWorkerConfig(1, TaskExecuteThreadsFullPolicy.CONTINUE);
+        workerConfig.getElasticExecution().setEnabled(true);
+        final WorkerTaskExecutorThreadPool workerTaskExecutorThreadPool = new WorkerTaskExecutorThreadPool(
+                workerConfig,
+                new WorkerMessageSender(),
+                () -> SystemMetrics.builder().systemCpuUsagePercentage(0.9).build());
+        Truth.assertThat(workerTaskExecutorThreadPool.submitWorkerTaskExecutor(new MockWorkerTaskExecutor(() -> {
+        }))).isFalse();
+        Truth.assertThat(WorkerTaskExecutorHolder.size()).isEqualTo(0);
+    }
+
     static class MockWorkerTaskExecutor extends WorkerTaskExecutor {
 
         private final Runnable runnable;
@@ -150,7 +204,8 @@ class WorkerTaskExecutorThreadPoolTest {
                     new WorkerConfig(),
                     new WorkerMessageSender(),
                     null,
-                    new WorkerRegistryClient());
+                    new WorkerRegistryClient(),
+                    null);
             this.runnable = runnable;
         }
 
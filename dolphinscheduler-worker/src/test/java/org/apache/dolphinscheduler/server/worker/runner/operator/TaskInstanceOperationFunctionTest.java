@@ -93,7 +93,8 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                null);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
                 new TaskInstanceDispatchOperationFunction(
@@ -187,7 +188,8 @@ public class TaskInstanceOperationFunctionTest {
                 workerMessageSender,
                 workerManager,
                 storageOperator,
-                workerRegistryClient);
+                workerRegistryClient,
+                null);
 
         TaskInstanceDispatchOperationFunction taskInstanceDispatchOperationFunction =
                 new TaskInstanceDispatchOperationFunction(